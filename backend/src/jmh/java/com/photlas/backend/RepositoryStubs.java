@@ -0,0 +1,47 @@
+package com.photlas.backend;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * ベンチマーク用のリポジトリのスタブ。
+ *
+ * <p>Spring Data のリポジトリ（インターフェース）を動的プロキシで実装し、メソッド名ごとに指定した応答を返す。
+ * 計測対象の処理に DB アクセスやモックライブラリのオーバーヘッドが混ざらないようにするためのもので、
+ * 応答を指定していないメソッドを呼ぶと {@link UnsupportedOperationException} を投げる。</p>
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    /**
+     * @param repositoryType リポジトリのインターフェース
+     * @param answers        メソッド名 → 引数から戻り値を返す関数
+     */
+    public static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> self == args[0];
+                            case "hashCode" -> System.identityHashCode(self);
+                            default -> repositoryType.getSimpleName() + "Stub";
+                        };
+                    }
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(
+                                repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    }
+                    return answer.apply(args);
+                });
+        return repositoryType.cast(proxy);
+    }
+
+    /** どのメソッドも応答を指定しないスタブ（計測対象から呼ばれないリポジトリ用） */
+    public static <T> T unused(Class<T> repositoryType) {
+        return stub(repositoryType, Map.of());
+    }
+}
@@ -0,0 +1,87 @@
+package com.photlas.backend.controller;
+
+import com.photlas.backend.dto.PhotoOgpMeta;
+import com.photlas.backend.service.IndexHtmlProvider;
+import com.photlas.backend.service.PhotoOgpService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /photo-viewer/{id}} の OGP 差し込み（{@link PhotoViewerController}）のベンチマーク。
+ *
+ * <p>index.html の取得と OGP メタの組み立てはスタブにして、index.html（実物と同程度の約 4KB）への
+ * meta 10 個の置換だけを計測する。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhotoViewerControllerBenchmark {
+
+    private static final String FRONTEND_URL = "https://photlas.jp";
+
+    private PhotoViewerController controller;
+
+    @Setup
+    public void setUp() {
+        String indexHtml = indexHtml();
+        PhotoOgpMeta meta = new PhotoOgpMeta(
+                "東京タワー - Photlas",
+                "東京タワーの夜景。撮影: 2026年4月 / 天気: 晴れ \"特別\" <ライトアップ> & 桜",
+                "https://cdn.photlas.jp/thumbnails/uploads/1/abc.webp",
+                FRONTEND_URL + "/photo-viewer/1");
+        IndexHtmlProvider indexHtmlProvider = new IndexHtmlProvider(FRONTEND_URL) {
+            @Override
+            public String fetch() {
+                return indexHtml;
+            }
+        };
+        PhotoOgpService photoOgpService = new PhotoOgpService(null, null, null, FRONTEND_URL) {
+            @Override
+            public Optional<PhotoOgpMeta> buildForPhoto(Long photoId) {
+                return Optional.of(meta);
+            }
+        };
+        controller = new PhotoViewerController(indexHtmlProvider, photoOgpService, FRONTEND_URL);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> injectOgp() {
+        return controller.photoViewer("1");
+    }
+
+    private static String indexHtml() {
+        StringBuilder sb = new StringBuilder("<!DOCTYPE html>\n<html lang=\"ja\">\n<head>\n")
+                .append("<meta charset=\"UTF-8\" />\n")
+                .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\" />\n")
+                .append("<meta name=\"description\" content=\"Photlas は撮影スポットを地図で探せる写真共有サービスです\" />\n")
+                .append("<meta property=\"og:title\" content=\"Photlas\" />\n")
+                .append("<meta property=\"og:description\" content=\"撮影スポットを地図で探す\" />\n")
+                .append("<meta property=\"og:url\" content=\"").append(FRONTEND_URL).append("/\" />\n")
+                .append("<meta property=\"og:image\" content=\"").append(FRONTEND_URL).append("/og-image.png\" />\n")
+                .append("<meta property=\"og:type\" content=\"website\" />\n")
+                .append("<meta name=\"twitter:card\" content=\"summary\" />\n")
+                .append("<meta name=\"twitter:title\" content=\"Photlas\" />\n")
+                .append("<meta name=\"twitter:description\" content=\"撮影スポットを地図で探す\" />\n")
+                .append("<meta name=\"twitter:image\" content=\"").append(FRONTEND_URL).append("/og-image.png\" />\n");
+        for (int i = 0; i < 40; i++) {
+            sb.append("<link rel=\"modulepreload\" crossorigin href=\"/assets/chunk-").append(i)
+                    .append("-a1b2c3d4.js\" />\n");
+        }
+        return sb.append("</head>\n<body><div id=\"root\"></div></body>\n</html>\n").toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.photlas.backend.controller;
+
+import com.photlas.backend.RepositoryStubs;
+import com.photlas.backend.entity.Photo;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.PhotoTagRepository;
+import com.photlas.backend.repository.TagRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写真サイトマップの XML 生成（{@link SitemapController#getPhotosSitemap}）のベンチマーク。
+ *
+ * <p>1 ページの上限である 10,000 件の写真をスタブのリポジトリから返し、XML の組み立てだけを計測する。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SitemapControllerBenchmark {
+
+    private static final int PHOTOS = 10_000;
+
+    private SitemapController controller;
+
+    @Setup
+    public void setUp() {
+        List<Photo> photos = new ArrayList<>(PHOTOS);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 0; i < PHOTOS; i++) {
+            Photo photo = new Photo();
+            photo.setPhotoId(100_000L + i);
+            photo.setCreatedAt(base.plusMinutes(i));
+            if (i % 3 == 0) {
+                photo.setUpdatedAt(base.plusMinutes(i).plusDays(1));
+            }
+            photos.add(photo);
+        }
+        PhotoRepository photoRepository = RepositoryStubs.stub(PhotoRepository.class, Map.of(
+                "findPublishedPhotosExcludingDeletedUsers",
+                args -> new PageImpl<>(photos, (Pageable) args[1], PHOTOS)));
+        controller = new SitemapController(photoRepository,
+                RepositoryStubs.unused(TagRepository.class), RepositoryStubs.unused(PhotoTagRepository.class));
+        ReflectionTestUtils.setField(controller, "frontendUrl", "https://photlas.jp");
+    }
+
+    @Benchmark
+    public ResponseEntity<String> photosSitemap() {
+        return controller.getPhotosSitemap(0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.photlas.backend.filter;
+
+import io.github.bucket4j.Bucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimitFilter} のリクエストごとの判定（パスの正規化・カテゴリ判定・Bucket の取得）のベンチマーク。
+ *
+ * <p>URL エンコードされたパスを含む代表的なパスと 1,000 件の IP の組を順に流す（Bucket はキャッシュ済み）。
+ * トークンの消費と 429 応答は計測に含めない。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final String[] PATHS = {
+            "/api/v1/spots", "/api/v1/photos", "/api/v1/photos/123", "/api/v1/photos/123/favorite",
+            "/api/v1/auth/login", "/api/v1/auth/password%2Dreset%2Drequest", "/api/v1/users/me",
+            "/api/v1/tags", "/api/v1/sitemap-photos-0.xml", "/api/v1/spots/42/photos"};
+    private static final int CLIENTS = 1_000;
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitFilter();
+        requests = new MockHttpServletRequest[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", PATHS[i % PATHS.length]);
+            request.setRemoteAddr("10.0." + (i / 256) + "." + (i % 256));
+            requests[i] = request;
+        }
+        for (MockHttpServletRequest request : requests) {
+            resolve(request);
+        }
+    }
+
+    @Benchmark
+    public Bucket resolveBucket() {
+        MockHttpServletRequest request = requests[next];
+        next = (next + 1) % CLIENTS;
+        return resolve(request);
+    }
+
+    /** doFilterInternal と同じ手順で Bucket を引く */
+    private Bucket resolve(MockHttpServletRequest request) {
+        String path = filter.resolveRequestPath(request);
+        return filter.bucketFor(filter.determineRateLimit(path), filter.getUserIdentifier(request));
+    }
+}
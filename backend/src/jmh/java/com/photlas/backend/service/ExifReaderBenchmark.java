@@ -0,0 +1,99 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.ExifData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link ExifReader} の JPEG ヘッダ高速パスと metadata-extractor 全体読み取りの比較ベンチマーク。
+ *
+ * <p>1 回の計測でコーパス全体を読む。環境変数 {@code PHOTLAS_EXIF_CORPUS_DIR} に実写 JPEG のディレクトリを指定すると
+ * それをコーパスに使い、未指定時は解像度の異なる合成 JPEG（EXIF 付き、ビッグ・リトルエンディアン）を生成する。
+ * 準備時に各画像の両パスの結果が一致することを確かめる（高速パスの取りこぼし検出）。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExifReaderBenchmark {
+
+    private static final int[][] SYNTHETIC_SIZES = {{640, 480}, {1920, 1080}, {4000, 3000}, {6000, 4000}};
+
+    private final ExifReader reader = new ExifReader();
+    private List<byte[]> corpus;
+
+    @Setup
+    public void setUp() throws IOException {
+        corpus = loadCorpus();
+        if (corpus.isEmpty()) {
+            throw new IllegalStateException("EXIF のコーパスが空です");
+        }
+        for (byte[] image : corpus) {
+            if (!reader.read(image).equals(reader.readWithMetadataExtractor(image))) {
+                throw new IllegalStateException("高速パスと metadata-extractor の結果が一致しません");
+            }
+        }
+    }
+
+    @Benchmark
+    public void fastPath(Blackhole blackhole) {
+        for (byte[] image : corpus) {
+            blackhole.consume(reader.read(image));
+        }
+    }
+
+    @Benchmark
+    public void metadataExtractor(Blackhole blackhole) {
+        for (byte[] image : corpus) {
+            ExifData data = reader.readWithMetadataExtractor(image);
+            blackhole.consume(data);
+        }
+    }
+
+    private static List<byte[]> loadCorpus() throws IOException {
+        String dir = System.getenv("PHOTLAS_EXIF_CORPUS_DIR");
+        if (dir != null && !dir.isBlank()) {
+            try (Stream<Path> files = Files.list(Path.of(dir))) {
+                List<byte[]> corpus = new ArrayList<>();
+                for (Path p : files.filter(ExifReaderBenchmark::isJpegFile).toList()) {
+                    corpus.add(Files.readAllBytes(p));
+                }
+                return corpus;
+            }
+        }
+        List<byte[]> corpus = new ArrayList<>();
+        for (int[] size : SYNTHETIC_SIZES) {
+            corpus.add(ExifReaderTest.jpegWithExif(
+                    size[0], size[1], ExifReaderTest.Tags.typical(), ByteOrder.BIG_ENDIAN));
+            corpus.add(ExifReaderTest.jpegWithExif(
+                    size[0], size[1], ExifReaderTest.Tags.typical(), ByteOrder.LITTLE_ENDIAN));
+        }
+        return corpus;
+    }
+
+    private static boolean isJpegFile(Path p) {
+        String name = p.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jpg") || name.endsWith(".jpeg");
+    }
+}
@@ -0,0 +1,86 @@
+package com.photlas.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * データエクスポートの写真エントリを STORED / DEFLATED で書き込んだときのコスト比較ベンチマーク。
+ *
+ * <p>圧縮済み画像の代わりに 4MiB の乱数バイト列（非圧縮性）を使い、{@link DataExportService#writeSpooledEntry} で
+ * 破棄用の出力先へ 1 エントリ書き込む時間を計測する。STORED 側には一時ファイルへの書き出し時の CRC 計算も含める。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportZipEntryBenchmark {
+
+    private static final int FILE_SIZE = 4 * 1024 * 1024;
+
+    @Param({"true", "false"})
+    public boolean stored;
+
+    private Path file;
+    private ZipOutputStream zos;
+    private int entry;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        byte[] image = new byte[FILE_SIZE];
+        new Random(42).nextBytes(image);
+        file = Files.createTempFile("export-benchmark", ".jpg");
+        Files.write(file, image);
+    }
+
+    @Setup(Level.Iteration)
+    public void openZip() {
+        zos = new ZipOutputStream(OutputStream.nullOutputStream());
+        zos.setLevel(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeZip() throws IOException {
+        zos.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void writeEntry() throws IOException {
+        // 取得時に行う CRC 計算（STORED のみ必要）
+        long crc = stored ? crcOf(file) : 0;
+        DataExportService.writeSpooledEntry(zos, "photos/" + entry++ + ".jpg", file, FILE_SIZE, crc, stored);
+    }
+
+    private static long crcOf(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file));
+        return crc.getValue();
+    }
+}
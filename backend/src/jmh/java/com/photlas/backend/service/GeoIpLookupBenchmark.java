@@ -0,0 +1,143 @@
+package com.photlas.backend.service;
+
+import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.GeoIp2Exception;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GeoIpService} の国判定の比較ベンチマーク。
+ *
+ * <p>比較するのは、ヒープに読み込んだキャッシュなしのリーダー（従来の構成）、メモリマップ + ノードキャッシュのリーダー、
+ * それに IP ごとのキャッシュを加えた {@link GeoIpService} の 3 つ。1 回の計測で 1 件判定し、IP は distinct 5,000 件の中から
+ * 小さい番号ほど多く現れるよう偏りをつけて順に選ぶ。環境変数 {@code PHOTLAS_GEOIP_DATABASE} に GeoLite2-Country.mmdb の
+ * パスを指定するとそれを使い、未指定時は /16 単位の合成データベースを生成する。準備時に 3 つの判定結果が一致することを確かめる。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoIpLookupBenchmark {
+
+    private static final int DISTINCT_IPS = 5_000;
+    private static final int LOOKUPS = 200_000;
+
+    private Path generatedDatabase;
+    private DatabaseReader heapReader;
+    private DatabaseReader mappedReader;
+    private GeoIpService service;
+    private String[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException, GeoIp2Exception {
+        Path database = databaseFile();
+        try (InputStream is = Files.newInputStream(database)) {
+            heapReader = new DatabaseReader.Builder(is).build();
+        }
+        mappedReader = GeoIpService.openMemoryMapped(database.toFile());
+        service = new GeoIpService("file:" + database, 50_000);
+        requests = requests();
+
+        for (int i = 0; i < DISTINCT_IPS; i++) {
+            String expected = countryOf(heapReader, requests[i]);
+            if (!Objects.equals(countryOf(mappedReader, requests[i]), expected)
+                    || !Objects.equals(service.getCountryCode(requests[i]), expected)) {
+                throw new IllegalStateException("判定結果が一致しません: " + requests[i]);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        service.close();
+        heapReader.close();
+        mappedReader.close();
+        if (generatedDatabase != null) {
+            Files.deleteIfExists(generatedDatabase);
+        }
+    }
+
+    @Benchmark
+    public String heapReaderWithoutCache() throws IOException, GeoIp2Exception {
+        return countryOf(heapReader, nextRequest());
+    }
+
+    @Benchmark
+    public String memoryMappedReader() throws IOException, GeoIp2Exception {
+        return countryOf(mappedReader, nextRequest());
+    }
+
+    @Benchmark
+    public String serviceWithIpCache() {
+        return service.getCountryCode(nextRequest());
+    }
+
+    private String nextRequest() {
+        String ip = requests[next];
+        next = (next + 1) % requests.length;
+        return ip;
+    }
+
+    /** 従来の GeoIpService と同じ手順（毎回 InetAddress に変換して引く） */
+    private static String countryOf(DatabaseReader reader, String ip) throws IOException, GeoIp2Exception {
+        return reader.tryCountry(InetAddress.getByName(ip))
+                .map(response -> response.getCountry().getIsoCode())
+                .orElse(null);
+    }
+
+    /** 先頭 DISTINCT_IPS 件は重複なし、その後は小さい番号ほど多く現れる偏った順列 */
+    private static String[] requests() {
+        Random random = new Random(42);
+        List<String> distinct = new ArrayList<>(DISTINCT_IPS);
+        for (int i = 0; i < DISTINCT_IPS; i++) {
+            distinct.add((1 + random.nextInt(222)) + "." + random.nextInt(256) + "."
+                    + random.nextInt(256) + "." + (1 + random.nextInt(254)));
+        }
+        List<String> requests = new ArrayList<>(distinct);
+        while (requests.size() < LOOKUPS) {
+            double skewed = Math.pow(random.nextDouble(), 3);
+            requests.add(distinct.get((int) (skewed * DISTINCT_IPS)));
+        }
+        return requests.toArray(String[]::new);
+    }
+
+    private Path databaseFile() throws IOException {
+        String path = System.getenv("PHOTLAS_GEOIP_DATABASE");
+        if (path != null && !path.isBlank()) {
+            return Path.of(path);
+        }
+        String[] countries = {"JP", "US", "KR", "CN", "TW", "DE", "FR", "GB"};
+        List<GeoIpServiceTest.Network> networks = new ArrayList<>();
+        for (int first = 1; first <= 223; first++) {
+            for (int second = 0; second < 256; second++) {
+                networks.add(new GeoIpServiceTest.Network((first << 24) | (second << 16), 16,
+                        countries[Objects.hash(first, second) & 7]));
+            }
+        }
+        generatedDatabase = GeoIpServiceTest.writeDatabase(Files.createTempFile("GeoLite2-Country", ".mmdb"), networks);
+        return generatedDatabase;
+    }
+}
@@ -0,0 +1,56 @@
+package com.photlas.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 検証のベンチマーク。
+ *
+ * <p>{@code authenticateRequest} は JwtAuthenticationFilter が認証付きリクエストごとに行う
+ * 表示名の抽出・有効性の検証・ロールの抽出をそのまま再現する。{@code verifyOnce} は署名検証 1 回分。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String EMAIL = "benchmark@example.com";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "benchmarkSecretKeybenchmarkSecretKey0123");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000);
+        token = jwtService.generateTokenWithRole(EMAIL, "USER");
+    }
+
+    @Benchmark
+    public String verifyOnce() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public void authenticateRequest(Blackhole blackhole) {
+        String email = jwtService.extractUsername(token);
+        blackhole.consume(jwtService.isTokenValid(token, email));
+        blackhole.consume(jwtService.extractRole(token));
+    }
+}
@@ -0,0 +1,142 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.RepositoryStubs;
+import com.photlas.backend.dto.ExifData;
+import com.photlas.backend.dto.LabelMappingResult;
+import com.photlas.backend.dto.TagSuggestion;
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.Tag;
+import com.photlas.backend.entity.TagCategory;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.PhotoTagRepository;
+import com.photlas.backend.repository.TagCategoryRepository;
+import com.photlas.backend.repository.TagRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.rekognition.model.Label;
+import software.amazon.awssdk.services.rekognition.model.Parent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写真解析（{@code POST /api/v1/photos/analyze}）の CPU 処理のベンチマーク。
+ *
+ * <p>Rekognition の応答を模した 20 件のラベル（閾値未満・親ラベル付き・夜景の組合せを含む）に対して、
+ * {@link RekognitionLabelMapper#mapWithEvents}、{@link ExifBasedCategoryHints#apply}、
+ * {@link TagService#extractSuggestions} を計測する。タグの検索はスタブのリポジトリが返す。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhotoAnalysisBenchmark {
+
+    private static final String[][] LABELS = {
+            {"Mountain", "97.1"}, {"Landscape", "95.4"}, {"Nature", "94.8"}, {"Outdoors", "94.2"},
+            {"Sky", "93.0"}, {"Night", "91.7"}, {"City", "90.3"}, {"Building", "89.9"},
+            {"Architecture", "88.5"}, {"Cloud", "87.2"}, {"Bird", "96.5"}, {"Train", "85.4"},
+            {"Railway", "84.1"}, {"Tree", "83.3"}, {"Cherry Blossom", "82.6"}, {"Water", "81.0"},
+            {"Person", "79.5"}, {"Car", "72.4"}, {"Food", "65.0"}, {"Animal", "55.2"}};
+
+    private RekognitionLabelMapper labelMapper;
+    private ExifBasedCategoryHints exifHints;
+    private TagService tagService;
+    private List<Label> labels;
+    private LabelMappingResult mapped;
+    private ExifData exif;
+
+    @Setup
+    public void setUp() {
+        labels = new ArrayList<>();
+        for (String[] label : LABELS) {
+            Label.Builder builder = Label.builder().name(label[0]).confidence(Float.parseFloat(label[1]));
+            if (label[0].equals("Bird") || label[0].equals("Cherry Blossom")) {
+                builder.parents(Parent.builder().name(label[0].equals("Bird") ? "Animal" : "Plant").build());
+            }
+            labels.add(builder.build());
+        }
+        labelMapper = new RekognitionLabelMapper();
+        exifHints = new ExifBasedCategoryHints();
+        mapped = labelMapper.map(labels);
+        exif = new ExifData(Optional.of(LocalDateTime.of(2026, 4, 5, 20, 30)), Optional.of(15.0),
+                Optional.of(1600), Optional.of(400), Optional.of(1200.0));
+        tagService = newTagService();
+    }
+
+    @Benchmark
+    public RekognitionLabelMapper.MappingResult mapWithEvents() {
+        return labelMapper.mapWithEvents(labels);
+    }
+
+    @Benchmark
+    public ExifBasedCategoryHints.Applied applyExifHints() {
+        return exifHints.apply(mapped, exif);
+    }
+
+    /** 焦点距離 300mm 未満（野鳥タグの「鳥」へのリマップが走る経路） */
+    @Benchmark
+    public List<TagSuggestion> extractSuggestions() {
+        return tagService.extractSuggestions(labels, Optional.of(50));
+    }
+
+    private TagService newTagService() {
+        Map<String, Tag> tagsByLabel = new HashMap<>();
+        Map<String, Tag> tagsBySlug = new HashMap<>();
+        List<TagCategory> tagCategories = new ArrayList<>();
+        long id = 1;
+        for (String[] label : LABELS) {
+            Tag tag = tag(id++, label[0], label[0].toLowerCase(Locale.ROOT).replace(' ', '-'));
+            tagsByLabel.put(label[0], tag);
+            tagsBySlug.put(tag.getSlug(), tag);
+            tagCategories.add(new TagCategory(tag.getId(), label[0].equals("Bird")
+                    ? CodeConstants.CATEGORY_WILD_BIRDS : CodeConstants.CATEGORY_NATURE));
+        }
+        Tag companion = tag(id, null, "companion-bird");
+        tagsBySlug.put(companion.getSlug(), companion);
+
+        TagRepository tagRepository = RepositoryStubs.stub(TagRepository.class, Map.of(
+                "findActiveByRekognitionLabels", args -> ((Collection<?>) args[0]).stream()
+                        .map(tagsByLabel::get).filter(tag -> tag != null).toList(),
+                "findActiveBySlug", args -> Optional.ofNullable(tagsBySlug.get((String) args[0]))));
+        TagCategoryRepository tagCategoryRepository = RepositoryStubs.stub(TagCategoryRepository.class, Map.of(
+                "findByTagIdIn", args -> tagCategories.stream()
+                        .filter(tc -> ((Collection<?>) args[0]).contains(tc.getTagId())).toList()));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PostgresNotificationBus notificationBus = new PostgresNotificationBus(
+                null, "jdbc:postgresql://localhost/unused", "", "", false, Duration.ofSeconds(1));
+        return new TagService(tagRepository, tagCategoryRepository,
+                RepositoryStubs.unused(PhotoTagRepository.class), RepositoryStubs.unused(PhotoRepository.class),
+                new CacheInvalidationBus(notificationBus, meterRegistry), meterRegistry, Duration.ofMinutes(10));
+    }
+
+    private static Tag tag(long id, String label, String slug) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setRekognitionLabel(label);
+        tag.setSlug(slug);
+        tag.setDisplayNameJa(slug);
+        tag.setDisplayNameEn(slug);
+        tag.setIsActive(true);
+        return tag;
+    }
+}
@@ -0,0 +1,75 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.RepositoryStubs;
+import com.photlas.backend.dto.SpotResponse;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地図のスポット一覧の応答組み立て（{@link SpotService#convertToSpotResponse}）のベンチマーク。
+ *
+ * <p>集計クエリの結果 {@value #ROWS} 行を、サムネイル URL の生成とピン色の判定を含めて変換する。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpotServiceBenchmark {
+
+    private static final int ROWS = 300;
+
+    private SpotService spotService;
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        S3Service s3Service = new S3Service();
+        ReflectionTestUtils.setField(s3Service, "cloudFrontDomain", "cdn.photlas.jp");
+        spotService = new SpotService(RepositoryStubs.unused(SpotRepository.class),
+                RepositoryStubs.unused(PhotoRepository.class), s3Service,
+                new QueryMetrics(new SimpleMeterRegistry()));
+
+        Random random = new Random(42);
+        rows = new ArrayList<>(ROWS);
+        for (long spotId = 1; spotId <= ROWS; spotId++) {
+            int total = random.nextInt(1500) + 1;
+            rows.add(new Object[]{
+                    spotId,
+                    BigDecimal.valueOf(35 + random.nextDouble()).setScale(6, RoundingMode.HALF_UP),
+                    BigDecimal.valueOf(139 + random.nextDouble()).setScale(6, RoundingMode.HALF_UP),
+                    random.nextInt(total) + 1,
+                    total,
+                    "uploads/" + spotId + "/" + random.nextInt(1_000_000) + ".jpg"});
+        }
+    }
+
+    @Benchmark
+    public List<SpotResponse> convertSpots() {
+        List<SpotResponse> responses = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            responses.add(spotService.convertToSpotResponse(row));
+        }
+        return responses;
+    }
+}
@@ -1,8 +1,10 @@
 package com.photlas.backend.config;
 
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -24,8 +26,33 @@ public class AsyncConfig {
 
     private static final String THREAD_NAME_PREFIX = "photlas-async-";
 
+    private static final String EXPORT_PREFETCH_THREAD_NAME_PREFIX = "photlas-export-fetch-";
+
+    private static final String EXPORT_JOB_THREAD_NAME_PREFIX = "photlas-export-job-";
+
+    private static final String CLEANUP_S3_THREAD_NAME_PREFIX = "photlas-cleanup-s3-";
+
+    private static final String MODERATION_QUARANTINE_THREAD_NAME_PREFIX = "photlas-quarantine-";
+
+    /**
+     * @Async 用 Executor。
+     *
+     * <p>spring.threads.virtual.enabled=true のときは仮想スレッドで実行する（タスクごとに 1 スレッド、キューなし）。
+     * 非同期処理も DB 接続を使うため、同時実行数は DB 接続プールの大きさ（concurrency-limit）までに抑え、
+     * 超えた分は空くまで投入側で待つ。</p>
+     */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${photlas.async.virtual.concurrency-limit:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int virtualConcurrencyLimit) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            executor.setTaskDecorator(mdcPropagatingTaskDecorator());
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(16);
@@ -36,6 +63,79 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * データエクスポートの S3 先読み専用 Executor。
+     *
+     * <p>スレッド数が全エクスポート合計の S3 同時取得数の上限になる。1 エクスポートあたりの
+     * 投入数は {@code OrderedPrefetchPipeline} の先読み件数で抑えるため、キューは上限を設けない
+     * （@Async 用プールと分けることで、大量エクスポート中もメール送信等を詰まらせない）。</p>
+     */
+    @Bean(name = "exportPrefetchExecutor")
+    public Executor exportPrefetchExecutor(
+            @Value("${photlas.export.prefetch.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(EXPORT_PREFETCH_THREAD_NAME_PREFIX);
+        executor.setTaskDecorator(mdcPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * データエクスポート（ジョブモード）のワーカー専用 Executor。
+     *
+     * <p>1 ジョブが長時間スレッドを占有するため、@Scheduled のスケジューラスレッドや @Async 用プールとは分ける。
+     * 投入数は {@code DataExportJobService} が実行中件数で抑える。</p>
+     */
+    @Bean(name = "exportJobExecutor")
+    public Executor exportJobExecutor(
+            @Value("${photlas.export.job.concurrency:1}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(EXPORT_JOB_THREAD_NAME_PREFIX);
+        executor.setTaskDecorator(mdcPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 物理削除バッチの S3 一括削除（DeleteObjects）専用 Executor。
+     *
+     * <p>スレッド数がクリーンアップ全体の DeleteObjects 同時実行数の上限になる。
+     * 投入数は {@code PhotoPurgeEngine} の 1 チャンクあたりのキー数で抑えるため、キューは上限を設けない。</p>
+     */
+    @Bean(name = "cleanupS3Executor")
+    public Executor cleanupS3Executor(
+            @Value("${photlas.cleanup.s3-concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(CLEANUP_S3_THREAD_NAME_PREFIX);
+        executor.setTaskDecorator(mdcPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * モデレーションのバッチコールバックで隔離した写真の S3 移動・通知専用 Executor。
+     *
+     * <p>スレッド数が隔離の S3 移動（CopyObject + DeleteObject）の同時実行数の上限になる。
+     * 投入数は 1 バッチの件数上限で抑えるため、キューは上限を設けない。</p>
+     */
+    @Bean(name = "moderationQuarantineExecutor")
+    public Executor moderationQuarantineExecutor(
+            @Value("${photlas.moderation.quarantine-concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(MODERATION_QUARANTINE_THREAD_NAME_PREFIX);
+        executor.setTaskDecorator(mdcPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * 呼び出し元スレッドの MDC を非同期スレッドへコピーし、
      * 実行後は元の状態（通常は空）へ戻す TaskDecorator。
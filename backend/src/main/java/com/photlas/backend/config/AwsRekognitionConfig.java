@@ -31,12 +31,13 @@ public class AwsRekognitionConfig {
     private static final Duration API_CALL_TIMEOUT = Duration.ofSeconds(10);
 
     @Bean(destroyMethod = "close")
-    public RekognitionClient rekognitionClient() {
+    public RekognitionClient rekognitionClient(AwsSdkMetricsInterceptor metricsInterceptor) {
         return RekognitionClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
                 .overrideConfiguration(ClientOverrideConfiguration.builder()
                         .apiCallTimeout(API_CALL_TIMEOUT)
+                        .addExecutionInterceptor(metricsInterceptor)
                         .build())
                 .build();
     }
@@ -0,0 +1,74 @@
+package com.photlas.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * AWS SDK の API 呼び出し（S3・Rekognition）の所要時間を計測するインターセプター。
+ *
+ * <p>タイマー {@code photlas.aws.calls} に、サービス名（service: S3・Rekognition）・オペレーション名
+ * （operation: PutObject・DetectLabels 等）・結果（outcome）をタグとして付ける。計測するのは SDK の
+ * リトライを含めた呼び出し全体。outcome は success / client_error（4xx）/ server_error（5xx）/
+ * timeout（apiCallTimeout 等の超過）/ error（接続失敗等）のいずれか。</p>
+ *
+ * <p>各クライアントのビルダーで {@code overrideConfiguration(c -> c.addExecutionInterceptor(...))} として登録する。</p>
+ */
+@Component
+public class AwsSdkMetricsInterceptor implements ExecutionInterceptor {
+
+    static final String METRIC_CALLS = "photlas.aws.calls";
+
+    private static final ExecutionAttribute<Timer.Sample> SAMPLE = new ExecutionAttribute<>("PhotlasMetricsSample");
+
+    private final MeterRegistry meterRegistry;
+
+    public AwsSdkMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(SAMPLE, Timer.start(meterRegistry));
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        int status = context.httpResponse().statusCode();
+        record(executionAttributes, status >= 500 ? "server_error" : status >= 400 ? "client_error" : "success");
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes, outcomeOf(context.exception()));
+    }
+
+    static String outcomeOf(Throwable exception) {
+        if (exception instanceof AwsServiceException serviceException) {
+            return serviceException.statusCode() >= 500 ? "server_error" : "client_error";
+        }
+        if (exception instanceof ApiCallTimeoutException || exception instanceof ApiCallAttemptTimeoutException) {
+            return "timeout";
+        }
+        return "error";
+    }
+
+    private void record(ExecutionAttributes executionAttributes, String outcome) {
+        Timer.Sample sample = executionAttributes.getAttribute(SAMPLE);
+        if (sample == null) {
+            return;
+        }
+        sample.stop(meterRegistry.timer(METRIC_CALLS,
+                "service", String.valueOf(executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME)),
+                "operation", String.valueOf(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME)),
+                "outcome", outcome));
+    }
+}
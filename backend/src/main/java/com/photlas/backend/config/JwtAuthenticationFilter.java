@@ -1,10 +1,14 @@
 package com.photlas.backend.config;
 
 import com.photlas.backend.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,6 +22,9 @@ import java.util.List;
 
 /**
  * JWTトークンを検証して認証情報をSecurityContextに設定するフィルター
+ *
+ * トークンの検証時間をタイマー {@code photlas.jwt.authentication} に記録する
+ * （outcome: authenticated / invalid / skipped。Authorization ヘッダーがないリクエストは計測しない）。
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,10 +32,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
     private static final int BEARER_PREFIX_LENGTH = 7;
 
+    static final String METRIC_AUTHENTICATION = "photlas.jwt.authentication";
+
     private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(JwtService jwtService, ObjectProvider<MeterRegistry> meterRegistry) {
         this.jwtService = jwtService;
+        // @WebMvcTest などメトリクスの自動設定がないコンテキストでは計測しない（グローバルレジストリは記録先なし）
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
     }
 
     @Override
@@ -41,9 +53,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
             String token = authHeader.substring(BEARER_PREFIX_LENGTH);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "invalid";
 
             try {
                 String email = jwtService.extractUsername(token);
+                if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                    // 既に認証情報が設定済み
+                    outcome = "skipped";
+                }
 
                 if (email != null
                         && SecurityContextHolder.getContext().getAuthentication() == null
@@ -66,11 +84,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    outcome = "authenticated";
                 }
             } catch (Exception e) {
                 // トークンが無効な場合は認証情報を設定しない
                 logger.warn("JWT authentication failed - IP: " + request.getRemoteAddr()
                         + ", URI: " + request.getRequestURI(), e);
+            } finally {
+                sample.stop(meterRegistry.timer(METRIC_AUTHENTICATION, "outcome", outcome));
             }
         }
 
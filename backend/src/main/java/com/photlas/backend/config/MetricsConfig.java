@@ -0,0 +1,56 @@
+package com.photlas.backend.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Micrometer のメトリクス設定。
+ *
+ * <p>地図表示のエンドポイント（photlas.metrics.map-endpoints の URI テンプレート）の {@code http.server.requests} に
+ * photlas.metrics.map-slo の境界でヒストグラムのバケットを付ける。「○ms 以内に返したリクエストの割合」を
+ * どのレジストリでも集計できるようにするため。全エンドポイントに付けるとバケットの系列数が URI の数だけ増えるので、
+ * 対象を地図表示に絞っている。</p>
+ *
+ * <p>Prometheus では同じ名前のメトリクスの型が揃っていないとスクレイプ全体が失敗する（ヒストグラムとサマリーの混在）。
+ * そのため他のエンドポイントにも最大の境界 1 つだけのバケットを付け、すべてヒストグラムにする。</p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    @Bean
+    public MeterFilter mapEndpointSloMeterFilter(
+            @Value("${photlas.metrics.map-endpoints:/api/v1/spots,/api/v1/spots/photos}") List<String> mapEndpoints,
+            @Value("${photlas.metrics.map-slo:50ms,100ms,250ms,500ms,1s,2s}") List<Duration> mapSlo) {
+        return sloMeterFilter(HTTP_SERVER_REQUESTS, Set.copyOf(mapEndpoints), mapSlo);
+    }
+
+    /**
+     * name のタイマーのうち uri タグが uris に含まれるものに slo の境界のバケットを付け、それ以外には最大の境界のバケットだけを付ける。
+     */
+    static MeterFilter sloMeterFilter(String name, Set<String> uris, List<Duration> slo) {
+        double[] boundaries = slo.stream().mapToDouble(Duration::toNanos).sorted().toArray();
+        double[] largest = {boundaries[boundaries.length - 1]};
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !name.equals(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(uris.contains(id.getTag("uri")) ? boundaries : largest)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.photlas.backend.config;
+
+import com.photlas.backend.service.PostgresNotificationBus;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 読み取り専用トランザクション（{@code @Transactional(readOnly = true)}）をリードレプリカへ振り分ける DataSource の設定。
+ *
+ * <p>{@code photlas.datasource.replica.enabled=true} のときだけ有効（無効時は Spring Boot 既定の単一 DataSource のまま）。</p>
+ * <ul>
+ *   <li>アプリが使う DataSource は {@link LazyConnectionDataSourceProxy}。最初の SQL の時点で接続を取り、
+ *       読み取り専用なら {@link ReplicaRoutingDataSource}、それ以外はプライマリ（spring.datasource.*）から取る</li>
+ *   <li>レプリカの接続プールは photlas.datasource.replica.urls の URL ごとに作る（プール名 replica-1, replica-2, ...）。
+ *       接続数などの HikariCP メトリクスはプール名のタグで出る</li>
+ *   <li>遅延が max-lag を超えたレプリカは {@link ReplicaLagMonitor} が外し、全滅時はプライマリで読む</li>
+ *   <li>書き込みを行ったユーザーのリクエストは read-your-writes-window の間プライマリで読む（{@link ReadYourWritesInterceptor}）</li>
+ * </ul>
+ * <p>Open Session in View が有効だと 1 リクエストの最初の接続がリクエスト終了まで保持され、読み取り専用トランザクションの後の
+ * 書き込みがレプリカの接続で実行されてしまうため、{@code spring.jpa.open-in-view=false} を必須とする。</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "photlas.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String REPLICA_POOL_NAME_PREFIX = "replica-";
+
+    public ReadReplicaConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException(
+                    "リードレプリカの振り分けには spring.jpa.open-in-view=false が必要です");
+        }
+    }
+
+    /**
+     * プライマリの接続プール（spring.datasource.* / spring.datasource.hikari.*）。
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * レプリカの接続プールと遅延の監視。ユーザー名・パスワードは省略時プライマリと同じ。
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${photlas.datasource.replica.urls}") List<String> urls,
+            @Value("${photlas.datasource.replica.username:}") String username,
+            @Value("${photlas.datasource.replica.password:}") String password,
+            @Value("${photlas.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${photlas.datasource.replica.connection-timeout:PT2S}") Duration connectionTimeout,
+            @Value("${photlas.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String poolName = REPLICA_POOL_NAME_PREFIX + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(poolName);
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            // レプリカ停止中でも起動できるよう、プール作成時には接続しない（遅延の監視で検知する）
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(poolName, replica);
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("photlas.datasource.replica.urls にレプリカの URL を指定してください");
+        }
+        return new ReplicaLagMonitor(replicas, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor, meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            PostgresNotificationBus notificationBus,
+            @Value("${photlas.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesTracker(notificationBus, window);
+    }
+
+    /**
+     * read-your-writes をリクエスト単位で適用する。
+     * {@code @WebMvcTest} は WebMvcConfigurer を外側のクラスの条件と無関係に読み込むため、同じ条件を付けておく。
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "photlas.datasource.replica.enabled", havingValue = "true")
+    static class ReadYourWritesWebConfig implements WebMvcConfigurer {
+
+        private final ReadYourWritesTracker tracker;
+
+        ReadYourWritesWebConfig(ReadYourWritesTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(tracker));
+        }
+    }
+}
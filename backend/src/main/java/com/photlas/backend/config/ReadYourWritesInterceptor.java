@@ -0,0 +1,66 @@
+package com.photlas.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * リクエスト単位でリードレプリカ振り分けの read-your-writes を適用する。
+ *
+ * <ul>
+ *   <li>書き込み系メソッド（POST/PUT/PATCH/DELETE）のリクエストは、途中の読み取りも含めてプライマリで処理する。
+ *       認証済みユーザーのリクエストが成功した場合は {@link ReadYourWritesTracker} に記録する</li>
+ *   <li>記録から一定時間内のユーザーのリクエストはプライマリで読む</li>
+ * </ul>
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String principal = principal();
+        if (isWrite(request) || (principal != null && tracker.hasRecentWrite(principal))) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+        String principal = principal();
+        if (principal != null && isWrite(request) && ex == null && response.getStatus() < 400) {
+            tracker.recordWrite(principal);
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return WRITE_METHODS.contains(request.getMethod());
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
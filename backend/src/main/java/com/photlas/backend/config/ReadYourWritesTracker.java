@@ -0,0 +1,88 @@
+package com.photlas.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.photlas.backend.service.PostgresNotificationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * 直近に書き込みを行ったユーザーを記録する（read-your-writes）。
+ *
+ * <p>記録から window の間、そのユーザーのリクエストはプライマリで読む（レプリカの遅延で自分の書き込みが見えない状態を防ぐ）。
+ * 次のリクエストが別ノードに届く場合に備え、記録は {@link PostgresNotificationBus} で全ノードに配る。
+ * 他ノードへの到達は受信ポーリング間隔ぶん遅れるため、その間に届いたリクエストはレプリカ遅延の判定だけで守られる。</p>
+ *
+ * <p>認証名（メールアドレス）は全ノードへの通知に載せず、SHA-256 のハッシュ（{@link #key}）で記録・通知する。</p>
+ */
+public class ReadYourWritesTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadYourWritesTracker.class);
+
+    static final String CHANNEL = "photlas_read_your_writes";
+
+    /** 記録するユーザー数の上限（超えた分は古いものから消え、そのユーザーはレプリカ遅延の判定だけで守られる） */
+    private static final long MAX_TRACKED_USERS = 100_000;
+
+    private final PostgresNotificationBus notificationBus;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(PostgresNotificationBus notificationBus, Duration window) {
+        this.notificationBus = notificationBus;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(MAX_TRACKED_USERS)
+                .build();
+        notificationBus.subscribe(CHANNEL, this::onNotification);
+    }
+
+    /**
+     * ユーザーの書き込みを記録し、全ノードへ通知する。
+     *
+     * @param principal 認証名（メールアドレス）
+     */
+    public void recordWrite(String principal) {
+        String key = key(principal);
+        recentWriters.put(key, Boolean.TRUE);
+        try {
+            notificationBus.publish(CHANNEL, key);
+        } catch (RuntimeException e) {
+            // 他ノードでは window の間レプリカから読まれ得るだけなので、リクエストは失敗させない
+            logger.warn("read-your-writes の通知に失敗しました", e);
+        }
+    }
+
+    /**
+     * window 内に書き込みを行ったユーザーか。
+     */
+    public boolean hasRecentWrite(String principal) {
+        return recentWriters.getIfPresent(key(principal)) != null;
+    }
+
+    /**
+     * 他ノードからの通知を記録する。
+     *
+     * @param key 認証名のハッシュ（{@link #key}）
+     */
+    void onNotification(String key) {
+        recentWriters.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * 記録・通知に使うキー（認証名の SHA-256 の hex）。
+     */
+    static String key(String principal) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(principal.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 が利用できません", e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.photlas.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * リードレプリカの遅延を定期的に測り、許容範囲内のレプリカだけを振り分け先にする。
+ *
+ * <ul>
+ *   <li>遅延は最後に適用した WAL のコミット時刻と現在時刻の差。WAL の受信が streaming 中で、受信済みの WAL を
+ *       すべて適用済みの場合は 0（プライマリに更新がないと適用時刻が古いままになるため）。
+ *       受信が切れている場合は受信済みと適用済みが一致していても追いついているとは限らないため、適用時刻との差を使う。
+ *       受信状態（pg_stat_wal_receiver）の参照には pg_read_all_stats（pg_monitor）の権限が要る。
+ *       権限が無いと常に適用時刻との差になり、更新が少ない間は振り分けを止めることがある（プライマリで読むだけ）</li>
+ *   <li>一度も WAL を適用していないなど遅延が分からない場合は測定失敗として扱う</li>
+ *   <li>遅延が max-lag を超えた、または測定に失敗したレプリカは、次の測定で回復するまで振り分けない</li>
+ *   <li>起動直後は未測定のため全レプリカを対象外とし、最初の測定までプライマリで読む</li>
+ * </ul>
+ * <p>判定はノードごと（各ノードが自分のプールで測る）なので、分散ロックは取らない。</p>
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String METRIC_LAG = "photlas.datasource.replica.lag";
+    static final String METRIC_HEALTHY = "photlas.datasource.replica.healthy";
+
+    private static final String LAG_SQL = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                          AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+                     ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END
+            """;
+
+    /** 測定クエリのタイムアウト（秒） */
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    /**
+     * 振り分け先のレプリカ
+     *
+     * @param name       プール名（メトリクスの pool タグ）
+     * @param dataSource レプリカの接続プール
+     */
+    public record Replica(String name, DataSource dataSource) {}
+
+    /** 測定結果（lagSeconds は測定失敗時 NaN） */
+    private static final class State {
+        private final Replica replica;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean healthy;
+
+        private State(Replica replica) {
+            this.replica = replica;
+            this.jdbcTemplate = new JdbcTemplate(replica.dataSource());
+            this.jdbcTemplate.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+        }
+    }
+
+    private final List<State> states = new ArrayList<>();
+    private final double maxLagSeconds;
+    private volatile List<Replica> healthyReplicas = List.of();
+
+    /**
+     * @param replicas プール名 → レプリカの接続プール（順序を保つ Map）
+     * @param maxLag   振り分け先とする遅延の上限
+     */
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        replicas.forEach((name, dataSource) -> {
+            State state = new State(new Replica(name, dataSource));
+            states.add(state);
+            Gauge.builder(METRIC_LAG, state, s -> s.lagSeconds)
+                    .tag("pool", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_HEALTHY, state, s -> s.healthy ? 1 : 0)
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * 全レプリカの遅延を測る。
+     */
+    @Scheduled(fixedDelayString = "${photlas.datasource.replica.lag-check-interval-ms:2000}")
+    public void check() {
+        for (State state : states) {
+            Double lag;
+            try {
+                lag = state.jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            } catch (DataAccessException e) {
+                recordFailure(state, e);
+                continue;
+            }
+            if (lag == null) {
+                recordFailure(state, null);
+                continue;
+            }
+            recordLag(state, lag);
+        }
+        refreshHealthy();
+    }
+
+    /** 振り分け先にできるレプリカ */
+    public List<Replica> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    /** 全レプリカ */
+    public List<Replica> replicas() {
+        return states.stream().map(s -> s.replica).toList();
+    }
+
+    /**
+     * 遅延の測定結果を反映する（テストでは直接呼ぶ）。
+     */
+    void recordLag(String name, double lagSeconds) {
+        recordLag(find(name), lagSeconds);
+        refreshHealthy();
+    }
+
+    /**
+     * 測定失敗を反映する（テストでは直接呼ぶ）。
+     */
+    void recordFailure(String name) {
+        recordFailure(find(name), null);
+        refreshHealthy();
+    }
+
+    private void recordLag(State state, double lagSeconds) {
+        state.lagSeconds = lagSeconds;
+        boolean healthy = lagSeconds <= maxLagSeconds;
+        if (state.healthy != healthy) {
+            if (healthy) {
+                logger.info("リードレプリカを振り分け先に戻します: pool={}, lag={}s", state.replica.name(), lagSeconds);
+            } else {
+                logger.warn("リードレプリカの遅延が上限を超えたため振り分けを止めます: pool={}, lag={}s, max={}s",
+                        state.replica.name(), lagSeconds, maxLagSeconds);
+            }
+        }
+        state.healthy = healthy;
+    }
+
+    private void recordFailure(State state, Exception cause) {
+        state.lagSeconds = Double.NaN;
+        if (state.healthy) {
+            logger.warn("リードレプリカの遅延を測定できないため振り分けを止めます: pool={}", state.replica.name(), cause);
+        }
+        state.healthy = false;
+    }
+
+    private void refreshHealthy() {
+        healthyReplicas = states.stream().filter(s -> s.healthy).map(s -> s.replica).toList();
+    }
+
+    private State find(String name) {
+        return states.stream()
+                .filter(s -> s.replica.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("不明なレプリカ: " + name));
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (State state : states) {
+            if (state.replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
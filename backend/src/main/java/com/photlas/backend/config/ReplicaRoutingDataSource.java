@@ -0,0 +1,88 @@
+package com.photlas.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 読み取り専用の接続をリードレプリカへ振り分ける DataSource。
+ *
+ * <p>{@code LazyConnectionDataSourceProxy} の readOnlyDataSource として使う（読み取り専用トランザクションの接続だけがここを通る）。
+ * 正常なレプリカ（{@link ReplicaLagMonitor} が遅延を許容範囲内と判定したもの）をラウンドロビンで選び、
+ * 次の場合はプライマリを返す。</p>
+ * <ul>
+ *   <li>現在のスレッドがプライマリに固定されている（書き込み直後のユーザーのリクエストなど。{@link #pinToPrimary()}）</li>
+ *   <li>正常なレプリカが 1 台もない</li>
+ * </ul>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    static final String METRIC_ROUTED = "photlas.datasource.routed";
+
+    static final String REASON_READ_ONLY = "read_only";
+    static final String REASON_READ_YOUR_WRITES = "read_your_writes";
+    static final String REASON_REPLICA_UNAVAILABLE = "replica_unavailable";
+
+    private static final String PRIMARY_POOL = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor monitor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor monitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.monitor = monitor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 現在のスレッドの読み取りをプライマリに固定する（{@link #unpin()} で解除する）。
+     */
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    /** プライマリへの固定を解除する */
+    public static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    DataSource select() {
+        if (isPinnedToPrimary()) {
+            return routed(PRIMARY_POOL, REASON_READ_YOUR_WRITES, primary);
+        }
+        List<ReplicaLagMonitor.Replica> healthy = monitor.healthyReplicas();
+        if (healthy.isEmpty()) {
+            return routed(PRIMARY_POOL, REASON_REPLICA_UNAVAILABLE, primary);
+        }
+        ReplicaLagMonitor.Replica replica = healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+        return routed(replica.name(), REASON_READ_ONLY, replica.dataSource());
+    }
+
+    private DataSource routed(String pool, String reason, DataSource dataSource) {
+        meterRegistry.counter(METRIC_ROUTED, "pool", pool, "reason", reason).increment();
+        return dataSource;
+    }
+}
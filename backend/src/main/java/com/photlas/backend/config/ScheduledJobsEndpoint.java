@@ -0,0 +1,93 @@
+package com.photlas.backend.config;
+
+import com.photlas.backend.entity.ScheduledJobLock;
+import com.photlas.backend.entity.ScheduledJobRun;
+import com.photlas.backend.repository.ScheduledJobLockRepository;
+import com.photlas.backend.repository.ScheduledJobRunRepository;
+import com.photlas.backend.service.ScheduledJobRunner;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Scheduled ジョブの分散ロックと実行履歴を表示する actuator エンドポイント（/actuator/scheduledjobs）。
+ *
+ * <p>どのノードがロックを保持しているか、直近の実行の所要時間・処理件数・結果を確認する運用向け。
+ * 管理者のみ参照可（{@link SecurityConfig}）。</p>
+ */
+@Component
+@Endpoint(id = "scheduledjobs")
+public class ScheduledJobsEndpoint {
+
+    private final ScheduledJobLockRepository lockRepository;
+    private final ScheduledJobRunRepository runRepository;
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    public ScheduledJobsEndpoint(ScheduledJobLockRepository lockRepository,
+                                 ScheduledJobRunRepository runRepository,
+                                 ScheduledJobRunner scheduledJobRunner) {
+        this.lockRepository = lockRepository;
+        this.runRepository = runRepository;
+        this.scheduledJobRunner = scheduledJobRunner;
+    }
+
+    /** 全ジョブのロック状態と直近の実行（各ジョブ最新 1 件）。 */
+    @ReadOperation
+    public Map<String, Object> jobs() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        for (ScheduledJobLock lock : lockRepository.findAll(Sort.by("jobName"))) {
+            List<ScheduledJobRun> runs = runRepository.findTop20ByJobNameOrderByStartedAtDesc(lock.getJobName());
+            Map<String, Object> job = toLockMap(lock, now);
+            job.put("lastRun", runs.isEmpty() ? null : toRunMap(runs.get(0)));
+            jobs.put(lock.getJobName(), job);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("node", scheduledJobRunner.nodeId());
+        response.put("jobs", jobs);
+        return response;
+    }
+
+    /** 指定ジョブのロック状態と直近 20 件の実行履歴。 */
+    @ReadOperation
+    public Map<String, Object> job(@Selector String jobName) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobName", jobName);
+        response.put("lock", lockRepository.findById(jobName)
+                .map(lock -> toLockMap(lock, LocalDateTime.now()))
+                .orElse(null));
+        response.put("runs", runRepository.findTop20ByJobNameOrderByStartedAtDesc(jobName).stream()
+                .map(ScheduledJobsEndpoint::toRunMap)
+                .toList());
+        return response;
+    }
+
+    private static Map<String, Object> toLockMap(ScheduledJobLock lock, LocalDateTime now) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("lockedBy", lock.getLockedBy());
+        map.put("lockedAt", lock.getLockedAt());
+        map.put("lockUntil", lock.getLockUntil());
+        // lock_until は DB 時刻基準のため、ノードの時計とずれている分だけ目安になる
+        map.put("held", lock.getLockUntil().isAfter(now));
+        return map;
+    }
+
+    private static Map<String, Object> toRunMap(ScheduledJobRun run) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("node", run.getNode());
+        map.put("startedAt", run.getStartedAt());
+        map.put("finishedAt", run.getFinishedAt());
+        map.put("durationMs", run.getDurationMs());
+        map.put("status", run.getStatus());
+        map.put("rowsProcessed", run.getRowsProcessed());
+        map.put("errorMessage", run.getErrorMessage());
+        return map;
+    }
+}
@@ -141,6 +141,8 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, PHOTOS_ENDPOINT_PATTERN).permitAll()  // 写真閲覧
                 .requestMatchers(new RegexRequestMatcher(USER_PROFILE_PATTERN, HttpMethod.GET.name())).permitAll()  // ユーザープロフィール閲覧
                 .requestMatchers(new RegexRequestMatcher(USER_PHOTOS_PATTERN, HttpMethod.GET.name())).permitAll()   // ユーザー写真一覧閲覧
+                .requestMatchers("/actuator/scheduledjobs", "/actuator/scheduledjobs/**").hasRole("ADMIN") // スケジュールジョブのロック・実行履歴
+                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")     // メトリクス（Prometheus 形式）
                 .anyRequest().authenticated()  // その他は認証必須
             )
             // 認証エラーハンドリング
@@ -0,0 +1,40 @@
+package com.photlas.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * {@link SqlStatementCounter} を JPA とアプリの DataSource に組み込む。
+ *
+ * <p>数えるのはアプリが使う DataSource（Bean 名 dataSource。リードレプリカ有効時は振り分け用のプロキシ）だけ。
+ * その内側の接続プールは包まないので、同じ SQL を二重に数えない。</p>
+ */
+@Configuration
+public class SqlStatementCountConfig {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter.Inspector());
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof SqlStatementCounter.CountingDataSource)) {
+                    return new SqlStatementCounter.CountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.photlas.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * リクエスト（などの処理単位）ごとに実行した SQL の数を数える。
+ *
+ * <p>{@link #open()} から {@link Scope#close()} までの間に同じスレッドで実行した SQL を 2 通りで数える。</p>
+ * <ul>
+ *   <li>JDBC: {@link CountingDataSource} が返す接続での Statement の execute 系の呼び出し
+ *       （JPA・JdbcTemplate・ネイティブクエリのすべて。executeBatch は 1 回）</li>
+ *   <li>Hibernate: {@link Inspector}（{@link StatementInspector}）が見た、Hibernate が生成・準備した SQL</li>
+ * </ul>
+ * <p>スコープを開いていないスレッド（スケジュールジョブ等）では何もしない（接続もそのまま返す）。</p>
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * 現在のスレッドで数え始める。入れ子で開いた場合は閉じたときに外側のスコープに戻す（外側には加算しない）。
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /** 処理単位の実行数 */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope outer;
+        private int jdbcStatements;
+        private int hibernateStatements;
+
+        private Scope(Scope outer) {
+            this.outer = outer;
+        }
+
+        /** JDBC で実行した SQL の数 */
+        public int jdbcStatements() {
+            return jdbcStatements;
+        }
+
+        /** Hibernate が生成・準備した SQL の数 */
+        public int hibernateStatements() {
+            return hibernateStatements;
+        }
+
+        @Override
+        public void close() {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    /**
+     * Hibernate の {@code hibernate.session_factory.statement_inspector} に登録する。SQL は書き換えない。
+     */
+    public static final class Inspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            Scope scope = CURRENT.get();
+            if (scope != null) {
+                scope.hibernateStatements++;
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * スコープを開いているスレッドに、Statement の実行を数える接続を返す DataSource。
+     */
+    public static final class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        public CountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        /** コンテキスト終了時に内側の接続プールを閉じる（Bean の破棄メソッドは包んだ側に対して呼ばれるため） */
+        @Override
+        public void close() throws Exception {
+            if (getTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            if (CURRENT.get() == null) {
+                return connection;
+            }
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return switch (method.getName()) {
+                    case "createStatement" -> proxy(Statement.class, (Statement) result, CountingDataSource::execute);
+                    case "prepareStatement" ->
+                            proxy(PreparedStatement.class, (PreparedStatement) result, CountingDataSource::execute);
+                    case "prepareCall" ->
+                            proxy(CallableStatement.class, (CallableStatement) result, CountingDataSource::execute);
+                    default -> result;
+                };
+            });
+        }
+
+        private static Object execute(Object target, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                Scope scope = CURRENT.get();
+                if (scope != null) {
+                    scope.jdbcStatements++;
+                }
+            }
+            return invoke(target, method, args);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[] {type},
+                invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.photlas.backend.controller;
 
+import com.photlas.backend.dto.DataExportJobResponse;
 import com.photlas.backend.dto.DataExportRequest;
 import com.photlas.backend.entity.DataExportLog;
 import com.photlas.backend.entity.User;
@@ -33,6 +34,10 @@ import java.time.format.DateTimeFormatter;
  * <p>POST /api/v1/users/me/export — リクエストボディの password が必要
  * （OAuth のみユーザーは省略可）。検証順序は
  * 「パスワード → 同時実行 → 頻度制限」（§4.1）。</p>
+ *
+ * <p>ジョブモード（{@code photlas.export.mode=job}）では ZIP をストリーミングせず、
+ * 202 Accepted でジョブ ID を返す。ZIP は {@code DataExportJobService} が S3 上に生成し、
+ * ダウンロードリンクをメールで送る。</p>
  */
 @RestController
 @RequestMapping("/api/v1/users/me")
@@ -57,10 +62,10 @@ public class DataExportController {
     }
 
     /**
-     * 認証済みユーザー本人のデータを ZIP で返す。
+     * 認証済みユーザー本人のデータを ZIP で返す（ジョブモードでは受付のみ行い 202 を返す）。
      */
     @PostMapping("/export")
-    public ResponseEntity<StreamingResponseBody> exportData(
+    public ResponseEntity<?> exportData(
             @Valid @RequestBody(required = false) DataExportRequest request,
             Authentication authentication,
             HttpServletRequest httpRequest) {
@@ -82,6 +87,13 @@ public class DataExportController {
         String userAgent = httpRequest.getHeader(HttpHeaders.USER_AGENT);
         DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), requestIp, userAgent);
 
+        if (DataExportLog.MODE_JOB.equals(log.getMode())) {
+            logger.info("Export job queued: userId={} logId={}", user.getId(), log.getId());
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(new DataExportJobResponse(log.getId(), log.getStatus()));
+        }
+
         // 3. レスポンスヘッダー組み立て + ZIP ストリーミング開始
         String filename = "photlas-export-" + user.getId() + "-"
                 + ZonedDateTime.now(ZoneId.of("UTC")).format(ZIP_TIMESTAMP_FORMATTER)
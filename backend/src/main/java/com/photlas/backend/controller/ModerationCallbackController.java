@@ -1,6 +1,8 @@
 package com.photlas.backend.controller;
 
 import com.photlas.backend.dto.ErrorResponse;
+import com.photlas.backend.dto.ModerationCallbackBatchRequest;
+import com.photlas.backend.dto.ModerationCallbackBatchResponse;
 import com.photlas.backend.entity.ModerationDetail;
 import com.photlas.backend.entity.CodeConstants;
 import com.photlas.backend.entity.Photo;
@@ -9,8 +11,12 @@ import com.photlas.backend.exception.PhotoNotFoundException;
 import com.photlas.backend.repository.ModerationDetailRepository;
 import com.photlas.backend.repository.PhotoRepository;
 import com.photlas.backend.repository.UserRepository;
+import com.photlas.backend.service.ModerationCallbackBatchService;
+import com.photlas.backend.service.ModerationCallbackBatchStore;
 import com.photlas.backend.service.ModerationNotificationService;
+import com.photlas.backend.service.ModerationStatusPublisher;
 import com.photlas.backend.service.QuarantineService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,6 +25,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -43,19 +52,25 @@ public class ModerationCallbackController {
     private final UserRepository userRepository;
     private final ModerationNotificationService notificationService;
     private final QuarantineService quarantineService;
+    private final ModerationCallbackBatchService moderationCallbackBatchService;
+    private final ModerationStatusPublisher moderationStatusPublisher;
 
     public ModerationCallbackController(
             PhotoRepository photoRepository,
             ModerationDetailRepository moderationDetailRepository,
             UserRepository userRepository,
             ModerationNotificationService notificationService,
-            QuarantineService quarantineService
+            QuarantineService quarantineService,
+            ModerationCallbackBatchService moderationCallbackBatchService,
+            ModerationStatusPublisher moderationStatusPublisher
     ) {
         this.photoRepository = photoRepository;
         this.moderationDetailRepository = moderationDetailRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
         this.quarantineService = quarantineService;
+        this.moderationCallbackBatchService = moderationCallbackBatchService;
+        this.moderationStatusPublisher = moderationStatusPublisher;
     }
 
     /**
@@ -111,6 +126,9 @@ public class ModerationCallbackController {
         saveModerationDetail(CodeConstants.TARGET_TYPE_PHOTO, photo.getPhotoId(),
                 confidenceScore, newStatus, detectedLabels);
 
+        // 投稿者の SSE 接続へステータス変更を届ける（ポーリングの代わり）
+        moderationStatusPublisher.publish(photo.getUserId(), photo.getPhotoId(), newStatus);
+
         // Issue#54: 隔離時にユーザーへメール通知
         if (isQuarantined) {
             userRepository.findById(photo.getUserId()).ifPresent(user ->
@@ -124,6 +142,55 @@ public class ModerationCallbackController {
         return ResponseEntity.ok(Map.of(KEY_MESSAGE, "ステータスを更新しました"));
     }
 
+    /**
+     * AIスキャン結果のバッチコールバック
+     * 一括再スキャン時にスキャナーから複数の結果をまとめて受け取り、1 トランザクションで適用する。
+     * idempotency_key が適用済みの結果（再送）はスキップし、隔離時の S3 移動・通知は非同期に行う。
+     * 存在しない写真は 404 にせず、結果ごとの outcome（not_found）で返す。
+     *
+     * @param apiKey APIキー
+     * @param request スキャン結果の一覧
+     * @return 結果ごとの処理内容
+     */
+    @PostMapping("/callback/batch")
+    public ResponseEntity<?> handleModerationCallbackBatch(
+            @RequestHeader(API_KEY_HEADER) String apiKey,
+            @Valid @RequestBody ModerationCallbackBatchRequest request
+    ) {
+        if (!validApiKey.equals(apiKey)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("無効なAPIキーです"));
+        }
+
+        // ステータスを先にすべて変換し、不正な値があればバッチ全体を適用せずに 400 を返す
+        List<ModerationCallbackBatchStore.ScanResult> results = new ArrayList<>(request.getResults().size());
+        for (ModerationCallbackBatchRequest.Item item : request.getResults()) {
+            results.add(new ModerationCallbackBatchStore.ScanResult(
+                    item.getS3ObjectKey(), parseStatus(item.getStatus()), item.getConfidenceScore(),
+                    item.getDetectedLabels(), item.getIdempotencyKey()));
+        }
+
+        ModerationCallbackBatchStore.Applied applied = moderationCallbackBatchService.process(results);
+
+        int updated = 0;
+        int duplicates = 0;
+        int notFound = 0;
+        List<ModerationCallbackBatchResponse.ItemResult> itemResults = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            ModerationCallbackBatchStore.Outcome outcome = applied.outcomes().get(i);
+            switch (outcome) {
+                case UPDATED -> updated++;
+                case DUPLICATE -> duplicates++;
+                case NOT_FOUND -> notFound++;
+            }
+            itemResults.add(new ModerationCallbackBatchResponse.ItemResult(
+                    results.get(i).s3ObjectKey(), outcome.name().toLowerCase(Locale.ROOT)));
+        }
+
+        return ResponseEntity.ok(new ModerationCallbackBatchResponse(
+                updated, duplicates, notFound, applied.quarantinedPhotoIds().size(), itemResults));
+    }
+
     /**
      * Issue#54: プロフィール画像のモデレーションコールバック処理
      * QUARANTINEDの場合はプロフィール画像をリセット（デフォルトに戻す）
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Issue#119: 写真の AI 解析エンドポイント。
@@ -36,6 +37,8 @@ public class PhotoAnalyzeController {
      * 画像を解析する。Issue#142: カテゴリ判定の EXIF ルール用に、フロントが抽出した EXIF 値を
      * 任意の追加フォーム値として受け取る（解析画像は EXIF が剥がされているため別送が必要）。
      * GPS 緯度経度は受け取らない。受け取った値は解析中のみ使用し保存しない。
+     *
+     * <p>アップロード全体を {@code byte[]} に展開せず、パートのストリームをそのまま渡す。</p>
      */
     @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<PhotoAnalyzeResponse> analyze(
@@ -51,8 +54,10 @@ public class PhotoAnalyzeController {
         }
         AnalyzeExifInput exifInput = new AnalyzeExifInput(
                 focalLength35mm, iso, exposureTimeSeconds, dateTimeOriginal, gpsAltitude);
-        PhotoAnalyzeResponse response =
-                photoAnalyzeService.analyze(file.getBytes(), file.getContentType(), exifInput);
-        return ResponseEntity.ok(response);
+        try (InputStream imageStream = file.getInputStream()) {
+            PhotoAnalyzeResponse response =
+                    photoAnalyzeService.analyze(imageStream, file.getContentType(), exifInput);
+            return ResponseEntity.ok(response);
+        }
     }
 }
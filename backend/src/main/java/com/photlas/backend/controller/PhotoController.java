@@ -12,13 +12,16 @@ import com.photlas.backend.entity.User;
 import com.photlas.backend.exception.CategoryNotFoundException;
 import com.photlas.backend.exception.UserNotFoundException;
 import com.photlas.backend.repository.UserRepository;
+import com.photlas.backend.service.ModerationStatusStreamRegistry;
 import com.photlas.backend.service.PhotoService;
 import com.photlas.backend.service.S3Service;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -31,11 +34,14 @@ public class PhotoController {
     private final PhotoService photoService;
     private final S3Service s3Service;
     private final UserRepository userRepository;
+    private final ModerationStatusStreamRegistry moderationStatusStreamRegistry;
 
-    public PhotoController(PhotoService photoService, S3Service s3Service, UserRepository userRepository) {
+    public PhotoController(PhotoService photoService, S3Service s3Service, UserRepository userRepository,
+                           ModerationStatusStreamRegistry moderationStatusStreamRegistry) {
         this.photoService = photoService;
         this.s3Service = s3Service;
         this.userRepository = userRepository;
+        this.moderationStatusStreamRegistry = moderationStatusStreamRegistry;
     }
 
     /**
@@ -155,6 +161,26 @@ public class PhotoController {
         ));
     }
 
+    /**
+     * 自分の写真のモデレーションステータス変更を Server-Sent Events で受け取る（ポーリングの代わり）
+     *
+     * 変更のたびに moderation-status イベント（data: {"photo_id", "moderation_status"}、/status と同じ形式）を送る。
+     * 接続前や再接続中の変更は届かないため、クライアントは接続後に /status を 1 回取得してから待つ。
+     * 接続はタイムアウトで閉じるので、クライアントは再接続する。
+     *
+     * @param authentication 認証情報
+     * @return イベントストリーム
+     */
+    @GetMapping(path = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPhotoStatus(Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UserNotFoundException("ユーザーが見つかりません"));
+        return ResponseEntity.ok(moderationStatusStreamRegistry.subscribe(user.getId()));
+    }
+
     /**
      * Issue#61: 写真メタデータを更新する
      *
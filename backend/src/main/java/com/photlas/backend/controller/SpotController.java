@@ -1,21 +1,38 @@
 package com.photlas.backend.controller;
 
+import com.photlas.backend.dto.NearbySpotsResponse;
+import com.photlas.backend.dto.SpotFilter;
+import com.photlas.backend.dto.SpotHistogramResponse;
 import com.photlas.backend.dto.SpotPhotosRequest;
 import com.photlas.backend.dto.SpotPhotosResponse;
 import com.photlas.backend.dto.SpotResponse;
+import com.photlas.backend.dto.SpotTileVersionsResponse;
 import com.photlas.backend.entity.User;
 import com.photlas.backend.exception.UserNotFoundException;
 import com.photlas.backend.repository.UserRepository;
 import com.photlas.backend.service.SpotService;
+import com.photlas.backend.service.SpotSummaryService;
+import com.photlas.backend.service.SpotTile;
+import com.photlas.backend.service.SpotTileService;
+import com.photlas.backend.service.SpotVectorTileService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * スポット関連のエンドポイントを提供するコントローラー
@@ -26,11 +43,30 @@ public class SpotController {
 
     private static final Logger logger = LoggerFactory.getLogger(SpotController.class);
 
+    /** タイル応答の形式の版（応答の形式を変えたら上げ、変更前の ETag と一致させない） */
+    private static final int TILE_FORMAT_VERSION = 2;
+    /** 版数を指定しないタイル応答のキャッシュ期間（/api/v1/spots と同じ） */
+    private static final Duration TILE_MAX_AGE = Duration.ofSeconds(60);
+    /** 最新の版数を指定したタイル応答のキャッシュ期間（版数が上がると URL が変わるため実質無期限） */
+    private static final Duration VERSIONED_TILE_MAX_AGE = Duration.ofDays(365);
+    /** タイルの版数一覧のキャッシュ期間（タイルの変更が地図に反映されるまでの上限） */
+    private static final Duration TILE_VERSIONS_MAX_AGE = Duration.ofSeconds(30);
+    /** 写真の枚数の分布のキャッシュ期間（/api/v1/spots と同じ） */
+    private static final Duration HISTOGRAM_MAX_AGE = Duration.ofSeconds(60);
+
     private final SpotService spotService;
+    private final SpotTileService spotTileService;
+    private final SpotVectorTileService spotVectorTileService;
+    private final SpotSummaryService spotSummaryService;
     private final UserRepository userRepository;
 
-    public SpotController(SpotService spotService, UserRepository userRepository) {
+    public SpotController(SpotService spotService, SpotTileService spotTileService,
+                          SpotVectorTileService spotVectorTileService, SpotSummaryService spotSummaryService,
+                          UserRepository userRepository) {
         this.spotService = spotService;
+        this.spotTileService = spotTileService;
+        this.spotVectorTileService = spotVectorTileService;
+        this.spotSummaryService = spotSummaryService;
         this.userRepository = userRepository;
     }
 
@@ -40,17 +76,9 @@ public class SpotController {
      * @param north 北緯
      * @param south 南緯
      * @param east 東経
-     * @param west 西経
-     * @param subjectCategories 被写体カテゴリーフィルター
-     * @param months 月フィルター
-     * @param timesOfDay 時間帯フィルター
-     * @param weathers 天気フィルター
-     * @param minResolution 最小解像度（長辺px）
-     * @param deviceTypes 機材種別リスト（SLR / MIRRORLESS / COMPACT / SMARTPHONE / FILM / OTHER）
-     * @param maxAgeDays 撮影日からの最大年数
-     * @param aspectRatios アスペクト比リスト（HORIZONTAL / VERTICAL / SQUARE）
-     * @param focalLengthRanges 焦点距離帯リスト（WIDE / STANDARD / TELEPHOTO / SUPER_TELEPHOTO）
-     * @param maxIso 最大ISO感度
+     * @param west 西経（east より大きいときは日付変更線をまたぐ範囲として扱う）
+     * @param filter 写真フィルター（被写体カテゴリー・月・時間帯・天気・解像度・機材・撮影日・アスペクト比・
+     *               焦点距離帯・ISO感度・キーワード）
      * @return スポット一覧
      */
     @GetMapping
@@ -59,20 +87,10 @@ public class SpotController {
             @RequestParam BigDecimal south,
             @RequestParam BigDecimal east,
             @RequestParam BigDecimal west,
-            @RequestParam(name = "subject_categories", required = false) List<Integer> subjectCategories,
-            @RequestParam(required = false) List<Integer> months,
-            @RequestParam(name = "times_of_day", required = false) List<Integer> timesOfDay,
-            @RequestParam(required = false) List<Integer> weathers,
-            @RequestParam(name = "min_resolution", required = false) Integer minResolution,
-            @RequestParam(name = "device_types", required = false) List<Integer> deviceTypes,
-            @RequestParam(name = "max_age_days", required = false) Integer maxAgeDays,
-            @RequestParam(name = "aspect_ratios", required = false) List<String> aspectRatios,
-            @RequestParam(name = "focal_length_ranges", required = false) List<String> focalLengthRanges,
-            @RequestParam(name = "max_iso", required = false) Integer maxIso,
-            @RequestParam(name = "tag_ids", required = false) List<Long> tagIds) {
-
-        logger.info("GET /api/v1/spots - north={}, south={}, east={}, west={}, subjectCategories={}, months={}, timesOfDay={}, weathers={}, minResolution={}, deviceTypes={}, maxAgeDays={}, aspectRatios={}, focalLengthRanges={}, maxIso={}, tagIds={}",
-                north, south, east, west, subjectCategories, months, timesOfDay, weathers, minResolution, deviceTypes, maxAgeDays, aspectRatios, focalLengthRanges, maxIso, tagIds);
+            @ModelAttribute SpotFilter filter) {
+
+        logger.info("GET /api/v1/spots - north={}, south={}, east={}, west={}, filter={}",
+                north, south, east, west, filter);
 
         // 範囲パラメータのバリデーション
         if (north == null || south == null || east == null || west == null) {
@@ -80,12 +98,190 @@ public class SpotController {
             return ResponseEntity.badRequest().build();
         }
 
-        List<SpotResponse> spots = spotService.getSpots(north, south, east, west, subjectCategories, months, timesOfDay, weathers,
-                minResolution, deviceTypes, maxAgeDays, aspectRatios, focalLengthRanges, maxIso, tagIds);
+        List<SpotResponse> spots = spotService.getSpots(north, south, east, west, filter);
 
         return ResponseEntity.ok(spots);
     }
 
+    /**
+     * タイル（z/x/y）内のスポット一覧を取得する
+     *
+     * <p>{@code GET /api/v1/spots} は表示範囲が任意の小数のため URL がほぼ毎回変わり CDN に当たらない。
+     * 本エンドポイントは固定のタイル単位で返すため、同じタイル・同じフィルターのリクエストは同じ URL になる。
+     * フィルターは {@code GET /api/v1/spots} と同じ（CDN のキャッシュキーを揃えるため、リストは昇順で指定すること）。</p>
+     *
+     * <p>ETag はタイルの版数とフィルターのハッシュから作り、If-None-Match が一致すればスポットを検索せずに 304 を返す。
+     * {@code v} にタイルの最新の版数（{@code /tiles/{z}/versions} で取得）を指定した場合は、
+     * その URL の内容が変わらないため長期キャッシュ（immutable）を許可する。
+     * {@code max_age_days} は現在日時からの相対指定で版数と無関係に結果が変わるため、指定時は長期キャッシュしない。</p>
+     *
+     * @param z ズーム（0〜18）
+     * @param x タイル番号（西から）
+     * @param y タイル番号（北から）
+     * @param version タイルの版数（任意）
+     * @return スポット一覧
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public ResponseEntity<List<SpotResponse>> getSpotTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestParam(name = "v", required = false) Long version,
+            @ModelAttribute SpotFilter filter,
+            WebRequest webRequest) {
+
+        SpotTile tile = new SpotTile(z, x, y);
+        String filterHash = SpotTileService.filterHash(filter);
+
+        // 版数とスポットを同じスナップショットで読む（別のレプリカの古い内容を新しい版数で返さないため）
+        return spotTileService.readConsistently(tile, currentVersion -> {
+            String eTag = tileETag("t", currentVersion, filterHash, filter.maxAgeDays());
+            CacheControl cacheControl = tileCacheControl(version, currentVersion, filter.maxAgeDays());
+
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+            }
+
+            logger.info("GET /api/v1/spots/tiles/{}/{}/{} - version={}, currentVersion={}, filterHash={}",
+                    z, x, y, version, currentVersion, filterHash);
+
+            List<SpotResponse> spots = spotService.getSpots(tile.north(), tile.south(), tile.east(), tile.west(),
+                    filter);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(spots);
+        });
+    }
+
+    /**
+     * タイル（z/x/y）内のスポットを Mapbox Vector Tile（MVT）で取得する
+     *
+     * <p>{@link #getSpotTile} のバイナリ版。レイヤー "spots" に Point 地物を置き、地物の ID はスポットID、
+     * 属性は count（写真数）・pin（ピン色）・thumb（サムネイルのキー。CDN のドメインは含まない）。
+     * JSON より小さく、地図ライブラリがそのまま描画できる。キャッシュの扱い（ETag・版数指定時の長期キャッシュ）は
+     * {@link #getSpotTile} と同じ。</p>
+     *
+     * <p>gzip 圧縮済みのタイルをキャッシュから返す。gzip を受け付けないクライアントには展開して返す
+     * （表現が違うため ETag も別にする）。</p>
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}.mvt")
+    public ResponseEntity<byte[]> getSpotVectorTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestParam(name = "v", required = false) Long version,
+            @ModelAttribute SpotFilter filter,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+
+        SpotTile tile = new SpotTile(z, x, y);
+        String filterHash = SpotTileService.filterHash(filter);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        // 版数とスポットを同じスナップショットで読む（別のレプリカの古い内容を新しい版数で返さないため）
+        return spotTileService.readConsistently(tile, currentVersion -> {
+            String gzipETag = tileETag("m", currentVersion, filterHash, filter.maxAgeDays());
+            String eTag = gzip ? gzipETag : gzipETag.substring(0, gzipETag.length() - 1) + "-identity\"";
+            CacheControl cacheControl = tileCacheControl(version, currentVersion, filter.maxAgeDays());
+
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+            }
+
+            logger.info("GET /api/v1/spots/tiles/{}/{}/{}.mvt - version={}, currentVersion={}, filterHash={}, gzip={}",
+                    z, x, y, version, currentVersion, filterHash, gzip);
+
+            byte[] gzipped = spotVectorTileService.gzippedTile(tile, gzipETag, filter);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(SpotVectorTileService.CONTENT_TYPE))
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipped);
+            }
+            return response.body(SpotVectorTileService.gunzip(gzipped));
+        });
+    }
+
+    /**
+     * 矩形範囲（両端を含む）のタイルの版数を取得する
+     *
+     * <p>地図は表示範囲のタイルの版数をまとめて取得し、{@code /tiles/{z}/{x}/{y}?v=<版数>} で
+     * 長期キャッシュ済みのタイルを組み合わせて表示する。</p>
+     *
+     * @param z ズーム（0〜18）
+     * @return "x/y" をキーにした版数（最大 256 タイル）
+     */
+    @GetMapping("/tiles/{z}/versions")
+    public ResponseEntity<SpotTileVersionsResponse> getSpotTileVersions(
+            @PathVariable int z,
+            @RequestParam(name = "min_x") int minX,
+            @RequestParam(name = "min_y") int minY,
+            @RequestParam(name = "max_x") int maxX,
+            @RequestParam(name = "max_y") int maxY) {
+        SpotTileVersionsResponse response = new SpotTileVersionsResponse(z,
+                spotTileService.versions(z, minX, minY, maxX, maxY));
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(TILE_VERSIONS_MAX_AGE).cachePublic()).body(response);
+    }
+
+    // 近くのスポット一覧の半径（m）と 1 ページの件数のデフォルト
+    private static final double DEFAULT_NEARBY_RADIUS_METERS = 5_000;
+    private static final int DEFAULT_NEARBY_PAGE_SIZE = 20;
+
+    /**
+     * 指定地点の近くのスポット一覧を距離の近い順に取得する
+     *
+     * <p>表示範囲の矩形を何度も検索して近い順に並べ直す代わりに、1 回の KNN 検索で近い順に返す。
+     * 続きは応答の {@code nextCursor} を {@code cursor} に指定して取得する（最後のページでは null）。
+     * フィルターは {@code GET /api/v1/spots} と同じ。</p>
+     *
+     * @param lat 緯度
+     * @param lng 経度
+     * @param radiusMeters 半径（m。既定 5000、最大 50000）
+     * @param limit 1 ページの件数（既定 20、最大 100）
+     * @param cursor 前のページの nextCursor（任意）
+     * @return 距離の近い順のスポットと次のページのカーソル
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<NearbySpotsResponse> getNearbySpots(
+            @RequestParam BigDecimal lat,
+            @RequestParam BigDecimal lng,
+            @RequestParam(name = "radius_m", required = false) Double radiusMeters,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @ModelAttribute SpotFilter filter) {
+
+        logger.info("GET /api/v1/spots/nearby - lat={}, lng={}, radiusMeters={}, limit={}, cursor={}, tagIds={}",
+                lat, lng, radiusMeters, limit, cursor, filter.tagIds());
+
+        NearbySpotsResponse response = spotService.getNearbySpots(lat, lng,
+                radiusMeters != null ? radiusMeters : DEFAULT_NEARBY_RADIUS_METERS,
+                limit != null ? limit : DEFAULT_NEARBY_PAGE_SIZE,
+                cursor,
+                filter);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * スポットの公開写真の枚数の分布（撮影月 × 時間帯 × 天気）を取得する
+     *
+     * <p>「いつ撮られているか」をフィルターを変えて何度も検索せずに 1 回で返す。事前に集計した分布から返すため
+     * 写真は読まない。{@code months}・{@code times_of_day}・{@code weathers} を指定すると、
+     * それに合う枚数を {@code photoCount} に返す（分布自体は絞り込まない）。</p>
+     *
+     * @param spotId スポットID
+     * @return 区分ごとの [撮影月, 時間帯, 天気, 枚数] と、フィルターに合う枚数
+     */
+    @GetMapping("/{spotId}/histogram")
+    public ResponseEntity<SpotHistogramResponse> getSpotHistogram(
+            @PathVariable Long spotId,
+            @RequestParam(required = false) List<Integer> months,
+            @RequestParam(name = "times_of_day", required = false) List<Integer> timesOfDay,
+            @RequestParam(required = false) List<Integer> weathers) {
+        SpotHistogramResponse response = spotSummaryService.getHistogram(spotId, months, timesOfDay, weathers);
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(HISTOGRAM_MAX_AGE).cachePublic()).body(response);
+    }
+
     /**
      * Issue#127: 認証ユーザー本人の PENDING_REVIEW（審査中）投稿だけをスポット一覧で返す。
      *
@@ -103,17 +299,7 @@ public class SpotController {
             @RequestParam BigDecimal south,
             @RequestParam BigDecimal east,
             @RequestParam BigDecimal west,
-            @RequestParam(name = "subject_categories", required = false) List<Integer> subjectCategories,
-            @RequestParam(required = false) List<Integer> months,
-            @RequestParam(name = "times_of_day", required = false) List<Integer> timesOfDay,
-            @RequestParam(required = false) List<Integer> weathers,
-            @RequestParam(name = "min_resolution", required = false) Integer minResolution,
-            @RequestParam(name = "device_types", required = false) List<Integer> deviceTypes,
-            @RequestParam(name = "max_age_days", required = false) Integer maxAgeDays,
-            @RequestParam(name = "aspect_ratios", required = false) List<String> aspectRatios,
-            @RequestParam(name = "focal_length_ranges", required = false) List<String> focalLengthRanges,
-            @RequestParam(name = "max_iso", required = false) Integer maxIso,
-            @RequestParam(name = "tag_ids", required = false) List<Long> tagIds,
+            @ModelAttribute SpotFilter filter,
             Authentication authentication) {
 
         String email = authentication.getName();
@@ -121,11 +307,9 @@ public class SpotController {
                 .orElseThrow(() -> new UserNotFoundException("ユーザーが見つかりません"));
 
         logger.info("GET /api/v1/spots/mine-pending - viewerUserId={}, north={}, south={}, east={}, west={}, tagIds={}",
-                user.getId(), north, south, east, west, tagIds);
+                user.getId(), north, south, east, west, filter.tagIds());
 
-        List<SpotResponse> spots = spotService.getMinePendingSpots(north, south, east, west, user.getId(),
-                subjectCategories, months, timesOfDay, weathers, minResolution, deviceTypes,
-                maxAgeDays, aspectRatios, focalLengthRanges, maxIso, tagIds);
+        List<SpotResponse> spots = spotService.getMinePendingSpots(north, south, east, west, user.getId(), filter);
         return ResponseEntity.ok(spots);
     }
 
@@ -176,4 +360,57 @@ public class SpotController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Accept-Encoding で gzip を受け付けるか。
+     *
+     * <p>gzip（x-gzip）の q 値で判定し、gzip の指定が無ければ {@code *} の q 値で判定する。
+     * {@code gzip;q=0} のように q=0 の場合は受け付けない。</p>
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * タイル応答の ETag（形式・タイルの版数・フィルターのハッシュ。max_age_days 指定時は日付も含める）
+     */
+    private static String tileETag(String format, long currentVersion, String filterHash, Integer maxAgeDays) {
+        return "\"" + format + TILE_FORMAT_VERSION + "-" + currentVersion + "-" + filterHash
+                + (maxAgeDays != null ? "-" + LocalDate.now(ZoneId.of("Asia/Tokyo")) : "") + "\"";
+    }
+
+    /**
+     * タイル応答の Cache-Control。最新の版数が指定され、結果が日付に依存しない場合だけ長期キャッシュを許可する。
+     */
+    private static CacheControl tileCacheControl(Long version, long currentVersion, Integer maxAgeDays) {
+        return version != null && version == currentVersion && maxAgeDays == null
+                ? CacheControl.maxAge(VERSIONED_TILE_MAX_AGE).cachePublic().immutable()
+                : CacheControl.maxAge(TILE_MAX_AGE).cachePublic();
+    }
 }
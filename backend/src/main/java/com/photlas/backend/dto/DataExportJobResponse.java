@@ -0,0 +1,14 @@
+package com.photlas.backend.dto;
+
+/**
+ * データエクスポート（ジョブモード）の受付レスポンス DTO。
+ *
+ * <p>ZIP は非同期に生成され、完了時にダウンロードリンクがメールで送られる。</p>
+ *
+ * @param exportId data_export_log の ID
+ * @param status   受付時点のステータス（QUEUED）
+ */
+public record DataExportJobResponse(
+        Long exportId,
+        String status
+) {}
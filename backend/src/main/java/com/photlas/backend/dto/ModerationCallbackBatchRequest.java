@@ -0,0 +1,102 @@
+package com.photlas.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * モデレーションのバッチコールバックリクエスト DTO
+ *
+ * 一括再スキャン時にスキャナーが複数の結果を 1 リクエストにまとめて送るためのもの。
+ * 各結果の形式は単発のコールバック（/callback）と同じで、再送検知用の idempotency_key を持てる。
+ */
+public class ModerationCallbackBatchRequest {
+
+    /** バッチサイズ上限（1 トランザクションで適用する件数の上限）。 */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @NotNull(message = "results は必須です")
+    @NotEmpty(message = "results は 1 件以上指定してください")
+    @Size(max = MAX_BATCH_SIZE, message = "results は最大 {max} 件までです")
+    @Valid
+    private List<Item> results;
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+
+    /**
+     * 1 件のスキャン結果
+     */
+    public static class Item {
+
+        @JsonProperty("s3_object_key")
+        @NotBlank(message = "s3_object_key は必須です")
+        private String s3ObjectKey;
+
+        /** 数値コードまたはレガシーの列挙名（PUBLISHED 等） */
+        @JsonProperty("status")
+        @NotBlank(message = "status は必須です")
+        private String status;
+
+        @JsonProperty("confidence_score")
+        private Double confidenceScore;
+
+        @JsonProperty("detected_labels")
+        private List<String> detectedLabels;
+
+        /** 再送検知用のキー。同じキーの結果は 2 回目以降適用しない（省略時は毎回適用する） */
+        @JsonProperty("idempotency_key")
+        @Size(max = 255, message = "idempotency_key は最大 {max} 文字までです")
+        private String idempotencyKey;
+
+        public String getS3ObjectKey() {
+            return s3ObjectKey;
+        }
+
+        public void setS3ObjectKey(String s3ObjectKey) {
+            this.s3ObjectKey = s3ObjectKey;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Double getConfidenceScore() {
+            return confidenceScore;
+        }
+
+        public void setConfidenceScore(Double confidenceScore) {
+            this.confidenceScore = confidenceScore;
+        }
+
+        public List<String> getDetectedLabels() {
+            return detectedLabels;
+        }
+
+        public void setDetectedLabels(List<String> detectedLabels) {
+            this.detectedLabels = detectedLabels;
+        }
+
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+
+        public void setIdempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+}
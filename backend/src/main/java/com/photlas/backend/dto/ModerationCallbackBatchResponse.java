@@ -0,0 +1,35 @@
+package com.photlas.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * モデレーションのバッチコールバックのレスポンス DTO。
+ *
+ * <p>結果はリクエストと同じ順序で返す。スキャナーは not_found を再送不要、
+ * duplicate を適用済みとして扱える。</p>
+ *
+ * @param updated     適用した件数
+ * @param duplicates  idempotency_key が適用済みだったためスキップした件数
+ * @param notFound    対象の写真・プロフィール画像が見つからなかった件数
+ * @param quarantined 隔離（S3 移動・通知は非同期）を開始した写真数
+ * @param results     各結果の処理内容
+ */
+public record ModerationCallbackBatchResponse(
+        int updated,
+        int duplicates,
+        @JsonProperty("not_found") int notFound,
+        int quarantined,
+        List<ItemResult> results
+) {
+
+    /**
+     * @param s3ObjectKey 対象の S3 オブジェクトキー
+     * @param outcome     updated / duplicate / not_found
+     */
+    public record ItemResult(
+            @JsonProperty("s3_object_key") String s3ObjectKey,
+            String outcome
+    ) {}
+}
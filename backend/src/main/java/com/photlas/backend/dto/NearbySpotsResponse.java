@@ -0,0 +1,28 @@
+package com.photlas.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 近くのスポット一覧（GET /api/v1/spots/nearby のレスポンス）。
+ *
+ * @param spots      距離の近い順のスポット
+ * @param nextCursor 次のページのカーソル（最後のページでは null）
+ */
+public record NearbySpotsResponse(List<NearbySpot> spots, String nextCursor) {
+
+    /**
+     * 近くのスポット。
+     *
+     * @param spotId         スポットID
+     * @param latitude       緯度
+     * @param longitude      経度
+     * @param distanceMeters 指定地点からの距離（m）
+     * @param pinColor       ピン色（公開写真の枚数で決める）
+     * @param thumbnailUrl   最新の写真のサムネイルの URL
+     * @param photoCount     公開写真の枚数（フィルターに関係なく全件）
+     */
+    public record NearbySpot(Long spotId, BigDecimal latitude, BigDecimal longitude, double distanceMeters,
+                             String pinColor, String thumbnailUrl, int photoCount) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.photlas.backend.dto;
+
+import org.springframework.web.bind.annotation.BindParam;
+
+import java.util.List;
+
+/**
+ * スポット検索の写真フィルター（GET /api/v1/spots・/tiles・/nearby・/mine-pending のクエリパラメータ）。
+ *
+ * <p>コントローラーでは {@code @ModelAttribute} で受け取る。null・空のリストは「フィルター無し」として扱う。
+ * スポットには条件に合う写真だけを数え、合う写真の無いスポットは返さない。</p>
+ *
+ * @param subjectCategories 被写体カテゴリー
+ * @param months            撮影月
+ * @param timesOfDay        時間帯
+ * @param weathers          天気
+ * @param minResolution     最小解像度（長辺px）
+ * @param deviceTypes       機材種別（SLR / MIRRORLESS / COMPACT / SMARTPHONE / FILM / OTHER）
+ * @param maxAgeDays        撮影日からの最大日数
+ * @param aspectRatios      アスペクト比（HORIZONTAL / VERTICAL / SQUARE）
+ * @param focalLengthRanges 焦点距離帯（WIDE / STANDARD / TELEPHOTO / SUPER_TELEPHOTO）
+ * @param maxIso            最大ISO感度
+ * @param tagIds            キーワード
+ */
+public record SpotFilter(
+        @BindParam("subject_categories") List<Integer> subjectCategories,
+        List<Integer> months,
+        @BindParam("times_of_day") List<Integer> timesOfDay,
+        List<Integer> weathers,
+        @BindParam("min_resolution") Integer minResolution,
+        @BindParam("device_types") List<Integer> deviceTypes,
+        @BindParam("max_age_days") Integer maxAgeDays,
+        @BindParam("aspect_ratios") List<String> aspectRatios,
+        @BindParam("focal_length_ranges") List<String> focalLengthRanges,
+        @BindParam("max_iso") Integer maxIso,
+        @BindParam("tag_ids") List<Long> tagIds) {
+
+    /** フィルター無し */
+    public static final SpotFilter NONE = new SpotFilter(null, null, null, null, null, null, null, null, null, null, null);
+}
@@ -0,0 +1,13 @@
+package com.photlas.backend.dto;
+
+import java.util.List;
+
+/**
+ * スポットの公開写真の枚数の分布（GET /api/v1/spots/{spotId}/histogram のレスポンス）。
+ *
+ * @param spotId     スポットID
+ * @param photoCount 月・時間帯・天気のフィルターに合う枚数（フィルターが無ければ公開写真の全件）
+ * @param cells      枚数が 1 以上の区分ごとの [撮影月, 時間帯, 天気, 枚数]（不明な区分は 0）。区分の昇順
+ */
+public record SpotHistogramResponse(Long spotId, int photoCount, List<int[]> cells) {
+}
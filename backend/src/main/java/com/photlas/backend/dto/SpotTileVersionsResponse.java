@@ -0,0 +1,12 @@
+package com.photlas.backend.dto;
+
+import java.util.Map;
+
+/**
+ * スポットのタイルの版数一覧（GET /api/v1/spots/tiles/{z}/versions のレスポンス）。
+ *
+ * @param z        ズーム
+ * @param versions "x/y" をキーにした版数（一度も変更されていないタイルは 0）
+ */
+public record SpotTileVersionsResponse(int z, Map<String, Long> versions) {
+}
@@ -0,0 +1,89 @@
+package com.photlas.backend.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+/**
+ * データエクスポート（ジョブモード）で完了パートまでに書き込んだ ZIP エントリ。
+ *
+ * <p>ZIP のセントラルディレクトリはアーカイブ末尾に全エントリ分をまとめて書くため、
+ * 再開時に書き込み済みエントリの CRC・サイズ・ローカルヘッダ位置を復元できるよう記録する。
+ * {@code seq} は ZIP 内の並び順。</p>
+ */
+@Entity
+@Table(name = "data_export_archive_entry")
+public class DataExportArchiveEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "log_id", nullable = false)
+    @NotNull
+    private Long logId;
+
+    @Column(name = "seq", nullable = false)
+    private int seq;
+
+    @Column(name = "name", nullable = false, length = 1024)
+    @NotNull
+    private String name;
+
+    /** ZIP の圧縮方式（0 = STORED / 8 = DEFLATED）。 */
+    @Column(name = "method", nullable = false)
+    private int method;
+
+    @Column(name = "crc", nullable = false)
+    private long crc;
+
+    @Column(name = "compressed_size", nullable = false)
+    private long compressedSize;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "local_header_offset", nullable = false)
+    private long localHeaderOffset;
+
+    public DataExportArchiveEntry() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getLogId() { return logId; }
+    public void setLogId(Long logId) { this.logId = logId; }
+
+    public int getSeq() { return seq; }
+    public void setSeq(int seq) { this.seq = seq; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getMethod() { return method; }
+    public void setMethod(int method) { this.method = method; }
+
+    public long getCrc() { return crc; }
+    public void setCrc(long crc) { this.crc = crc; }
+
+    public long getCompressedSize() { return compressedSize; }
+    public void setCompressedSize(long compressedSize) { this.compressedSize = compressedSize; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public long getLocalHeaderOffset() { return localHeaderOffset; }
+    public void setLocalHeaderOffset(long localHeaderOffset) { this.localHeaderOffset = localHeaderOffset; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DataExportArchiveEntry that = (DataExportArchiveEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(id); }
+}
@@ -0,0 +1,70 @@
+package com.photlas.backend.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+/**
+ * データエクスポート（ジョブモード）の S3 マルチパートアップロード済みパート。
+ *
+ * <p>パート完了ごとに 1 行追記する。再開時はこの一覧から CompleteMultipartUpload の
+ * パートリストを復元する。</p>
+ */
+@Entity
+@Table(name = "data_export_archive_part")
+public class DataExportArchivePart {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "log_id", nullable = false)
+    @NotNull
+    private Long logId;
+
+    @Column(name = "part_number", nullable = false)
+    private int partNumber;
+
+    @Column(name = "etag", nullable = false, length = 255)
+    @NotNull
+    private String etag;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    public DataExportArchivePart() {}
+
+    public DataExportArchivePart(Long logId, int partNumber, String etag, long sizeBytes) {
+        this.logId = logId;
+        this.partNumber = partNumber;
+        this.etag = etag;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getLogId() { return logId; }
+    public void setLogId(Long logId) { this.logId = logId; }
+
+    public int getPartNumber() { return partNumber; }
+    public void setPartNumber(int partNumber) { this.partNumber = partNumber; }
+
+    public String getEtag() { return etag; }
+    public void setEtag(String etag) { this.etag = etag; }
+
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DataExportArchivePart that = (DataExportArchivePart) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(id); }
+}
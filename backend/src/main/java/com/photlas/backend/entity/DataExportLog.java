@@ -13,8 +13,14 @@ import java.util.Objects;
  * <p>各エクスポート要求の進行状況・成否を記録し、アカウント乗っ取り疑い時の調査や
  * GDPR 説明責任原則（accountability）の根拠資料として保持する。</p>
  *
- * <p>ステータスは {@link #STATUS_IN_PROGRESS} / {@link #STATUS_COMPLETED} /
- * {@link #STATUS_FAILED} の 3 種類のみを使用する。</p>
+ * <p>ステータスは {@link #STATUS_QUEUED} / {@link #STATUS_IN_PROGRESS} / {@link #STATUS_COMPLETED} /
+ * {@link #STATUS_FAILED} の 4 種類のみを使用する。{@link #STATUS_QUEUED} はジョブモード
+ * （{@link #MODE_JOB}）でワーカーの取得待ちの間だけ使う。</p>
+ *
+ * <p>ジョブモードでは ZIP を S3 マルチパートアップロードへ書き出し、パート完了ごとに
+ * {@code checkpointPhotoId} / {@code bytesWritten} / {@code checkpointErrors} を更新する
+ * （パートとエントリは {@link DataExportArchivePart} / {@link DataExportArchiveEntry} に追記）。
+ * {@code heartbeatAt} が途絶えた IN_PROGRESS ジョブは別ワーカーが引き取り、最後のチェックポイントから再開する。</p>
  */
 @Entity
 @Table(name = "data_export_log")
@@ -23,6 +29,12 @@ public class DataExportLog {
     public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
     public static final String STATUS_COMPLETED   = "COMPLETED";
     public static final String STATUS_FAILED      = "FAILED";
+    public static final String STATUS_QUEUED      = "QUEUED";
+
+    /** HTTP レスポンスへ直接 ZIP をストリーミングする従来モード。 */
+    public static final String MODE_STREAM = "STREAM";
+    /** ワーカーが S3 に ZIP を生成し、ダウンロードリンクをメールで送るジョブモード。 */
+    public static final String MODE_JOB    = "JOB";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -58,6 +70,48 @@ public class DataExportLog {
     @Column(name = "user_agent", length = 1000)
     private String userAgent;
 
+    @Column(name = "mode", nullable = false, length = 10)
+    @NotNull
+    private String mode = MODE_STREAM;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    /** ワーカーが引き取った回数。チェックポイント更新時の所有権確認にも使う。 */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** ZIP のファイル名（拡張子なし）。ZIP 内のルートディレクトリ名と同じ。 */
+    @Column(name = "archive_name", length = 255)
+    private String archiveName;
+
+    @Column(name = "s3_object_key", length = 512)
+    private String s3ObjectKey;
+
+    @Column(name = "s3_upload_id", length = 1024)
+    private String s3UploadId;
+
+    /** 最後の完了パートまでに書き込んだ写真の最大 photoId（写真は photoId 昇順に書き込む）。 */
+    @Column(name = "checkpoint_photo_id")
+    private Long checkpointPhotoId;
+
+    /** 最後の完了パートまでに発生した写真取得エラー（errors.json の内容、JSON 文字列）。 */
+    @Column(name = "checkpoint_errors", columnDefinition = "TEXT")
+    private String checkpointErrors;
+
+    /** 完了パートの合計バイト数（= 次に書き込む ZIP 内オフセット）。 */
+    @Column(name = "bytes_written", nullable = false)
+    private long bytesWritten;
+
+    @Column(name = "throughput_bytes_per_sec")
+    private Long throughputBytesPerSec;
+
+    @Column(name = "download_expires_at")
+    private LocalDateTime downloadExpiresAt;
+
     public DataExportLog() {}
 
     public Long getId() { return id; }
@@ -90,6 +144,42 @@ public class DataExportLog {
     public String getUserAgent() { return userAgent; }
     public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
 
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getArchiveName() { return archiveName; }
+    public void setArchiveName(String archiveName) { this.archiveName = archiveName; }
+
+    public String getS3ObjectKey() { return s3ObjectKey; }
+    public void setS3ObjectKey(String s3ObjectKey) { this.s3ObjectKey = s3ObjectKey; }
+
+    public String getS3UploadId() { return s3UploadId; }
+    public void setS3UploadId(String s3UploadId) { this.s3UploadId = s3UploadId; }
+
+    public Long getCheckpointPhotoId() { return checkpointPhotoId; }
+    public void setCheckpointPhotoId(Long checkpointPhotoId) { this.checkpointPhotoId = checkpointPhotoId; }
+
+    public String getCheckpointErrors() { return checkpointErrors; }
+    public void setCheckpointErrors(String checkpointErrors) { this.checkpointErrors = checkpointErrors; }
+
+    public long getBytesWritten() { return bytesWritten; }
+    public void setBytesWritten(long bytesWritten) { this.bytesWritten = bytesWritten; }
+
+    public Long getThroughputBytesPerSec() { return throughputBytesPerSec; }
+    public void setThroughputBytesPerSec(Long throughputBytesPerSec) { this.throughputBytesPerSec = throughputBytesPerSec; }
+
+    public LocalDateTime getDownloadExpiresAt() { return downloadExpiresAt; }
+    public void setDownloadExpiresAt(LocalDateTime downloadExpiresAt) { this.downloadExpiresAt = downloadExpiresAt; }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
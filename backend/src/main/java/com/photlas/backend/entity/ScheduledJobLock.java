@@ -0,0 +1,55 @@
+package com.photlas.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * @Scheduled ジョブの分散ロック（ジョブ名ごとのリース）。
+ *
+ * <p>取得・延長・解放は {@code ScheduledJobLockRepository} のネイティブクエリで行い、
+ * このエンティティは状態の参照（actuator の表示）にだけ使う。</p>
+ */
+@Entity
+@Table(name = "scheduled_job_locks")
+public class ScheduledJobLock {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "locked_by", nullable = false, length = 255)
+    private String lockedBy;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "lock_until", nullable = false)
+    private LocalDateTime lockUntil;
+
+    public ScheduledJobLock() {}
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public String getLockedBy() { return lockedBy; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+
+    public LocalDateTime getLockedAt() { return lockedAt; }
+    public void setLockedAt(LocalDateTime lockedAt) { this.lockedAt = lockedAt; }
+
+    public LocalDateTime getLockUntil() { return lockUntil; }
+    public void setLockUntil(LocalDateTime lockUntil) { this.lockUntil = lockUntil; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScheduledJobLock that = (ScheduledJobLock) o;
+        return Objects.equals(jobName, that.jobName);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(jobName); }
+}
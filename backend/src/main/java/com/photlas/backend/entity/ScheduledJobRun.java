@@ -0,0 +1,92 @@
+package com.photlas.backend.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * @Scheduled ジョブの実行履歴（分散ロックを取得して実行した回のみ）。
+ */
+@Entity
+@Table(name = "scheduled_job_runs")
+public class ScheduledJobRun {
+
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    @NotNull
+    private String jobName;
+
+    @Column(name = "node", nullable = false, length = 255)
+    @NotNull
+    private String node;
+
+    @Column(name = "started_at", nullable = false)
+    @NotNull
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    @NotNull
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @NotNull
+    private String status;
+
+    /** ジョブが報告した処理件数（報告しないジョブは null） */
+    @Column(name = "rows_processed")
+    private Long rowsProcessed;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    public ScheduledJobRun() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public String getNode() { return node; }
+    public void setNode(String node) { this.node = node; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getRowsProcessed() { return rowsProcessed; }
+    public void setRowsProcessed(Long rowsProcessed) { this.rowsProcessed = rowsProcessed; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScheduledJobRun that = (ScheduledJobRun) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(id); }
+}
@@ -0,0 +1,114 @@
+package com.photlas.backend.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 仮想スレッドでリクエストを処理する場合の同時処理数の上限（spring.threads.virtual.enabled=true のときだけ有効）。
+ *
+ * <p>仮想スレッドでは Tomcat のスレッド数（server.tomcat.threads.max）が上限にならず、負荷が上がると
+ * 全リクエストが HikariCP の接続待ちに並んで connection-timeout まで詰まる。
+ * 同時処理数を DB 接続数 × per-connection に抑え、空きを queue-timeout 待っても得られないリクエストは 503 で早めに返す。</p>
+ * <ul>
+ *   <li>SSE などの非同期リクエストは、ハンドラーが戻った時点で枠を返す</li>
+ *   <li>/actuator 配下（ヘルスチェック）は対象外</li>
+ * </ul>
+ * 最前段（TraceIdFilter の直後）で動くよう @Order を付与。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    static final String METRIC_IN_FLIGHT = "photlas.http.concurrency.in_flight";
+    static final String METRIC_REJECTED = "photlas.http.concurrency.rejected";
+
+    private static final String ACTUATOR_PATH_PREFIX = "/actuator";
+
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    /** 503 応答の Retry-After 秒数 */
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    /** 503 レスポンスの JSON ボディ（429 と同じ構造） */
+    private static final String OVERLOADED_JSON_BODY =
+            "{\"error\":\"Service Unavailable\","
+            + "\"code\":\"SERVER_BUSY\","
+            + "\"message\":\"The server is busy. Please retry after some time.\","
+            + "\"retryAfter\":" + RETRY_AFTER_SECONDS + "}";
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long queueTimeoutMillis;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${photlas.request-limit.per-connection:4}") int requestsPerConnection,
+            @Value("${photlas.request-limit.queue-timeout:PT1S}") Duration queueTimeout) {
+        this.maxConcurrentRequests = connectionPoolSize * requestsPerConnection;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.queueTimeoutMillis = queueTimeout.toMillis();
+        this.rejected = meterRegistry.counter(METRIC_REJECTED);
+        Gauge.builder(METRIC_IN_FLIGHT, this, ConcurrencyLimitFilter::inFlight).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(ACTUATOR_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            logger.warn("同時処理数の上限のためリクエストを拒否: path={}, limit={}",
+                    request.getRequestURI(), maxConcurrentRequests);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(RETRY_AFTER_HEADER, String.valueOf(RETRY_AFTER_SECONDS));
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write(OVERLOADED_JSON_BODY);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** 処理中のリクエスト数 */
+    int inFlight() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+}
@@ -106,9 +106,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
         String requestPath = resolveRequestPath(request);
         int rateLimit = determineRateLimit(requestPath);
         String userIdentifier = getUserIdentifier(request);
-        String cacheKey = rateLimit + ":" + userIdentifier;
-
-        Bucket bucket = bucketCache.get(cacheKey, k -> RateLimitConfig.createBucket(rateLimit));
+        Bucket bucket = bucketFor(rateLimit, userIdentifier);
 
         if (bucket.tryConsume(1)) {
             filterChain.doFilter(request, response);
@@ -117,6 +115,13 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * レート制限値とユーザー識別子に対応する Bucket を返す（無ければ作成する）。
+     */
+    Bucket bucketFor(int rateLimit, String userIdentifier) {
+        return bucketCache.get(rateLimit + ":" + userIdentifier, k -> RateLimitConfig.createBucket(rateLimit));
+    }
+
     /**
      * リクエストパスを解決する。
      * Issue#95: /api/v1/auth/password%2Dreset%2Drequest のような URL エンコードでの
@@ -127,8 +132,10 @@ public class RateLimitFilter extends OncePerRequestFilter {
      * パスが変化しなくなるまで、または 3 回に達するまで繰り返しデコードする。
      * （MockMvc が URL テンプレートを再エンコードすることによる % の二重化や、
      *   リバースプロキシの設定違いを吸収するための防御的処理。）
+     *
+     * パッケージプライベート可視性は JMH ベンチマーク（src/jmh）から判定部分だけを計測するため。
      */
-    private String resolveRequestPath(HttpServletRequest request) {
+    String resolveRequestPath(HttpServletRequest request) {
         String rawPath = request.getServletPath();
         if (rawPath == null || rawPath.isEmpty()) {
             rawPath = request.getRequestURI();
@@ -168,7 +175,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
      * リクエストパスに基づいてレート制限を決定する。
      * 判定順: sensitive > auth > photo > general。
      */
-    private int determineRateLimit(String path) {
+    int determineRateLimit(String path) {
         if (isSensitiveEndpoint(path)) {
             return RateLimitConfig.getSensitiveRateLimit();
         } else if (isAuthEndpoint(path)) {
@@ -207,7 +214,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
      * Issue#95: SecurityConfig で JwtAuthenticationFilter → RateLimitFilter の順に並べたため、
      * ここから SecurityContext 経由で認証情報を参照できる。
      */
-    private String getUserIdentifier(HttpServletRequest request) {
+    String getUserIdentifier(HttpServletRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (isAuthenticated(authentication)) {
             return USER_PREFIX + authentication.getName();
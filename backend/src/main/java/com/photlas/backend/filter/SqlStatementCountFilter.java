@@ -0,0 +1,106 @@
+package com.photlas.backend.filter;
+
+import com.photlas.backend.config.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * リクエストごとに実行した SQL の数を数える（{@link SqlStatementCounter}）。
+ *
+ * <ul>
+ *   <li>本番以外（photlas.sql-statements.response-header=true）ではレスポンスヘッダー
+ *       X-SQL-Statements（JDBC で実行した SQL の数）と X-SQL-Statements-ORM（うち Hibernate が生成した数）を付ける。
+ *       ヘッダーはレスポンスのコミット直前に付けるので、その時点までの数になる</li>
+ *   <li>分布 {@code photlas.http.sql.statements}（uri・method タグ）にリクエスト完了時の JDBC の数を記録する</li>
+ * </ul>
+ * テストでは {@code SqlStatementAssertions} でエンドポイントごとの上限を検証する（N+1 の検出）。
+ * 最前段（TraceIdFilter の直後）で動くよう @Order を付与。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_STATEMENTS = "X-SQL-Statements";
+    public static final String HEADER_ORM_STATEMENTS = "X-SQL-Statements-ORM";
+
+    static final String METRIC_STATEMENTS = "photlas.http.sql.statements";
+
+    /** ハンドラーに対応しなかったリクエスト（404・静的リソース等）の uri タグ */
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeader;
+
+    public SqlStatementCountFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${photlas.sql-statements.response-header:false}") boolean responseHeader) {
+        // @WebMvcTest などメトリクスの自動設定がないコンテキストでは記録しない（グローバルレジストリは記録先なし）
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            try {
+                if (!responseHeader) {
+                    filterChain.doFilter(request, response);
+                } else {
+                    CountHeaderResponse wrapped = new CountHeaderResponse(response, scope);
+                    filterChain.doFilter(request, wrapped);
+                    wrapped.writeHeaders();
+                }
+            } finally {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder(METRIC_STATEMENTS)
+                        .tag("uri", pattern != null ? pattern.toString() : UNKNOWN_URI)
+                        .tag("method", request.getMethod())
+                        .register(meterRegistry)
+                        .record(scope.jdbcStatements());
+            }
+        }
+    }
+
+    /** コミット直前に数をヘッダーに書く */
+    private static final class CountHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementCounter.Scope scope;
+        private boolean written;
+
+        CountHeaderResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        /** まだ書いていなければ書く（本文のないレスポンスはコミットされないままチェーンから戻る） */
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(HEADER_STATEMENTS, Integer.toString(scope.jdbcStatements()));
+            setHeader(HEADER_ORM_STATEMENTS, Integer.toString(scope.hibernateStatements()));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.photlas.backend.repository;
 import com.photlas.backend.entity.AiPredictionCache;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 
@@ -17,5 +18,6 @@ public interface AiPredictionCacheRepository extends JpaRepository<AiPredictionC
      *
      * @param now 現在日時。これより前に {@code expiresAt} が設定されているレコードが対象
      */
-    void deleteByExpiresAtBefore(Date now);
+    @Transactional
+    long deleteByExpiresAtBefore(Date now);
 }
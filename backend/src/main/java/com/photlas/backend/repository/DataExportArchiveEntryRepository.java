@@ -0,0 +1,22 @@
+package com.photlas.backend.repository;
+
+import com.photlas.backend.entity.DataExportArchiveEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * データエクスポート（ジョブモード）の書き込み済み ZIP エントリのリポジトリ
+ */
+@Repository
+public interface DataExportArchiveEntryRepository extends JpaRepository<DataExportArchiveEntry, Long> {
+
+    /**
+     * 指定ジョブの書き込み済みエントリを ZIP 内の並び順で取得する。
+     *
+     * @param logId 対象の data_export_log ID
+     * @return エントリ一覧（seq 昇順）
+     */
+    List<DataExportArchiveEntry> findByLogIdOrderBySeq(Long logId);
+}
@@ -0,0 +1,22 @@
+package com.photlas.backend.repository;
+
+import com.photlas.backend.entity.DataExportArchivePart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * データエクスポート（ジョブモード）のアップロード済みパートのリポジトリ
+ */
+@Repository
+public interface DataExportArchivePartRepository extends JpaRepository<DataExportArchivePart, Long> {
+
+    /**
+     * 指定ジョブのアップロード済みパートをパート番号順で取得する。
+     *
+     * @param logId 対象の data_export_log ID
+     * @return パート一覧（パート番号昇順）
+     */
+    List<DataExportArchivePart> findByLogIdOrderByPartNumber(Long logId);
+}
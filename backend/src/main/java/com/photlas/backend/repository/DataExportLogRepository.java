@@ -1,9 +1,16 @@
 package com.photlas.backend.repository;
 
 import com.photlas.backend.entity.DataExportLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,4 +27,118 @@ public interface DataExportLogRepository extends JpaRepository<DataExportLog, Lo
      * @return エクスポート履歴一覧（新しい順）
      */
     List<DataExportLog> findByUserIdOrderByRequestedAtDesc(Long userId);
+
+    /**
+     * ユーザーに指定モード・ステータスのエクスポートがあるか（未完了のジョブの確認に使う）。
+     *
+     * @param userId   対象ユーザー ID
+     * @param mode     モード
+     * @param statuses ステータス
+     * @return 該当するログがあれば true
+     */
+    boolean existsByUserIdAndModeAndStatusIn(Long userId, String mode, Collection<String> statuses);
+
+    /**
+     * ワーカーが引き取れるジョブ（QUEUED、またはハートビートが途絶えた IN_PROGRESS）の ID を古い順に取得する。
+     *
+     * @param staleCutoff ハートビートがこれより前の IN_PROGRESS はクラッシュしたものとみなす
+     * @param pageable    取得件数の上限
+     * @return ジョブ ID 一覧（requested_at 昇順）
+     */
+    @Query("SELECT l.id FROM DataExportLog l WHERE l.mode = 'JOB' " +
+           "AND (l.status = 'QUEUED' OR (l.status = 'IN_PROGRESS' AND l.heartbeatAt < :staleCutoff)) " +
+           "ORDER BY l.requestedAt")
+    List<Long> findClaimableJobIds(@Param("staleCutoff") LocalDateTime staleCutoff, Pageable pageable);
+
+    /**
+     * ジョブを原子的に引き取る（IN_PROGRESS 化・ハートビート更新・試行回数加算）。
+     *
+     * <p>{@link #findClaimableJobIds} と同じ条件を WHERE 句で再確認するため、複数ノードが同じ ID を
+     * 選んでも影響行数 1 になるのは 1 ノードだけ。</p>
+     *
+     * @return 影響行数（1 = 引き取り成功、0 = 他ノードが先に引き取った）
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DataExportLog l SET l.status = 'IN_PROGRESS', l.heartbeatAt = :now, " +
+           "l.attempts = l.attempts + 1, l.startedAt = COALESCE(l.startedAt, :now) " +
+           "WHERE l.id = :id AND l.mode = 'JOB' " +
+           "AND (l.status = 'QUEUED' OR (l.status = 'IN_PROGRESS' AND l.heartbeatAt < :staleCutoff))")
+    int claimJob(@Param("id") Long id,
+                 @Param("now") LocalDateTime now,
+                 @Param("staleCutoff") LocalDateTime staleCutoff);
+
+    /**
+     * 引き取ったワーカー自身のジョブであることを確認しつつ、S3 マルチパートアップロードの情報を記録する。
+     *
+     * @param attempt 引き取り時点の試行回数（他ノードが引き取り直していれば一致しない）
+     * @return 影響行数（0 = 所有権を失っている）
+     */
+    @Modifying
+    @Query("UPDATE DataExportLog l SET l.archiveName = :archiveName, l.s3ObjectKey = :s3ObjectKey, " +
+           "l.s3UploadId = :uploadId, l.heartbeatAt = :now " +
+           "WHERE l.id = :id AND l.attempts = :attempt AND l.status = 'IN_PROGRESS'")
+    int updateUpload(@Param("id") Long id,
+                     @Param("attempt") int attempt,
+                     @Param("archiveName") String archiveName,
+                     @Param("s3ObjectKey") String s3ObjectKey,
+                     @Param("uploadId") String uploadId,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * パート完了時のチェックポイントを記録する（ハートビートも更新）。
+     *
+     * @return 影響行数（0 = 所有権を失っている）
+     */
+    @Modifying
+    @Query("UPDATE DataExportLog l SET l.bytesWritten = :bytesWritten, l.checkpointPhotoId = :checkpointPhotoId, " +
+           "l.checkpointErrors = :checkpointErrors, l.heartbeatAt = :now " +
+           "WHERE l.id = :id AND l.attempts = :attempt AND l.status = 'IN_PROGRESS'")
+    int updateCheckpoint(@Param("id") Long id,
+                         @Param("attempt") int attempt,
+                         @Param("bytesWritten") long bytesWritten,
+                         @Param("checkpointPhotoId") Long checkpointPhotoId,
+                         @Param("checkpointErrors") String checkpointErrors,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * ハートビートのみ更新する（パートが埋まるまで時間がかかる場合用）。
+     *
+     * @return 影響行数（0 = 所有権を失っている）
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DataExportLog l SET l.heartbeatAt = :now " +
+           "WHERE l.id = :id AND l.attempts = :attempt AND l.status = 'IN_PROGRESS'")
+    int touchHeartbeat(@Param("id") Long id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+
+    /**
+     * 一時的な失敗のあとジョブを QUEUED に戻す（チェックポイントは保持し、次の引き取りで再開する）。
+     *
+     * @return 影響行数（0 = 所有権を失っている）
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DataExportLog l SET l.status = 'QUEUED', l.failureReason = :reason " +
+           "WHERE l.id = :id AND l.attempts = :attempt AND l.status = 'IN_PROGRESS'")
+    int requeue(@Param("id") Long id, @Param("attempt") int attempt, @Param("reason") String reason);
+
+    /**
+     * ジョブを完了にする（件数・スループット・ダウンロードリンクの有効期限を記録）。
+     *
+     * @return 影響行数（0 = 所有権を失っている）
+     */
+    @Modifying
+    @Query("UPDATE DataExportLog l SET l.status = 'COMPLETED', l.completedAt = :now, l.heartbeatAt = :now, " +
+           "l.photoCount = :photoCount, l.estimatedSizeBytes = :estimatedSizeBytes, l.bytesWritten = :bytesWritten, " +
+           "l.throughputBytesPerSec = :throughput, l.downloadExpiresAt = :downloadExpiresAt, l.failureReason = NULL " +
+           "WHERE l.id = :id AND l.attempts = :attempt AND l.status = 'IN_PROGRESS'")
+    int completeJob(@Param("id") Long id,
+                    @Param("attempt") int attempt,
+                    @Param("now") LocalDateTime now,
+                    @Param("photoCount") int photoCount,
+                    @Param("estimatedSizeBytes") long estimatedSizeBytes,
+                    @Param("bytesWritten") long bytesWritten,
+                    @Param("throughput") long throughput,
+                    @Param("downloadExpiresAt") LocalDateTime downloadExpiresAt);
 }
@@ -3,6 +3,7 @@ package com.photlas.backend.repository;
 import com.photlas.backend.entity.EmailChangeToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.Optional;
@@ -16,5 +17,6 @@ public interface EmailChangeTokenRepository extends JpaRepository<EmailChangeTok
     Optional<EmailChangeToken> findByToken(String token);
     Optional<EmailChangeToken> findByUserId(Long userId);
     void deleteByUserId(Long userId);
-    void deleteByExpiryDateBefore(Date now);
+    @Transactional
+    long deleteByExpiryDateBefore(Date now);
 }
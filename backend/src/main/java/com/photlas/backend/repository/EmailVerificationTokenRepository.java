@@ -3,6 +3,7 @@ package com.photlas.backend.repository;
 import com.photlas.backend.entity.EmailVerificationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -38,5 +39,6 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
      * 指定日時より前に期限切れのトークンを削除
      * @param now 現在日時
      */
-    void deleteByExpiryDateBefore(java.util.Date now);
+    @Transactional
+    long deleteByExpiryDateBefore(java.util.Date now);
 }
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -48,8 +50,21 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Favorite.Fav
      */
     long countByPhotoId(Long photoId);
 
+    /**
+     * 複数写真のお気に入り数をまとめてカウント（[写真ID, 件数]。お気に入りのない写真は含まない）
+     */
+    @Query("SELECT f.photoId, COUNT(f) FROM Favorite f WHERE f.photoId IN :photoIds GROUP BY f.photoId")
+    List<Object[]> countGroupedByPhotoIdIn(@Param("photoIds") Collection<Long> photoIds);
+
+    /**
+     * photoIds のうちユーザーがお気に入り登録している写真ID
+     */
+    @Query("SELECT f.photoId FROM Favorite f WHERE f.userId = :userId AND f.photoId IN :photoIds")
+    List<Long> findPhotoIdsByUserIdAndPhotoIdIn(@Param("userId") Long userId,
+                                                @Param("photoIds") Collection<Long> photoIds);
+
     /**
      * Issue#108: ユーザーが付けたお気に入り全件を新しい順で取得する（エクスポート用）
      */
-    java.util.List<Favorite> findByUserIdOrderByCreatedAtDesc(Long userId);
+    List<Favorite> findByUserIdOrderByCreatedAtDesc(Long userId);
 }
@@ -5,6 +5,7 @@ import com.photlas.backend.entity.Photo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -323,6 +324,14 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
      */
     Optional<Photo> findByS3ObjectKey(String s3ObjectKey);
 
+    /**
+     * S3オブジェクトキーの一覧から写真IDを一括で引く（モデレーションのバッチコールバック用）
+     *
+     * @return [String s3ObjectKey, Long photoId, Long userId]
+     */
+    @Query("SELECT p.s3ObjectKey, p.photoId, p.userId FROM Photo p WHERE p.s3ObjectKey IN :s3ObjectKeys")
+    List<Object[]> findIdsByS3ObjectKeyIn(@Param("s3ObjectKeys") Collection<String> s3ObjectKeys);
+
     /**
      * Issue#54: 指定ステータスで指定日時より前に作成された写真の件数を取得（滞留チェック用）
      */
@@ -333,6 +342,79 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
      */
     List<Photo> findByModerationStatusAndUpdatedAtBefore(Integer status, LocalDateTime updatedAt);
 
+    /**
+     * 物理削除対象の写真を photoId 昇順で {@code afterPhotoId} より後からチャンク取得する（キーセットページング）。
+     *
+     * <p>クリーンアップはチャンク単位でコミットするため、OFFSET ではなく処理済みの最大 photoId
+     * （ハイウォーターマーク）を起点に次のチャンクを取る。エンティティを読み込まずに削除に必要な列だけ返す。</p>
+     *
+     * 戻り値の各 Object[] は [Long photoId, String s3ObjectKey, Long spotId]。
+     */
+    @Query("SELECT p.photoId, p.s3ObjectKey, p.spotId FROM Photo p " +
+           "WHERE p.moderationStatus = :status AND p.updatedAt < :updatedAt AND p.photoId > :afterPhotoId " +
+           "ORDER BY p.photoId")
+    List<Object[]> findPurgeTargetsByModerationStatusAfter(
+            @Param("status") Integer status,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("afterPhotoId") Long afterPhotoId,
+            Pageable pageable);
+
+    /**
+     * 指定ユーザーの写真を photoId 昇順で {@code afterPhotoId} より後からチャンク取得する（アカウント物理削除用）。
+     *
+     * 戻り値の各 Object[] は [Long photoId, String s3ObjectKey, Long spotId]。
+     */
+    @Query("SELECT p.photoId, p.s3ObjectKey, p.spotId FROM Photo p " +
+           "WHERE p.userId = :userId AND p.photoId > :afterPhotoId ORDER BY p.photoId")
+    List<Object[]> findPurgeTargetsByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("afterPhotoId") Long afterPhotoId,
+            Pageable pageable);
+
+    /**
+     * 写真と photo_categories の関連レコードを 1 文でまとめて削除する。
+     *
+     * <p>photo_categories には photos への ON DELETE CASCADE が無いため、同じ文の CTE で先に削除して
+     * FK 制約違反を防ぐ。他の関連テーブル（favorites / photo_tags など）は CASCADE で削除される。</p>
+     *
+     * @return 削除した写真の件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            WITH deleted_categories AS (
+                DELETE FROM photo_categories WHERE photo_id IN (:photoIds)
+            )
+            DELETE FROM photos WHERE photo_id IN (:photoIds)
+            """, nativeQuery = true)
+    int deleteWithCategoriesByPhotoIdIn(@Param("photoIds") Collection<Long> photoIds);
+
+    /**
+     * 写真が属するスポットの ID を返す（無効化イベントの影響を受けるスポットの特定用）。
+     */
+    @Query(value = """
+            SELECT DISTINCT p.spot_id FROM photos p WHERE p.photo_id IN (:photoIds)
+            """, nativeQuery = true)
+    List<Long> findSpotIdsByPhotoIdIn(@Param("photoIds") Collection<Long> photoIds);
+
+    /**
+     * ユーザーの写真があるスポットの ID を返す（退会・復旧時）。
+     */
+    @Query(value = """
+            SELECT DISTINCT p.spot_id FROM photos p WHERE p.user_id IN (:userIds)
+            """, nativeQuery = true)
+    List<Long> findSpotIdsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * スポットの全写真を別のスポットへ移す（重複スポットの統合用）。
+     *
+     * @return 移した写真の件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE photos SET spot_id = :toSpotId, updated_at = CURRENT_TIMESTAMP WHERE spot_id = :fromSpotId
+            """, nativeQuery = true)
+    int moveToSpot(@Param("fromSpotId") Long fromSpotId, @Param("toSpotId") Long toSpotId);
+
     /**
      * Issue#72: 指定ユーザーの全写真を取得
      */
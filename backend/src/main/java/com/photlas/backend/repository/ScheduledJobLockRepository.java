@@ -0,0 +1,71 @@
+package com.photlas.backend.repository;
+
+import com.photlas.backend.entity.ScheduledJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * @Scheduled ジョブの分散ロック（リース）のリポジトリ。
+ *
+ * <p>時刻はすべて DB の clock_timestamp() で判定する（ノード間の時計のずれに影響されない）。
+ * {@code lockedBy} は取得ごとに一意な所有者 ID で、延長・解放は所有者が一致する場合だけ効く。</p>
+ */
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    /**
+     * リースが切れている（または行が無い）場合だけロックを取得する。
+     *
+     * <p>行が無ければ INSERT、あれば lock_until を過ぎている場合だけ UPDATE する 1 文の upsert のため、
+     * 複数ノードが同時に呼んでも影響行数 1 になるのは 1 ノードだけ。</p>
+     *
+     * @return 影響行数（1 = 取得成功、0 = 他ノードが保持中）
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO scheduled_job_locks (job_name, locked_by, locked_at, lock_until)
+            VALUES (:jobName, :lockedBy, clock_timestamp(), clock_timestamp() + make_interval(secs => :leaseSeconds))
+            ON CONFLICT (job_name) DO UPDATE
+               SET locked_by = EXCLUDED.locked_by,
+                   locked_at = EXCLUDED.locked_at,
+                   lock_until = EXCLUDED.lock_until
+             WHERE scheduled_job_locks.lock_until <= clock_timestamp()
+            """, nativeQuery = true)
+    int tryAcquire(@Param("jobName") String jobName,
+                   @Param("lockedBy") String lockedBy,
+                   @Param("leaseSeconds") double leaseSeconds);
+
+    /**
+     * 保持中のリースを現在時刻から {@code leaseSeconds} 秒後まで延長する。
+     *
+     * @return 影響行数（0 = リースを失っている）
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE scheduled_job_locks
+               SET lock_until = clock_timestamp() + make_interval(secs => :leaseSeconds)
+             WHERE job_name = :jobName AND locked_by = :lockedBy
+            """, nativeQuery = true)
+    int renew(@Param("jobName") String jobName,
+              @Param("lockedBy") String lockedBy,
+              @Param("leaseSeconds") double leaseSeconds);
+
+    /**
+     * ロックを解放する。取得から {@code lockAtLeastSeconds} 秒経つまでは lock_until を残し、
+     * 同じ cron で少し遅れて起動した他ノードが同じ回を再実行しないようにする。
+     *
+     * @return 影響行数（0 = リースを失っている）
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE scheduled_job_locks
+               SET lock_until = GREATEST(clock_timestamp(), locked_at + make_interval(secs => :lockAtLeastSeconds))
+             WHERE job_name = :jobName AND locked_by = :lockedBy
+            """, nativeQuery = true)
+    int release(@Param("jobName") String jobName,
+                @Param("lockedBy") String lockedBy,
+                @Param("lockAtLeastSeconds") double lockAtLeastSeconds);
+}
@@ -0,0 +1,22 @@
+package com.photlas.backend.repository;
+
+import com.photlas.backend.entity.ScheduledJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * @Scheduled ジョブの実行履歴のリポジトリ
+ */
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+    /**
+     * 指定ジョブの直近の実行履歴を新しい順に取得する。
+     *
+     * @param jobName ジョブ名
+     * @return 実行履歴（最大 20 件、開始日時降順）
+     */
+    List<ScheduledJobRun> findTop20ByJobNameOrderByStartedAtDesc(String jobName);
+}
@@ -50,6 +50,140 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
         @Param("longitude") BigDecimal longitude
     );
 
+    /**
+     * 指定地点から半径 {@code radiusMeters} 以内の、公開写真のあるスポットを距離の近い順に返す（近くのスポット一覧用）。
+     *
+     * <p>{@link #findSpotsWithin200m} と同じく {@code geom <-> point}（KNN）で {@code idx_spots_geom} を近い順に読み、
+     * 枚数とサムネイルはスポットの要約（spot_summaries、V52）から引く。スポットごとに全写真を結合・集計しないため、
+     * 読む行数はページの件数にほぼ比例する。距離は球面上の距離（m）で、{@code ST_DWithin} も球面で判定して揃える。</p>
+     *
+     * <p>ページングは前のページの最後の（距離, spot_id）より後ろを返すカーソル方式。最初のページは
+     * {@code afterDistance = -1}、{@code afterSpotId = 0} を渡す。</p>
+     *
+     * <p>フィルターの条件は {@link #findSpotsWithAdvancedFilters} と同じで、条件に合う公開写真が 1 枚以上あるスポットだけを返す。
+     * フィルターが無い場合は {@code filtered = false} を渡し、写真を参照しない。</p>
+     *
+     * <p>戻り値の各要素: [0] spot_id (Long) / [1] latitude (BigDecimal) / [2] longitude (BigDecimal) /
+     * [3] distance（m, Double） / [4] photo_count (Integer) / [5] thumbnail_s3_object_key (String)</p>
+     */
+    @Query(value = """
+        SELECT
+            s.spot_id,
+            s.latitude,
+            s.longitude,
+            s.geom <-> CAST(ST_SetSRID(ST_MakePoint(
+                    CAST(:longitude AS double precision),
+                    CAST(:latitude AS double precision)), 4326) AS geography) AS distance,
+            ss.photo_count,
+            ss.thumbnail_s3_object_key
+        FROM spots s
+        INNER JOIN spot_summaries ss ON s.spot_id = ss.spot_id
+        WHERE ST_DWithin(
+                s.geom,
+                CAST(ST_SetSRID(ST_MakePoint(
+                    CAST(:longitude AS double precision),
+                    CAST(:latitude AS double precision)), 4326) AS geography),
+                :radiusMeters,
+                false
+              )
+          AND (s.geom <-> CAST(ST_SetSRID(ST_MakePoint(
+                    CAST(:longitude AS double precision),
+                    CAST(:latitude AS double precision)), 4326) AS geography) > :afterDistance
+               OR (s.geom <-> CAST(ST_SetSRID(ST_MakePoint(
+                    CAST(:longitude AS double precision),
+                    CAST(:latitude AS double precision)), 4326) AS geography) = :afterDistance
+                   AND s.spot_id > :afterSpotId))
+          AND (:filtered = false OR EXISTS (
+              SELECT 1
+              FROM photos p
+              INNER JOIN users u ON p.user_id = u.id
+              WHERE p.spot_id = s.spot_id
+                AND p.moderation_status = 1002
+                AND u.deleted_at IS NULL
+                AND (-1 IN (:months) OR EXTRACT(MONTH FROM p.shot_at) IN (:months))
+                AND (-1 IN (:timesOfDay) OR p.time_of_day IN (:timesOfDay))
+                AND (-1 IN (:weathers) OR p.weather IN (:weathers))
+                AND (-1 IN (:subjectCategories) OR EXISTS (
+                    SELECT 1 FROM photo_categories pc
+                    WHERE pc.photo_id = p.photo_id
+                      AND pc.category_id IN (:subjectCategories)
+                ))
+                AND (:minResolution = -1 OR (p.image_width IS NOT NULL AND p.image_height IS NOT NULL AND GREATEST(p.image_width, p.image_height) >= :minResolution))
+                AND (-1 IN (:deviceTypes) OR p.device_type IN (:deviceTypes))
+                AND (p.shot_at IS NULL OR p.shot_at >= :maxAgeDate)
+                AND ('__NONE__' IN (:aspectRatios)
+                     OR ('HORIZONTAL' IN (:aspectRatios) AND p.image_width IS NOT NULL AND p.image_height IS NOT NULL AND p.image_width > p.image_height)
+                     OR ('VERTICAL' IN (:aspectRatios) AND p.image_width IS NOT NULL AND p.image_height IS NOT NULL AND p.image_width < p.image_height)
+                     OR ('SQUARE' IN (:aspectRatios) AND p.image_width IS NOT NULL AND p.image_height IS NOT NULL AND ABS(p.image_width - p.image_height) <= GREATEST(p.image_width, p.image_height) * 0.05)
+                )
+                AND ('__NONE__' IN (:focalLengthRanges)
+                     OR ('WIDE' IN (:focalLengthRanges) AND p.focal_length_35mm IS NOT NULL AND p.focal_length_35mm < 24)
+                     OR ('STANDARD' IN (:focalLengthRanges) AND p.focal_length_35mm IS NOT NULL AND p.focal_length_35mm >= 24 AND p.focal_length_35mm <= 70)
+                     OR ('TELEPHOTO' IN (:focalLengthRanges) AND p.focal_length_35mm IS NOT NULL AND p.focal_length_35mm > 70 AND p.focal_length_35mm <= 300)
+                     OR ('SUPER_TELEPHOTO' IN (:focalLengthRanges) AND p.focal_length_35mm IS NOT NULL AND p.focal_length_35mm > 300)
+                )
+                AND (:maxIso = -1 OR (p.iso IS NOT NULL AND p.iso <= :maxIso))
+                AND (-1 IN (:tagIds) OR EXISTS (
+                    SELECT 1 FROM photo_tags pt
+                    WHERE pt.photo_id = p.photo_id
+                      AND pt.tag_id IN (:tagIds)
+                ))
+          ))
+        ORDER BY s.geom <-> CAST(ST_SetSRID(ST_MakePoint(
+                    CAST(:longitude AS double precision),
+                    CAST(:latitude AS double precision)), 4326) AS geography),
+                 s.spot_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> findNearbySpots(
+        @Param("latitude") BigDecimal latitude,
+        @Param("longitude") BigDecimal longitude,
+        @Param("radiusMeters") double radiusMeters,
+        @Param("afterDistance") double afterDistance,
+        @Param("afterSpotId") long afterSpotId,
+        @Param("filtered") boolean filtered,
+        @Param("subjectCategories") List<Integer> subjectCategories,
+        @Param("months") List<Integer> months,
+        @Param("timesOfDay") List<Integer> timesOfDay,
+        @Param("weathers") List<Integer> weathers,
+        @Param("minResolution") int minResolution,
+        @Param("deviceTypes") List<Integer> deviceTypes,
+        @Param("maxAgeDate") LocalDateTime maxAgeDate,
+        @Param("aspectRatios") List<String> aspectRatios,
+        @Param("focalLengthRanges") List<String> focalLengthRanges,
+        @Param("maxIso") int maxIso,
+        @Param("tagIds") List<Long> tagIds,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 近接して重複したスポットの組を返す（{@code SpotMergeService} 用）。
+     *
+     * <p>各スポットについて、それより前に作られた（spot_id が小さい）スポットのうち {@code distanceMeters} 以内で
+     * 最も近いものを残す側として組にする。残す側は常に古いスポットになるため、A←B←C のような連鎖も
+     * 古い順に統合すれば一方向にまとまる。</p>
+     *
+     * <p>戻り値の各要素: [0] 重複したスポットの spot_id (Long) / [1] 残すスポットの spot_id (Long)。重複側の昇順。</p>
+     */
+    @Query(value = """
+        SELECT d.spot_id, k.spot_id
+        FROM spots d
+        CROSS JOIN LATERAL (
+            SELECT s.spot_id
+            FROM spots s
+            WHERE s.spot_id < d.spot_id
+              AND ST_DWithin(s.geom, d.geom, :distanceMeters)
+            ORDER BY s.geom <-> d.geom, s.spot_id
+            LIMIT 1
+        ) k
+        ORDER BY d.spot_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> findDuplicateSpotPairs(
+        @Param("distanceMeters") double distanceMeters,
+        @Param("limit") int limit
+    );
+
     /**
      * Issue#72: 指定ユーザーが作成者であるスポットを検索
      */
@@ -61,11 +195,21 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
     List<Spot> findByCreatedByUserIdOrderByCreatedAtDesc(Long createdByUserId);
 
     /**
-     * Issue#72: 写真が0件の孤立スポットを削除
+     * 指定スポットのうち写真が 0 件になったもの（孤立スポット）を削除する。
+     *
+     * <p>写真の物理削除で影響を受けたスポットだけを候補として渡し、photos(spot_id) のインデックスを使う
+     * NOT EXISTS で確認する（spots / photos の全件走査を避ける）。</p>
+     *
+     * @param spotIds 候補スポットID（削除した写真が属していたスポット）
+     * @return 削除したスポットの件数
      */
-    @org.springframework.data.jpa.repository.Modifying
-    @Query("DELETE FROM Spot s WHERE s.spotId NOT IN (SELECT DISTINCT p.spotId FROM Photo p)")
-    void deleteOrphanedSpots();
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            DELETE FROM spots s
+            WHERE s.spot_id IN (:spotIds)
+              AND NOT EXISTS (SELECT 1 FROM photos p WHERE p.spot_id = s.spot_id)
+            """, nativeQuery = true)
+    int deleteOrphanedSpotsIn(@Param("spotIds") java.util.Collection<Long> spotIds);
 
     /**
      * 指定された範囲内のスポットを検索し、フィルター条件に合致する写真を集計して返す
@@ -143,6 +287,11 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
      * - アスペクト比（横/縦/正方形）
      * - 焦点距離帯（広角/標準/望遠/超望遠）
      * - ISO感度（最大値）
+     *
+     * <p>範囲の絞り込みは {@code geom} の geometry 版の GiST 索引（{@code idx_spots_geom_envelope}、V51）に
+     * 矩形（{@code ST_MakeEnvelope}）との {@code &&} で当て、緯度・経度の BETWEEN で境界を厳密に判定する
+     * （索引の矩形は float4 に丸められるため）。経度の範囲は {@code west <= east} を前提とし、
+     * 日付変更線をまたぐ表示範囲は {@link com.photlas.backend.service.SpotService} が 2 つに分けて呼ぶ。</p>
      */
     @Query(value = """
         SELECT
@@ -192,7 +341,10 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
         FROM spots s
         INNER JOIN photos p ON s.spot_id = p.spot_id
         INNER JOIN users u ON p.user_id = u.id
-        WHERE s.latitude BETWEEN :south AND :north
+        WHERE CAST(s.geom AS geometry) && ST_MakeEnvelope(
+                  CAST(:west AS double precision), CAST(:south AS double precision),
+                  CAST(:east AS double precision), CAST(:north AS double precision), 4326)
+          AND s.latitude BETWEEN :south AND :north
           AND s.longitude BETWEEN :west AND :east
           AND p.moderation_status = 1002
           AND u.deleted_at IS NULL
@@ -259,6 +411,9 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
      * [0] spot_id, [1] latitude, [2] longitude, [3] photo_count, [4] total_photo_count, [5] thumbnail_url
      *
      * 他人の PENDING / QUARANTINED 投稿は user_id の絞り込みにより自然に除外される。
+     *
+     * 範囲の絞り込みと経度の前提（{@code west <= east}）、並び順（写真枚数の多い順）は
+     * {@link #findSpotsWithAdvancedFilters} と同じ。
      */
     @Query(value = """
         SELECT
@@ -306,7 +461,10 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
             ) as thumbnail_url
         FROM spots s
         INNER JOIN photos p ON s.spot_id = p.spot_id
-        WHERE s.latitude BETWEEN :south AND :north
+        WHERE CAST(s.geom AS geometry) && ST_MakeEnvelope(
+                  CAST(:west AS double precision), CAST(:south AS double precision),
+                  CAST(:east AS double precision), CAST(:north AS double precision), 4326)
+          AND s.latitude BETWEEN :south AND :north
           AND s.longitude BETWEEN :west AND :east
           AND p.moderation_status = 1001
           AND p.user_id = :viewerUserId
@@ -339,6 +497,7 @@ public interface SpotRepository extends JpaRepository<Spot, Long> {
                 AND pt.tag_id IN (:tagIds)
           ))
         GROUP BY s.spot_id, s.latitude, s.longitude
+        ORDER BY total_photo_count DESC
         """, nativeQuery = true)
     List<Object[]> findMinePendingSpots(
         @Param("north") BigDecimal north,
@@ -0,0 +1,113 @@
+package com.photlas.backend.repository;
+
+import com.photlas.backend.entity.Spot;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * スポットごとの公開写真の要約（spot_summaries）と枚数の分布（spot_photo_histograms）のリポジトリ。
+ *
+ * <p>要約・分布の行はエンティティを持たないため、ネイティブクエリだけで扱う（ドメイン型の {@link Spot} は形式上のもの）。
+ * 対象の写真とサムネイル・分布の区分の選び方は V52・V53 のマイグレーションと同じ。
+ * 作り直しは呼び出し元のトランザクションに参加し、変更と一緒にコミットされる。</p>
+ */
+@org.springframework.stereotype.Repository
+public interface SpotSummaryRepository extends Repository<Spot, Long> {
+
+    /**
+     * 指定スポットの要約を現在の公開写真から作り直す。公開写真が無くなったスポットの行は削除する。
+     *
+     * <p>未反映の変更（写真のステータスなど）を先に flush してから集計する。</p>
+     *
+     * @return 作成・更新した行数
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            WITH summary AS (
+                SELECT p.spot_id,
+                       COUNT(*) AS photo_count,
+                       (ARRAY_AGG(p.s3_object_key ORDER BY p.shot_at DESC NULLS LAST, p.photo_id DESC))[1]
+                           AS thumbnail_s3_object_key
+                  FROM photos p
+                 INNER JOIN spots s ON p.spot_id = s.spot_id
+                 INNER JOIN users u ON p.user_id = u.id
+                 WHERE p.spot_id IN (:spotIds)
+                   AND p.moderation_status = 1002
+                   AND u.deleted_at IS NULL
+                 GROUP BY p.spot_id
+            ), removed AS (
+                DELETE FROM spot_summaries ss
+                 WHERE ss.spot_id IN (:spotIds)
+                   AND NOT EXISTS (SELECT 1 FROM summary WHERE summary.spot_id = ss.spot_id)
+            )
+            INSERT INTO spot_summaries (spot_id, photo_count, thumbnail_s3_object_key, updated_at)
+            SELECT spot_id, photo_count, thumbnail_s3_object_key, CURRENT_TIMESTAMP
+              FROM summary
+             ORDER BY spot_id
+            ON CONFLICT (spot_id) DO UPDATE
+               SET photo_count = EXCLUDED.photo_count,
+                   thumbnail_s3_object_key = EXCLUDED.thumbnail_s3_object_key,
+                   updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int refresh(@Param("spotIds") Collection<Long> spotIds);
+
+    /**
+     * 指定スポットの枚数の分布を現在の公開写真から作り直す。無くなった組み合わせの行は削除する。
+     *
+     * <p>{@link #refresh} と同じく、未反映の変更を先に flush してから集計する。</p>
+     *
+     * @return 作成・更新した行数
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            WITH histogram AS (
+                SELECT p.spot_id,
+                       CAST(COALESCE(EXTRACT(MONTH FROM p.shot_at), 0) AS SMALLINT) AS month,
+                       COALESCE(p.time_of_day, 0) AS time_of_day,
+                       COALESCE(p.weather, 0) AS weather,
+                       COUNT(*) AS photo_count
+                  FROM photos p
+                 INNER JOIN spots s ON p.spot_id = s.spot_id
+                 INNER JOIN users u ON p.user_id = u.id
+                 WHERE p.spot_id IN (:spotIds)
+                   AND p.moderation_status = 1002
+                   AND u.deleted_at IS NULL
+                 GROUP BY 1, 2, 3, 4
+            ), removed AS (
+                DELETE FROM spot_photo_histograms h
+                 WHERE h.spot_id IN (:spotIds)
+                   AND NOT EXISTS (
+                       SELECT 1 FROM histogram
+                        WHERE histogram.spot_id = h.spot_id
+                          AND histogram.month = h.month
+                          AND histogram.time_of_day = h.time_of_day
+                          AND histogram.weather = h.weather)
+            )
+            INSERT INTO spot_photo_histograms (spot_id, month, time_of_day, weather, photo_count)
+            SELECT spot_id, month, time_of_day, weather, photo_count
+              FROM histogram
+             ORDER BY spot_id, month, time_of_day, weather
+            ON CONFLICT (spot_id, month, time_of_day, weather) DO UPDATE
+               SET photo_count = EXCLUDED.photo_count
+            """, nativeQuery = true)
+    int refreshHistograms(@Param("spotIds") Collection<Long> spotIds);
+
+    /**
+     * スポットの枚数の分布を返す。
+     *
+     * <p>戻り値の各要素: [0] month (Short, 不明は 0) / [1] time_of_day (Integer, 不明は 0) /
+     * [2] weather (Integer, 不明は 0) / [3] photo_count (Integer)。区分の昇順。</p>
+     */
+    @Query(value = """
+            SELECT month, time_of_day, weather, photo_count
+              FROM spot_photo_histograms
+             WHERE spot_id = :spotId
+             ORDER BY month, time_of_day, weather
+            """, nativeQuery = true)
+    List<Object[]> findHistogram(@Param("spotId") Long spotId);
+}
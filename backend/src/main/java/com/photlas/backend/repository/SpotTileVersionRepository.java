@@ -0,0 +1,89 @@
+package com.photlas.backend.repository;
+
+import com.photlas.backend.entity.Spot;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * スポットのタイルごとの版数（spot_tile_versions）のリポジトリ。
+ *
+ * <p>版数の行はエンティティを持たないため、ネイティブクエリだけで扱う（ドメイン型の {@link Spot} は形式上のもの）。
+ * タイル番号の計算は {@code SpotTile} と同じ Web メルカトルの式で、緯度は ±85.0511 度に丸める。</p>
+ *
+ * <p>行はズーム {@code SpotTileService.MIN_VERSIONED_ZOOM} 以上のタイルだけにあり、それより低いズームの版数は
+ * 子タイルの版数の合計として読む（V54 のマイグレーション）。
+ * 版数を上げる upsert はタイル番号順に行を更新し、同時に走った更新同士がデッドロックしないようにする。
+ * 呼び出し元のトランザクションがあればそれに参加し、変更と一緒にコミットされる。</p>
+ */
+@org.springframework.stereotype.Repository
+public interface SpotTileVersionRepository extends Repository<Spot, Long> {
+
+    /**
+     * 矩形範囲のタイルの版数を、ズーム childZoom の子タイルの版数の合計で取得する。行が無いタイルは含まれない。
+     *
+     * <p>shift は childZoom とタイルのズームの差。差が 0 の場合はタイル自身の版数になる。</p>
+     *
+     * <p>戻り値の各要素: [0] x (Integer) / [1] y (Integer) / [2] version (Long)</p>
+     */
+    @Query(value = """
+            SELECT x >> :shift AS x, y >> :shift AS y, CAST(SUM(version) AS BIGINT) AS version
+              FROM spot_tile_versions
+             WHERE z = :childZoom
+               AND x BETWEEN (:minX << :shift) AND ((:maxX + 1) << :shift) - 1
+               AND y BETWEEN (:minY << :shift) AND ((:maxY + 1) << :shift) - 1
+             GROUP BY 1, 2
+            """, nativeQuery = true)
+    List<Object[]> findVersions(@Param("childZoom") int childZoom, @Param("shift") int shift,
+                                @Param("minX") int minX, @Param("maxX") int maxX,
+                                @Param("minY") int minY, @Param("maxY") int maxY);
+
+    /**
+     * スポットを含むズーム minZoom〜maxZoom のタイルの版数を上げる。
+     *
+     * <p>タイルの範囲は座標の桁数（小数 6 桁）で外側に丸めるため、端から 0.000001 度以内のスポットは
+     * 隣のタイルにも含まれる（{@code SpotTile}）。そうしたスポットは、含まれるすべてのタイルの版数を上げる。</p>
+     *
+     * @return 更新（挿入）したタイル数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO spot_tile_versions (z, x, y, version, updated_at)
+            SELECT t.z, t.x, t.y, 1, CURRENT_TIMESTAMP
+              FROM (
+                    SELECT DISTINCT zoom.z, tx.x, ty.y
+                      FROM spots s
+                     CROSS JOIN generate_series(:minZoom, :maxZoom) AS zoom(z)
+                     CROSS JOIN LATERAL (
+                           SELECT CAST(s.longitude AS double precision) AS lng,
+                                  LEAST(GREATEST(CAST(s.latitude AS double precision), -85.0511287798),
+                                        85.0511287798) AS lat,
+                                  2 ^ zoom.z AS n) m
+                     CROSS JOIN LATERAL generate_series(
+                           CAST(LEAST(GREATEST(FLOOR((m.lng - 0.000001 + 180) / 360 * m.n), 0), m.n - 1) AS integer),
+                           CAST(LEAST(GREATEST(FLOOR((m.lng + 0.000001 + 180) / 360 * m.n), 0), m.n - 1) AS integer)
+                           ) AS tx(x)
+                     CROSS JOIN LATERAL generate_series(
+                           CAST(LEAST(GREATEST(FLOOR((1 - LN(TAN(RADIANS(m.lat + 0.000001))
+                                                            + 1 / COS(RADIANS(m.lat + 0.000001))) / PI())
+                                                     / 2 * m.n), 0), m.n - 1) AS integer),
+                           CAST(LEAST(GREATEST(FLOOR((1 - LN(TAN(RADIANS(m.lat - 0.000001))
+                                                            + 1 / COS(RADIANS(m.lat - 0.000001))) / PI())
+                                                     / 2 * m.n), 0), m.n - 1) AS integer)
+                           ) AS ty(y)
+                     WHERE s.spot_id IN (:spotIds)
+                   ) t
+             ORDER BY t.z, t.x, t.y
+            ON CONFLICT (z, x, y) DO UPDATE
+               SET version = spot_tile_versions.version + 1,
+                   updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int bumpForSpots(@Param("spotIds") Collection<Long> spotIds,
+                     @Param("minZoom") int minZoom, @Param("maxZoom") int maxZoom);
+}
@@ -2,9 +2,12 @@ package com.photlas.backend.repository;
 
 import com.photlas.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +50,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByProfileImageS3Key(String profileImageS3Key);
 
+    /**
+     * プロフィール画像S3キーの一覧からユーザーIDを一括で引く（モデレーションのバッチコールバック用）
+     *
+     * @return [String profileImageS3Key, Long userId]
+     */
+    @Query("SELECT u.profileImageS3Key, u.id FROM User u WHERE u.profileImageS3Key IN :s3Keys")
+    List<Object[]> findIdsByProfileImageS3KeyIn(@Param("s3Keys") Collection<String> s3Keys);
+
     /**
      * Issue#72: 退会済みで指定日時より前にdeleted_atが設定されたユーザーを取得
      */
@@ -86,6 +97,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * かつ「last_exported_at が未設定 または 168 時間以上前」の両方を満たすときだけ
      * UPDATE する。影響行数 1 で取得成功、0 ならロック中または頻度制限のいずれか。</p>
      *
+     * <p>ジョブモードのロックはワーカーが実行している間だけ延長されるため、キューで 30 分以上待つと
+     * ストール扱いになる。そのため QUEUED / IN_PROGRESS のジョブが残っている間もロック中とみなす。</p>
+     *
      * @param userId        対象ユーザー ID
      * @param now           現在時刻
      * @param staleCutoff   ストール扱いの閾値（now - 30 分）
@@ -97,10 +111,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @org.springframework.data.jpa.repository.Query(
             "UPDATE User u SET u.exportInProgressAt = :now WHERE u.id = :userId " +
             "AND (u.exportInProgressAt IS NULL OR u.exportInProgressAt < :staleCutoff) " +
-            "AND (u.lastExportedAt IS NULL OR u.lastExportedAt < :recentCutoff)")
+            "AND (u.lastExportedAt IS NULL OR u.lastExportedAt < :recentCutoff) " +
+            "AND NOT EXISTS (SELECT 1 FROM DataExportLog l WHERE l.userId = u.id AND l.mode = 'JOB' " +
+            "                AND l.status IN ('QUEUED', 'IN_PROGRESS'))")
     int tryAcquireExportSlot(
             @org.springframework.data.repository.query.Param("userId") Long userId,
             @org.springframework.data.repository.query.Param("now") LocalDateTime now,
             @org.springframework.data.repository.query.Param("staleCutoff") LocalDateTime staleCutoff,
             @org.springframework.data.repository.query.Param("recentCutoff") LocalDateTime recentCutoff);
-}
\ No newline at end of file
+
+    /**
+     * エクスポートジョブの実行中に同時実行ロック（export_in_progress_at）を延長する。
+     *
+     * <p>ジョブモードではエクスポートがストール閾値（30 分）を超えて続くことがあるため、
+     * チェックポイントごとに更新して別エクスポートの開始を防ぐ。ロックが解放済みなら何もしない。</p>
+     *
+     * @return 影響行数
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(
+            "UPDATE User u SET u.exportInProgressAt = :now WHERE u.id = :userId AND u.exportInProgressAt IS NOT NULL")
+    int refreshExportInProgress(
+            @org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("now") LocalDateTime now);
+}
@@ -1,15 +1,12 @@
 package com.photlas.backend.service;
 
-import com.photlas.backend.entity.Photo;
 import com.photlas.backend.entity.User;
 import com.photlas.backend.repository.PhotoRepository;
-import com.photlas.backend.repository.SpotRepository;
 import com.photlas.backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,33 +20,40 @@ public class AccountCleanupService {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountCleanupService.class);
     private static final int RETENTION_DAYS = 90;
+    private static final String JOB_NAME = "deleted_accounts";
 
     private final UserRepository userRepository;
     private final PhotoRepository photoRepository;
-    private final SpotRepository spotRepository;
-    private final S3Service s3Service;
+    private final PhotoPurgeEngine photoPurgeEngine;
+    private final ScheduledJobRunner scheduledJobRunner;
 
     public AccountCleanupService(UserRepository userRepository, PhotoRepository photoRepository,
-                                  SpotRepository spotRepository, S3Service s3Service) {
+                                  PhotoPurgeEngine photoPurgeEngine, ScheduledJobRunner scheduledJobRunner) {
         this.userRepository = userRepository;
         this.photoRepository = photoRepository;
-        this.spotRepository = spotRepository;
-        this.s3Service = s3Service;
+        this.photoPurgeEngine = photoPurgeEngine;
+        this.scheduledJobRunner = scheduledJobRunner;
     }
 
     /**
      * 退会済みアカウントの物理削除を実行する
      * 毎日午前4時（JST）= UTC 19:00 に実行
+     *
+     * ユーザーごと・写真チャンクごとにコミットするため、バッチ全体を 1 トランザクションにはしない。
+     * 複数ノードのうち分散ロックを取得した 1 ノードだけが実行する。
      */
     @Scheduled(cron = "0 0 19 * * *")
-    @Transactional
     public void cleanupDeletedAccounts() {
+        scheduledJobRunner.run(JOB_NAME, this::deleteExpiredAccounts);
+    }
+
+    private long deleteExpiredAccounts() {
         LocalDateTime cutoff = LocalDateTime.now().minusDays(RETENTION_DAYS);
         List<User> expiredUsers = userRepository.findExpiredDeletedUsers(cutoff);
 
         if (expiredUsers.isEmpty()) {
             logger.info("削除対象の退会済みユーザーはいません");
-            return;
+            return 0;
         }
 
         int deletedCount = 0;
@@ -62,56 +66,34 @@ public class AccountCleanupService {
             }
         }
 
-        // 孤立スポットのクリーンアップ
-        spotRepository.deleteOrphanedSpots();
-
         logger.info("退会済みアカウントの物理削除完了: {}件", deletedCount);
+        return deletedCount;
     }
 
     /**
      * Issue#73: 単一ユーザーの物理削除（即時削除用に公開）
+     *
+     * 写真（S3 の元画像 + サムネイル、DB 行）は {@link PhotoPurgeEngine} でチャンクごとに削除・コミットする。
+     * 写真が 0 件になったスポットも同じバッチで削除されるため、孤立スポットの全件掃除は行わない。
+     * 途中で失敗してもユーザー行は残るため、次回実行で残りの写真から再開される。
      */
-    @Transactional
     public void deleteUserPermanently(User user) {
-        // S3の写真ファイルを削除（元画像 + サムネイル）
-        List<Photo> photos = photoRepository.findByUserId(user.getId());
-        for (Photo photo : photos) {
-            try {
-                s3Service.deleteS3Object(photo.getS3ObjectKey());
-                s3Service.deleteS3Object(generateThumbnailKey(photo.getS3ObjectKey()));
-            } catch (Exception e) {
-                logger.error("S3写真削除に失敗: photoId={}, s3Key={}",
-                        photo.getPhotoId(), photo.getS3ObjectKey(), e);
-            }
-        }
+        // 写真を削除（S3削除の失敗はログのみ。退会ユーザーの写真はDBに残さない）
+        photoPurgeEngine.purge(JOB_NAME,
+                (afterPhotoId, pageable) -> photoRepository.findPurgeTargetsByUserIdAfter(
+                        user.getId(), afterPhotoId, pageable),
+                false);
 
         // S3のプロフィール画像を削除
-        if (user.getProfileImageS3Key() != null) {
-            try {
-                s3Service.deleteS3Object(user.getProfileImageS3Key());
-            } catch (Exception e) {
-                logger.error("S3プロフィール画像削除に失敗: userId={}, s3Key={}",
-                        user.getId(), user.getProfileImageS3Key(), e);
-            }
-        }
-
-        // 写真をDB上から削除
-        if (!photos.isEmpty()) {
-            photoRepository.deleteAll(photos);
+        if (user.getProfileImageS3Key() != null
+                && !photoPurgeEngine.deleteObjects(List.of(user.getProfileImageS3Key())).isEmpty()) {
+            logger.error("S3プロフィール画像削除に失敗: userId={}, s3Key={}",
+                    user.getId(), user.getProfileImageS3Key());
         }
 
         // ユーザーを物理削除
         userRepository.delete(user);
 
-        // 孤立スポットのクリーンアップ
-        spotRepository.deleteOrphanedSpots();
-
         logger.info("ユーザー物理削除完了: userId={}", user.getId());
     }
-
-    private String generateThumbnailKey(String s3ObjectKey) {
-        int dotIndex = s3ObjectKey.lastIndexOf('.');
-        String baseName = dotIndex > 0 ? s3ObjectKey.substring(0, dotIndex) : s3ObjectKey;
-        return "thumbnails/" + baseName + ".webp";
-    }
 }
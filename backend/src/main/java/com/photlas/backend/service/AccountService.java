@@ -61,6 +61,7 @@ public class AccountService {
     private final ObjectProvider<OAuthTokenRevokeService> oauthTokenRevokeServiceProvider;
     /** Issue#104: cancel-registration の監査ログ記録用 */
     private final SecurityAuditLogger securityAuditLogger;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Value("${app.frontend-url:https://photlas.jp}")
     private String frontendUrl;
@@ -78,7 +79,8 @@ public class AccountService {
             JwtService jwtService,
             UserOAuthConnectionRepository userOAuthConnectionRepository,
             ObjectProvider<OAuthTokenRevokeService> oauthTokenRevokeServiceProvider,
-            SecurityAuditLogger securityAuditLogger) {
+            SecurityAuditLogger securityAuditLogger,
+            CacheInvalidationBus cacheInvalidationBus) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.spotRepository = spotRepository;
@@ -92,6 +94,7 @@ public class AccountService {
         this.userOAuthConnectionRepository = userOAuthConnectionRepository;
         this.oauthTokenRevokeServiceProvider = oauthTokenRevokeServiceProvider;
         this.securityAuditLogger = securityAuditLogger;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     /**
@@ -242,6 +245,7 @@ public class AccountService {
 
         user.setDeletedAt(java.time.LocalDateTime.now());
         userRepository.save(user);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Type.USER_DELETED, user.getId());
 
         // Issue#81 Phase 4d: 退会後に OAuth access_token の revoke を非同期で試みる（best-effort）
         // Hotfix: OAuth 無効時は Bean が不在のため ObjectProvider.ifAvailable で skip
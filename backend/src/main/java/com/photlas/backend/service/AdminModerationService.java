@@ -22,6 +22,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -58,6 +59,7 @@ public class AdminModerationService {
     private final ModerationDetailRepository moderationDetailRepository;
     private final ModerationNotificationService notificationService;
     private final QuarantineService quarantineService;
+    private final ModerationStatusPublisher moderationStatusPublisher;
 
     public AdminModerationService(
             PhotoRepository photoRepository,
@@ -67,7 +69,8 @@ public class AdminModerationService {
             ReportRepository reportRepository,
             ModerationDetailRepository moderationDetailRepository,
             ModerationNotificationService notificationService,
-            QuarantineService quarantineService
+            QuarantineService quarantineService,
+            ModerationStatusPublisher moderationStatusPublisher
     ) {
         this.photoRepository = photoRepository;
         this.violationRepository = violationRepository;
@@ -77,6 +80,7 @@ public class AdminModerationService {
         this.moderationDetailRepository = moderationDetailRepository;
         this.notificationService = notificationService;
         this.quarantineService = quarantineService;
+        this.moderationStatusPublisher = moderationStatusPublisher;
     }
 
     /**
@@ -98,6 +102,7 @@ public class AdminModerationService {
 
         photo.setModerationStatus(CodeConstants.MODERATION_STATUS_PUBLISHED);
         photoRepository.save(photo);
+        moderationStatusPublisher.publish(photo.getUserId(), photoId, CodeConstants.MODERATION_STATUS_PUBLISHED);
 
         logger.info("写真を承認しました: photoId={}", photoId);
     }
@@ -120,6 +125,7 @@ public class AdminModerationService {
         // ステータスをREMOVEDに変更
         photo.setModerationStatus(CodeConstants.MODERATION_STATUS_REMOVED);
         photoRepository.save(photo);
+        moderationStatusPublisher.publish(userId, photoId, CodeConstants.MODERATION_STATUS_REMOVED);
 
         // 違反履歴を作成（violationTypeを通報理由/AI検出ラベルから決定）
         Violation violation = new Violation();
@@ -187,6 +193,7 @@ public class AdminModerationService {
     /**
      * アカウントを永久停止する
      * ユーザーのロールをSUSPENDEDに変更し、全公開写真をREMOVEDにする
+     * REMOVEDにした写真はステータス変更として通知する
      *
      * @param userId ユーザーID
      */
@@ -205,9 +212,16 @@ public class AdminModerationService {
         var photosPage = photoRepository.findByUserIdAndModerationStatusInOrderByCreatedAtDesc(
                 userId, activeStatuses, PageRequest.of(0, Integer.MAX_VALUE)
         );
+        List<ModerationStatusPublisher.StatusChange> changes = new ArrayList<>();
         for (Photo photo : photosPage.getContent()) {
             photo.setModerationStatus(CodeConstants.MODERATION_STATUS_REMOVED);
             photoRepository.save(photo);
+            changes.add(new ModerationStatusPublisher.StatusChange(
+                    userId, photo.getPhotoId(), CodeConstants.MODERATION_STATUS_REMOVED));
+        }
+        // 非公開にした写真をまとめて通知する（スポットの要約・タイルの版数・キーワード一覧のキャッシュの更新を含む）
+        if (!changes.isEmpty()) {
+            moderationStatusPublisher.publishAll(changes);
         }
 
         logger.info("永久停止を適用: userId={}, removedPhotos={}", userId, photosPage.getTotalElements());
@@ -0,0 +1,54 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.repository.PhotoRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * {@link CacheInvalidationBus} のイベントの影響を受けるスポットを求める（{@link CacheInvalidationBus.PublishHook} 用）。
+ *
+ * <p>1 トランザクション分のイベントの写真・ユーザーをまとめて 1 回ずつ引き、スポット ID の昇順で返す。
+ * 呼び出し側はこの順にロック・更新することで、同時に走るトランザクション同士のデッドロックを避ける。</p>
+ */
+@Component
+public class AffectedSpotResolver {
+
+    private final PhotoRepository photoRepository;
+
+    public AffectedSpotResolver(PhotoRepository photoRepository) {
+        this.photoRepository = photoRepository;
+    }
+
+    /**
+     * @param events     1 トランザクション分のイベント
+     * @param photoTypes ID を写真 ID として扱うイベントの種類（USER_DELETED・USER_RESTORED は常にユーザー ID として扱い、
+     *                   どちらでもない種類は無視する）
+     * @return 影響を受けるスポットの ID（昇順）
+     */
+    public SortedSet<Long> resolve(List<CacheInvalidationBus.Event> events, Set<CacheInvalidationBus.Type> photoTypes) {
+        Set<Long> photoIds = new TreeSet<>();
+        Set<Long> userIds = new TreeSet<>();
+        for (CacheInvalidationBus.Event event : events) {
+            switch (event.type()) {
+                case USER_DELETED, USER_RESTORED -> userIds.add(event.id());
+                default -> {
+                    if (photoTypes.contains(event.type())) {
+                        photoIds.add(event.id());
+                    }
+                }
+            }
+        }
+        SortedSet<Long> spotIds = new TreeSet<>();
+        if (!photoIds.isEmpty()) {
+            spotIds.addAll(photoRepository.findSpotIdsByPhotoIdIn(photoIds));
+        }
+        if (!userIds.isEmpty()) {
+            spotIds.addAll(photoRepository.findSpotIdsByUserIdIn(userIds));
+        }
+        return spotIds;
+    }
+}
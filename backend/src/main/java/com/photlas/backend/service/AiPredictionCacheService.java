@@ -47,12 +47,17 @@ public class AiPredictionCacheService {
     /** Issue#136 Q11: 新形式 JSON 判別用キー。 */
     private static final String NEW_FORMAT_KEY = "labelMapping";
 
+    private static final String CLEANUP_JOB_NAME = "ai_prediction_cache";
+
     private final AiPredictionCacheRepository repository;
     private final ObjectMapper objectMapper;
+    private final ScheduledJobRunner scheduledJobRunner;
 
-    public AiPredictionCacheService(AiPredictionCacheRepository repository, ObjectMapper objectMapper) {
+    public AiPredictionCacheService(AiPredictionCacheRepository repository, ObjectMapper objectMapper,
+                                    ScheduledJobRunner scheduledJobRunner) {
         this.repository = repository;
         this.objectMapper = objectMapper;
+        this.scheduledJobRunner = scheduledJobRunner;
     }
 
     /**
@@ -101,13 +106,16 @@ public class AiPredictionCacheService {
      * 期限切れトークンを一括削除する。Spring Scheduled により毎日 03:00 に自動実行される。
      *
      * <p>cron は午前3時固定（投稿が少ない時間帯）。期限切れトークンが
-     * 短時間残ること自体は害がないため日次実行で十分。</p>
+     * 短時間残ること自体は害がないため日次実行で十分。複数ノードのうち分散ロックを取得した
+     * 1 ノードだけが実行する。</p>
      */
     @Scheduled(cron = "0 0 3 * * *")
-    @Transactional
     public void cleanupExpired() {
-        repository.deleteByExpiresAtBefore(new Date());
-        logger.info("AI 予測結果キャッシュ: 期限切れトークンのクリーンアップを実行しました");
+        scheduledJobRunner.run(CLEANUP_JOB_NAME, () -> {
+            long deleted = repository.deleteByExpiresAtBefore(new Date());
+            logger.info("AI 予測結果キャッシュ: 期限切れトークンのクリーンアップを実行しました: {}件", deleted);
+            return deleted;
+        });
     }
 
     private String serialize(CachedAnalyzeResult result) {
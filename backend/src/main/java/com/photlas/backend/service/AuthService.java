@@ -39,6 +39,7 @@ public class AuthService {
     private final EmailService emailService;
     private final EmailVerificationTokenRepository emailVerificationTokenRepository;
     private final EmailTemplateService emailTemplateService;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Value("${app.frontend-url:https://photlas.jp}")
     private String frontendUrl;
@@ -49,13 +50,15 @@ public class AuthService {
             JwtService jwtService,
             EmailService emailService,
             EmailVerificationTokenRepository emailVerificationTokenRepository,
-            EmailTemplateService emailTemplateService) {
+            EmailTemplateService emailTemplateService,
+            CacheInvalidationBus cacheInvalidationBus) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.emailService = emailService;
         this.emailVerificationTokenRepository = emailVerificationTokenRepository;
         this.emailTemplateService = emailTemplateService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     /**
@@ -221,6 +224,7 @@ public class AuthService {
     /**
      * Issue#92: ソフトデリート済みアカウントを復旧する
      * deletedAt, username, originalUsername, deletionHoldUntilをリストアする。
+     * 退会中は公開対象から外れていた写真が戻るため、USER_RESTORED を発行する。
      *
      * Issue#81 Phase 3b: 可視性を private → package-private に変更し、
      * 同パッケージの OAuth2UserServiceHelper から呼び出せるようにする。
@@ -231,6 +235,7 @@ public class AuthService {
         user.setOriginalUsername(null);
         user.setDeletionHoldUntil(null);
         userRepository.save(user);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Type.USER_RESTORED, user.getId());
     }
 
     /**
@@ -0,0 +1,301 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.CodeConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ノードローカルキャッシュの無効化イベントを全ノードへ配信するバス。
+ *
+ * <ul>
+ *   <li>イベントは呼び出し元のトランザクションのコミット後に送る（ロールバックされた変更では無効化しない）。
+ *       自ノードのキャッシュには送信時に即時反映し、他ノードへは {@link PostgresNotificationBus} で届ける</li>
+ *   <li>他ノードへの送信は専用スレッド 1 本で行う（コミット直後のスレッドにプール接続をもう 1 本要求させない）。
+ *       送信元インスタンスごとに連番を振り、送信順に届く。
+ *       受信側で連番が飛んだ場合（送信失敗など）と LISTEN 接続を張り直した場合は、取りこぼしがあり得るため
+ *       登録済みキャッシュを全破棄する</li>
+ * </ul>
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    static final String CHANNEL = "photlas_cache_invalidation";
+    static final String METRIC_EVENTS = "photlas.cache.invalidation.events";
+    static final String METRIC_FULL_REFRESH = "photlas.cache.invalidation.full_refresh";
+
+    /** 無効化イベントの種類 */
+    public enum Type {
+        /** 写真が公開された（id: photoId） */
+        PHOTO_PUBLISHED,
+        /** 写真が非公開になった（隔離・削除。id: photoId） */
+        PHOTO_REMOVED,
+        /** 写真のメタデータ（天気・カテゴリーなど）が編集された（id: photoId） */
+        PHOTO_UPDATED,
+        /** ユーザーが退会した（id: userId） */
+        USER_DELETED,
+        /** 退会したユーザーのアカウントが復旧された（id: userId） */
+        USER_RESTORED,
+        /** キーワードまたは写真とキーワードの紐付けが変わった（id: tagId または photoId） */
+        TAG_CHANGED
+    }
+
+    /**
+     * 発行時に呼び出し元のトランザクション内で実行する処理。
+     *
+     * <p>発行したノードでだけ呼ばれる（他ノードへは届かない）。DB に永続化した版数の更新など、
+     * 変更と一緒にコミット・ロールバックされるべき処理に使う。
+     * トランザクション中に発行したイベントはコミットの直前にまとめて 1 回渡す（同じスポットの集計やロックを
+     * イベントごとに繰り返さず、ロックの取得順を 1 か所で決められるようにするため）。
+     * トランザクションの外で発行した場合は発行時にそのイベントだけを渡す。
+     * 例外は呼び出し元へそのまま伝わり、トランザクションはロールバックされる。</p>
+     */
+    public interface PublishHook {
+
+        /**
+         * @param events 発行順のイベント（同じイベントを含み得る）
+         */
+        void onPublish(List<Event> events);
+    }
+
+    /**
+     * 無効化イベント
+     *
+     * @param type 種類
+     * @param id   対象ID（種類ごとの意味は {@link Type} を参照）
+     */
+    public record Event(Type type, Long id) {}
+
+    /** イベントを受け取るノードローカルキャッシュ */
+    public interface Listener {
+
+        /** イベントに該当するエントリを破棄する */
+        void onEvent(Event event);
+
+        /** 取りこぼしがあり得る場合に全エントリを破棄する */
+        void invalidateAll();
+    }
+
+    private final PostgresNotificationBus notificationBus;
+    private final MeterRegistry meterRegistry;
+    private final String senderId = UUID.randomUUID().toString();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final List<PublishHook> publishHooks = new CopyOnWriteArrayList<>();
+    /** 送信元ごとの最後に受信した連番 */
+    private final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    /** 送信スレッドだけが更新する */
+    private long sequence;
+
+    public CacheInvalidationBus(PostgresNotificationBus notificationBus, MeterRegistry meterRegistry) {
+        this.notificationBus = notificationBus;
+        this.meterRegistry = meterRegistry;
+        this.sender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "photlas-cache-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        notificationBus.subscribe(CHANNEL, this::onNotification);
+        notificationBus.onConnect(() -> invalidateAll("LISTEN 接続の確立"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdown();
+    }
+
+    /**
+     * キャッシュを登録する。
+     */
+    public void register(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * キャッシュの登録を解除する。
+     */
+    public void unregister(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 発行時の処理を登録する。
+     */
+    public void addPublishHook(PublishHook hook) {
+        publishHooks.add(hook);
+    }
+
+    /**
+     * 無効化イベントを発行する。トランザクション中の場合はコミット後に送る。
+     * 登録済みの {@link PublishHook} はトランザクション中ならコミットの直前に、そうでなければその場で実行する。
+     */
+    public void publish(Type type, Long id) {
+        publishAll(List.of(new Event(type, id)));
+    }
+
+    /**
+     * 複数の無効化イベントを発行する（{@link #publish} と同じ）。
+     */
+    public void publishAll(Collection<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingEvents().events.addAll(events);
+        } else {
+            runHooks(List.copyOf(events));
+            events.forEach(this::send);
+        }
+    }
+
+    /**
+     * 写真のモデレーションステータス変更を発行する（PUBLISHED は公開、それ以外は非公開として扱う）。
+     */
+    public void publishPhotoStatus(Long photoId, Integer moderationStatus) {
+        publishAll(List.of(photoStatusEvent(photoId, moderationStatus)));
+    }
+
+    /**
+     * 写真のモデレーションステータス変更のイベント（PUBLISHED は公開、それ以外は非公開）。
+     */
+    public static Event photoStatusEvent(Long photoId, Integer moderationStatus) {
+        return new Event(Integer.valueOf(CodeConstants.MODERATION_STATUS_PUBLISHED).equals(moderationStatus)
+                ? Type.PHOTO_PUBLISHED : Type.PHOTO_REMOVED, photoId);
+    }
+
+    private void runHooks(List<Event> events) {
+        publishHooks.forEach(hook -> hook.onPublish(events));
+    }
+
+    /** 現在のトランザクションで発行済みのイベント（最初の発行時に同期処理を登録する） */
+    private PendingEvents pendingEvents() {
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * 1 トランザクション分のイベント。コミットの直前に PublishHook をまとめて実行し、コミット後に送る。
+     * 内側の REQUIRES_NEW などで一時停止している間は、内側のトランザクションのイベントと混ざらないよう登録を外す。
+     */
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<Event> events = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CacheInvalidationBus.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CacheInvalidationBus.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            runHooks(List.copyOf(events));
+        }
+
+        @Override
+        public void afterCommit() {
+            events.forEach(CacheInvalidationBus.this::send);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+        }
+    }
+
+    private void send(Event event) {
+        meterRegistry.counter(METRIC_EVENTS, "type", event.type().name().toLowerCase(Locale.ROOT)).increment();
+        applyLocally(event);
+        sender.execute(() -> {
+            long seq = ++sequence;
+            try {
+                notificationBus.publish(CHANNEL, encode(senderId, seq, event));
+            } catch (RuntimeException e) {
+                // 連番は消費済みなので、他ノードは次のイベントで欠番を検知して全破棄する
+                logger.warn("キャッシュ無効化イベントの送信に失敗しました: event={}", event, e);
+            }
+        });
+    }
+
+    void onNotification(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4) {
+            logger.warn("不正なキャッシュ無効化イベントを無視します: payload={}", payload);
+            return;
+        }
+        String sender = parts[0];
+        Event event;
+        long seq;
+        try {
+            seq = Long.parseLong(parts[1]);
+            event = new Event(Type.valueOf(parts[2]), Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException e) {
+            logger.warn("不正なキャッシュ無効化イベントを無視します: payload={}", payload);
+            return;
+        }
+
+        Long previous = lastSequences.put(sender, seq);
+        if (previous != null && seq > previous + 1) {
+            invalidateAll("欠番の検知（送信元=" + sender + ", " + previous + " → " + seq + "）");
+        }
+        if (!senderId.equals(sender)) {
+            applyLocally(event);
+        }
+    }
+
+    private void applyLocally(Event event) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                logger.warn("キャッシュの無効化に失敗しました: event={}", event, e);
+                listener.invalidateAll();
+            }
+        }
+    }
+
+    private void invalidateAll(String reason) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        logger.info("ノードローカルキャッシュを全破棄します: 理由={}", reason);
+        meterRegistry.counter(METRIC_FULL_REFRESH).increment();
+        listeners.forEach(Listener::invalidateAll);
+    }
+
+    /** ペイロード形式: senderId:seq:TYPE:id */
+    static String encode(String senderId, long seq, Event event) {
+        return senderId + ":" + seq + ":" + event.type().name() + ":" + event.id();
+    }
+
+    /** 自インスタンスの送信元ID（テスト用） */
+    String senderId() {
+        return senderId;
+    }
+}
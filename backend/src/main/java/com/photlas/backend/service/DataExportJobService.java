@@ -0,0 +1,474 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.export.PhotoInfo;
+import com.photlas.backend.dto.export.UserExportData;
+import com.photlas.backend.entity.DataExportArchiveEntry;
+import com.photlas.backend.entity.DataExportArchivePart;
+import com.photlas.backend.entity.DataExportLog;
+import com.photlas.backend.repository.DataExportArchiveEntryRepository;
+import com.photlas.backend.repository.DataExportArchivePartRepository;
+import com.photlas.backend.repository.DataExportLogRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * データエクスポートのジョブモード: ZIP を S3 上に生成し、ダウンロードリンクをメールで送る。
+ *
+ * <p>ストリーミングモードは HTTP レスポンスを開いたまま ZIP を生成するため、クライアントが切断すると
+ * それまでの S3 読み込みがすべて無駄になる。ジョブモードでは {@link DataExportService#tryAcquireExportSlot}
+ * が QUEUED のログを登録し、本クラスのワーカーが以下の流れで処理する。</p>
+ * <ol>
+ *   <li>{@link #dispatchJobs()} が QUEUED（またはハートビートが途絶えた IN_PROGRESS）のジョブを原子的に引き取る</li>
+ *   <li>ZIP を {@link ResumableZipWriter} でパート用一時ファイルに書き、{@code part-size-bytes} を超えたら
+ *       エントリ境界で S3 マルチパートアップロードのパートとして送る</li>
+ *   <li>パートごとに「パート・書き込み済みエントリ・最後に書いた photoId・errors」をチェックポイントとして記録する。
+ *       クラッシュ後に引き取ったワーカーは最後の完了パートから書き継ぐ（写真は photoId 昇順で書く）</li>
+ *   <li>完了後、有効期限付きの署名付き URL をメールで送り、ログに件数・スループット・有効期限を記録する</li>
+ * </ol>
+ *
+ * <p>一時的な失敗はチェックポイントを残したまま QUEUED に戻し、{@link #MAX_ATTEMPTS} 回失敗したら
+ * マルチパートアップロードを中止して FAILED にする。アップロード済みアーカイブ（{@code exports/} 配下）の
+ * 削除は S3 ライフサイクルルールに任せる。</p>
+ */
+@Service
+public class DataExportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportJobService.class);
+
+    /** アーカイブの S3 キーのフォルダ: exports/{userId}/{logId}/{archiveName}.zip */
+    static final String EXPORT_FOLDER = "exports";
+
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+
+    /** ハートビートがこれより古い IN_PROGRESS ジョブはワーカーがクラッシュしたものとみなす。 */
+    private static final Duration HEARTBEAT_STALE_THRESHOLD = Duration.ofMinutes(10);
+
+    /** パートが埋まらない間もハートビートを更新する間隔。 */
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofMinutes(1);
+
+    /** 1 ジョブあたりの最大試行回数（引き取り回数）。 */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** failure_reason の最大長（VARCHAR(1000) 制約）。 */
+    private static final int FAILURE_REASON_MAX_LENGTH = 1000;
+
+    private static final String METRIC_JOBS = "photlas.export.jobs";
+
+    private final DataExportLogRepository dataExportLogRepository;
+    private final DataExportArchivePartRepository partRepository;
+    private final DataExportArchiveEntryRepository entryRepository;
+    private final DataExportJobStore jobStore;
+    private final DataExportService dataExportService;
+    private final UserDataCollectorService userDataCollectorService;
+    private final S3Service s3Service;
+    private final EmailService emailService;
+    private final DataExportTemplateService templateService;
+    private final MeterRegistry meterRegistry;
+    private final Executor jobExecutor;
+    private final Executor prefetchExecutor;
+    private final int concurrency;
+    private final long partSizeBytes;
+    private final Duration linkTtl;
+    private final int prefetchLookahead;
+    private final long prefetchMaxBufferedBytes;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    public DataExportJobService(
+            DataExportLogRepository dataExportLogRepository,
+            DataExportArchivePartRepository partRepository,
+            DataExportArchiveEntryRepository entryRepository,
+            DataExportJobStore jobStore,
+            DataExportService dataExportService,
+            UserDataCollectorService userDataCollectorService,
+            S3Service s3Service,
+            EmailService emailService,
+            DataExportTemplateService templateService,
+            MeterRegistry meterRegistry,
+            @Qualifier("exportJobExecutor") Executor jobExecutor,
+            @Qualifier("exportPrefetchExecutor") Executor prefetchExecutor,
+            @Value("${photlas.export.job.concurrency:1}") int concurrency,
+            @Value("${photlas.export.job.part-size-bytes:16777216}") long partSizeBytes,
+            @Value("${photlas.export.job.link-ttl:PT6H}") Duration linkTtl,
+            @Value("${photlas.export.prefetch.lookahead:8}") int prefetchLookahead,
+            @Value("${photlas.export.prefetch.max-buffered-bytes:209715200}") long prefetchMaxBufferedBytes) {
+        this.dataExportLogRepository = dataExportLogRepository;
+        this.partRepository = partRepository;
+        this.entryRepository = entryRepository;
+        this.jobStore = jobStore;
+        this.dataExportService = dataExportService;
+        this.userDataCollectorService = userDataCollectorService;
+        this.s3Service = s3Service;
+        this.emailService = emailService;
+        this.templateService = templateService;
+        this.meterRegistry = meterRegistry;
+        this.jobExecutor = jobExecutor;
+        this.prefetchExecutor = prefetchExecutor;
+        this.concurrency = concurrency;
+        this.partSizeBytes = partSizeBytes;
+        this.linkTtl = linkTtl;
+        this.prefetchLookahead = prefetchLookahead;
+        this.prefetchMaxBufferedBytes = prefetchMaxBufferedBytes;
+    }
+
+    /**
+     * 引き取れるジョブを空きスロット分だけ引き取り、ジョブ用 Executor で実行する。
+     * ストリーミングモード運用中は QUEUED のジョブが存在しないため、ポーリングのみで終わる。
+     */
+    @Scheduled(fixedDelayString = "${photlas.export.job.poll-interval-ms:15000}")
+    public void dispatchJobs() {
+        int capacity = concurrency - running.get();
+        if (capacity <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleCutoff = now.minus(HEARTBEAT_STALE_THRESHOLD);
+        for (Long logId : dataExportLogRepository.findClaimableJobIds(staleCutoff, PageRequest.of(0, capacity))) {
+            if (dataExportLogRepository.claimJob(logId, now, staleCutoff) == 0) {
+                continue;
+            }
+            running.incrementAndGet();
+            try {
+                jobExecutor.execute(() -> {
+                    try {
+                        runJob(logId);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                // ハートビートが途絶えたジョブとして後で再度引き取られる
+                logger.warn("Export job rejected by executor: logId={}", logId);
+            }
+        }
+    }
+
+    /**
+     * 引き取り済みのジョブを 1 件実行する（成功・再試行待ち・失敗のいずれかで終わる）。
+     */
+    void runJob(Long logId) {
+        DataExportLog job = dataExportLogRepository.findById(logId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        int attempt = job.getAttempts();
+        try {
+            buildAndPublish(job, attempt);
+            meterRegistry.counter(METRIC_JOBS, "outcome", "completed").increment();
+        } catch (DataExportJobStore.OwnershipLostException e) {
+            meterRegistry.counter(METRIC_JOBS, "outcome", "lost").increment();
+            logger.warn("Export job taken over by another worker: logId={} attempt={}", logId, attempt);
+        } catch (Exception e) {
+            String reason = truncate(e.getClass().getSimpleName() + ": " + e.getMessage(), FAILURE_REASON_MAX_LENGTH);
+            if (attempt < MAX_ATTEMPTS) {
+                dataExportLogRepository.requeue(logId, attempt, reason);
+                meterRegistry.counter(METRIC_JOBS, "outcome", "retried").increment();
+                logger.warn("Export job requeued: logId={} attempt={} reason={}", logId, attempt, reason);
+            } else {
+                abortUploadQuietly(logId);
+                dataExportService.markFailed(job, reason);
+                meterRegistry.counter(METRIC_JOBS, "outcome", "failed").increment();
+                logger.warn("Export job failed: logId={} attempt={} reason={}", logId, attempt, reason, e);
+            }
+        }
+    }
+
+    private void buildAndPublish(DataExportLog job, int attempt) throws IOException {
+        Long userId = job.getUserId();
+        UserExportData data = userDataCollectorService.collectFor(userId);
+        ZonedDateTime startedUtc = job.getStartedAt().atZone(ZoneId.systemDefault())
+                .withZoneSameInstant(ZoneId.of("UTC"));
+
+        String archiveName = job.getArchiveName();
+        String s3Key = job.getS3ObjectKey();
+        String uploadId = job.getS3UploadId();
+        if (uploadId == null) {
+            archiveName = DataExportService.archiveName(userId, startedUtc);
+            s3Key = EXPORT_FOLDER + "/" + userId + "/" + job.getId() + "/" + archiveName + ".zip";
+            uploadId = s3Service.createMultipartUpload(s3Key, ZIP_CONTENT_TYPE);
+            jobStore.saveUpload(job.getId(), attempt, archiveName, s3Key, uploadId);
+        }
+        String rootDir = archiveName + "/";
+
+        List<DataExportArchivePart> parts = new ArrayList<>(partRepository.findByLogIdOrderByPartNumber(job.getId()));
+        List<ResumableZipWriter.Entry> written = entryRepository.findByLogIdOrderBySeq(job.getId()).stream()
+                .map(e -> new ResumableZipWriter.Entry(e.getName(), e.getMethod(), e.getCrc(),
+                        e.getCompressedSize(), e.getSize(), e.getLocalHeaderOffset()))
+                .toList();
+        Long checkpointPhotoId = job.getCheckpointPhotoId();
+        boolean resumed = !parts.isEmpty();
+        if (resumed) {
+            logger.info("Export job resumed: logId={} attempt={} parts={} bytes={} checkpointPhotoId={}",
+                    job.getId(), attempt, parts.size(), job.getBytesWritten(), checkpointPhotoId);
+        } else {
+            logger.info("Export job started: logId={} userId={} photoCount={}",
+                    job.getId(), userId, data.photos().size());
+        }
+
+        try (PartSpool spool = PartSpool.create()) {
+            JobContext ctx = new JobContext(job, attempt, s3Key, uploadId, spool, parts,
+                    new ResumableZipWriter(spool, job.getBytesWritten(), written, job.getStartedAt()),
+                    dataExportService.readErrors(job.getCheckpointErrors()), checkpointPhotoId);
+
+            // README と JSON は最初のパートに含まれる。パートが 1 つでも完了していれば書き込み済み
+            if (!resumed) {
+                ctx.zip.writeDeflated(rootDir + "README.md", templateService.renderReadme(
+                        data.user().language(), data.user().username(), startedUtc).getBytes(StandardCharsets.UTF_8));
+                for (Map.Entry<String, Object> json : DataExportService.metadataEntries(data).entrySet()) {
+                    ctx.zip.writeDeflated(rootDir + json.getKey(), dataExportService.toJsonBytes(json.getValue()));
+                }
+            }
+
+            writePhotos(ctx, rootDir, data.photos());
+
+            ctx.zip.writeDeflated(rootDir + "photos.json", dataExportService.toJsonBytes(data.photos()));
+            ctx.zip.writeDeflated(rootDir + "errors.json", dataExportService.toJsonBytes(ctx.errors));
+            ctx.zip.writeDeflated(rootDir + "_complete.flag", new byte[0]);
+            ctx.zip.finish();
+            // 最終パートはチェックポイントしない（完了前にクラッシュした場合は直前のチェックポイントから
+            // 同じパート番号で作り直す）
+            uploadPart(ctx, false);
+            s3Service.completeMultipartUpload(s3Key, uploadId, ctx.parts.stream()
+                    .map(p -> new S3Service.UploadedPart(p.getPartNumber(), p.getEtag()))
+                    .toList());
+
+            publish(job, attempt, data, ctx, archiveName);
+        }
+    }
+
+    /** 未書き込みの写真を photoId 昇順に並列取得し、パートが埋まるたびにアップロードとチェックポイントを行う。 */
+    private void writePhotos(JobContext ctx, String rootDir, List<PhotoInfo> photos) throws IOException {
+        List<PhotoInfo> targets = DataExportService.photoTargets(photos).stream()
+                .filter(photo -> ctx.lastPhotoId == null || photo.photoId() > ctx.lastPhotoId)
+                .sorted(Comparator.comparing(PhotoInfo::photoId))
+                .toList();
+        boolean storeImages = dataExportService.storeImageEntries();
+
+        new OrderedPrefetchPipeline<PhotoInfo, DataExportService.PhotoDownload>(
+                prefetchExecutor, prefetchLookahead, prefetchMaxBufferedBytes,
+                DataExportService.PhotoDownload::size, DataExportService.PhotoDownload::discard)
+                .run(targets, photo -> dataExportService.downloadWithRetry(photo.s3ObjectKey(), photo.photoId()),
+                        (photo, download) -> {
+                            if (download.error() != null) {
+                                ctx.errors.add(download.error());
+                            } else {
+                                try {
+                                    String name = rootDir + photo.file();
+                                    if (storeImages) {
+                                        ctx.zip.writeStored(name, download.file(), download.size(), download.crc());
+                                    } else {
+                                        ctx.zip.writeDeflated(name, Files.readAllBytes(download.file()));
+                                    }
+                                } finally {
+                                    download.discard();
+                                }
+                            }
+                            ctx.lastPhotoId = photo.photoId();
+                            if (ctx.spool.size() >= partSizeBytes) {
+                                uploadPart(ctx, true);
+                            } else if (Duration.between(ctx.lastHeartbeat, LocalDateTime.now())
+                                    .compareTo(HEARTBEAT_INTERVAL) >= 0) {
+                                jobStore.heartbeat(ctx.job.getId(), ctx.attempt, ctx.job.getUserId());
+                                ctx.lastHeartbeat = LocalDateTime.now();
+                            }
+                        });
+    }
+
+    /**
+     * パート用一時ファイルの内容を次のパート番号でアップロードする。
+     * {@code checkpoint} が true なら、そのパートまでのエントリ・photoId・errors をチェックポイントとして記録する。
+     */
+    private void uploadPart(JobContext ctx, boolean checkpoint) throws IOException {
+        int partNumber = ctx.parts.size() + 1;
+        long size = ctx.spool.size();
+        String eTag = s3Service.uploadPart(ctx.s3Key, ctx.uploadId, partNumber, ctx.spool.flushToFile());
+        DataExportArchivePart part = new DataExportArchivePart(ctx.job.getId(), partNumber, eTag, size);
+
+        if (checkpoint) {
+            List<ResumableZipWriter.Entry> entries = ctx.zip.entries();
+            List<DataExportArchiveEntry> newRows = new ArrayList<>();
+            for (int seq = ctx.persistedEntries; seq < entries.size(); seq++) {
+                newRows.add(toRow(ctx.job.getId(), seq, entries.get(seq)));
+            }
+            jobStore.saveCheckpoint(ctx.job.getId(), ctx.attempt, ctx.job.getUserId(), part, newRows,
+                    ctx.zip.offset(), ctx.lastPhotoId, dataExportService.toJsonString(ctx.errors));
+            ctx.persistedEntries = entries.size();
+            ctx.lastHeartbeat = LocalDateTime.now();
+        }
+        ctx.parts.add(part);
+        ctx.spool.reset();
+    }
+
+    /** 署名付き URL を発行してジョブを完了にし、ダウンロードリンクをメールで送る。 */
+    private void publish(DataExportLog job, int attempt, UserExportData data, JobContext ctx, String archiveName) {
+        ZonedDateTime nowUtc = ZonedDateTime.now(ZoneId.of("UTC"));
+        ZonedDateTime expiresUtc = nowUtc.plus(linkTtl);
+        String url = s3Service.generatePresignedDownloadUrl(ctx.s3Key, linkTtl, archiveName + ".zip");
+
+        long bytes = ctx.zip.offset();
+        double seconds = Math.max(Duration.between(job.getStartedAt(), LocalDateTime.now()).toMillis() / 1000.0, 0.001);
+        long throughput = (long) (bytes / seconds);
+        jobStore.complete(job.getId(), attempt, job.getUserId(), data.photos().size(),
+                dataExportService.estimateSize(data), bytes, throughput,
+                expiresUtc.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+        logger.info("Export job completed: logId={} userId={} parts={} bytes={} errors={} mbPerSec={}",
+                job.getId(), job.getUserId(), ctx.parts.size(), bytes, ctx.errors.size(),
+                String.format("%.2f", throughput / 1024.0 / 1024.0));
+
+        try {
+            String subject = templateService.renderEmailSubject(data.user().language());
+            String body = templateService.renderDownloadLinkEmailBody(
+                    data.user().language(),
+                    data.user().username(),
+                    nowUtc,
+                    job.getRequestIp(),
+                    job.getUserAgent(),
+                    url,
+                    expiresUtc);
+            emailService.send(data.user().email(), subject, body);
+        } catch (Exception e) {
+            logger.warn("Failed to send export download link email: userId={} error={}",
+                    job.getUserId(), e.getMessage());
+        }
+    }
+
+    private void abortUploadQuietly(Long logId) {
+        DataExportLog job = dataExportLogRepository.findById(logId).orElse(null);
+        if (job == null || job.getS3UploadId() == null) {
+            return;
+        }
+        try {
+            s3Service.abortMultipartUpload(job.getS3ObjectKey(), job.getS3UploadId());
+        } catch (Exception e) {
+            // 中止できなかった未完了アップロードは S3 ライフサイクルルール（AbortIncompleteMultipartUpload）で掃除する
+            logger.warn("Failed to abort export multipart upload: logId={} error={}", logId, e.getMessage());
+        }
+    }
+
+    private static DataExportArchiveEntry toRow(Long logId, int seq, ResumableZipWriter.Entry entry) {
+        DataExportArchiveEntry row = new DataExportArchiveEntry();
+        row.setLogId(logId);
+        row.setSeq(seq);
+        row.setName(entry.name());
+        row.setMethod(entry.method());
+        row.setCrc(entry.crc());
+        row.setCompressedSize(entry.compressedSize());
+        row.setSize(entry.size());
+        row.setLocalHeaderOffset(entry.localHeaderOffset());
+        return row;
+    }
+
+    private static String truncate(String s, int max) {
+        if (s == null) return null;
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+
+    /** 実行中ジョブ 1 件分の可変状態。 */
+    private static final class JobContext {
+        final DataExportLog job;
+        final int attempt;
+        final String s3Key;
+        final String uploadId;
+        final PartSpool spool;
+        final List<DataExportArchivePart> parts;
+        final ResumableZipWriter zip;
+        final List<DataExportService.ExportError> errors;
+        Long lastPhotoId;
+        int persistedEntries;
+        LocalDateTime lastHeartbeat = LocalDateTime.now();
+
+        JobContext(DataExportLog job, int attempt, String s3Key, String uploadId, PartSpool spool,
+                   List<DataExportArchivePart> parts, ResumableZipWriter zip,
+                   List<DataExportService.ExportError> errors, Long lastPhotoId) {
+            this.job = job;
+            this.attempt = attempt;
+            this.s3Key = s3Key;
+            this.uploadId = uploadId;
+            this.spool = spool;
+            this.parts = parts;
+            this.zip = zip;
+            this.errors = errors;
+            this.lastPhotoId = lastPhotoId;
+            this.persistedEntries = zip.entries().size();
+        }
+    }
+
+    /** 次にアップロードするパートを溜める一時ファイル。アップロード後は {@link #reset()} で空にして使い回す。 */
+    private static final class PartSpool extends OutputStream {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final Path file;
+        private OutputStream out;
+        private long size;
+
+        private PartSpool(Path file) throws IOException {
+            this.file = file;
+            this.out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        }
+
+        static PartSpool create() throws IOException {
+            return new PartSpool(Files.createTempFile("photlas-export-part-", ".part"));
+        }
+
+        long size() {
+            return size;
+        }
+
+        Path flushToFile() throws IOException {
+            out.flush();
+            return file;
+        }
+
+        void reset() throws IOException {
+            out.close();
+            out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+            size = 0;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            size += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
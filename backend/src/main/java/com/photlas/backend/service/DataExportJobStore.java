@@ -0,0 +1,113 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.DataExportArchiveEntry;
+import com.photlas.backend.entity.DataExportArchivePart;
+import com.photlas.backend.entity.User;
+import com.photlas.backend.repository.DataExportArchiveEntryRepository;
+import com.photlas.backend.repository.DataExportArchivePartRepository;
+import com.photlas.backend.repository.DataExportLogRepository;
+import com.photlas.backend.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * データエクスポート（ジョブモード）のチェックポイント永続化。
+ *
+ * <p>各メソッドは 1 トランザクションで「所有権の確認（試行回数の一致）+ 状態更新」を行う。
+ * 他ノードがハートビート切れとしてジョブを引き取り直していた場合は {@link OwnershipLostException}
+ * を投げてロールバックし、古いワーカーの書き込みが新しいワーカーのチェックポイントを壊さないようにする。</p>
+ */
+@Service
+public class DataExportJobStore {
+
+    /** ジョブの所有権を失った（他ノードが引き取り直した）ことを表す例外。 */
+    static class OwnershipLostException extends RuntimeException {
+        OwnershipLostException(Long logId) {
+            super("エクスポートジョブの所有権を失いました: logId=" + logId);
+        }
+    }
+
+    private final DataExportLogRepository dataExportLogRepository;
+    private final DataExportArchivePartRepository partRepository;
+    private final DataExportArchiveEntryRepository entryRepository;
+    private final UserRepository userRepository;
+
+    public DataExportJobStore(
+            DataExportLogRepository dataExportLogRepository,
+            DataExportArchivePartRepository partRepository,
+            DataExportArchiveEntryRepository entryRepository,
+            UserRepository userRepository) {
+        this.dataExportLogRepository = dataExportLogRepository;
+        this.partRepository = partRepository;
+        this.entryRepository = entryRepository;
+        this.userRepository = userRepository;
+    }
+
+    /** 開始したマルチパートアップロードを記録する。 */
+    @Transactional
+    public void saveUpload(Long logId, int attempt, String archiveName, String s3ObjectKey, String uploadId) {
+        int updated = dataExportLogRepository.updateUpload(
+                logId, attempt, archiveName, s3ObjectKey, uploadId, LocalDateTime.now());
+        if (updated == 0) {
+            throw new OwnershipLostException(logId);
+        }
+    }
+
+    /**
+     * 完了パートと、そのパートまでに新たに書いたエントリを追記し、チェックポイントを進める。
+     *
+     * @param userId            同時実行ロックを延長するユーザー
+     * @param part              アップロード済みパート
+     * @param newEntries        前回のチェックポイント以降に書いたエントリ
+     * @param bytesWritten      完了パートの合計バイト数
+     * @param checkpointPhotoId 書き込み済み写真の最大 photoId
+     * @param checkpointErrors  errors.json の内容（JSON）
+     */
+    @Transactional
+    public void saveCheckpoint(Long logId, int attempt, Long userId,
+                               DataExportArchivePart part, List<DataExportArchiveEntry> newEntries,
+                               long bytesWritten, Long checkpointPhotoId, String checkpointErrors) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = dataExportLogRepository.updateCheckpoint(
+                logId, attempt, bytesWritten, checkpointPhotoId, checkpointErrors, now);
+        if (updated == 0) {
+            throw new OwnershipLostException(logId);
+        }
+        partRepository.save(part);
+        entryRepository.saveAll(newEntries);
+        userRepository.refreshExportInProgress(userId, now);
+    }
+
+    /** ハートビートと同時実行ロックを延長する。 */
+    @Transactional
+    public void heartbeat(Long logId, int attempt, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (dataExportLogRepository.touchHeartbeat(logId, attempt, now) == 0) {
+            throw new OwnershipLostException(logId);
+        }
+        userRepository.refreshExportInProgress(userId, now);
+    }
+
+    /**
+     * ジョブを完了にし、ユーザーの最終エクスポート日時を更新して同時実行ロックを解放する。
+     *
+     * @param throughput 初回の引き取り（started_at）から完了までの平均スループット（バイト/秒）
+     */
+    @Transactional
+    public void complete(Long logId, int attempt, Long userId, int photoCount, long estimatedSize,
+                         long bytesWritten, long throughput, LocalDateTime downloadExpiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = dataExportLogRepository.completeJob(logId, attempt, now, photoCount, estimatedSize,
+                bytesWritten, throughput, downloadExpiresAt);
+        if (updated == 0) {
+            throw new OwnershipLostException(logId);
+        }
+        User user = userRepository.findById(userId).orElseThrow();
+        user.setLastExportedAt(now);
+        user.setExportInProgressAt(null);
+        userRepository.save(user);
+    }
+}
@@ -14,21 +14,32 @@ import com.photlas.backend.exception.ExportRateLimitException;
 import com.photlas.backend.exception.UserNotFoundException;
 import com.photlas.backend.repository.DataExportLogRepository;
 import com.photlas.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -45,6 +56,10 @@ import java.util.zip.ZipOutputStream;
  * 成功時は {@code lastExportedAt} 更新・通知メール送信を行う。
  * IOException 等で中断した場合は {@code data_export_log} を FAILED にし、
  * {@code lastExportedAt} は更新せず {@code exportInProgressAt} のみクリアする。</p>
+ *
+ * <p>{@code photlas.export.mode=job} の場合、{@link #tryAcquireExportSlot} はジョブを QUEUED で
+ * 登録するだけで、ZIP の生成は {@link DataExportJobService} のワーカーが S3 上に行う
+ * （写真の取得・エントリ構成などの共通処理は本クラスのパッケージプライベートメソッドを使う）。</p>
  */
 @Service
 public class DataExportService {
@@ -66,6 +81,15 @@ public class DataExportService {
     /** failure_reason の最大長（VARCHAR(1000) 制約）。 */
     private static final int FAILURE_REASON_MAX_LENGTH = 1000;
 
+    /** 進捗ログ・メトリクスを出す間隔（写真枚数）。 */
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private static final String METRIC_PHOTOS = "photlas.export.photos";
+    private static final String METRIC_PHOTO_BYTES = "photlas.export.photo.bytes";
+    private static final String METRIC_PHOTO_FETCH = "photlas.export.photo.fetch";
+
+    private static final String MODE_PROPERTY_JOB = "job";
+
     private static final DateTimeFormatter ZIP_TIMESTAMP_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss'Z'");
 
@@ -76,6 +100,12 @@ public class DataExportService {
     private final EmailService emailService;
     private final DataExportTemplateService templateService;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Executor prefetchExecutor;
+    private final int prefetchLookahead;
+    private final long prefetchMaxBufferedBytes;
+    private final boolean storeImageEntries;
+    private final boolean jobMode;
 
     public DataExportService(
             UserRepository userRepository,
@@ -83,7 +113,13 @@ public class DataExportService {
             UserDataCollectorService userDataCollectorService,
             S3Service s3Service,
             EmailService emailService,
-            DataExportTemplateService templateService) {
+            DataExportTemplateService templateService,
+            MeterRegistry meterRegistry,
+            @Qualifier("exportPrefetchExecutor") Executor prefetchExecutor,
+            @Value("${photlas.export.prefetch.lookahead:8}") int prefetchLookahead,
+            @Value("${photlas.export.prefetch.max-buffered-bytes:209715200}") long prefetchMaxBufferedBytes,
+            @Value("${photlas.export.store-image-entries:true}") boolean storeImageEntries,
+            @Value("${photlas.export.mode:stream}") String exportMode) {
         this.userRepository = userRepository;
         this.dataExportLogRepository = dataExportLogRepository;
         this.userDataCollectorService = userDataCollectorService;
@@ -91,12 +127,21 @@ public class DataExportService {
         this.emailService = emailService;
         this.templateService = templateService;
         this.objectMapper = buildObjectMapper();
+        this.meterRegistry = meterRegistry;
+        this.prefetchExecutor = prefetchExecutor;
+        this.prefetchLookahead = prefetchLookahead;
+        this.prefetchMaxBufferedBytes = prefetchMaxBufferedBytes;
+        this.storeImageEntries = storeImageEntries;
+        this.jobMode = MODE_PROPERTY_JOB.equalsIgnoreCase(exportMode);
     }
 
     /**
      * 同時実行ロック + 頻度制限の原子的チェックと取得（§4.5）。
      *
-     * @return 作成された {@link DataExportLog}（IN_PROGRESS）
+     * <p>ジョブモードではログを {@link DataExportLog#MODE_JOB} / QUEUED で作成し、
+     * ワーカーによる生成待ちのキューとする。未完了のジョブがある間は、ロックがストール扱いでも進行中とみなす。</p>
+     *
+     * @return 作成された {@link DataExportLog}（ストリーミングモードは IN_PROGRESS、ジョブモードは QUEUED）
      * @throws ExportInProgressException 既に進行中
      * @throws ExportRateLimitException  168 時間以内に成功エクスポート済み
      */
@@ -110,8 +155,10 @@ public class DataExportService {
         if (updated == 0) {
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new UserNotFoundException("ユーザーが見つかりません: " + userId));
-            if (user.getExportInProgressAt() != null
-                    && user.getExportInProgressAt().isAfter(staleCutoff)) {
+            if ((user.getExportInProgressAt() != null
+                    && user.getExportInProgressAt().isAfter(staleCutoff))
+                    || dataExportLogRepository.existsByUserIdAndModeAndStatusIn(userId, DataExportLog.MODE_JOB,
+                            List.of(DataExportLog.STATUS_QUEUED, DataExportLog.STATUS_IN_PROGRESS))) {
                 throw new ExportInProgressException("別タブでエクスポートが進行中です");
             }
             if (user.getLastExportedAt() != null
@@ -128,7 +175,12 @@ public class DataExportService {
         DataExportLog log = new DataExportLog();
         log.setUserId(userId);
         log.setRequestedAt(now);
-        log.setStatus(DataExportLog.STATUS_IN_PROGRESS);
+        if (jobMode) {
+            log.setMode(DataExportLog.MODE_JOB);
+            log.setStatus(DataExportLog.STATUS_QUEUED);
+        } else {
+            log.setStatus(DataExportLog.STATUS_IN_PROGRESS);
+        }
         log.setRequestIp(requestIp);
         log.setUserAgent(userAgent);
         return dataExportLogRepository.save(log);
@@ -157,8 +209,7 @@ public class DataExportService {
 
         try {
             ZonedDateTime nowUtc = ZonedDateTime.now(ZoneId.of("UTC"));
-            String rootDir = "photlas-export-" + logEntry.getUserId() + "-"
-                    + nowUtc.format(ZIP_TIMESTAMP_FORMATTER) + "/";
+            String rootDir = archiveName(logEntry.getUserId(), nowUtc) + "/";
 
             try (ZipOutputStream zos = new ZipOutputStream(out)) {
                 zos.setLevel(java.util.zip.Deflater.DEFAULT_COMPRESSION);
@@ -166,17 +217,11 @@ public class DataExportService {
                 String language = data.user().language();
                 writeStringEntry(zos, rootDir + "README.md",
                         templateService.renderReadme(language, data.user().username(), nowUtc));
-                writeJsonEntry(zos, rootDir + "user.json", data.user());
-                writeJsonEntry(zos, rootDir + "favorites.json", data.favorites());
-                writeJsonEntry(zos, rootDir + "sns_links.json", data.snsLinks());
-                writeJsonEntry(zos, rootDir + "oauth.json", data.oauthConnections());
-                writeJsonEntry(zos, rootDir + "reports.json", data.reports());
-                writeJsonEntry(zos, rootDir + "sanctions.json", data.sanctions());
-                writeJsonEntry(zos, rootDir + "violations.json", data.violations());
-                writeJsonEntry(zos, rootDir + "location_suggestions.json", data.locationSuggestions());
-                writeJsonEntry(zos, rootDir + "spots.json", data.spots());
-
-                List<ExportError> errors = writePhotoBinaries(zos, rootDir, data.photos());
+                for (Map.Entry<String, Object> json : metadataEntries(data).entrySet()) {
+                    writeJsonEntry(zos, rootDir + json.getKey(), json.getValue());
+                }
+
+                List<ExportError> errors = writePhotoBinaries(zos, rootDir, data.photos(), logEntry.getUserId());
                 writeJsonEntry(zos, rootDir + "photos.json", data.photos());
                 writeJsonEntry(zos, rootDir + "errors.json", errors);
 
@@ -208,46 +253,163 @@ public class DataExportService {
     /**
      * REMOVED 以外の各写真について S3 から取得して ZIP に書き込む。
      * S3 取得に 1 回追加リトライ。最終失敗は errors.json に記録してスキップする。
+     *
+     * <p>取得は {@link OrderedPrefetchPipeline} で並列に先読みし、ZIP には写真の並び順どおりに
+     * 書き込む（同時取得数・先読み件数・バッファ量は設定値で上限を設ける）。
+     * errors.json の並びも写真の順序と一致する。</p>
+     *
+     * <p>写真本体は JPEG/PNG/WebP で既に圧縮済みのため、既定では STORED（無圧縮）で格納し
+     * Deflate の CPU コストを省く（{@code photlas.export.store-image-entries=false} で DEFLATED に戻せる）。
+     * STORED エントリはヘッダに CRC とサイズが必要なので、取得時に一時ファイルへ書き出しながら CRC を計算し、
+     * 書き込み後に一時ファイルを削除する。先読みのバッファ量はこの一時ファイルの合計サイズに対する上限となる。</p>
      */
     private List<ExportError> writePhotoBinaries(
-            ZipOutputStream zos, String rootDir, List<PhotoInfo> photos) throws IOException {
+            ZipOutputStream zos, String rootDir, List<PhotoInfo> photos, Long userId) throws IOException {
+        List<PhotoInfo> targets = photoTargets(photos);
+
         List<ExportError> errors = new ArrayList<>();
-        for (PhotoInfo photo : photos) {
-            if (photo.moderationStatus() != null
-                    && photo.moderationStatus() == CodeConstants.MODERATION_STATUS_REMOVED) {
-                continue;
+        OrderedPrefetchPipeline<PhotoInfo, PhotoDownload> pipeline = new OrderedPrefetchPipeline<>(
+                prefetchExecutor, prefetchLookahead, prefetchMaxBufferedBytes,
+                PhotoDownload::size, PhotoDownload::discard);
+        long startedAt = System.nanoTime();
+        long[] written = {0, 0}; // {処理済み枚数, 書き込みバイト数}
+
+        pipeline.run(targets, photo -> downloadWithRetry(photo.s3ObjectKey(), photo.photoId()), (photo, download) -> {
+            if (download.error() != null) {
+                errors.add(download.error());
+            } else {
+                try {
+                    writeSpooledEntry(zos, rootDir + photo.file(), download.file(),
+                            download.size(), download.crc(), storeImageEntries);
+                } finally {
+                    download.discard();
+                }
+                written[1] += download.size();
             }
-            String s3Key = photo.s3ObjectKey();
-            if (s3Key == null) continue;
+            written[0]++;
+            if (written[0] % PROGRESS_LOG_INTERVAL == 0) {
+                logger.info("Export progress: userId={} photos={}/{} bytes={}",
+                        userId, written[0], targets.size(), written[1]);
+            }
+        });
+
+        double seconds = Math.max((System.nanoTime() - startedAt) / 1e9, 0.001);
+        logger.info("Export photos written: userId={} photos={} errors={} bytes={} photosPerSec={} mbPerSec={}",
+                userId, targets.size(), errors.size(), written[1],
+                String.format("%.1f", targets.size() / seconds),
+                String.format("%.2f", written[1] / 1024.0 / 1024.0 / seconds));
+        return errors;
+    }
 
-            byte[] data = downloadWithRetry(s3Key, errors, photo.photoId());
-            if (data == null) continue;
+    /** ZIP のルートディレクトリ名（= ファイル名の拡張子なし部分）。 */
+    static String archiveName(Long userId, ZonedDateTime nowUtc) {
+        return "photlas-export-" + userId + "-" + nowUtc.format(ZIP_TIMESTAMP_FORMATTER);
+    }
 
-            ZipEntry entry = new ZipEntry(rootDir + photo.file());
-            entry.setMethod(ZipEntry.DEFLATED);
-            zos.putNextEntry(entry);
-            zos.write(data);
-            zos.closeEntry();
+    /** README の直後に書き込む JSON エントリ（ファイル名 → 内容、書き込み順）。 */
+    static Map<String, Object> metadataEntries(UserExportData data) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        entries.put("user.json", data.user());
+        entries.put("favorites.json", data.favorites());
+        entries.put("sns_links.json", data.snsLinks());
+        entries.put("oauth.json", data.oauthConnections());
+        entries.put("reports.json", data.reports());
+        entries.put("sanctions.json", data.sanctions());
+        entries.put("violations.json", data.violations());
+        entries.put("location_suggestions.json", data.locationSuggestions());
+        entries.put("spots.json", data.spots());
+        return entries;
+    }
+
+    /** ZIP に本体を同梱する写真（REMOVED と S3 キーなしを除く）。 */
+    static List<PhotoInfo> photoTargets(List<PhotoInfo> photos) {
+        return photos.stream()
+                .filter(photo -> photo.moderationStatus() == null
+                        || photo.moderationStatus() != CodeConstants.MODERATION_STATUS_REMOVED)
+                .filter(photo -> photo.s3ObjectKey() != null)
+                .toList();
+    }
+
+    boolean storeImageEntries() {
+        return storeImageEntries;
+    }
+
+    byte[] toJsonBytes(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    String toJsonString(Object value) throws IOException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    List<ExportError> readErrors(String json) throws IOException {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
         }
-        return errors;
+        return new ArrayList<>(List.of(objectMapper.readValue(json, ExportError[].class)));
     }
 
     /**
-     * S3 ダウンロードを最大 (1 + S3_RETRY_ATTEMPTS) 回試行する。最終失敗時は
-     * errors リストにエラーレコードを追加し null を返す。
+     * S3 ダウンロードを最大 (1 + S3_RETRY_ATTEMPTS) 回試行し、一時ファイルへ書き出しながら CRC32 を計算する。
+     * 最終失敗時はエラーレコードを持つ {@link PhotoDownload} を返す（先読みスレッドで実行されるため例外は投げない）。
      */
-    private byte[] downloadWithRetry(String s3Key, List<ExportError> errors, Long photoId) {
+    PhotoDownload downloadWithRetry(String s3Key, Long photoId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         Throwable last = null;
         for (int attempt = 0; attempt <= S3_RETRY_ATTEMPTS; attempt++) {
+            Path spool = null;
             try {
-                return s3Service.downloadObjectAsBytes(s3Key);
-            } catch (RuntimeException e) {
+                spool = Files.createTempFile("photlas-export-", ".part");
+                CRC32 crc = new CRC32();
+                long size;
+                try (OutputStream os = new CheckedOutputStream(Files.newOutputStream(spool), crc)) {
+                    size = s3Service.downloadObjectTo(s3Key, os);
+                }
+                sample.stop(meterRegistry.timer(METRIC_PHOTO_FETCH, "outcome", "success"));
+                meterRegistry.counter(METRIC_PHOTOS, "outcome", "success").increment();
+                meterRegistry.summary(METRIC_PHOTO_BYTES).record(size);
+                return new PhotoDownload(spool, size, crc.getValue(), null);
+            } catch (IOException | RuntimeException e) {
+                deleteQuietly(spool);
                 last = e;
             }
         }
-        errors.add(new ExportError(photoId, classifyError(last),
+        String errorCode = classifyError(last);
+        sample.stop(meterRegistry.timer(METRIC_PHOTO_FETCH, "outcome", "error"));
+        meterRegistry.counter(METRIC_PHOTOS, "outcome", errorCode).increment();
+        return new PhotoDownload(null, 0, 0, new ExportError(photoId, errorCode,
                 last == null ? "" : last.getMessage()));
-        return null;
+    }
+
+    /**
+     * 一時ファイルの内容を 1 エントリとして ZIP に書き込む。
+     *
+     * <p>{@code stored} が true の場合は STORED（無圧縮）で書き込む。ZipOutputStream は STORED エントリの
+     * CRC・サイズを putNextEntry 時点で要求するため、取得時に計算済みの値を渡す。</p>
+     */
+    static void writeSpooledEntry(ZipOutputStream zos, String name, Path file, long size, long crc,
+                                  boolean stored) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        if (stored) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc);
+        } else {
+            entry.setMethod(ZipEntry.DEFLATED);
+        }
+        zos.putNextEntry(entry);
+        Files.copy(file, zos);
+        zos.closeEntry();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete export spool file: path={} error={}", file, e.getMessage());
+        }
     }
 
     private String classifyError(Throwable t) {
@@ -322,7 +484,7 @@ public class DataExportService {
     }
 
     /** 写真サイズの大雑把な見積もり。S3 を叩かず Photo メタデータの imageWidth × height で代用。 */
-    private long estimateSize(UserExportData data) {
+    long estimateSize(UserExportData data) {
         long total = 0;
         for (PhotoInfo p : data.photos()) {
             if (p.imageWidth() != null && p.imageHeight() != null) {
@@ -351,5 +513,12 @@ public class DataExportService {
     }
 
     /** errors.json のエントリ。 */
-    private record ExportError(Long photoId, String errorCode, String message) {}
+    record ExportError(Long photoId, String errorCode, String message) {}
+
+    /** 写真 1 枚の取得結果。成功時は一時ファイル・サイズ・CRC32、最終失敗時は error のみを持つ。 */
+    record PhotoDownload(Path file, long size, long crc, ExportError error) {
+        void discard() {
+            deleteQuietly(file);
+        }
+    }
 }
@@ -172,6 +172,130 @@ public class DataExportTemplateService {
         };
     }
 
+    /**
+     * ジョブモードの完了通知メール本文を返す（ダウンロードリンクと有効期限を含む）。
+     * 乗っ取り検知のための IP / User-Agent 通知は {@link #renderEmailBody} と同じ。
+     *
+     * @param downloadUrl 署名付きダウンロード URL
+     * @param expiresAt   ダウンロード URL の有効期限
+     */
+    public String renderDownloadLinkEmailBody(
+            String language,
+            String username,
+            ZonedDateTime exportedAt,
+            String requestIp,
+            String userAgent,
+            String downloadUrl,
+            ZonedDateTime expiresAt) {
+        String lang = toEmailLanguage(language);
+        String localizedTime = formatLocalTime(exportedAt, lang);
+        String localizedExpiry = formatLocalTime(expiresAt, lang);
+
+        return switch (lang) {
+            case "ja" -> """
+                    %s さん
+
+                    データのエクスポートが完了しました。
+                    下記のリンクから ZIP ファイルをダウンロードしてください。
+
+                    %s
+
+                    リンクの有効期限: %s
+                    （期限を過ぎた場合は、再度エクスポートを実行してください）
+
+                    完了日時: %s
+                    リクエスト元 IP: %s
+                    リクエスト元 User-Agent: %s
+
+                    身に覚えのない場合は、第三者によるアカウント乗っ取りの可能性があります。
+                    リンクは開かずに速やかにパスワードを変更し、support@photlas.jp までご連絡ください。
+
+                    Photlas
+                    """.formatted(username, downloadUrl, localizedExpiry, localizedTime, requestIp, userAgent);
+            case "ko" -> """
+                    %s 님
+
+                    데이터 내보내기가 완료되었습니다.
+                    아래 링크에서 ZIP 파일을 다운로드해 주세요.
+
+                    %s
+
+                    링크 유효 기한: %s
+                    (기한이 지난 경우 내보내기를 다시 실행해 주세요)
+
+                    완료 일시: %s
+                    요청 IP: %s
+                    요청 User-Agent: %s
+
+                    본인이 요청하지 않았다면 제3자에 의한 계정 탈취 가능성이 있습니다.
+                    링크를 열지 말고 즉시 비밀번호를 변경한 뒤 support@photlas.jp 로 연락해 주세요.
+
+                    Photlas
+                    """.formatted(username, downloadUrl, localizedExpiry, localizedTime, requestIp, userAgent);
+            case "zh" -> """
+                    %s 您好
+
+                    数据导出已完成。
+                    请通过以下链接下载 ZIP 文件。
+
+                    %s
+
+                    链接有效期至: %s
+                    （过期后请重新执行导出）
+
+                    完成时间: %s
+                    请求 IP: %s
+                    请求 User-Agent: %s
+
+                    如非本人操作，账号可能已被第三方盗用。
+                    请勿打开链接，立即修改密码并联系 support@photlas.jp。
+
+                    Photlas
+                    """.formatted(username, downloadUrl, localizedExpiry, localizedTime, requestIp, userAgent);
+            case "th" -> """
+                    เรียน คุณ %s
+
+                    การส่งออกข้อมูลเสร็จสิ้นแล้ว
+                    โปรดดาวน์โหลดไฟล์ ZIP จากลิงก์ด้านล่าง
+
+                    %s
+
+                    ลิงก์หมดอายุ: %s
+                    (หากลิงก์หมดอายุ โปรดส่งออกข้อมูลอีกครั้ง)
+
+                    เวลาที่เสร็จสิ้น: %s
+                    IP ของผู้ร้องขอ: %s
+                    User-Agent ของผู้ร้องขอ: %s
+
+                    หากคุณไม่ใช่ผู้ร้องขอ บัญชีของคุณอาจถูกบุคคลที่สามแฮ็ก
+                    โปรดอย่าเปิดลิงก์ เปลี่ยนรหัสผ่านทันทีและติดต่อ support@photlas.jp
+
+                    Photlas
+                    """.formatted(username, downloadUrl, localizedExpiry, localizedTime, requestIp, userAgent);
+            default -> """
+                    Hi %s,
+
+                    Your data export has completed.
+                    Please download the ZIP file from the link below.
+
+                    %s
+
+                    Link expires at: %s
+                    (If the link has expired, please run the export again.)
+
+                    Completed at: %s
+                    Request IP: %s
+                    Request User-Agent: %s
+
+                    If you did not request this export, your account may have been compromised
+                    by a third party. Do not open the link; change your password immediately and
+                    contact support@photlas.jp.
+
+                    Photlas
+                    """.formatted(username, downloadUrl, localizedExpiry, localizedTime, requestIp, userAgent);
+        };
+    }
+
     /**
      * UTC 基準の {@link ZonedDateTime} をユーザー言語のタイムゾーンに変換し、
      * 末尾にタイムゾーンラベル（JST / KST / CST / ICT / UTC）を付けた文字列で返す。
@@ -1,25 +1,23 @@
 package com.photlas.backend.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 /**
  * メール送信サービス
  * メール送信の共通ロジックを提供する。
- * 送信失敗時は例外をそのままスローし、エラーハンドリングは呼び出し元に委ねる。
+ * メールは送信キュー（{@link MailOutboxService}）に登録し、呼び出し元のトランザクションのコミット後に送信する。
+ * 登録失敗時は例外をそのままスローし、エラーハンドリングは呼び出し元に委ねる。
  */
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    /** 送信キューでの種類（アカウント関連のメール） */
+    static final String MAIL_TYPE = "account";
 
-    @Value("${app.mail.from:Photlas <noreply@photlas.jp>}")
-    private String mailFrom;
+    private final MailOutboxService mailOutboxService;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(MailOutboxService mailOutboxService) {
+        this.mailOutboxService = mailOutboxService;
     }
 
     /**
@@ -30,11 +28,6 @@ public class EmailService {
      * @param body 本文
      */
     public void send(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(mailFrom);
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        mailOutboxService.enqueue(MAIL_TYPE, to, subject, body);
     }
 }
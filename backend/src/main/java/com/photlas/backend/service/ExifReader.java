@@ -48,6 +48,9 @@ public class ExifReader {
     /**
      * 画像バイト列から EXIF を読み取る。
      *
+     * <p>JPEG は {@link JpegExifHeaderParser} で APP1 セグメントのみを読む高速パスを使い、
+     * それ以外の形式や高速パスで構造エラーになった JPEG は metadata-extractor で全体を読む。</p>
+     *
      * @param imageBytes 元の画像バイト列（リサイズ前を推奨。EXIF はリサイズで失われることがある）
      * @return EXIF 抽出結果。読み取り失敗時は全フィールド空の {@link ExifData}
      */
@@ -55,6 +58,22 @@ public class ExifReader {
         if (imageBytes == null || imageBytes.length == 0) {
             return ExifData.empty();
         }
+        if (JpegExifHeaderParser.isJpeg(imageBytes)) {
+            try {
+                return parseMetadata(JpegExifHeaderParser.parse(imageBytes));
+            } catch (RuntimeException e) {
+                logger.debug("JPEG ヘッダの EXIF 高速読み取りに失敗（metadata-extractor にフォールバック）: {}",
+                        e.getMessage());
+            }
+        }
+        return readWithMetadataExtractor(imageBytes);
+    }
+
+    /**
+     * metadata-extractor で画像全体を読み取る（JPEG 以外の形式、および高速パスのフォールバック）。
+     * ベンチマークで高速パスと比較するため package-private 公開。
+     */
+    ExifData readWithMetadataExtractor(byte[] imageBytes) {
         try {
             Metadata metadata = ImageMetadataReader.readMetadata(new ByteArrayInputStream(imageBytes));
             return parseMetadata(metadata);
@@ -141,16 +141,27 @@ public class FavoriteService {
         Pageable pageable = PageRequest.of(page, size);
         Page<Favorite> favoritePage = favoriteRepository.findByUserIdExcludingDeletedUsers(user.getId(), pageable);
 
-        // 写真詳細情報を取得
-        List<PhotoResponse> photoResponseList = favoritePage.getContent().stream()
-            .map(favorite -> {
-                Photo photo = photoRepository.findById(favorite.getPhotoId()).orElse(null);
+        // 写真詳細情報を取得（写真・投稿者・スポット・お気に入り数はページ分をまとめて読む）
+        List<Long> photoIds = favoritePage.getContent().stream().map(Favorite::getPhotoId).toList();
+        Map<Long, Photo> photos = photoRepository.findAllById(photoIds).stream()
+            .collect(Collectors.toMap(Photo::getPhotoId, photo -> photo));
+        Map<Long, User> photoUsers = userRepository.findAllById(
+                photos.values().stream().map(Photo::getUserId).collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(User::getId, photoUser -> photoUser));
+        Map<Long, Spot> spots = spotRepository.findAllById(
+                photos.values().stream().map(Photo::getSpotId).collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(Spot::getSpotId, spot -> spot));
+        Map<Long, Long> favoriteCounts = countFavorites(photoIds);
+
+        List<PhotoResponse> photoResponseList = photoIds.stream()
+            .map(photoId -> {
+                Photo photo = photos.get(photoId);
                 if (photo == null) return null;
-                User photoUser = userRepository.findById(photo.getUserId()).orElse(null);
+                User photoUser = photoUsers.get(photo.getUserId());
                 if (photoUser == null) return null;
-                Spot spot = spotRepository.findById(photo.getSpotId()).orElse(null);
+                Spot spot = spots.get(photo.getSpotId());
                 if (spot == null) return null;
-                long favoriteCount = favoriteRepository.countByPhotoId(photo.getPhotoId());
+                long favoriteCount = favoriteCounts.getOrDefault(photoId, 0L);
                 return buildPhotoResponse(photo, spot, photoUser, true, favoriteCount);
             })
             .filter(r -> r != null)
@@ -172,6 +183,17 @@ public class FavoriteService {
         return response;
     }
 
+    /**
+     * 写真ID → お気に入り数（お気に入りのない写真は含まない）
+     */
+    private Map<Long, Long> countFavorites(List<Long> photoIds) {
+        if (photoIds.isEmpty()) {
+            return Map.of();
+        }
+        return favoriteRepository.countGroupedByPhotoIdIn(photoIds).stream()
+            .collect(Collectors.toMap(row -> ((Number) row[0]).longValue(), row -> ((Number) row[1]).longValue()));
+    }
+
     /**
      * お気に入り状態をチェックする
      */
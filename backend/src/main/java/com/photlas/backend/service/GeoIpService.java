@@ -1,5 +1,9 @@
 package com.photlas.backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
@@ -11,12 +15,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
 
 /**
  * Issue#106: IPアドレスからの国判定サービス
@@ -26,22 +35,58 @@ import java.net.InetAddress;
  * - データベースファイル（GeoLite2-Country.mmdb）が見つからない場合、サービスは「無効化された状態」で起動し、
  *   getCountryCode は常に null を返す。アプリケーションは引き続き動作可能。
  * - 開発環境（DBファイルなし）でもアプリが起動でき、フロントエンドは東京へのフォールバックで動作する。
+ * - データベースはメモリマップドファイルとして開く（ヒープに読み込まない）。classpath 上の jar 内にある場合は
+ *   一時ファイルに展開してから開く。ツリーのノードはリーダーのノードキャッシュ、判定結果は IP ごとの
+ *   サイズ上限付きキャッシュに保持する。
+ * - ファイルシステム上のデータベース（例: {@code file:/opt/geoip/GeoLite2-Country.mmdb}）は更新日時・サイズを
+ *   定期的に確認し、変わっていれば再起動なしで開き直す。更新は別名で書き出してからのリネームで行うこと
+ *   （メモリマップ中のファイルを上書きすると読み取り中の内容が壊れる）。
  */
 @Service
 public class GeoIpService {
 
     private static final Logger log = LoggerFactory.getLogger(GeoIpService.class);
 
-    private final DatabaseReader databaseReader;
+    /** 判定不能をキャッシュするための値（Caffeine は null を格納できないため） */
+    private static final String UNKNOWN = "";
 
     /**
-     * 本番用コンストラクタ：classpath からデータベースファイルをロードする。
+     * IP アドレスのリテラル（ホスト名を渡して DNS 問い合わせが走るのを防ぐ）。
+     * IPv4 は 4 つの 10 進数の組だけを許す。IPv6 は ':' を必須にする（':' を含む文字列は
+     * {@link InetAddress#getByName} がリテラルとしてだけ解釈し、"cafe" のような 16 進数の文字だけのホスト名を通さない）。
+     */
+    private static final Pattern IP_LITERAL = Pattern.compile(
+            "(?:(?:25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)\\.){3}(?:25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)"
+                    + "|[0-9A-Fa-f.]*:[0-9A-Fa-f:.]*(?:%[0-9A-Za-z_.-]+)?");
+
+    /**
+     * 開いているデータベースとその判定結果のキャッシュ（開き直すときは組ごと差し替える）。
+     *
+     * @param reader       リーダー
+     * @param countryCodes IP アドレス → 国コード（判定不能は {@link #UNKNOWN}）
+     * @param lastModified 開いたときのファイルの更新日時（変更検知用）
+     * @param size         開いたときのファイルのサイズ（変更検知用）
+     */
+    private record Database(DatabaseReader reader, Cache<String, String> countryCodes,
+                            long lastModified, long size) {}
+
+    private final long lookupCacheSize;
+    /** 変更を監視するファイル（ファイルシステム上のデータベースの場合のみ。classpath・テスト用は null） */
+    private final File watchedFile;
+    private volatile Database database;
+
+    /**
+     * 本番用コンストラクタ：データベースファイルを開く。
      * ファイルが見つからない場合は警告ログを出してサービスを無効化された状態で起動する。
      * 複数コンストラクタがあるため @Autowired で Spring に明示。
      */
     @Autowired
-    public GeoIpService(@Value("${geoip.database-path:classpath:geoip/GeoLite2-Country.mmdb}") String databasePath) {
-        this.databaseReader = loadDatabase(databasePath);
+    public GeoIpService(@Value("${geoip.database-path:classpath:geoip/GeoLite2-Country.mmdb}") String databasePath,
+                        @Value("${geoip.lookup-cache-size:50000}") long lookupCacheSize) {
+        this.lookupCacheSize = lookupCacheSize;
+        Resource resource = new DefaultResourceLoader().getResource(databasePath);
+        this.watchedFile = resource.isFile() ? fileOf(resource) : null;
+        this.database = loadDatabase(resource, databasePath);
     }
 
     /**
@@ -49,26 +94,59 @@ public class GeoIpService {
      * null を渡すと「DBが見つからなかった」状態をシミュレートできる。
      */
     GeoIpService(DatabaseReader databaseReader) {
-        this.databaseReader = databaseReader;
+        this.lookupCacheSize = 1000;
+        this.watchedFile = null;
+        this.database = databaseReader == null ? null : newDatabase(databaseReader, null);
     }
 
-    private static DatabaseReader loadDatabase(String databasePath) {
-        ResourceLoader resourceLoader = new DefaultResourceLoader();
-        Resource resource = resourceLoader.getResource(databasePath);
+    private Database loadDatabase(Resource resource, String path) {
         if (!resource.exists()) {
-            log.warn("GeoLite2 database file not found at {}. IP-based country detection will be disabled.", databasePath);
+            log.warn("GeoLite2 database file not found at {}. IP-based country detection will be disabled.", path);
             return null;
         }
-        try (InputStream is = resource.getInputStream()) {
-            DatabaseReader reader = new DatabaseReader.Builder(is).build();
-            log.info("GeoLite2 database loaded successfully from {}", databasePath);
-            return reader;
+        try {
+            File file = watchedFile != null ? watchedFile : extractToTempFile(resource);
+            Database loaded = newDatabase(openMemoryMapped(file), watchedFile);
+            log.info("GeoLite2 database loaded successfully from {}", path);
+            return loaded;
+        } catch (IOException e) {
+            log.error("Failed to load GeoLite2 database from {}", path, e);
+            return null;
+        }
+    }
+
+    private Database newDatabase(DatabaseReader reader, File source) {
+        Cache<String, String> countryCodes = Caffeine.newBuilder().maximumSize(lookupCacheSize).build();
+        return source == null
+                ? new Database(reader, countryCodes, 0, 0)
+                : new Database(reader, countryCodes, source.lastModified(), source.length());
+    }
+
+    static DatabaseReader openMemoryMapped(File file) throws IOException {
+        return new DatabaseReader.Builder(file)
+                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                .withCache(new CHMCache())
+                .build();
+    }
+
+    private static File fileOf(Resource resource) {
+        try {
+            return resource.getFile();
         } catch (IOException e) {
-            log.error("Failed to load GeoLite2 database from {}", databasePath, e);
             return null;
         }
     }
 
+    /** jar 内のデータベースはメモリマップできないため、一時ファイルに展開する */
+    private static File extractToTempFile(Resource resource) throws IOException {
+        Path temp = Files.createTempFile("GeoLite2-Country-", ".mmdb");
+        temp.toFile().deleteOnExit();
+        try (InputStream is = resource.getInputStream()) {
+            Files.copy(is, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return temp.toFile();
+    }
+
     /**
      * IPアドレスから国コード（ISO 3166-1 alpha-2、例: "JP", "US"）を取得する。
      *
@@ -76,33 +154,85 @@ public class GeoIpService {
      * @return 国コード。判定不能（IPが不正・ローカルホスト・データベース未配置等）の場合は null
      */
     public String getCountryCode(String ipAddress) {
-        if (databaseReader == null || ipAddress == null || ipAddress.isBlank()) {
+        Database current = database;
+        if (current == null || ipAddress == null || ipAddress.isBlank()) {
             return null;
         }
+        String countryCode = current.countryCodes().get(ipAddress, ip -> lookup(current.reader(), ip));
+        return countryCode == null || countryCode.equals(UNKNOWN) ? null : countryCode;
+    }
+
+    /** 判定結果（判定不能は UNKNOWN）。I/O エラー等の一時的な失敗は null を返してキャッシュしない */
+    private static String lookup(DatabaseReader reader, String ipAddress) {
+        if (!IP_LITERAL.matcher(ipAddress).matches()) {
+            return UNKNOWN;
+        }
         try {
             InetAddress address = InetAddress.getByName(ipAddress);
-            CountryResponse response = databaseReader.country(address);
-            if (response == null || response.getCountry() == null) {
-                return null;
+            CountryResponse response = reader.country(address);
+            if (response == null || response.getCountry() == null || response.getCountry().getIsoCode() == null) {
+                return UNKNOWN;
             }
             return response.getCountry().getIsoCode();
         } catch (AddressNotFoundException e) {
             // IPが GeoLite2 データベースに登録されていない（ローカルホスト等）
+            return UNKNOWN;
+        } catch (IOException | GeoIp2Exception e) {
+            // I/O エラー・開き直しで閉じたリーダー等
             return null;
-        } catch (IOException | GeoIp2Exception | RuntimeException e) {
-            // 不正なIPアドレス形式・I/O エラー等
-            return null;
+        } catch (RuntimeException e) {
+            // 不正なIPアドレス形式等
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * ファイルシステム上のデータベースが配置・更新されていれば開き直す（1 分ごと）。
+     */
+    @Scheduled(fixedDelayString = "${geoip.reload-check-interval-ms:60000}")
+    public void reloadIfChanged() {
+        if (watchedFile == null || !watchedFile.exists()) {
+            return;
+        }
+        Database current = database;
+        if (current == null
+                || watchedFile.lastModified() != current.lastModified() || watchedFile.length() != current.size()) {
+            reload(watchedFile);
+        }
+    }
+
+    /**
+     * データベースを開き直す。開けなかった場合は現在のデータベースを使い続ける。
+     */
+    synchronized void reload(File file) {
+        DatabaseReader reader;
+        try {
+            reader = openMemoryMapped(file);
+        } catch (IOException e) {
+            log.error("Failed to reload GeoLite2 database from {}. Keeping the current database.", file, e);
+            return;
+        }
+        Database previous = database;
+        database = newDatabase(reader, file);
+        log.info("GeoLite2 database reloaded from {}", file);
+        if (previous != null) {
+            closeQuietly(previous.reader());
         }
     }
 
     @PreDestroy
     public void close() {
-        if (databaseReader != null) {
-            try {
-                databaseReader.close();
-            } catch (IOException e) {
-                log.warn("Failed to close GeoLite2 database reader", e);
-            }
+        Database current = database;
+        if (current != null) {
+            closeQuietly(current.reader());
+        }
+    }
+
+    private static void closeQuietly(DatabaseReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("Failed to close GeoLite2 database reader", e);
         }
     }
 }
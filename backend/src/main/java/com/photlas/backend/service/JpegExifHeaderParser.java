@@ -0,0 +1,296 @@
+package com.photlas.backend.service;
+
+import com.drew.lang.Rational;
+import com.drew.metadata.Directory;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifIFD0Directory;
+import com.drew.metadata.exif.ExifSubIFDDirectory;
+import com.drew.metadata.exif.GpsDirectory;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JPEG の APP1(Exif) セグメントだけを直接パースし、{@link ExifReader} が使うタグのみを
+ * metadata-extractor の {@link Metadata} に詰めて返す高速パス。
+ *
+ * <p>{@code ImageMetadataReader.readMetadata} は全セグメントを走査し、使わない Directory
+ * （JFIF / ICC / XMP / MakerNote 等）まで構築する。本クラスはマーカーを先頭から辿り、
+ * 最初の SOS（スキャン開始）に達した時点で読み取りを止める。対象タグは IFD0 の DateTime、
+ * Exif SubIFD の DateTimeOriginal / ExposureTime / ISO / 35mm 換算焦点距離、GPS の標高のみ。</p>
+ *
+ * <p>値の妥当性チェックは行わない（{@link ExifReader#parseMetadata} に一元化）。
+ * セグメント長やオフセットが壊れている場合は {@link IllegalArgumentException} を投げ、
+ * 呼び出し側が metadata-extractor にフォールバックする。</p>
+ */
+final class JpegExifHeaderParser {
+
+    private static final int MARKER_PREFIX = 0xFF;
+    private static final int MARKER_SOI = 0xD8;
+    private static final int MARKER_EOI = 0xD9;
+    private static final int MARKER_SOS = 0xDA;
+    private static final int MARKER_APP1 = 0xE1;
+    private static final int MARKER_TEM = 0x01;
+    private static final int MARKER_RST0 = 0xD0;
+    private static final int MARKER_RST7 = 0xD7;
+
+    private static final byte[] EXIF_PREAMBLE = {'E', 'x', 'i', 'f', 0, 0};
+
+    private static final int TIFF_MAGIC = 42;
+    private static final int IFD_ENTRY_SIZE = 12;
+
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_RATIONAL = 5;
+    private static final int TYPE_SRATIONAL = 10;
+
+    private static final int TAG_EXIF_IFD_POINTER = 0x8769;
+    private static final int TAG_GPS_IFD_POINTER = 0x8825;
+
+    private JpegExifHeaderParser() {
+    }
+
+    /** 先頭 2 バイトが SOI（FF D8）なら JPEG とみなす。 */
+    static boolean isJpeg(byte[] bytes) {
+        return bytes.length >= 2
+                && (bytes[0] & 0xFF) == MARKER_PREFIX
+                && (bytes[1] & 0xFF) == MARKER_SOI;
+    }
+
+    /**
+     * JPEG バイト列のヘッダ部から Exif タグを読み取る。
+     *
+     * @param bytes JPEG バイト列（{@link #isJpeg} が true であること）
+     * @return 対象タグを格納した Metadata。Exif セグメントが無ければ空の Metadata
+     * @throws IllegalArgumentException セグメント構造・TIFF 構造が壊れている場合
+     */
+    static Metadata parse(byte[] bytes) {
+        Metadata metadata = new Metadata();
+        int pos = 2;
+        while (pos + 1 < bytes.length) {
+            if ((bytes[pos] & 0xFF) != MARKER_PREFIX) {
+                throw new IllegalArgumentException("JPEG マーカーが見つかりません: offset=" + pos);
+            }
+            int marker = bytes[pos + 1] & 0xFF;
+            if (marker == MARKER_PREFIX) {
+                // フィルバイト
+                pos++;
+                continue;
+            }
+            if (marker == MARKER_SOS || marker == MARKER_EOI) {
+                break;
+            }
+            if (marker == MARKER_TEM || (marker >= MARKER_RST0 && marker <= MARKER_RST7)) {
+                pos += 2;
+                continue;
+            }
+            int length = readUnsignedShort(bytes, pos + 2, false);
+            int dataStart = pos + 4;
+            int dataEnd = pos + 2 + length;
+            if (length < 2 || dataEnd > bytes.length) {
+                throw new IllegalArgumentException("JPEG セグメント長が不正です: offset=" + pos);
+            }
+            if (marker == MARKER_APP1 && startsWith(bytes, dataStart, dataEnd, EXIF_PREAMBLE)) {
+                new TiffReader(bytes, dataStart + EXIF_PREAMBLE.length, dataEnd).readInto(metadata);
+                break;
+            }
+            pos = dataEnd;
+        }
+        return metadata;
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int offset, boolean littleEndian) {
+        int b0 = bytes[offset] & 0xFF;
+        int b1 = bytes[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    /** APP1 内の TIFF 構造（ヘッダ + IFD0 / Exif SubIFD / GPS IFD）を読む。 */
+    private static final class TiffReader {
+
+        private final byte[] bytes;
+        private final int tiffStart;
+        private final int tiffEnd;
+        private boolean littleEndian;
+
+        TiffReader(byte[] bytes, int tiffStart, int tiffEnd) {
+            this.bytes = bytes;
+            this.tiffStart = tiffStart;
+            this.tiffEnd = tiffEnd;
+        }
+
+        void readInto(Metadata metadata) {
+            requireRange(tiffStart, 8);
+            int order = u16BigEndian(tiffStart);
+            if (order == 0x4949) {
+                littleEndian = true;
+            } else if (order != 0x4D4D) {
+                throw new IllegalArgumentException("TIFF バイトオーダーが不正です");
+            }
+            if (u16(tiffStart + 2) != TIFF_MAGIC) {
+                throw new IllegalArgumentException("TIFF マジックナンバーが不正です");
+            }
+
+            ExifIFD0Directory ifd0 = new ExifIFD0Directory();
+            ExifSubIFDDirectory subIfd = new ExifSubIFDDirectory();
+            GpsDirectory gps = new GpsDirectory();
+
+            long exifPointer = -1;
+            long gpsPointer = -1;
+            int ifd0Offset = offset(u32(tiffStart + 4));
+            int count = u16(ifd0Offset);
+            for (int i = 0; i < count; i++) {
+                int entry = ifd0Offset + 2 + i * IFD_ENTRY_SIZE;
+                requireRange(entry, IFD_ENTRY_SIZE);
+                int tag = u16(entry);
+                if (tag == ExifIFD0Directory.TAG_DATETIME) {
+                    readAscii(entry, ifd0, tag);
+                } else if (tag == TAG_EXIF_IFD_POINTER) {
+                    exifPointer = u32(entry + 8);
+                } else if (tag == TAG_GPS_IFD_POINTER) {
+                    gpsPointer = u32(entry + 8);
+                }
+            }
+
+            if (exifPointer >= 0) {
+                readSubIfd(offset(exifPointer), subIfd);
+            }
+            if (gpsPointer >= 0) {
+                readGpsIfd(offset(gpsPointer), gps);
+            }
+
+            addIfNotEmpty(metadata, ifd0);
+            addIfNotEmpty(metadata, subIfd);
+            addIfNotEmpty(metadata, gps);
+        }
+
+        private void readSubIfd(int ifdOffset, ExifSubIFDDirectory subIfd) {
+            int count = u16(ifdOffset);
+            for (int i = 0; i < count; i++) {
+                int entry = ifdOffset + 2 + i * IFD_ENTRY_SIZE;
+                requireRange(entry, IFD_ENTRY_SIZE);
+                int tag = u16(entry);
+                switch (tag) {
+                    case ExifSubIFDDirectory.TAG_DATETIME_ORIGINAL -> readAscii(entry, subIfd, tag);
+                    case ExifSubIFDDirectory.TAG_EXPOSURE_TIME -> readRational(entry, subIfd, tag);
+                    case ExifSubIFDDirectory.TAG_ISO_EQUIVALENT,
+                         ExifSubIFDDirectory.TAG_35MM_FILM_EQUIV_FOCAL_LENGTH -> readInteger(entry, subIfd, tag);
+                    default -> {
+                        // 対象外タグは読み飛ばす
+                    }
+                }
+            }
+        }
+
+        private void readGpsIfd(int ifdOffset, GpsDirectory gps) {
+            int count = u16(ifdOffset);
+            for (int i = 0; i < count; i++) {
+                int entry = ifdOffset + 2 + i * IFD_ENTRY_SIZE;
+                requireRange(entry, IFD_ENTRY_SIZE);
+                if (u16(entry) == GpsDirectory.TAG_ALTITUDE) {
+                    readRational(entry, gps, GpsDirectory.TAG_ALTITUDE);
+                }
+            }
+        }
+
+        private void readAscii(int entry, Directory directory, int tag) {
+            if (u16(entry + 2) != TYPE_ASCII) {
+                return;
+            }
+            int length = (int) u32(entry + 4);
+            int valueOffset = length <= 4 ? entry + 8 : offset(u32(entry + 8));
+            requireRange(valueOffset, length);
+            int end = valueOffset + length;
+            while (end > valueOffset && bytes[end - 1] == 0) {
+                end--;
+            }
+            directory.setString(tag, new String(bytes, valueOffset, end - valueOffset, StandardCharsets.US_ASCII));
+        }
+
+        private void readInteger(int entry, Directory directory, int tag) {
+            int type = u16(entry + 2);
+            long count = u32(entry + 4);
+            if (count < 1) {
+                return;
+            }
+            // 複数値（ISO の配列等）は metadata-extractor の getInt と同じく先頭値のみ使う
+            if (type == TYPE_SHORT) {
+                int valueOffset = count <= 2 ? entry + 8 : offset(u32(entry + 8));
+                requireRange(valueOffset, 2);
+                directory.setInt(tag, u16(valueOffset));
+            } else if (type == TYPE_LONG) {
+                int valueOffset = count <= 1 ? entry + 8 : offset(u32(entry + 8));
+                requireRange(valueOffset, 4);
+                directory.setLong(tag, u32(valueOffset));
+            }
+        }
+
+        private void readRational(int entry, Directory directory, int tag) {
+            int type = u16(entry + 2);
+            if ((type != TYPE_RATIONAL && type != TYPE_SRATIONAL) || u32(entry + 4) < 1) {
+                return;
+            }
+            int valueOffset = offset(u32(entry + 8));
+            requireRange(valueOffset, 8);
+            long numerator = u32(valueOffset);
+            long denominator = u32(valueOffset + 4);
+            if (type == TYPE_SRATIONAL) {
+                numerator = (int) numerator;
+                denominator = (int) denominator;
+            }
+            directory.setRational(tag, new Rational(numerator, denominator));
+        }
+
+        /** TIFF 先頭からの相対オフセットを配列上の絶対位置に変換する。 */
+        private int offset(long relative) {
+            if (relative < 0 || relative >= tiffEnd - tiffStart) {
+                throw new IllegalArgumentException("IFD オフセットが範囲外です: " + relative);
+            }
+            return tiffStart + (int) relative;
+        }
+
+        private void requireRange(int from, int length) {
+            if (from < tiffStart || length < 0 || (long) from + length > tiffEnd) {
+                throw new IllegalArgumentException("TIFF 構造が APP1 セグメント外を参照しています");
+            }
+        }
+
+        private int u16BigEndian(int pos) {
+            return readUnsignedShort(bytes, pos, false);
+        }
+
+        private int u16(int pos) {
+            requireRange(pos, 2);
+            return readUnsignedShort(bytes, pos, littleEndian);
+        }
+
+        private long u32(int pos) {
+            requireRange(pos, 4);
+            long b0 = bytes[pos] & 0xFF;
+            long b1 = bytes[pos + 1] & 0xFF;
+            long b2 = bytes[pos + 2] & 0xFF;
+            long b3 = bytes[pos + 3] & 0xFF;
+            return littleEndian
+                    ? (b3 << 24) | (b2 << 16) | (b1 << 8) | b0
+                    : (b0 << 24) | (b1 << 16) | (b2 << 8) | b3;
+        }
+
+        private static void addIfNotEmpty(Metadata metadata, Directory directory) {
+            if (directory.getTagCount() > 0) {
+                metadata.addDirectory(directory);
+            }
+        }
+    }
+}
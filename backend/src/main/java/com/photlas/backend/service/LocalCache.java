@@ -0,0 +1,76 @@
+package com.photlas.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * {@link CacheInvalidationBus} のイベントで全ノード一斉に無効化されるノードローカルキャッシュ（Caffeine）。
+ *
+ * <p>無効化イベントと読み込みが競合した場合に古い値が残り得るため、TTL を必ず設ける（TTL が整合性の上限）。
+ * TTL が 0 の場合はキャッシュせず毎回読み込む（テストなど）。</p>
+ *
+ * @param <K> キー
+ * @param <V> 値
+ */
+public class LocalCache<K, V> implements CacheInvalidationBus.Listener {
+
+    private final Cache<K, V> cache;
+    private final BiConsumer<CacheInvalidationBus.Event, LocalCache<K, V>> eventHandler;
+
+    /**
+     * キャッシュを作成し、無効化バスに登録する。
+     *
+     * @param name         メトリクス名（cache タグ）
+     * @param ttl          書き込みからの有効期間（0 の場合はキャッシュしない）
+     * @param maximumSize  最大エントリ数
+     * @param eventHandler 無効化イベントを受けたときの処理（該当キーの破棄・全破棄など）
+     */
+    public LocalCache(String name, Duration ttl, long maximumSize,
+                      BiConsumer<CacheInvalidationBus.Event, LocalCache<K, V>> eventHandler,
+                      CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        this.eventHandler = eventHandler;
+        if (ttl.isZero()) {
+            this.cache = null;
+        } else {
+            this.cache = Caffeine.newBuilder()
+                    .expireAfterWrite(ttl)
+                    .maximumSize(maximumSize)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+        invalidationBus.register(this);
+    }
+
+    /**
+     * キャッシュから取得し、なければ読み込んで格納する。
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return cache == null ? loader.apply(key) : cache.get(key, loader);
+    }
+
+    /** 1 件破棄する */
+    public void invalidate(K key) {
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void onEvent(CacheInvalidationBus.Event event) {
+        eventHandler.accept(event, this);
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
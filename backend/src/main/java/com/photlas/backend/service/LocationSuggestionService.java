@@ -16,8 +16,6 @@ import com.photlas.backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +35,8 @@ public class LocationSuggestionService {
     private static final Logger logger = LoggerFactory.getLogger(LocationSuggestionService.class);
     private static final String ERROR_USER_NOT_FOUND = "ユーザーが見つかりません";
     private static final String ERROR_PHOTO_NOT_FOUND = "写真が見つかりません";
+    /** 送信キューでの種類 */
+    private static final String MAIL_TYPE = "locationSuggestion";
 
     // Issue#146: 撮影場所指摘の距離制限（SpotRepository の haversine と同じ地球半径を使用）
     private static final double EARTH_RADIUS_METERS = 6371000.0;
@@ -49,31 +49,37 @@ public class LocationSuggestionService {
     private final PhotoRepository photoRepository;
     private final SpotRepository spotRepository;
     private final UserRepository userRepository;
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
     private final S3Service s3Service;
     private final EmailTemplateService emailTemplateService;
+    private final SpotAssignmentService spotAssignmentService;
+    private final SpotSummaryService spotSummaryService;
+    private final SpotTileService spotTileService;
 
     @Value("${app.frontend-url:https://photlas.jp}")
     private String frontendUrl;
 
-    @Value("${app.mail.from:Photlas <noreply@photlas.jp>}")
-    private String mailFrom;
-
     public LocationSuggestionService(
             LocationSuggestionRepository locationSuggestionRepository,
             PhotoRepository photoRepository,
             SpotRepository spotRepository,
             UserRepository userRepository,
-            JavaMailSender mailSender,
+            MailOutboxService mailOutboxService,
             S3Service s3Service,
-            EmailTemplateService emailTemplateService) {
+            EmailTemplateService emailTemplateService,
+            SpotAssignmentService spotAssignmentService,
+            SpotSummaryService spotSummaryService,
+            SpotTileService spotTileService) {
         this.locationSuggestionRepository = locationSuggestionRepository;
         this.photoRepository = photoRepository;
         this.spotRepository = spotRepository;
         this.userRepository = userRepository;
-        this.mailSender = mailSender;
+        this.mailOutboxService = mailOutboxService;
         this.s3Service = s3Service;
         this.emailTemplateService = emailTemplateService;
+        this.spotAssignmentService = spotAssignmentService;
+        this.spotSummaryService = spotSummaryService;
+        this.spotTileService = spotTileService;
     }
 
     /**
@@ -152,11 +158,16 @@ public class LocationSuggestionService {
         Photo photo = photoRepository.findById(suggestion.getPhotoId())
                 .orElseThrow(() -> new PhotoNotFoundException(ERROR_PHOTO_NOT_FOUND));
 
-        Spot newSpot = findOrCreateSpot(suggestion.getSuggestedLatitude(), suggestion.getSuggestedLongitude());
+        Spot newSpot = spotAssignmentService.findOrCreateSpot(
+                suggestion.getSuggestedLatitude(), suggestion.getSuggestedLongitude(), 0L);
+        Long oldSpotId = photo.getSpotId();
         photo.setSpotId(newSpot.getSpotId());
         photo.setLatitude(suggestion.getSuggestedLatitude());
         photo.setLongitude(suggestion.getSuggestedLongitude());
         photoRepository.save(photo);
+        // 移動元・移動先のスポットの要約（枚数・サムネイル）を作り直し、両方のタイルの版数を上げる
+        spotSummaryService.refresh(List.of(oldSpotId, newSpot.getSpotId()));
+        spotTileService.bumpSpots(List.of(oldSpotId, newSpot.getSpotId()));
 
         resolveSuggestion(suggestion, CodeConstants.SUGGESTION_STATUS_ACCEPTED);
 
@@ -342,18 +353,6 @@ public class LocationSuggestionService {
         return EARTH_RADIUS_METERS * 2 * Math.asin(Math.sqrt(a));
     }
 
-    private Spot findOrCreateSpot(BigDecimal latitude, BigDecimal longitude) {
-        List<Spot> nearbySpots = spotRepository.findSpotsWithin200m(latitude, longitude);
-        if (!nearbySpots.isEmpty()) {
-            return nearbySpots.get(0);
-        }
-        Spot newSpot = new Spot();
-        newSpot.setLatitude(latitude);
-        newSpot.setLongitude(longitude);
-        newSpot.setCreatedByUserId(0L);
-        return spotRepository.save(newSpot);
-    }
-
     private void sendNextPendingEmail(Long photoId) {
         List<LocationSuggestion> pending = locationSuggestionRepository
                 .findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
@@ -407,14 +406,9 @@ public class LocationSuggestionService {
         }
     }
 
-    /** プレーンテキストメールを送信する共通ヘルパー */
+    /** プレーンテキストメールを送信キューに登録する共通ヘルパー（コミット後に送信される） */
     private void sendPlainMessage(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(mailFrom);
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        mailOutboxService.enqueue(MAIL_TYPE, to, subject, body);
     }
 
     private String generateSecureToken() {
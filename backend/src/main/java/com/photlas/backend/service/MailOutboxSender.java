@@ -0,0 +1,308 @@
+package com.photlas.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.photlas.backend.config.RateLimitConfig;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.SendFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * メール送信キュー（mail_outbox）の専用送信スレッド（"photlas-mail-sender"）。
+ *
+ * <ul>
+ *   <li>送信時期が来たメールを batch-size 件ずつ取り出し、max-per-session 件ごとに 1 回の SMTP 接続でまとめて送る</li>
+ *   <li>宛先ドメインごとに 1 分あたり per-domain-per-minute 件まで（ノードごと）。超えた分は送れる時刻まで先送りする</li>
+ *   <li>一時的な失敗は指数バックオフ（retry-base × 2^(試行回数-1)、retry-max まで）で再送し、
+ *       max-attempts 回失敗したら諦める。存在しない宛先など恒久的な失敗は再送しない</li>
+ *   <li>キューが空の間は poll-interval ごとに確認する。このノードで登録されたメールは {@link #wakeUp()} で即座に送る</li>
+ * </ul>
+ * <p>送信を諦めたメールは [ALERT] 接頭辞付きの ERROR ログを出す（CloudWatch メトリックフィルタ対象）。</p>
+ */
+@Component
+public class MailOutboxSender implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxSender.class);
+
+    static final String METRIC_MESSAGES = "photlas.mail.outbox.messages";
+    static final String METRIC_DEPTH = "photlas.mail.outbox.depth";
+    static final String METRIC_LATENCY = "photlas.mail.outbox.latency";
+    static final String METRIC_SESSION = "photlas.mail.outbox.session";
+
+    static final String RESULT_SENT = "sent";
+    static final String RESULT_RETRY = "retry";
+    static final String RESULT_FAILED = "failed";
+    static final String RESULT_DEFERRED = "deferred";
+
+    /** 取り出したメールのリース（この間に送信結果を反映できなければ他のノードが再送する） */
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+
+    /** 送信待ち件数（メトリクス）の更新間隔 */
+    private static final long DEPTH_REFRESH_MILLIS = 5000;
+
+    /** ドメインごとのレート制限のバケットを保持する期間（最終利用から） */
+    private static final Duration DOMAIN_BUCKET_TTL = Duration.ofMinutes(10);
+
+    private final MailOutboxStore store;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final String mailFrom;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPerSession;
+    private final int perDomainPerMinute;
+    private final int maxAttempts;
+    private final Duration retryBase;
+    private final Duration retryMax;
+    private final long pollMillis;
+    private final Cache<String, Bucket> domainBuckets;
+    private final AtomicLong depth = new AtomicLong();
+    private final Object wakeUpLock = new Object();
+
+    private volatile boolean running;
+    private boolean wakeUpRequested;
+    private long lastDepthRefresh;
+    private Thread senderThread;
+
+    public MailOutboxSender(
+            MailOutboxStore store,
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.from:Photlas <noreply@photlas.jp>}") String mailFrom,
+            @Value("${photlas.mail.outbox.sender.enabled:true}") boolean enabled,
+            @Value("${photlas.mail.outbox.batch-size:100}") int batchSize,
+            @Value("${photlas.mail.outbox.max-per-session:50}") int maxPerSession,
+            @Value("${photlas.mail.outbox.per-domain-per-minute:60}") int perDomainPerMinute,
+            @Value("${photlas.mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${photlas.mail.outbox.retry-base:PT30S}") Duration retryBase,
+            @Value("${photlas.mail.outbox.retry-max:PT1H}") Duration retryMax,
+            @Value("${photlas.mail.outbox.poll-interval:PT5S}") Duration pollInterval) {
+        this.store = store;
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.mailFrom = mailFrom;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPerSession = maxPerSession;
+        this.perDomainPerMinute = perDomainPerMinute;
+        this.maxAttempts = maxAttempts;
+        this.retryBase = retryBase;
+        this.retryMax = retryMax;
+        this.pollMillis = Math.max(pollInterval.toMillis(), 1);
+        this.domainBuckets = Caffeine.newBuilder().expireAfterAccess(DOMAIN_BUCKET_TTL).build();
+        Gauge.builder(METRIC_DEPTH, depth, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * 送信スレッドを起こす（このノードでメールが登録されコミットされたとき）。
+     */
+    public void wakeUp() {
+        synchronized (wakeUpLock) {
+            wakeUpRequested = true;
+            wakeUpLock.notifyAll();
+        }
+    }
+
+    /**
+     * 送信時期が来たメールを 1 バッチ分送る。
+     *
+     * @return 取り出した件数
+     */
+    int drainOnce() {
+        List<MailOutboxStore.OutboxMail> batch = store.claim(batchSize, CLAIM_LEASE);
+        long claimedAt = System.nanoTime();
+
+        List<MailOutboxStore.OutboxMail> allowed = new ArrayList<>(batch.size());
+        for (MailOutboxStore.OutboxMail mail : batch) {
+            ConsumptionProbe probe = domainBuckets
+                    .get(mail.recipientDomain(), domain -> RateLimitConfig.createBucket(perDomainPerMinute))
+                    .tryConsumeAndReturnRemaining(1);
+            if (probe.isConsumed()) {
+                allowed.add(mail);
+            } else {
+                store.reschedule(mail.id(), Duration.ofNanos(probe.getNanosToWaitForRefill()), false, null);
+                count(mail, RESULT_DEFERRED);
+            }
+        }
+
+        for (int from = 0; from < allowed.size(); from += maxPerSession) {
+            sendSession(allowed.subList(from, Math.min(from + maxPerSession, allowed.size())), claimedAt);
+        }
+        refreshDepth(!batch.isEmpty());
+        return batch.size();
+    }
+
+    /** 1 回の SMTP 接続でまとめて送り、メールごとの結果を反映する */
+    private void sendSession(List<MailOutboxStore.OutboxMail> mails, long claimedAt) {
+        Map<SimpleMailMessage, MailOutboxStore.OutboxMail> byMessage = new IdentityHashMap<>();
+        for (MailOutboxStore.OutboxMail mail : mails) {
+            byMessage.put(toMessage(mail), mail);
+        }
+        Map<Object, Exception> failures = Map.of();
+        Timer.Sample session = Timer.start(meterRegistry);
+        try {
+            mailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages().isEmpty() ? allFailed(byMessage, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            failures = allFailed(byMessage, e);
+        }
+        // outcome: 全件送信 success / 一部失敗 partial / 全件失敗（接続失敗等）error
+        String outcome = failures.isEmpty() ? "success" : failures.size() < byMessage.size() ? "partial" : "error";
+        session.stop(meterRegistry.timer(METRIC_SESSION, "outcome", outcome));
+
+        List<Long> sentIds = new ArrayList<>(mails.size());
+        Duration sinceClaim = Duration.ofNanos(System.nanoTime() - claimedAt);
+        for (Map.Entry<SimpleMailMessage, MailOutboxStore.OutboxMail> entry : byMessage.entrySet()) {
+            MailOutboxStore.OutboxMail mail = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sentIds.add(mail.id());
+                count(mail, RESULT_SENT);
+                meterRegistry.timer(METRIC_LATENCY, "type", mail.mailType()).record(mail.queued().plus(sinceClaim));
+            } else {
+                handleFailure(mail, failure);
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            store.markSent(sentIds);
+        }
+    }
+
+    private void handleFailure(MailOutboxStore.OutboxMail mail, Exception failure) {
+        int attempts = mail.attempts() + 1;
+        String error = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        if (isPermanent(failure) || attempts >= maxAttempts) {
+            store.markFailed(mail.id(), error);
+            count(mail, RESULT_FAILED);
+            // PII 配慮: email アドレス本体はログに残さず outbox の ID と種類のみ記録
+            logger.error("[ALERT] {} email send failed: outboxId={}, attempts={}, error={}",
+                    mail.mailType(), mail.id(), attempts, failure.getMessage(), failure);
+            return;
+        }
+        store.reschedule(mail.id(), backoff(attempts), true, error);
+        count(mail, RESULT_RETRY);
+        logger.warn("メール送信に失敗したため再送します: type={}, outboxId={}, attempts={}, error={}",
+                mail.mailType(), mail.id(), attempts, failure.getMessage());
+    }
+
+    /** attempts 回目の失敗後の待ち時間 */
+    Duration backoff(int attempts) {
+        Duration delay = retryBase.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(retryMax) > 0 ? retryMax : delay;
+    }
+
+    /** 宛先が存在しないなど、再送しても成功しない失敗か */
+    static boolean isPermanent(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof SendFailedException sendFailed
+                    && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SimpleMailMessage toMessage(MailOutboxStore.OutboxMail mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(mailFrom);
+        message.setTo(mail.recipient());
+        message.setSubject(mail.subject());
+        message.setText(mail.body());
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<SimpleMailMessage, ?> byMessage, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        byMessage.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private void count(MailOutboxStore.OutboxMail mail, String result) {
+        meterRegistry.counter(METRIC_MESSAGES, "type", mail.mailType(), "result", result).increment();
+    }
+
+    private void refreshDepth(boolean force) {
+        long now = System.currentTimeMillis();
+        if (force || now - lastDepthRefresh >= DEPTH_REFRESH_MILLIS) {
+            depth.set(store.countPending());
+            lastDepthRefresh = now;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        senderThread = new Thread(this::sendLoop, "photlas-mail-sender");
+        senderThread.setDaemon(true);
+        senderThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (senderThread != null) {
+            senderThread.interrupt();
+            senderThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void sendLoop() {
+        while (running) {
+            int claimed;
+            try {
+                claimed = drainOnce();
+            } catch (RuntimeException e) {
+                logger.warn("メール送信キューの処理でエラーが発生しました", e);
+                claimed = 0;
+            }
+            // 満杯のバッチを取り出せた場合は続けて送る
+            if (claimed < batchSize && !awaitWakeUp()) {
+                break;
+            }
+        }
+    }
+
+    /** wakeUp() または poll-interval まで待つ。割り込まれたら false */
+    private boolean awaitWakeUp() {
+        synchronized (wakeUpLock) {
+            try {
+                if (!wakeUpRequested) {
+                    wakeUpLock.wait(pollMillis);
+                }
+                wakeUpRequested = false;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
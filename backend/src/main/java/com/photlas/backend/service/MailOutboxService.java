@@ -0,0 +1,81 @@
+package com.photlas.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * メールの送信依頼をメール送信キュー（mail_outbox）に登録する。
+ *
+ * <ul>
+ *   <li>登録は呼び出し元のトランザクションに参加し、送信はコミット後に {@link MailOutboxSender} が行う
+ *       （ロールバックされた業務処理のメールは送らない。SMTP の遅延・障害で業務処理を止めない）</li>
+ *   <li>登録に失敗した場合は例外をそのままスローする（送信自体の失敗は送信スレッドが再送・[ALERT] ログで扱う）</li>
+ *   <li>送信済み・送信失敗の行は retention を過ぎたら毎日削除する</li>
+ * </ul>
+ */
+@Service
+public class MailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxService.class);
+    private static final String CLEANUP_JOB_NAME = "mail_outbox_cleanup";
+
+    private final MailOutboxStore store;
+    private final MailOutboxSender sender;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final Duration retention;
+
+    public MailOutboxService(
+            MailOutboxStore store,
+            MailOutboxSender sender,
+            ScheduledJobRunner scheduledJobRunner,
+            @Value("${photlas.mail.outbox.retention:P7D}") Duration retention) {
+        this.store = store;
+        this.sender = sender;
+        this.scheduledJobRunner = scheduledJobRunner;
+        this.retention = retention;
+    }
+
+    /**
+     * メールを送信キューに登録する。トランザクション中の場合はコミット後に送信スレッドを起こす。
+     *
+     * @param mailType 種類（メトリクス・ログ用。例: account, moderationWarning）
+     * @param to       宛先メールアドレス
+     * @param subject  件名
+     * @param body     本文
+     */
+    public void enqueue(String mailType, String to, String subject, String body) {
+        store.insert(mailType, to, subject, body);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sender.wakeUp();
+                }
+            });
+        } else {
+            sender.wakeUp();
+        }
+    }
+
+    /**
+     * 送信済み・送信失敗の行を削除する
+     * 毎日午前4時45分（JST）= UTC 19:45 に実行
+     * 複数ノードのうち分散ロックを取得した 1 ノードだけが実行する。
+     */
+    @Scheduled(cron = "0 45 19 * * *")
+    public void cleanupFinished() {
+        scheduledJobRunner.run(CLEANUP_JOB_NAME, () -> {
+            long deleted = store.deleteFinishedBefore(LocalDateTime.now().minus(retention));
+            logger.info("メール送信キューのクリーンアップを実行しました: {}件", deleted);
+            return deleted;
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.photlas.backend.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * メール送信キュー（mail_outbox）の永続化（{@link MailOutboxService} / {@link MailOutboxSender} 用）。
+ *
+ * <p>登録は呼び出し元のトランザクションに参加する（業務処理がロールバックされたらメールも送らない）。
+ * 取り出し・結果の反映は送信スレッドから自動コミットで実行する。時刻の比較は DB の clock_timestamp() で行う。</p>
+ */
+@Service
+public class MailOutboxStore {
+
+    static final String STATUS_PENDING = "PENDING";
+    static final String STATUS_SENT = "SENT";
+    static final String STATUS_FAILED = "FAILED";
+
+    /** last_error の最大長（カラム長） */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO mail_outbox (mail_type, recipient, recipient_domain, subject, body, status, "
+                    + "attempts, next_attempt_at, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, '" + STATUS_PENDING + "', 0, clock_timestamp(), clock_timestamp())";
+
+    private static final String CLAIM_SQL =
+            "UPDATE mail_outbox SET locked_until = clock_timestamp() + make_interval(secs => ?) "
+                    + "WHERE id IN (SELECT id FROM mail_outbox "
+                    + "WHERE status = '" + STATUS_PENDING + "' AND next_attempt_at <= clock_timestamp() "
+                    + "AND (locked_until IS NULL OR locked_until < clock_timestamp()) "
+                    + "ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING id, mail_type, recipient, recipient_domain, subject, body, attempts, "
+                    + "EXTRACT(EPOCH FROM clock_timestamp() - created_at) AS age_seconds";
+
+    private static final String MARK_SENT_SQL =
+            "UPDATE mail_outbox SET status = '" + STATUS_SENT + "', finished_at = clock_timestamp(), "
+                    + "locked_until = NULL, attempts = attempts + 1 WHERE id = ?";
+
+    private static final String RESCHEDULE_SQL =
+            "UPDATE mail_outbox SET next_attempt_at = clock_timestamp() + make_interval(secs => ?), "
+                    + "locked_until = NULL, attempts = attempts + ?, last_error = COALESCE(?, last_error) WHERE id = ?";
+
+    private static final String MARK_FAILED_SQL =
+            "UPDATE mail_outbox SET status = '" + STATUS_FAILED + "', finished_at = clock_timestamp(), "
+                    + "locked_until = NULL, attempts = attempts + 1, last_error = ? WHERE id = ?";
+
+    private static final String COUNT_PENDING_SQL =
+            "SELECT count(*) FROM mail_outbox WHERE status = '" + STATUS_PENDING + "'";
+
+    private static final String DELETE_FINISHED_SQL =
+            "DELETE FROM mail_outbox WHERE status <> '" + STATUS_PENDING + "' AND finished_at < ?";
+
+    /**
+     * 取り出したメール
+     *
+     * @param id              キューの ID
+     * @param mailType        種類（メトリクス・ログ用）
+     * @param recipient       宛先
+     * @param recipientDomain 宛先のドメイン（小文字）
+     * @param subject         件名
+     * @param body            本文
+     * @param attempts        これまでの送信試行回数
+     * @param queued          登録から取り出しまでの待ち時間
+     */
+    public record OutboxMail(long id, String mailType, String recipient, String recipientDomain,
+                             String subject, String body, int attempts, Duration queued) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MailOutboxStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * メールを登録する（呼び出し元のトランザクションがあれば参加する）。
+     */
+    public void insert(String mailType, String recipient, String subject, String body) {
+        jdbcTemplate.update(INSERT_SQL, mailType, recipient, domainOf(recipient), subject, body);
+    }
+
+    /**
+     * 送信時期が来たメールを最大 limit 件取り出し、lease の間は他の送信スレッドから見えなくする。
+     */
+    public List<OutboxMail> claim(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxMail(
+                rs.getLong("id"),
+                rs.getString("mail_type"),
+                rs.getString("recipient"),
+                rs.getString("recipient_domain"),
+                rs.getString("subject"),
+                rs.getString("body"),
+                rs.getInt("attempts"),
+                Duration.ofMillis(Math.round(rs.getDouble("age_seconds") * 1000))), seconds(lease), limit);
+    }
+
+    /** 送信済みにする */
+    public void markSent(Collection<Long> ids) {
+        jdbcTemplate.batchUpdate(MARK_SENT_SQL, ids.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    /**
+     * delay 後に再送する。
+     *
+     * @param countAttempt 試行回数に数えるか（送信失敗は true、宛先ドメインのレート制限による先送りは false）
+     * @param error        失敗理由（先送りの場合は null）
+     */
+    public void reschedule(long id, Duration delay, boolean countAttempt, String error) {
+        jdbcTemplate.update(RESCHEDULE_SQL, seconds(delay), countAttempt ? 1 : 0, truncate(error), id);
+    }
+
+    /** 送信を諦める */
+    public void markFailed(long id, String error) {
+        jdbcTemplate.update(MARK_FAILED_SQL, truncate(error), id);
+    }
+
+    /** 送信待ちの件数 */
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 指定日時より前に送信済み・送信失敗になった行を削除する。
+     *
+     * @return 削除件数
+     */
+    public long deleteFinishedBefore(LocalDateTime threshold) {
+        return jdbcTemplate.update(DELETE_FINISHED_SQL, Timestamp.valueOf(threshold));
+    }
+
+    static String domainOf(String recipient) {
+        int at = recipient.lastIndexOf('@');
+        return (at < 0 ? "" : recipient.substring(at + 1)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
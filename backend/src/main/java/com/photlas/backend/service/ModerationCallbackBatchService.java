@@ -0,0 +1,124 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.Photo;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * モデレーションのバッチコールバック処理。
+ *
+ * <p>一括再スキャン時にスキャナーがまとめて送る結果を、{@link ModerationCallbackBatchStore} で
+ * 1 トランザクションに適用する。隔離した写真の S3 移動（quarantined/ への移動）とユーザーへの通知は、
+ * コミット後に専用 Executor へ写真ごとに投入し、リクエストを待たせない。</p>
+ */
+@Service
+public class ModerationCallbackBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModerationCallbackBatchService.class);
+
+    static final String METRIC_ITEMS = "photlas.moderation.callback.items";
+    static final String METRIC_QUARANTINE_FAILED = "photlas.moderation.quarantine.failed";
+
+    private static final String RECEIPT_CLEANUP_JOB_NAME = "moderation_callback_receipts";
+
+    private final ModerationCallbackBatchStore store;
+    private final PhotoRepository photoRepository;
+    private final UserRepository userRepository;
+    private final QuarantineService quarantineService;
+    private final ModerationNotificationService notificationService;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final Executor quarantineExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Duration receiptRetention;
+
+    public ModerationCallbackBatchService(
+            ModerationCallbackBatchStore store,
+            PhotoRepository photoRepository,
+            UserRepository userRepository,
+            QuarantineService quarantineService,
+            ModerationNotificationService notificationService,
+            ScheduledJobRunner scheduledJobRunner,
+            @Qualifier("moderationQuarantineExecutor") Executor quarantineExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${photlas.moderation.callback.receipt-retention:P7D}") Duration receiptRetention) {
+        this.store = store;
+        this.photoRepository = photoRepository;
+        this.userRepository = userRepository;
+        this.quarantineService = quarantineService;
+        this.notificationService = notificationService;
+        this.scheduledJobRunner = scheduledJobRunner;
+        this.quarantineExecutor = quarantineExecutor;
+        this.meterRegistry = meterRegistry;
+        this.receiptRetention = receiptRetention;
+    }
+
+    /**
+     * スキャン結果を適用し、隔離した写真の S3 移動・通知を非同期に開始する。
+     *
+     * @param results スキャン結果（ステータスは数値コードに変換済み）
+     * @return 適用結果（リクエストと同じ順序の処理内容）
+     */
+    public ModerationCallbackBatchStore.Applied process(List<ModerationCallbackBatchStore.ScanResult> results) {
+        ModerationCallbackBatchStore.Applied applied = store.apply(results);
+
+        for (ModerationCallbackBatchStore.Outcome outcome : applied.outcomes()) {
+            meterRegistry.counter(METRIC_ITEMS, "outcome", outcome.name().toLowerCase(Locale.ROOT)).increment();
+        }
+        for (Long photoId : applied.quarantinedPhotoIds()) {
+            quarantineExecutor.execute(() -> quarantine(photoId));
+        }
+
+        logger.info("モデレーションバッチコールバック処理完了: 件数={}, 隔離={}件",
+                results.size(), applied.quarantinedPhotoIds().size());
+        return applied;
+    }
+
+    /**
+     * 写真を隔離し、投稿者へ通知する。
+     *
+     * <p>投入から実行までの間に後続の結果でステータスが変わった場合や、既に隔離済みの場合は何もしない。
+     * S3 移動に失敗した写真は QUARANTINED のまま元のキーに残る（非公開のため表示はされない）。</p>
+     */
+    void quarantine(Long photoId) {
+        try {
+            Photo photo = photoRepository.findById(photoId).orElse(null);
+            if (photo == null
+                    || !Integer.valueOf(CodeConstants.MODERATION_STATUS_QUARANTINED).equals(photo.getModerationStatus())
+                    || quarantineService.isQuarantined(photo.getS3ObjectKey())) {
+                return;
+            }
+            quarantineService.quarantinePhoto(photo);
+            userRepository.findById(photo.getUserId()).ifPresent(user ->
+                    notificationService.sendQuarantineNotification(
+                            user.getEmail(), user.getUsername(), photo.getCreatedAt(), user.getLanguage()));
+        } catch (RuntimeException e) {
+            meterRegistry.counter(METRIC_QUARANTINE_FAILED).increment();
+            logger.error("写真の隔離に失敗しました: photoId={}", photoId, e);
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた idempotency_key の記録を削除する
+     * 毎日午前4時30分（JST）= UTC 19:30 に実行
+     * 複数ノードのうち分散ロックを取得した 1 ノードだけが実行する。
+     */
+    @Scheduled(cron = "0 30 19 * * *")
+    public void cleanupReceipts() {
+        scheduledJobRunner.run(RECEIPT_CLEANUP_JOB_NAME,
+                () -> store.deleteReceiptsBefore(LocalDateTime.now().minus(receiptRetention)));
+    }
+}
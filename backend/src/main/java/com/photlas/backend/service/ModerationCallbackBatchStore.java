@@ -0,0 +1,227 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * モデレーションのバッチコールバックの DB 側の処理（{@link ModerationCallbackBatchService} から呼ぶ）。
+ *
+ * <p>1 バッチ分のスキャン結果を 1 トランザクションで適用する。</p>
+ * <ul>
+ *   <li>S3 キー → 写真ID / ユーザーID の解決は種別ごとに 1 クエリ</li>
+ *   <li>idempotency_key は moderation_callback_receipts への 1 回の INSERT ... ON CONFLICT DO NOTHING で確保し、
+ *       確保できなかったキーの結果は再送としてスキップする（適用と同じトランザクションなので、失敗時は確保も戻る）</li>
+ *   <li>ステータス更新・プロフィール画像のリセット・moderation_details の挿入は JDBC バッチで発行する</li>
+ *   <li>写真のステータス変更は {@link ModerationStatusPublisher} でまとめて通知する（コミット時に配信）</li>
+ * </ul>
+ * <p>隔離時の S3 移動とメール通知は行わない。隔離した写真IDを返し、呼び出し元がコミット後に非同期で行う。</p>
+ */
+@Service
+public class ModerationCallbackBatchStore {
+
+    private static final String PROFILE_IMAGE_PREFIX = "profile-images/";
+
+    private static final String CLAIM_RECEIPTS_SQL =
+            "INSERT INTO moderation_callback_receipts (idempotency_key, received_at) "
+                    + "SELECT k, ? FROM unnest(?) AS k "
+                    + "ON CONFLICT (idempotency_key) DO NOTHING RETURNING idempotency_key";
+
+    private static final String UPDATE_PHOTO_STATUS_SQL =
+            "UPDATE photos SET moderation_status = ?, updated_at = ? WHERE photo_id = ?";
+
+    /** 判定時点と同じ画像のままの場合だけリセットする（その間に差し替えられた画像は消さない） */
+    private static final String RESET_PROFILE_IMAGE_SQL =
+            "UPDATE users SET profile_image_s3_key = NULL, updated_at = ? WHERE id = ? AND profile_image_s3_key = ?";
+
+    private static final String INSERT_DETAIL_SQL =
+            "INSERT INTO moderation_details "
+                    + "(target_type, target_id, source, ai_confidence_score, is_csam_flagged, quarantined_at, detected_labels) "
+                    + "VALUES (?, ?, ?, ?, FALSE, ?, ?)";
+
+    private static final String DELETE_RECEIPTS_SQL =
+            "DELETE FROM moderation_callback_receipts WHERE received_at < ?";
+
+    /**
+     * 1 件のスキャン結果。
+     *
+     * @param s3ObjectKey     写真またはプロフィール画像の S3 キー
+     * @param status          モデレーションステータス（数値コードに変換済み）
+     * @param confidenceScore AI の確信度
+     * @param detectedLabels  検出ラベル
+     * @param idempotencyKey  再送検知用のキー（null の場合は常に適用）
+     */
+    public record ScanResult(String s3ObjectKey, Integer status, Double confidenceScore,
+                             List<String> detectedLabels, String idempotencyKey) {}
+
+    /** 各結果の処理内容 */
+    public enum Outcome { UPDATED, DUPLICATE, NOT_FOUND }
+
+    /**
+     * バッチの適用結果。
+     *
+     * @param outcomes            リクエストと同じ順序の処理内容
+     * @param quarantinedPhotoIds QUARANTINED に更新した写真ID（S3 移動・通知は呼び出し元が行う）
+     */
+    public record Applied(List<Outcome> outcomes, List<Long> quarantinedPhotoIds) {}
+
+    private final PhotoRepository photoRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ModerationStatusPublisher moderationStatusPublisher;
+
+    public ModerationCallbackBatchStore(PhotoRepository photoRepository,
+                                        UserRepository userRepository,
+                                        JdbcTemplate jdbcTemplate,
+                                        ModerationStatusPublisher moderationStatusPublisher) {
+        this.photoRepository = photoRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.moderationStatusPublisher = moderationStatusPublisher;
+    }
+
+    /**
+     * スキャン結果を適用する。同じ S3 キーの結果が複数ある場合はリクエスト順に適用する（最後の結果が残る）。
+     */
+    @Transactional
+    public Applied apply(List<ScanResult> results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        Set<String> photoKeys = new HashSet<>();
+        Set<String> profileKeys = new HashSet<>();
+        for (ScanResult result : results) {
+            (isProfileImage(result) ? profileKeys : photoKeys).add(result.s3ObjectKey());
+        }
+        Map<String, Object[]> photos = new HashMap<>();
+        if (!photoKeys.isEmpty()) {
+            for (Object[] row : photoRepository.findIdsByS3ObjectKeyIn(photoKeys)) {
+                photos.put((String) row[0], row);
+            }
+        }
+        Map<String, Long> photoIds = new HashMap<>(photos.size() * 2);
+        photos.forEach((key, row) -> photoIds.put(key, (Long) row[1]));
+        Map<String, Long> profileOwnerIds = profileKeys.isEmpty()
+                ? Map.of() : toKeyMap(userRepository.findIdsByProfileImageS3KeyIn(profileKeys));
+
+        Set<String> idempotencyKeys = new HashSet<>();
+        for (ScanResult result : results) {
+            if (result.idempotencyKey() != null && targetIdOf(result, photoIds, profileOwnerIds) != null) {
+                idempotencyKeys.add(result.idempotencyKey());
+            }
+        }
+        // 確保できたキー。バッチ内で同じキーが 2 回目に現れたら取り除いて重複扱いにする
+        Set<String> claimedKeys = claimReceipts(idempotencyKeys, now);
+
+        List<Outcome> outcomes = new ArrayList<>(results.size());
+        List<Object[]> statusUpdates = new ArrayList<>();
+        List<Object[]> profileResets = new ArrayList<>();
+        List<Object[]> details = new ArrayList<>();
+        List<ModerationStatusPublisher.StatusChange> statusChanges = new ArrayList<>();
+        Set<Long> quarantinedPhotoIds = new LinkedHashSet<>();
+        for (ScanResult result : results) {
+            Long targetId = targetIdOf(result, photoIds, profileOwnerIds);
+            if (targetId == null) {
+                outcomes.add(Outcome.NOT_FOUND);
+                continue;
+            }
+            if (result.idempotencyKey() != null && !claimedKeys.remove(result.idempotencyKey())) {
+                outcomes.add(Outcome.DUPLICATE);
+                continue;
+            }
+
+            boolean quarantined = Integer.valueOf(CodeConstants.MODERATION_STATUS_QUARANTINED).equals(result.status());
+            int targetType;
+            if (isProfileImage(result)) {
+                targetType = CodeConstants.TARGET_TYPE_PROFILE;
+                if (quarantined) {
+                    profileResets.add(new Object[]{now, targetId, result.s3ObjectKey()});
+                }
+            } else {
+                targetType = CodeConstants.TARGET_TYPE_PHOTO;
+                statusUpdates.add(new Object[]{result.status(), now, targetId});
+                statusChanges.add(new ModerationStatusPublisher.StatusChange(
+                        (Long) photos.get(result.s3ObjectKey())[2], targetId, result.status()));
+                if (quarantined) {
+                    quarantinedPhotoIds.add(targetId);
+                }
+            }
+            details.add(new Object[]{
+                    targetType, targetId, CodeConstants.MODERATION_SOURCE_AI_SCAN, result.confidenceScore(),
+                    quarantined ? now : null, joinLabels(result.detectedLabels())});
+            outcomes.add(Outcome.UPDATED);
+        }
+
+        if (!statusUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PHOTO_STATUS_SQL, statusUpdates);
+        }
+        if (!profileResets.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESET_PROFILE_IMAGE_SQL, profileResets);
+        }
+        if (!details.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DETAIL_SQL, details);
+        }
+        if (!statusChanges.isEmpty()) {
+            // コミット時に投稿者の SSE 接続へ届く
+            moderationStatusPublisher.publishAll(statusChanges);
+        }
+        return new Applied(outcomes, List.copyOf(quarantinedPhotoIds));
+    }
+
+    /**
+     * 指定日時より前に受信した idempotency_key の記録を削除する。
+     *
+     * @return 削除件数
+     */
+    @Transactional
+    public long deleteReceiptsBefore(LocalDateTime threshold) {
+        return jdbcTemplate.update(DELETE_RECEIPTS_SQL, Timestamp.valueOf(threshold));
+    }
+
+    private Set<String> claimReceipts(Collection<String> idempotencyKeys, Timestamp now) {
+        if (idempotencyKeys.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> claimed = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CLAIM_RECEIPTS_SQL);
+            ps.setTimestamp(1, now);
+            ps.setArray(2, connection.createArrayOf("varchar", idempotencyKeys.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(claimed);
+    }
+
+    private static Long targetIdOf(ScanResult result, Map<String, Long> photoIds, Map<String, Long> profileOwnerIds) {
+        return (isProfileImage(result) ? profileOwnerIds : photoIds).get(result.s3ObjectKey());
+    }
+
+    private static boolean isProfileImage(ScanResult result) {
+        return result.s3ObjectKey().startsWith(PROFILE_IMAGE_PREFIX);
+    }
+
+    private static Map<String, Long> toKeyMap(List<Object[]> rows) {
+        Map<String, Long> map = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            map.put((String) row[0], (Long) row[1]);
+        }
+        return map;
+    }
+
+    private static String joinLabels(List<String> detectedLabels) {
+        return detectedLabels == null || detectedLabels.isEmpty() ? null : String.join(",", detectedLabels);
+    }
+}
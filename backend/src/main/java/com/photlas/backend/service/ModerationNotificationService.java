@@ -2,10 +2,6 @@ package com.photlas.backend.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -23,8 +19,9 @@ import java.util.Locale;
  *
  * <p>本サービスのメールはすべてグループ B (§4.5):
  * <ul>
- *   <li>{@code @Async} のまま維持（管理者操作・Lambda コールバックを止めない）</li>
- *   <li>失敗時は {@code [ALERT]} 接頭辞付きの ERROR ログを出力（CloudWatch メトリックフィルタ対象）</li>
+ *   <li>送信キュー（{@link MailOutboxService}）に登録するだけで戻る（管理者操作・Lambda コールバックを止めない）。
+ *       SMTP 送信は {@link MailOutboxSender} が再送込みで行う</li>
+ *   <li>登録・送信の失敗時は {@code [ALERT]} 接頭辞付きの ERROR ログを出力（CloudWatch メトリックフィルタ対象）</li>
  *   <li>業務処理（モデレーション処分）は完了扱い（DB の処分はロールバックしない）</li>
  * </ul>
  */
@@ -34,22 +31,18 @@ public class ModerationNotificationService {
     private static final Logger logger = LoggerFactory.getLogger(ModerationNotificationService.class);
     private static final String DEFAULT_LANGUAGE = "ja";
 
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
     private final EmailTemplateService emailTemplateService;
 
-    @Value("${app.mail.from:Photlas <noreply@photlas.jp>}")
-    private String mailFrom;
-
-    public ModerationNotificationService(JavaMailSender mailSender,
+    public ModerationNotificationService(MailOutboxService mailOutboxService,
                                          EmailTemplateService emailTemplateService) {
-        this.mailSender = mailSender;
+        this.mailOutboxService = mailOutboxService;
         this.emailTemplateService = emailTemplateService;
     }
 
     /**
      * 写真が隔離された場合の通知
      */
-    @Async
     public void sendQuarantineNotification(String email, String username,
                                             LocalDateTime createdAt, String language) {
         String dateStr = formatCreatedAt(createdAt, language);
@@ -61,7 +54,6 @@ public class ModerationNotificationService {
     /**
      * 後方互換性のためのオーバーロード
      */
-    @Async
     public void sendQuarantineNotification(String email, String username, LocalDateTime createdAt) {
         sendQuarantineNotification(email, username, createdAt, DEFAULT_LANGUAGE);
     }
@@ -69,7 +61,6 @@ public class ModerationNotificationService {
     /**
      * 警告通知（1回目の違反）
      */
-    @Async
     public void sendWarningNotification(String email, String username, String reason, String language) {
         String subject = emailTemplateService.subject("email.moderationWarning", language);
         String body = emailTemplateService.body("email.moderationWarning", language, username, reason);
@@ -79,7 +70,6 @@ public class ModerationNotificationService {
     /**
      * 後方互換性のためのオーバーロード
      */
-    @Async
     public void sendWarningNotification(String email, String username, String reason) {
         sendWarningNotification(email, username, reason, DEFAULT_LANGUAGE);
     }
@@ -87,7 +77,6 @@ public class ModerationNotificationService {
     /**
      * 一時停止通知（2回目の違反）
      */
-    @Async
     public void sendTemporarySuspensionNotification(
             String email, String username, String reason, LocalDate suspendedUntil, String language) {
         String subject = emailTemplateService.subject("email.moderationSuspension", language);
@@ -99,7 +88,6 @@ public class ModerationNotificationService {
     /**
      * 後方互換性のためのオーバーロード
      */
-    @Async
     public void sendTemporarySuspensionNotification(
             String email, String username, String reason, LocalDate suspendedUntil) {
         sendTemporarySuspensionNotification(email, username, reason, suspendedUntil, DEFAULT_LANGUAGE);
@@ -108,7 +96,6 @@ public class ModerationNotificationService {
     /**
      * 永久停止通知（3回目以降の違反）
      */
-    @Async
     public void sendPermanentSuspensionNotification(String email, String username, String reason, String language) {
         String subject = emailTemplateService.subject("email.moderationPermanentBan", language);
         String body = emailTemplateService.body("email.moderationPermanentBan", language, username, reason);
@@ -118,7 +105,6 @@ public class ModerationNotificationService {
     /**
      * 後方互換性のためのオーバーロード
      */
-    @Async
     public void sendPermanentSuspensionNotification(String email, String username, String reason) {
         sendPermanentSuspensionNotification(email, username, reason, DEFAULT_LANGUAGE);
     }
@@ -140,17 +126,12 @@ public class ModerationNotificationService {
     }
 
     /**
-     * メールを送信する（グループ B: 失敗時 [ALERT] ERROR ログのみ、@Async のまま維持）
+     * メールを送信キューに登録する（グループ B: 失敗時 [ALERT] ERROR ログのみ）
      */
     private void sendEmail(String to, String subject, String body, String emailType) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(mailFrom);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-            logger.info("モデレーション通知メール送信完了: type={} to={}", emailType, to);
+            mailOutboxService.enqueue(emailType, to, subject, body);
+            logger.info("モデレーション通知メール登録完了: type={} to={}", emailType, to);
         } catch (Exception e) {
             // Issue#113 §4.5 B-1: [ALERT] 接頭辞 + 構造化フィールドで監視可能にする。
             // PII 配慮: email アドレス本体はログに残さず emailType のみ記録。
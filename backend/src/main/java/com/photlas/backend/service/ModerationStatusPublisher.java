@@ -0,0 +1,89 @@
+package com.photlas.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 写真のモデレーションステータス変更を、投稿者の SSE 接続へ全ノード経由で届ける。
+ *
+ * <p>変更は {@link PostgresNotificationBus} で全ノードに通知し、各ノードは自ノードに接続中の購読
+ * （{@link ModerationStatusStreamRegistry}）へ送る。@Transactional の中で呼べば、コミットされた変更だけが届く。</p>
+ * <p>ステータス変更は公開状態の変更でもあるため、{@link CacheInvalidationBus} へも同時に発行する。</p>
+ */
+@Service
+public class ModerationStatusPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModerationStatusPublisher.class);
+
+    static final String CHANNEL = "photlas_moderation_status";
+
+    /**
+     * ステータス変更
+     *
+     * @param userId           投稿者のユーザーID
+     * @param photoId          写真ID
+     * @param moderationStatus 変更後のステータス
+     */
+    public record StatusChange(Long userId, Long photoId, Integer moderationStatus) {}
+
+    private final PostgresNotificationBus notificationBus;
+    private final ModerationStatusStreamRegistry registry;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public ModerationStatusPublisher(PostgresNotificationBus notificationBus,
+                                     ModerationStatusStreamRegistry registry,
+                                     CacheInvalidationBus cacheInvalidationBus) {
+        this.notificationBus = notificationBus;
+        this.registry = registry;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        notificationBus.subscribe(CHANNEL, this::onNotification);
+    }
+
+    /**
+     * 1 件のステータス変更を通知する。
+     */
+    public void publish(Long userId, Long photoId, Integer moderationStatus) {
+        notificationBus.publish(CHANNEL, encode(new StatusChange(userId, photoId, moderationStatus)));
+        cacheInvalidationBus.publishPhotoStatus(photoId, moderationStatus);
+    }
+
+    /**
+     * 複数のステータス変更を 1 回の往復で通知する。
+     */
+    public void publishAll(Collection<StatusChange> changes) {
+        notificationBus.publishAll(CHANNEL, changes.stream().map(ModerationStatusPublisher::encode).toList());
+        cacheInvalidationBus.publishAll(changes.stream()
+                .map(change -> CacheInvalidationBus.photoStatusEvent(change.photoId(), change.moderationStatus()))
+                .toList());
+    }
+
+    void onNotification(String payload) {
+        StatusChange change = decode(payload);
+        if (change == null) {
+            logger.warn("不正なモデレーションステータス通知を無視します: payload={}", payload);
+            return;
+        }
+        registry.deliver(change.userId(), change.photoId(), change.moderationStatus());
+    }
+
+    /** ペイロード形式: userId:photoId:moderationStatus */
+    static String encode(StatusChange change) {
+        return change.userId() + ":" + change.photoId() + ":" + change.moderationStatus();
+    }
+
+    static StatusChange decode(String payload) {
+        List<String> parts = payload == null ? List.of() : List.of(payload.split(":"));
+        if (parts.size() != 3) {
+            return null;
+        }
+        try {
+            return new StatusChange(Long.valueOf(parts.get(0)), Long.valueOf(parts.get(1)), Integer.valueOf(parts.get(2)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.photlas.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * モデレーションステータスの SSE 購読（このノードに接続中のもの）をユーザーごとに保持する。
+ *
+ * <ul>
+ *   <li>1 ユーザーの同時接続数は max-per-user まで。超えた場合は最も古い接続を閉じる</li>
+ *   <li>接続は timeout で閉じる（クライアントは再接続する）。中継プロキシに切られないよう定期的にコメント行を送る</li>
+ *   <li>送信に失敗した接続（切断済み）はその場で取り除く</li>
+ * </ul>
+ */
+@Component
+public class ModerationStatusStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModerationStatusStreamRegistry.class);
+
+    static final String EVENT_NAME = "moderation-status";
+    static final String METRIC_CONNECTIONS = "photlas.moderation.stream.connections";
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final int maxPerUser;
+
+    public ModerationStatusStreamRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${photlas.moderation.stream.timeout:PT5M}") Duration timeout,
+            @Value("${photlas.moderation.stream.max-per-user:5}") int maxPerUser) {
+        this.timeoutMillis = timeout.toMillis();
+        this.maxPerUser = maxPerUser;
+        Gauge.builder(METRIC_CONNECTIONS, this, ModerationStatusStreamRegistry::connectionCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * ユーザーの購読を開始する。
+     *
+     * @param userId ユーザーID
+     * @return レスポンスとして返す SseEmitter
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        List<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        userEmitters.add(emitter);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        while (userEmitters.size() > maxPerUser) {
+            SseEmitter oldest = userEmitters.remove(0);
+            oldest.complete();
+        }
+
+        // ヘッダーを即座に返し、クライアントが購読開始を検知できるようにする
+        send(userId, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * このノードに接続中のユーザーへステータス変更を送る（接続がなければ何もしない）。
+     */
+    public void deliver(Long userId, Long photoId, Integer moderationStatus) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            send(userId, emitter, SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(Map.of(
+                            "photo_id", photoId.toString(),
+                            "moderation_status", moderationStatus)));
+        }
+    }
+
+    /**
+     * 接続維持のコメント行を送る（25秒ごと）。
+     */
+    @Scheduled(fixedRate = 25000)
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                send(userId, emitter, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    /** このノードの接続数 */
+    public int connectionCount() {
+        return emitters.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("SSE 送信に失敗したため接続を破棄します: userId={}", userId);
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
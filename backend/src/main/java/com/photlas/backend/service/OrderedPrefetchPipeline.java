@@ -0,0 +1,129 @@
+package com.photlas.backend.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 先読み（プリフェッチ）を並列に行い、結果を入力順に 1 件ずつ消費する順序保証付きパイプライン。
+ *
+ * <p>データエクスポートで S3 から写真を並列取得しつつ、ZIP には入力順に書き込むために使う。
+ * 取得は {@code executor} 上で並列に走り、消費（{@link Sink}）は呼び出しスレッドで行う。
+ * 完了順がばらついても、先頭から順に待ち合わせることで並べ替えバッファとして機能する。</p>
+ *
+ * <p>上限:</p>
+ * <ul>
+ *   <li>同時実行数: {@code executor} のスレッド数で決まる</li>
+ *   <li>先読み件数: 未消費（実行中 + 取得済み）の件数は {@code lookahead} を超えない</li>
+ *   <li>バッファ量: 取得済み・未消費の合計サイズが {@code maxBufferedBytes} 以上の間は
+ *       新たな取得を投入しない（ウィンドウが空なら進行保証のため 1 件は投入する）。
+ *       実行中の取得は計上前のため、実際の上限は {@code maxBufferedBytes} + 実行中件数 × 1 件の最大サイズ</li>
+ * </ul>
+ *
+ * <p>消費側で例外が発生した場合（クライアント切断など）は未着手の取得を打ち切り、取得済み・取得中の
+ * 結果は完了し次第 {@code onDiscard} に渡して後始末させたうえで、例外をそのまま投げる。</p>
+ *
+ * @param <T> 入力要素の型
+ * @param <R> 取得結果の型
+ */
+final class OrderedPrefetchPipeline<T, R> {
+
+    /** 取得結果を入力順に受け取るコールバック。 */
+    @FunctionalInterface
+    interface Sink<T, R> {
+        void accept(T item, R result) throws IOException;
+    }
+
+    private final Executor executor;
+    private final int lookahead;
+    private final long maxBufferedBytes;
+    private final ToLongFunction<R> sizeOf;
+    private final Consumer<R> onDiscard;
+
+    /**
+     * @param executor         取得を実行する Executor（スレッド数が同時実行数の上限になる）
+     * @param lookahead        未消費の取得件数の上限（1 以上）
+     * @param maxBufferedBytes 取得済み・未消費の結果の合計サイズの目安上限
+     * @param sizeOf           取得結果のサイズ（バイト）を返す関数
+     * @param onDiscard        中断時に消費されなかった取得結果の後始末（一時ファイル削除など）
+     */
+    OrderedPrefetchPipeline(Executor executor, int lookahead, long maxBufferedBytes,
+                            ToLongFunction<R> sizeOf, Consumer<R> onDiscard) {
+        if (lookahead < 1) {
+            throw new IllegalArgumentException("lookahead は 1 以上である必要があります: " + lookahead);
+        }
+        this.executor = executor;
+        this.lookahead = lookahead;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.sizeOf = sizeOf;
+        this.onDiscard = onDiscard;
+    }
+
+    /**
+     * 全要素を取得し、入力順に {@code sink} へ渡す。
+     *
+     * @param items 入力要素
+     * @param fetch 取得関数（例外を投げず、失敗は結果の値で表現すること）
+     * @param sink  入力順に呼ばれる消費コールバック
+     * @throws IOException {@code sink} が投げた I/O 例外
+     */
+    void run(List<T> items, Function<T, R> fetch, Sink<T, R> sink) throws IOException {
+        AtomicLong bufferedBytes = new AtomicLong();
+        AtomicBoolean aborted = new AtomicBoolean();
+        Deque<Pending<T, R>> window = new ArrayDeque<>(lookahead);
+        int next = 0;
+        try {
+            while (next < items.size() || !window.isEmpty()) {
+                while (next < items.size()
+                        && window.size() < lookahead
+                        && (window.isEmpty() || bufferedBytes.get() < maxBufferedBytes)) {
+                    T item = items.get(next++);
+                    CompletableFuture<R> future = CompletableFuture.supplyAsync(() -> {
+                        if (aborted.get()) {
+                            return null;
+                        }
+                        R result = fetch.apply(item);
+                        bufferedBytes.addAndGet(sizeOf.applyAsLong(result));
+                        return result;
+                    }, executor);
+                    window.addLast(new Pending<>(item, future));
+                }
+                Pending<T, R> head = window.removeFirst();
+                R result = await(head.future());
+                bufferedBytes.addAndGet(-sizeOf.applyAsLong(result));
+                sink.accept(head.item(), result);
+            }
+        } finally {
+            aborted.set(true);
+            for (Pending<T, R> pending : window) {
+                pending.future().thenAccept(result -> {
+                    if (result != null) {
+                        onDiscard.accept(result);
+                    }
+                });
+            }
+        }
+    }
+
+    private static <R> R await(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private record Pending<T, R>(T item, CompletableFuture<R> future) {}
+}
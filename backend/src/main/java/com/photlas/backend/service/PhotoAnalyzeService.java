@@ -19,12 +19,20 @@ import software.amazon.awssdk.services.rekognition.model.Image;
 import software.amazon.awssdk.services.rekognition.model.RekognitionException;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 
 /**
@@ -33,6 +41,7 @@ import java.util.Set;
  * <p>処理フロー:</p>
  * <ol>
  *   <li>受信画像のフォーマット検証（JPEG/PNG のみ）</li>
+ *   <li>受信ストリームを 1 パスで読み、ヘッダ先読み（EXIF）→ 寸法取得 → 間引きデコード → 縮小を行う</li>
  *   <li>長辺 1280px に縮小（Rekognition 5MB 制限内に収める）</li>
  *   <li>AWS Rekognition DetectLabels を呼び出し</li>
  *   <li>{@link RekognitionLabelMapper} で Photlas のカテゴリ/天候へマッピング</li>
@@ -56,6 +65,12 @@ public class PhotoAnalyzeService {
     /** Issue#119 4.5: 長辺 1280px に縮小して Rekognition の 5MB 制限内に収める。 */
     private static final int MAX_DIMENSION_PX = 1280;
 
+    /**
+     * ヘッダ先読みバッファの上限。SOI + APP0 + APP1(Exif, 最大 64KB) が収まるサイズとし、
+     * EXIF の読み取りはこの範囲だけで行う（アップロード全体をヒープに載せない）。
+     */
+    private static final int HEADER_READ_AHEAD_BYTES = 128 * 1024;
+
     /** Issue#119 4.5: 対応フォーマット。HEIC はフロント側で JPEG 変換済みの想定。 */
     private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of("image/jpeg", "image/png");
 
@@ -107,18 +122,50 @@ public class PhotoAnalyzeService {
      * @throws IllegalArgumentException 受信画像が JPEG/PNG 以外の場合、または画像として読み込めない場合
      */
     public PhotoAnalyzeResponse analyze(byte[] imageBytes, String contentType, AnalyzeExifInput exifInput) {
+        return analyze(new ByteArrayInputStream(imageBytes), contentType, exifInput);
+    }
+
+    /**
+     * 受信画像をストリームから 1 パスで読みながら解析する。
+     *
+     * <p>先頭 {@value #HEADER_READ_AHEAD_BYTES} バイトだけを先読みして EXIF を取り、
+     * 同じヘッダから寸法を判定して、長辺が {@value #MAX_DIMENSION_PX}px を超える場合は
+     * 間引き（サブサンプリング）デコードしてから縮小する。元解像度のラスタや
+     * アップロード全体の {@code byte[]} は作らないため、ピークメモリは縮小後の画像に比例する。</p>
+     *
+     * @param imageStream 画像ストリーム（呼び出し側でクローズする）
+     * @param contentType MIME タイプ（{@code image/jpeg} または {@code image/png}）
+     * @param exifInput   クライアント送信の EXIF 値（null/空可）
+     * @return 解析結果。Rekognition 失敗時は {@link PhotoAnalyzeResponse#empty()}
+     * @throws IllegalArgumentException 受信画像が JPEG/PNG 以外の場合、または画像として読み込めない場合
+     */
+    public PhotoAnalyzeResponse analyze(InputStream imageStream, String contentType, AnalyzeExifInput exifInput) {
         validateContentType(contentType);
+        BufferedInputStream buffered = new BufferedInputStream(imageStream, HEADER_READ_AHEAD_BYTES);
+        byte[] header = readHeader(buffered);
         // Issue#142: 解析画像は EXIF が剥がされているため、別送された EXIF 値を優先して使う。
-        // 別送が無い（空）場合のみ後方互換でバイト列から読む（通常は空）。
+        // 別送が無い（空）場合のみ後方互換で先読みしたヘッダから読む（通常は空）。
         ExifData exif = (exifInput == null || exifInput.isEmpty())
-                ? exifReader.read(imageBytes)
+                ? exifReader.read(header)
                 : exifReader.fromClientValues(exifInput);
-        byte[] resized = resizeForRekognition(imageBytes);
+        byte[] resized = resizeForRekognition(buffered, header);
         return callRekognitionSafely(resized)
                 .map(rekResp -> mapAndCache(rekResp, exif))
                 .orElseGet(PhotoAnalyzeResponse::empty);
     }
 
+    /** ストリーム先頭を先読みし、読み取り位置を先頭に戻す。 */
+    private static byte[] readHeader(BufferedInputStream buffered) {
+        try {
+            buffered.mark(HEADER_READ_AHEAD_BYTES);
+            byte[] header = buffered.readNBytes(HEADER_READ_AHEAD_BYTES);
+            buffered.reset();
+            return header;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("画像の読み込みに失敗しました", e);
+        }
+    }
+
     /**
      * Rekognition を呼び出す。例外時は空 Optional を返してフォールバック動作させる
      * （Issue#119 4.6: フォーム空欄でユーザーに手動入力を促す）。
@@ -165,37 +212,74 @@ public class PhotoAnalyzeService {
 
     /**
      * 画像を長辺 {@value #MAX_DIMENSION_PX}px 以下に縮小する。
-     * 既に小さい画像はそのまま返す（再エンコードのコストを避けるため）。
+     * 既に小さい画像は元のバイト列をそのまま返す（再エンコードのコストを避けるため）。
+     *
+     * <p>寸法は先読み済みのヘッダだけで判定する。大きい画像は縮小後の長辺が
+     * {@value #MAX_DIMENSION_PX}px を下回らない範囲の整数ステップで間引きデコードしてから
+     * Thumbnailator で仕上げる。</p>
+     *
+     * @param buffered 先頭位置に巻き戻された画像ストリーム
+     * @param header   {@link #readHeader} で先読みしたヘッダ
      */
-    private byte[] resizeForRekognition(byte[] imageBytes) {
-        BufferedImage img = readImage(imageBytes);
-        int max = Math.max(img.getWidth(), img.getHeight());
-        if (max <= MAX_DIMENSION_PX) {
-            return imageBytes;
-        }
+    private byte[] resizeForRekognition(BufferedInputStream buffered, byte[] header) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            Thumbnails.of(img)
-                    .size(MAX_DIMENSION_PX, MAX_DIMENSION_PX)
-                    .outputFormat("JPEG")
-                    .toOutputStream(baos);
-            return baos.toByteArray();
+            OptionalInt probed = probeLongestEdge(header);
+            if (probed.isPresent() && probed.getAsInt() <= MAX_DIMENSION_PX) {
+                return buffered.readAllBytes();
+            }
+            try (ImageInputStream iis = new MemoryCacheImageInputStream(buffered)) {
+                ImageReader reader = findImageReader(iis);
+                try {
+                    reader.setInput(iis, true, true);
+                    int max = Math.max(reader.getWidth(0), reader.getHeight(0));
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    int step = Math.max(1, max / MAX_DIMENSION_PX);
+                    param.setSourceSubsampling(step, step, 0, 0);
+                    BufferedImage img = reader.read(0, param);
+                    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                    // ヘッダで寸法が取れなかった小さい画像は拡大せず JPEG に再エンコードするだけ
+                    var builder = max <= MAX_DIMENSION_PX
+                            ? Thumbnails.of(img).scale(1.0)
+                            : Thumbnails.of(img).size(MAX_DIMENSION_PX, MAX_DIMENSION_PX);
+                    builder.outputFormat("JPEG").toOutputStream(baos);
+                    return baos.toByteArray();
+                } finally {
+                    reader.dispose();
+                }
+            }
         } catch (IOException e) {
-            // メモリ上の操作で IOException は通常発生しないが、念のため
-            throw new IllegalStateException("画像の縮小に失敗しました", e);
+            throw new IllegalArgumentException("画像の読み込みに失敗しました", e);
         }
     }
 
-    private BufferedImage readImage(byte[] imageBytes) {
-        try {
-            BufferedImage img = ImageIO.read(new ByteArrayInputStream(imageBytes));
-            if (img == null) {
-                throw new IllegalArgumentException("画像として読み込めないバイト列です");
+    /**
+     * 先読みヘッダから長辺のピクセル数を取得する。
+     * ヘッダ内に寸法情報（JPEG の SOF / PNG の IHDR）が無い場合は empty。
+     */
+    private static OptionalInt probeLongestEdge(byte[] header) {
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new ByteArrayInputStream(header))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return OptionalInt.empty();
             }
-            return img;
-        } catch (IOException e) {
-            throw new IllegalArgumentException("画像の読み込みに失敗しました", e);
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return OptionalInt.of(Math.max(reader.getWidth(0), reader.getHeight(0)));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    private static ImageReader findImageReader(ImageInputStream iis) {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) {
+            throw new IllegalArgumentException("画像として読み込めないバイト列です");
         }
+        return readers.next();
     }
 
     private DetectLabelsRequest buildDetectLabelsRequest(byte[] imageBytes) {
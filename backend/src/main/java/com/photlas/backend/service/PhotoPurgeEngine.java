@@ -0,0 +1,231 @@
+package com.photlas.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 写真の物理削除エンジン（S3 オブジェクト + DB 行）。
+ *
+ * <p>REMOVED 写真の定期削除（{@link RemovedPhotoCleanupService}）と退会アカウントの物理削除
+ * （{@link AccountCleanupService}）で共通に使う。</p>
+ *
+ * <ul>
+ *   <li>対象を photoId 昇順のチャンク（scan-size 件）で取得し、処理済みの最大 photoId をハイウォーターマークとして
+ *       次のチャンクへ進む。S3 削除に失敗して残した写真を同じ実行内で再取得しない。途中で落ちても削除済みの行は
+ *       コミット済みのため、次回実行は残りから再開する</li>
+ *   <li>S3 は DeleteObjects（1 リクエスト最大 1000 キー）で、専用 Executor により並列に削除する</li>
+ *   <li>DB は delete-batch-size 件ずつ set-based に削除し、バッチごとにコミットする（巨大トランザクションを作らない）。
+ *       同じトランザクションで、削除した写真が属していたスポットだけを候補に孤立スポットを削除する
+ *       （spots / photos を全件走査する孤立スポット掃除を後から流さない）</li>
+ *   <li>実行ごとに件数・所要時間・スループットをメトリクスに記録する</li>
+ * </ul>
+ */
+@Service
+public class PhotoPurgeEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhotoPurgeEngine.class);
+
+    static final String METRIC_RUN = "photlas.cleanup.run";
+    static final String METRIC_PHOTOS = "photlas.cleanup.photos";
+    static final String METRIC_OBJECTS = "photlas.cleanup.objects";
+    static final String METRIC_SPOTS = "photlas.cleanup.spots";
+    static final String METRIC_THROUGHPUT = "photlas.cleanup.throughput";
+
+    /**
+     * 削除対象のチャンク取得関数。
+     * {@code afterPhotoId} より大きい photoId を昇順に最大 {@code pageable} 件、
+     * [Long photoId, String s3ObjectKey, Long spotId] で返す。
+     */
+    @FunctionalInterface
+    public interface TargetSource {
+        List<Object[]> fetch(Long afterPhotoId, Pageable pageable);
+    }
+
+    /**
+     * 1 回の実行結果。
+     *
+     * @param photosDeleted  DB から削除した写真数
+     * @param photosSkipped  S3 削除に失敗したため残した写真数（次回実行でリトライ）
+     * @param objectsDeleted 削除した S3 オブジェクト数
+     * @param objectsFailed  削除に失敗した S3 オブジェクト数
+     * @param spotsDeleted   写真が 0 件になり削除したスポット数
+     */
+    public record Result(int photosDeleted, int photosSkipped, int objectsDeleted, int objectsFailed,
+                         int spotsDeleted) {}
+
+    private final PhotoPurgeStore photoPurgeStore;
+    private final S3Service s3Service;
+    private final Executor s3Executor;
+    private final MeterRegistry meterRegistry;
+    private final int scanSize;
+    private final int deleteBatchSize;
+
+    public PhotoPurgeEngine(
+            PhotoPurgeStore photoPurgeStore,
+            S3Service s3Service,
+            @Qualifier("cleanupS3Executor") Executor s3Executor,
+            MeterRegistry meterRegistry,
+            @Value("${photlas.cleanup.scan-size:2000}") int scanSize,
+            @Value("${photlas.cleanup.delete-batch-size:500}") int deleteBatchSize) {
+        this.photoPurgeStore = photoPurgeStore;
+        this.s3Service = s3Service;
+        this.s3Executor = s3Executor;
+        this.meterRegistry = meterRegistry;
+        this.scanSize = scanSize;
+        this.deleteBatchSize = deleteBatchSize;
+    }
+
+    /**
+     * 対象写真の S3 オブジェクト（元画像 + サムネイル）と DB 行をチャンク単位で削除する。
+     *
+     * @param job                      メトリクス・ログ用のジョブ名
+     * @param source                   削除対象のチャンク取得関数
+     * @param keepPhotoOnObjectFailure true の場合、S3 削除に失敗した写真は DB から削除せず残す（次回リトライ）。
+     *                                 false の場合は S3 削除の失敗をログに残して DB は削除する
+     */
+    public Result purge(String job, TargetSource source, boolean keepPhotoOnObjectFailure) {
+        long startNanos = System.nanoTime();
+        Long highWaterMark = 0L;
+        int photosDeleted = 0;
+        int photosSkipped = 0;
+        int objectsDeleted = 0;
+        int objectsFailed = 0;
+        int spotsDeleted = 0;
+
+        while (true) {
+            List<Object[]> chunk = source.fetch(highWaterMark, PageRequest.of(0, scanSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            Set<String> keys = new LinkedHashSet<>(chunk.size() * 2);
+            for (Object[] row : chunk) {
+                String s3ObjectKey = (String) row[1];
+                if (s3ObjectKey != null) {
+                    keys.add(s3ObjectKey);
+                    keys.add(generateThumbnailKey(s3ObjectKey));
+                }
+            }
+            Set<String> failedKeys = deleteObjects(keys);
+            objectsDeleted += keys.size() - failedKeys.size();
+            objectsFailed += failedKeys.size();
+
+            // photoId → spotId（削除対象のみ、photoId 昇順）
+            Map<Long, Long> deletable = new LinkedHashMap<>();
+            for (Object[] row : chunk) {
+                Long photoId = (Long) row[0];
+                String s3ObjectKey = (String) row[1];
+                boolean objectFailed = s3ObjectKey != null
+                        && (failedKeys.contains(s3ObjectKey) || failedKeys.contains(generateThumbnailKey(s3ObjectKey)));
+                if (objectFailed) {
+                    logger.error("S3削除に失敗しました: job={}, photoId={}, s3Key={}", job, photoId, s3ObjectKey);
+                    if (keepPhotoOnObjectFailure) {
+                        photosSkipped++;
+                        continue;
+                    }
+                }
+                deletable.put(photoId, (Long) row[2]);
+            }
+
+            List<Long> photoIds = new ArrayList<>(deletable.keySet());
+            for (int from = 0; from < photoIds.size(); from += deleteBatchSize) {
+                List<Long> batch = photoIds.subList(from, Math.min(from + deleteBatchSize, photoIds.size()));
+                Set<Long> spotIds = batch.stream()
+                        .map(deletable::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                PhotoPurgeStore.BatchResult deleted = photoPurgeStore.deletePhotos(batch, spotIds);
+                photosDeleted += deleted.photosDeleted();
+                spotsDeleted += deleted.spotsDeleted();
+            }
+
+            highWaterMark = (Long) chunk.get(chunk.size() - 1)[0];
+            if (chunk.size() < scanSize) {
+                break;
+            }
+        }
+
+        Result result = new Result(photosDeleted, photosSkipped, objectsDeleted, objectsFailed, spotsDeleted);
+        record(job, result, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    /**
+     * S3 オブジェクトを DeleteObjects で一括削除する。
+     * 1000 キーごとのリクエストを専用 Executor で並列に発行し、全リクエストの完了を待つ。
+     *
+     * @return 削除に失敗したキー（リクエスト自体が失敗した場合はそのリクエストの全キー）
+     */
+    public Set<String> deleteObjects(Collection<String> s3ObjectKeys) {
+        List<String> keys = List.copyOf(new LinkedHashSet<>(s3ObjectKeys));
+        List<CompletableFuture<Set<String>>> requests = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += S3Service.MAX_DELETE_OBJECTS_PER_REQUEST) {
+            List<String> batch = keys.subList(from, Math.min(from + S3Service.MAX_DELETE_OBJECTS_PER_REQUEST, keys.size()));
+            requests.add(CompletableFuture.supplyAsync(() -> deleteBatch(batch), s3Executor));
+        }
+        Set<String> failedKeys = new HashSet<>();
+        for (CompletableFuture<Set<String>> request : requests) {
+            failedKeys.addAll(request.join());
+        }
+        return failedKeys;
+    }
+
+    private Set<String> deleteBatch(List<String> batch) {
+        try {
+            return s3Service.deleteS3Objects(batch);
+        } catch (RuntimeException e) {
+            logger.error("S3一括削除リクエストに失敗しました: keys={}件", batch.size(), e);
+            return new HashSet<>(batch);
+        }
+    }
+
+    private void record(String job, Result result, long elapsedNanos) {
+        meterRegistry.timer(METRIC_RUN, "job", job).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter(METRIC_PHOTOS, "job", job, "outcome", "deleted").increment(result.photosDeleted());
+        meterRegistry.counter(METRIC_PHOTOS, "job", job, "outcome", "skipped").increment(result.photosSkipped());
+        meterRegistry.counter(METRIC_OBJECTS, "job", job, "outcome", "deleted").increment(result.objectsDeleted());
+        meterRegistry.counter(METRIC_OBJECTS, "job", job, "outcome", "failed").increment(result.objectsFailed());
+        meterRegistry.counter(METRIC_SPOTS, "job", job).increment(result.spotsDeleted());
+
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        double throughput = result.objectsDeleted() / seconds;
+        meterRegistry.summary(METRIC_THROUGHPUT, "job", job).record(throughput);
+
+        if (result.photosDeleted() > 0 || result.objectsFailed() > 0) {
+            logger.info("写真の物理削除完了: job={}, 写真={}件（残置: {}件）, S3={}件（失敗: {}件）, 孤立スポット={}件, "
+                            + "{}ms, {} objects/s",
+                    job, result.photosDeleted(), result.photosSkipped(), result.objectsDeleted(),
+                    result.objectsFailed(), result.spotsDeleted(), Duration.ofNanos(elapsedNanos).toMillis(), Math.round(throughput));
+        }
+    }
+
+    /**
+     * 元画像のS3キーからサムネイルのS3キーを生成する
+     */
+    private static String generateThumbnailKey(String s3ObjectKey) {
+        int dotIndex = s3ObjectKey.lastIndexOf('.');
+        String baseName = dotIndex > 0 ? s3ObjectKey.substring(0, dotIndex) : s3ObjectKey;
+        return "thumbnails/" + baseName + ".webp";
+    }
+}
@@ -0,0 +1,47 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * 写真の物理削除（{@link PhotoPurgeEngine}）の DB 側 1 バッチ分の処理。
+ *
+ * <p>写真行の削除と、それによって写真が 0 件になったスポットの削除を 1 トランザクションで行う。
+ * 途中で落ちても「写真は消えたがスポットが孤立したまま残る」状態を作らない。</p>
+ */
+@Service
+public class PhotoPurgeStore {
+
+    /**
+     * 1 バッチの削除結果。
+     *
+     * @param photosDeleted 削除した写真数
+     * @param spotsDeleted  削除した孤立スポット数
+     */
+    public record BatchResult(int photosDeleted, int spotsDeleted) {}
+
+    private final PhotoRepository photoRepository;
+    private final SpotRepository spotRepository;
+
+    public PhotoPurgeStore(PhotoRepository photoRepository, SpotRepository spotRepository) {
+        this.photoRepository = photoRepository;
+        this.spotRepository = spotRepository;
+    }
+
+    /**
+     * 写真（+ photo_categories）を削除し、候補スポットのうち孤立したものを削除する。
+     *
+     * @param photoIds 削除する写真ID
+     * @param spotIds  削除する写真が属していたスポットID（孤立スポットの候補）
+     */
+    @Transactional
+    public BatchResult deletePhotos(Collection<Long> photoIds, Collection<Long> spotIds) {
+        int photosDeleted = photoRepository.deleteWithCategoriesByPhotoIdIn(photoIds);
+        int spotsDeleted = spotIds.isEmpty() ? 0 : spotRepository.deleteOrphanedSpotsIn(spotIds);
+        return new BatchResult(photosDeleted, spotsDeleted);
+    }
+}
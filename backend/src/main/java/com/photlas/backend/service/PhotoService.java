@@ -84,6 +84,8 @@ public class PhotoService {
     private final AiPredictionCacheService aiPredictionCacheService;
     private final ObjectMapper objectMapper;
     private final TagService tagService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SpotAssignmentService spotAssignmentService;
 
     public PhotoService(
             PhotoRepository photoRepository,
@@ -99,7 +101,9 @@ public class PhotoService {
             PhotoAiPredictionRepository photoAiPredictionRepository,
             AiPredictionCacheService aiPredictionCacheService,
             TagService tagService,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            SpotAssignmentService spotAssignmentService
     ) {
         this.photoRepository = photoRepository;
         this.spotRepository = spotRepository;
@@ -115,6 +119,8 @@ public class PhotoService {
         this.aiPredictionCacheService = aiPredictionCacheService;
         this.tagService = tagService;
         this.objectMapper = objectMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.spotAssignmentService = spotAssignmentService;
     }
 
     /**
@@ -138,15 +144,12 @@ public class PhotoService {
             throw new IllegalArgumentException("S3上にファイルが存在しません: " + request.getS3ObjectKey());
         }
 
-        // 1. スポットの集約と作成
-        Spot spot = findOrCreateSpot(request, user);
-
-        // 2. カテゴリの変換（任意項目）
+        // 1. カテゴリの変換（任意項目）
         List<Category> categories = (request.getCategories() != null && !request.getCategories().isEmpty())
                 ? convertCategoriesToEntities(request.getCategories())
                 : new ArrayList<>();
 
-        // 3. 天気情報の設定（ユーザー入力があればそのまま使用、なければnull）
+        // 2. 天気情報の設定（ユーザー入力があればそのまま使用、なければnull）
         LocalDateTime takenAt = LocalDateTime.parse(request.getTakenAt(), DateTimeFormatter.ISO_DATE_TIME);
         Integer weather = request.getWeather();
 
@@ -158,6 +161,11 @@ public class PhotoService {
                 S3Service.STATUS_TAG_KEY,
                 S3Service.STATUS_TAG_VALUE_REGISTERED);
 
+        // 3. スポットの集約と作成
+        // 周囲のセルのロックはトランザクションの終了まで保持されるため、S3 の呼び出しを待つ間に
+        // 近くの投稿を止めないよう、外部呼び出しの後に取得する
+        Spot spot = findOrCreateSpot(request, user);
+
         // 4. 写真の保存
         Photo photo = new Photo();
         photo.setSpotId(spot.getSpotId());
@@ -255,14 +263,42 @@ public class PhotoService {
         if (photoIds == null || photoIds.isEmpty()) {
             return List.of();
         }
-        List<PhotoDetailResponse> result = new ArrayList<>();
+        User currentUser = (email != null) ? userRepository.findByEmail(email).orElse(null) : null;
+        Map<Long, Photo> photosById = photoRepository.findAllById(photoIds).stream()
+                .collect(Collectors.toMap(Photo::getPhotoId, photo -> photo));
+
+        List<Photo> photos = new ArrayList<>();
         for (Long photoId : photoIds) {
+            Photo photo = photosById.get(photoId);
+            if (photo == null) {
+                continue;
+            }
             try {
-                result.add(getPhotoDetail(photoId, email));
-            } catch (PhotoNotFoundException | SpotNotFoundException | UserNotFoundException e) {
+                validatePhotoVisibility(photo, currentUser);
+                photos.add(photo);
+            } catch (PhotoNotFoundException e) {
                 // silent skip: 認可されていない写真・存在しない写真は best-effort で除外する
             }
         }
+
+        // スポット・投稿者・お気に入りは getPhotoDetail と同じ判定を、写真ごとではなくまとめて読んで行う
+        Map<Long, Spot> spots = spotsById(photos);
+        Map<Long, User> users = usersById(photos);
+        Set<Long> favoritedPhotoIds = favoritedPhotoIds(currentUser, photos);
+        Map<Long, Long> favoriteCounts = countFavorites(photos);
+
+        List<PhotoDetailResponse> result = new ArrayList<>();
+        for (Photo photo : photos) {
+            Spot spot = spots.get(photo.getSpotId());
+            User user = users.get(photo.getUserId());
+            // Issue#72: 退会済みユーザーの写真は非公開
+            if (spot == null || user == null || user.getDeletedAt() != null) {
+                continue;
+            }
+            result.add(buildPhotoDetailResponse(photo, spot, user,
+                    favoritedPhotoIds.contains(photo.getPhotoId()),
+                    favoriteCounts.getOrDefault(photo.getPhotoId(), 0L)));
+        }
         return result;
     }
 
@@ -320,20 +356,21 @@ public class PhotoService {
         Page<Photo> photoPage = photoRepository.findByUserIdAndModerationStatusInOrderByCreatedAtDesc(
                 userId, visibleStatuses, pageable);
 
-        final User finalCurrentUser = currentUser;
+        // スポット・投稿者・お気に入りはページ分をまとめて読む
+        List<Photo> photos = photoPage.getContent();
+        Map<Long, Spot> spots = spotsById(photos);
+        Map<Long, User> users = usersById(photos);
+        Set<Long> favoritedPhotoIds = favoritedPhotoIds(currentUser, photos);
+        Map<Long, Long> favoriteCounts = countFavorites(photos);
 
         Page<PhotoResponse> photoResponses = photoPage.map(photo -> {
-            Spot spot = spotRepository.findById(photo.getSpotId())
+            Spot spot = Optional.ofNullable(spots.get(photo.getSpotId()))
                     .orElseThrow(() -> new SpotNotFoundException(ERROR_SPOT_NOT_FOUND));
-            User photoUser = userRepository.findById(photo.getUserId())
+            User photoUser = Optional.ofNullable(users.get(photo.getUserId()))
                     .orElseThrow(() -> new UserNotFoundException(ERROR_USER_NOT_FOUND));
 
-            boolean isFavorited = false;
-            if (finalCurrentUser != null) {
-                isFavorited = favoriteRepository.findByUserIdAndPhotoId(
-                        finalCurrentUser.getId(), photo.getPhotoId()).isPresent();
-            }
-            long favoriteCount = favoriteRepository.countByPhotoId(photo.getPhotoId());
+            boolean isFavorited = favoritedPhotoIds.contains(photo.getPhotoId());
+            long favoriteCount = favoriteCounts.getOrDefault(photo.getPhotoId(), 0L);
 
             return buildPhotoResponse(photo, spot, photoUser, isFavorited, favoriteCount);
         });
@@ -353,6 +390,44 @@ public class PhotoService {
         return response;
     }
 
+    /** 写真のスポット（スポットID → スポット） */
+    private Map<Long, Spot> spotsById(List<Photo> photos) {
+        Set<Long> spotIds = photos.stream().map(Photo::getSpotId).collect(Collectors.toSet());
+        if (spotIds.isEmpty()) {
+            return Map.of();
+        }
+        return spotRepository.findAllById(spotIds).stream()
+                .collect(Collectors.toMap(Spot::getSpotId, spot -> spot));
+    }
+
+    /** 写真の投稿者（ユーザーID → ユーザー） */
+    private Map<Long, User> usersById(List<Photo> photos) {
+        Set<Long> userIds = photos.stream().map(Photo::getUserId).collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+    }
+
+    /** photos のうち currentUser がお気に入り登録している写真ID（未認証なら空） */
+    private Set<Long> favoritedPhotoIds(User currentUser, List<Photo> photos) {
+        if (currentUser == null || photos.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(favoriteRepository.findPhotoIdsByUserIdAndPhotoIdIn(
+                currentUser.getId(), photos.stream().map(Photo::getPhotoId).toList()));
+    }
+
+    /** 写真ID → お気に入り数（お気に入りのない写真は含まない） */
+    private Map<Long, Long> countFavorites(List<Photo> photos) {
+        if (photos.isEmpty()) {
+            return Map.of();
+        }
+        return favoriteRepository.countGroupedByPhotoIdIn(photos.stream().map(Photo::getPhotoId).toList()).stream()
+                .collect(Collectors.toMap(row -> ((Number) row[0]).longValue(), row -> ((Number) row[1]).longValue()));
+    }
+
     /**
      * Issue#54: 投稿者本人用に写真を取得する（ポーリング用）
      * 投稿者本人でない場合は例外をスロー
@@ -406,6 +481,7 @@ public class PhotoService {
         // ソフトデリート
         photo.setModerationStatus(CodeConstants.MODERATION_STATUS_REMOVED);
         photoRepository.save(photo);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Type.PHOTO_REMOVED, photoId);
 
         logger.info("写真を削除しました: photoId={}, userId={}", photoId, user.getId());
     }
@@ -449,6 +525,7 @@ public class PhotoService {
         }
 
         Photo savedPhoto = photoRepository.save(photo);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Type.PHOTO_UPDATED, photoId);
 
         // Issue#135 追補（編集対応）: 詳細カテゴリー（キーワード）を置き換える。
         // null は「変更なし」、空リストは「全消去」、要素ありは「その内容へ置換」。
@@ -467,29 +544,10 @@ public class PhotoService {
     /**
      * スポットを検索または新規作成する
      * 半径200m以内に既存スポットがあれば最も近いものを返し、なければ新規作成する
+     * 同じ場所への同時投稿で重複スポットができないよう、周囲のセルをロックしてから行う（{@link SpotAssignmentService}）
      */
     private Spot findOrCreateSpot(CreatePhotoRequest request, User user) {
-        List<Spot> nearbySpots = spotRepository.findSpotsWithin200m(
-                request.getLatitude(),
-                request.getLongitude()
-        );
-
-        if (!nearbySpots.isEmpty()) {
-            // 最も近いスポット（先頭）を返す
-            Spot closestSpot = nearbySpots.get(0);
-            logger.info("既存スポットを使用: spotId={}", closestSpot.getSpotId());
-            return closestSpot;
-        } else {
-            // 新規スポットを作成
-            Spot newSpot = new Spot();
-            newSpot.setLatitude(request.getLatitude());
-            newSpot.setLongitude(request.getLongitude());
-            newSpot.setCreatedByUserId(user.getId());
-
-            Spot savedSpot = spotRepository.save(newSpot);
-            logger.info("新規スポットを作成: spotId={}", savedSpot.getSpotId());
-            return savedSpot;
-        }
+        return spotAssignmentService.findOrCreateSpot(request.getLatitude(), request.getLongitude(), user.getId());
     }
 
     /**
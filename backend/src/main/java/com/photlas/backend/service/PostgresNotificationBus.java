@@ -0,0 +1,245 @@
+package com.photlas.backend.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL の LISTEN/NOTIFY による全ノードへのメッセージ配信。
+ *
+ * <ul>
+ *   <li>送信: {@code pg_notify} を呼び出し元の接続で発行する。@Transactional の中で呼べばコミット時に配信され、
+ *       ロールバック時は配信されない（自ノードにも LISTEN 経由で届く）</li>
+ *   <li>受信: コネクションプールとは別の専用接続 1 本で LISTEN し、専用スレッドで購読者に渡す。
+ *       接続が切れた場合は再接続して LISTEN し直す（切断中の通知は失われるため、購読側は取りこぼしを許容する設計にする）</li>
+ * </ul>
+ */
+@Component
+public class PostgresNotificationBus implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresNotificationBus.class);
+
+    /** LISTEN に識別子として埋め込むため、チャネル名は英小文字・数字・_ に限る */
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String NOTIFY_ALL_SQL = "SELECT pg_notify(?, p) FROM unnest(?) AS p";
+
+    private static final long RECONNECT_BACKOFF_MILLIS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final int pollMillis;
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> connectListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresNotificationBus(
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${photlas.notify.enabled:true}") boolean enabled,
+            @Value("${photlas.notify.poll-interval:PT0.5S}") Duration pollInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.pollMillis = (int) Math.max(pollInterval.toMillis(), 1);
+    }
+
+    /**
+     * チャネルを購読する。ハンドラーは受信スレッドで呼ばれるため、重い処理は別スレッドに渡すこと。
+     *
+     * @param channel チャネル名
+     * @param handler ペイロードを受け取るハンドラー
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        validateChannel(channel);
+        handlers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * LISTEN 用の接続を確立（再接続を含む）して LISTEN し終えたときに呼ばれる処理を登録する。
+     * 切断中の通知は失われるため、購読側はここで取りこぼしを回復する（キャッシュの全破棄など）。
+     */
+    public void onConnect(Runnable listener) {
+        connectListeners.add(listener);
+    }
+
+    /**
+     * 全ノードへ通知する（呼び出し元のトランザクションのコミット時に配信）。
+     *
+     * @param channel チャネル名
+     * @param payload ペイロード（8000 バイト未満）
+     */
+    public void publish(String channel, String payload) {
+        validateChannel(channel);
+        jdbcTemplate.query(NOTIFY_SQL, (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    /**
+     * 複数のペイロードを 1 回の往復で通知する。
+     */
+    public void publishAll(String channel, Collection<String> payloads) {
+        validateChannel(channel);
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(NOTIFY_ALL_SQL);
+            ps.setString(1, channel);
+            ps.setArray(2, connection.createArrayOf("text", payloads.toArray()));
+            return ps;
+        }, (ResultSetExtractor<Void>) rs -> null);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "photlas-pg-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        Connection connection = null;
+        Set<String> listening = new HashSet<>();
+        while (running) {
+            try {
+                boolean connected = false;
+                if (connection == null) {
+                    connection = DriverManager.getConnection(url, username, password);
+                    connection.setAutoCommit(true);
+                    listening.clear();
+                    connected = true;
+                    logger.info("LISTEN 用の接続を確立しました");
+                }
+                for (String channel : handlers.keySet()) {
+                    if (listening.add(channel)) {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("LISTEN " + channel);
+                        }
+                    }
+                }
+                if (connected) {
+                    connectListeners.forEach(this::runQuietly);
+                }
+                for (Notification notification : poll(connection)) {
+                    dispatch(notification);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                logger.warn("LISTEN 用の接続でエラーが発生しました。再接続します", e);
+                closeQuietly(connection);
+                connection = null;
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    private void dispatch(Notification notification) {
+        for (Consumer<String> handler : handlers.getOrDefault(notification.channel(), List.of())) {
+            try {
+                handler.accept(notification.payload());
+            } catch (RuntimeException e) {
+                logger.warn("通知の処理に失敗しました: channel={}", notification.channel(), e);
+            }
+        }
+    }
+
+    private void runQuietly(Runnable listener) {
+        try {
+            listener.run();
+        } catch (RuntimeException e) {
+            logger.warn("接続確立時の処理に失敗しました", e);
+        }
+    }
+
+    private record Notification(String channel, String payload) {}
+
+    /**
+     * PGConnection#getNotifications(timeoutMillis) で通知を待つ（タイムアウトまでブロック）。
+     */
+    private List<Notification> poll(Connection connection) throws SQLException {
+        PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(pollMillis);
+        if (notifications == null) {
+            return List.of();
+        }
+        Notification[] result = new Notification[notifications.length];
+        for (int i = 0; i < notifications.length; i++) {
+            result[i] = new Notification(notifications[i].getName(), notifications[i].getParameter());
+        }
+        return List.of(result);
+    }
+
+    private static void validateChannel(String channel) {
+        if (channel == null || !CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalArgumentException("不正なチャネル名です: " + channel);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("LISTEN 用の接続のクローズに失敗しました", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.photlas.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * 頻繁に呼ばれるリポジトリクエリの所要時間を計測する。
+ *
+ * <p>タイマー {@code photlas.db.query} に、クエリ名（query）・有効なフィルターの組み合わせ（filters）・
+ * 結果（outcome: success / error）をタグとして付ける。filters には値ではなく有効なフィルター名だけを入れる
+ * （値を入れるとタグの種類が際限なく増えるため）。</p>
+ */
+@Component
+public class QueryMetrics {
+
+    static final String METRIC_QUERY = "photlas.db.query";
+
+    /** フィルターが 1 つも有効でない場合の filters タグ */
+    public static final String NO_FILTERS = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * クエリを実行し、所要時間を記録する。
+     *
+     * @param query   クエリ名（リポジトリのメソッド名）
+     * @param filters 有効なフィルターの組み合わせ（{@link FilterShape} で組み立てる）
+     * @param call    クエリ
+     * @return クエリの結果
+     */
+    public <T> T time(String query, String filters, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer(METRIC_QUERY, "query", query, "filters", filters, "outcome", outcome));
+        }
+    }
+
+    /**
+     * 有効なフィルター名を追加順に "+" でつないだ文字列を組み立てる（例: "months+tags"）。
+     */
+    public static final class FilterShape {
+
+        private final StringBuilder shape = new StringBuilder();
+
+        /** active のときだけ name を追加する */
+        public FilterShape add(String name, boolean active) {
+            if (active) {
+                if (!shape.isEmpty()) {
+                    shape.append('+');
+                }
+                shape.append(name);
+            }
+            return this;
+        }
+
+        /** null・空でないリストのときだけ name を追加する */
+        public FilterShape add(String name, Collection<?> values) {
+            return add(name, values != null && !values.isEmpty());
+        }
+
+        @Override
+        public String toString() {
+            return shape.isEmpty() ? NO_FILTERS : shape.toString();
+        }
+    }
+}
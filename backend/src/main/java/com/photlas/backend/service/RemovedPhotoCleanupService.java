@@ -1,17 +1,13 @@
 package com.photlas.backend.service;
 
 import com.photlas.backend.entity.CodeConstants;
-import com.photlas.backend.entity.Photo;
 import com.photlas.backend.repository.PhotoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Issue#54: REMOVED投稿の物理削除サービス
@@ -23,67 +19,45 @@ public class RemovedPhotoCleanupService {
 
     private static final Logger logger = LoggerFactory.getLogger(RemovedPhotoCleanupService.class);
     private static final int RETENTION_DAYS = 180;
+    private static final String JOB_NAME = "removed_photos";
 
     private final PhotoRepository photoRepository;
-    private final com.photlas.backend.repository.PhotoCategoryRepository photoCategoryRepository;
-    private final S3Service s3Service;
+    private final PhotoPurgeEngine photoPurgeEngine;
+    private final ScheduledJobRunner scheduledJobRunner;
 
-    public RemovedPhotoCleanupService(PhotoRepository photoRepository,
-                                       com.photlas.backend.repository.PhotoCategoryRepository photoCategoryRepository,
-                                       S3Service s3Service) {
+    public RemovedPhotoCleanupService(PhotoRepository photoRepository, PhotoPurgeEngine photoPurgeEngine,
+                                      ScheduledJobRunner scheduledJobRunner) {
         this.photoRepository = photoRepository;
-        this.photoCategoryRepository = photoCategoryRepository;
-        this.s3Service = s3Service;
+        this.photoPurgeEngine = photoPurgeEngine;
+        this.scheduledJobRunner = scheduledJobRunner;
     }
 
     /**
      * REMOVED投稿の物理削除を実行する
      * 毎日午前3時に実行される
+     *
+     * S3 は DeleteObjects でまとめて削除し、DB はチャンクごとにコミットする（{@link PhotoPurgeEngine}）。
+     * Issue#62: S3削除に失敗した写真はDBに残し、翌日リトライする
+     * 複数ノードのうち分散ロックを取得した 1 ノードだけが実行する。
      */
     @Scheduled(cron = "0 0 3 * * *")
-    @Transactional
     public void cleanupRemovedPhotos() {
+        scheduledJobRunner.run(JOB_NAME, this::deleteExpiredRemovedPhotos);
+    }
+
+    private long deleteExpiredRemovedPhotos() {
         LocalDateTime threshold = LocalDateTime.now().minusDays(RETENTION_DAYS);
-        List<Photo> expiredPhotos = photoRepository.findByModerationStatusAndUpdatedAtBefore(
-                CodeConstants.MODERATION_STATUS_REMOVED, threshold);
+        PhotoPurgeEngine.Result result = photoPurgeEngine.purge(JOB_NAME,
+                (afterPhotoId, pageable) -> photoRepository.findPurgeTargetsByModerationStatusAfter(
+                        CodeConstants.MODERATION_STATUS_REMOVED, threshold, afterPhotoId, pageable),
+                true);
 
-        if (expiredPhotos.isEmpty()) {
+        if (result.photosDeleted() == 0 && result.photosSkipped() == 0) {
             logger.info("削除対象のREMOVED写真はありません");
-            return;
-        }
-
-        // Issue#62: 写真ごとにS3削除を実行し、成功した写真のみDB削除対象に追加
-        List<Photo> s3DeletedPhotos = new ArrayList<>();
-        for (Photo photo : expiredPhotos) {
-            try {
-                // 元画像を削除
-                s3Service.deleteS3Object(photo.getS3ObjectKey());
-                // サムネイルを削除
-                s3Service.deleteS3Object(generateThumbnailKey(photo.getS3ObjectKey()));
-                s3DeletedPhotos.add(photo);
-            } catch (Exception e) {
-                logger.error("S3削除に失敗しました（翌日リトライ）: photoId={}, s3Key={}",
-                        photo.getPhotoId(), photo.getS3ObjectKey(), e);
-            }
-        }
-
-        if (!s3DeletedPhotos.isEmpty()) {
-            // 関連レコード（photo_categories）を先に削除してFK制約違反を防止
-            for (Photo photo : s3DeletedPhotos) {
-                photoCategoryRepository.deleteByPhotoId(photo.getPhotoId());
-            }
-            photoRepository.deleteAll(s3DeletedPhotos);
-            logger.info("REMOVED写真の物理削除完了: {}件（S3削除失敗: {}件）",
-                    s3DeletedPhotos.size(), expiredPhotos.size() - s3DeletedPhotos.size());
+            return 0;
         }
-    }
-
-    /**
-     * 元画像のS3キーからサムネイルのS3キーを生成する
-     */
-    private String generateThumbnailKey(String s3ObjectKey) {
-        int dotIndex = s3ObjectKey.lastIndexOf('.');
-        String baseName = dotIndex > 0 ? s3ObjectKey.substring(0, dotIndex) : s3ObjectKey;
-        return "thumbnails/" + baseName + ".webp";
+        logger.info("REMOVED写真の物理削除完了: {}件（S3削除失敗: {}件、孤立スポット削除: {}件）",
+                result.photosDeleted(), result.photosSkipped(), result.spotsDeleted());
+        return result.photosDeleted();
     }
 }
@@ -33,13 +33,16 @@ public class ReportService {
     private final PhotoRepository photoRepository;
     private final UserRepository userRepository;
     private final QuarantineService quarantineService;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     public ReportService(ReportRepository reportRepository, PhotoRepository photoRepository,
-                         UserRepository userRepository, QuarantineService quarantineService) {
+                         UserRepository userRepository, QuarantineService quarantineService,
+                         CacheInvalidationBus cacheInvalidationBus) {
         this.reportRepository = reportRepository;
         this.photoRepository = photoRepository;
         this.userRepository = userRepository;
         this.quarantineService = quarantineService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     /**
@@ -78,6 +81,7 @@ public class ReportService {
                 && Integer.valueOf(CodeConstants.MODERATION_STATUS_PUBLISHED).equals(photo.getModerationStatus())) {
             photo.setModerationStatus(CodeConstants.MODERATION_STATUS_QUARANTINED);
             quarantineService.quarantinePhoto(photo);
+            cacheInvalidationBus.publish(CacheInvalidationBus.Type.PHOTO_REMOVED, photoId);
             logger.info("通報件数が閾値に達したため写真を隔離: photoId={}, reportCount={}",
                     photoId, reportCount);
         }
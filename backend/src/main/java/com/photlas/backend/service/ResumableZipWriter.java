@@ -0,0 +1,252 @@
+package com.photlas.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * 途中から書き込みを再開できる ZIP ライター（データエクスポートのジョブモード用）。
+ *
+ * <p>{@link java.util.zip.ZipOutputStream} は内部状態（書き込み済みエントリ一覧・オフセット）を
+ * 外から復元できないため、クラッシュ後に S3 マルチパートアップロードの途中から ZIP を書き継げない。
+ * このクラスは全エントリを「CRC・サイズ確定済み」で書く（データディスクリプタを使わない）ことで、
+ * 状態を「次のオフセット + 書き込み済みエントリ一覧」だけで表現し、そこから再開できるようにする。</p>
+ *
+ * <ul>
+ *   <li>STORED: 事前に CRC・サイズを計算した一時ファイルをそのまま書く（写真本体）</li>
+ *   <li>DEFLATED: メモリ上で圧縮してから書く（README / JSON など小さいエントリ）</li>
+ *   <li>ファイル名は UTF-8（汎用フラグ bit 11）</li>
+ *   <li>アーカイブが 4GB / 65535 エントリを超える場合はセントラルディレクトリを ZIP64 で書く
+ *       （各エントリ本体は 4GB 未満を前提とする）</li>
+ * </ul>
+ */
+final class ResumableZipWriter {
+
+    /** 書き込み済みエントリ（セントラルディレクトリの材料）。 */
+    record Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {}
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final short ZIP64_EXTRA_ID = 0x0001;
+
+    private static final short VERSION_DEFAULT = 20;
+    private static final short VERSION_ZIP64 = 45;
+    private static final short FLAG_UTF8 = 0x0800;
+
+    private static final long MAX_32 = 0xFFFFFFFFL;
+    private static final int MAX_16 = 0xFFFF;
+
+    private final OutputStream out;
+    private final int dosTime;
+    private final int dosDate;
+    private final List<Entry> entries;
+    private long offset;
+
+    /**
+     * @param out       書き込み先（クローズはしない）
+     * @param offset    {@code out} の先頭がアーカイブ内のどのオフセットに当たるか（新規なら 0）
+     * @param written   再開時の書き込み済みエントリ（新規なら空）
+     * @param timestamp 全エントリの更新日時（再開しても同じ値を使うこと）
+     */
+    ResumableZipWriter(OutputStream out, long offset, List<Entry> written, LocalDateTime timestamp) {
+        this.out = out;
+        this.offset = offset;
+        this.entries = new ArrayList<>(written);
+        int dos = toDosDateTime(timestamp);
+        this.dosDate = dos >>> 16;
+        this.dosTime = dos & MAX_16;
+    }
+
+    /** 次に書き込むアーカイブ内オフセット。 */
+    long offset() {
+        return offset;
+    }
+
+    /** 書き込み済みエントリ（書き込み順）。 */
+    List<Entry> entries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /** CRC・サイズ計算済みのファイルを STORED エントリとして書き込む。 */
+    Entry writeStored(String name, Path file, long size, long crc) throws IOException {
+        requireEntrySize(name, size);
+        Entry entry = new Entry(name, ZipEntry.STORED, crc, size, size, offset);
+        writeLocalHeader(entry);
+        long copied = Files.copy(file, out);
+        if (copied != size) {
+            throw new IOException("一時ファイルのサイズが記録と一致しません: name=" + name
+                    + " expected=" + size + " actual=" + copied);
+        }
+        offset += size;
+        entries.add(entry);
+        return entry;
+    }
+
+    /** メモリ上で Deflate 圧縮して DEFLATED エントリとして書き込む。 */
+    Entry writeDeflated(String name, byte[] content) throws IOException {
+        requireEntrySize(name, content.length);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        byte[] compressed = deflate(content);
+        Entry entry = new Entry(name, ZipEntry.DEFLATED, crc.getValue(), compressed.length, content.length, offset);
+        writeLocalHeader(entry);
+        out.write(compressed);
+        offset += compressed.length;
+        entries.add(entry);
+        return entry;
+    }
+
+    /** セントラルディレクトリと終端レコードを書き込んでアーカイブを閉じる（{@code out} はクローズしない）。 */
+    void finish() throws IOException {
+        long centralDirectoryOffset = offset;
+        for (Entry entry : entries) {
+            writeCentralHeader(entry);
+        }
+        long centralDirectorySize = offset - centralDirectoryOffset;
+
+        boolean zip64 = entries.size() >= MAX_16
+                || centralDirectoryOffset >= MAX_32
+                || centralDirectorySize >= MAX_32;
+        if (zip64) {
+            long zip64EndOffset = offset;
+            ByteBuffer end64 = buffer(56);
+            end64.putInt(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            end64.putLong(44);
+            end64.putShort(VERSION_ZIP64);
+            end64.putShort(VERSION_ZIP64);
+            end64.putInt(0);
+            end64.putInt(0);
+            end64.putLong(entries.size());
+            end64.putLong(entries.size());
+            end64.putLong(centralDirectorySize);
+            end64.putLong(centralDirectoryOffset);
+            write(end64);
+
+            ByteBuffer locator = buffer(20);
+            locator.putInt(ZIP64_LOCATOR_SIGNATURE);
+            locator.putInt(0);
+            locator.putLong(zip64EndOffset);
+            locator.putInt(1);
+            write(locator);
+        }
+
+        ByteBuffer end = buffer(22);
+        end.putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        end.putShort((short) 0);
+        end.putShort((short) 0);
+        end.putShort((short) (zip64 ? MAX_16 : entries.size()));
+        end.putShort((short) (zip64 ? MAX_16 : entries.size()));
+        end.putInt((int) (zip64 ? MAX_32 : centralDirectorySize));
+        end.putInt((int) (zip64 ? MAX_32 : centralDirectoryOffset));
+        end.putShort((short) 0);
+        write(end);
+        out.flush();
+    }
+
+    private void writeLocalHeader(Entry entry) throws IOException {
+        byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = buffer(30 + name.length);
+        header.putInt(LOCAL_HEADER_SIGNATURE);
+        header.putShort(VERSION_DEFAULT);
+        header.putShort(FLAG_UTF8);
+        header.putShort((short) entry.method());
+        header.putShort((short) dosTime);
+        header.putShort((short) dosDate);
+        header.putInt((int) entry.crc());
+        header.putInt((int) entry.compressedSize());
+        header.putInt((int) entry.size());
+        header.putShort((short) name.length);
+        header.putShort((short) 0);
+        header.put(name);
+        write(header);
+    }
+
+    private void writeCentralHeader(Entry entry) throws IOException {
+        byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+        boolean zip64Offset = entry.localHeaderOffset() >= MAX_32;
+        int extraLength = zip64Offset ? 12 : 0;
+        ByteBuffer header = buffer(46 + name.length + extraLength);
+        header.putInt(CENTRAL_HEADER_SIGNATURE);
+        header.putShort(VERSION_ZIP64);
+        header.putShort(zip64Offset ? VERSION_ZIP64 : VERSION_DEFAULT);
+        header.putShort(FLAG_UTF8);
+        header.putShort((short) entry.method());
+        header.putShort((short) dosTime);
+        header.putShort((short) dosDate);
+        header.putInt((int) entry.crc());
+        header.putInt((int) entry.compressedSize());
+        header.putInt((int) entry.size());
+        header.putShort((short) name.length);
+        header.putShort((short) extraLength);
+        header.putShort((short) 0);
+        header.putShort((short) 0);
+        header.putShort((short) 0);
+        header.putInt(0);
+        header.putInt((int) (zip64Offset ? MAX_32 : entry.localHeaderOffset()));
+        header.put(name);
+        if (zip64Offset) {
+            header.putShort(ZIP64_EXTRA_ID);
+            header.putShort((short) 8);
+            header.putLong(entry.localHeaderOffset());
+        }
+        write(header);
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        out.write(buffer.array(), 0, buffer.position());
+        offset += buffer.position();
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                compressed.write(chunk, 0, n);
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void requireEntrySize(String name, long size) {
+        if (size >= MAX_32) {
+            throw new IllegalArgumentException("4GB 以上のエントリは書き込めません: name=" + name + " size=" + size);
+        }
+    }
+
+    /** MS-DOS 形式の日時（上位 16bit = 日付、下位 16bit = 時刻、秒は 2 秒単位）。 */
+    private static int toDosDateTime(LocalDateTime t) {
+        int year = Math.max(t.getYear(), 1980);
+        return (year - 1980) << 25
+                | t.getMonthValue() << 21
+                | t.getDayOfMonth() << 16
+                | t.getHour() << 11
+                | t.getMinute() << 5
+                | t.getSecond() >> 1;
+    }
+}
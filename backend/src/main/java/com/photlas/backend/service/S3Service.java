@@ -1,21 +1,45 @@
 package com.photlas.backend.service;
 
+import com.photlas.backend.config.AwsSdkMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.Tag;
 import software.amazon.awssdk.services.s3.model.Tagging;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -27,6 +51,9 @@ public class S3Service {
 
     private static final int PRESIGNED_URL_EXPIRATION_MINUTES = 10;
 
+    /** DeleteObjects API の 1 リクエストあたりの最大キー数（S3 の仕様） */
+    public static final int MAX_DELETE_OBJECTS_PER_REQUEST = 1000;
+
     /** 写真アップロードの最大ファイルサイズ（50MB） */
     private static final long MAX_PHOTO_UPLOAD_SIZE = 50L * 1024 * 1024;
 
@@ -69,6 +96,27 @@ public class S3Service {
     @Value("${aws.s3.cloudfront-domain}")
     private String cloudFrontDomain;
 
+    /** S3 クライアントに登録するインターセプター（API 呼び出しの計測） */
+    private final List<ExecutionInterceptor> interceptors;
+
+    @Autowired
+    public S3Service(AwsSdkMetricsInterceptor metricsInterceptor) {
+        this.interceptors = List.of(metricsInterceptor);
+    }
+
+    /** テスト用コンストラクタ：計測なし */
+    S3Service() {
+        this.interceptors = List.of();
+    }
+
+    private S3Client newS3Client() {
+        return S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .overrideConfiguration(c -> c.executionInterceptors(interceptors))
+                .build();
+    }
+
     /**
      * S3署名付きアップロードURLを生成する
      *
@@ -183,10 +231,7 @@ public class S3Service {
      * @param s3ObjectKey 削除するS3オブジェクトキー
      */
     public void deleteS3Object(String s3ObjectKey) {
-        try (S3Client s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build()) {
+        try (S3Client s3Client = newS3Client()) {
 
             DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
                     .bucket(bucketName)
@@ -198,23 +243,58 @@ public class S3Service {
     }
 
     /**
-     * Issue#108: S3 オブジェクトの内容をバイト配列でダウンロードする。
+     * 複数の S3 オブジェクトを DeleteObjects API でまとめて削除する。
+     *
+     * <p>1 リクエストで削除できるのは {@value #MAX_DELETE_OBJECTS_PER_REQUEST} キーまで。
+     * S3 は存在しないキーの削除も成功として扱うため、再実行しても安全。</p>
+     *
+     * @param s3ObjectKeys 削除するキー（{@value #MAX_DELETE_OBJECTS_PER_REQUEST} 件以下）
+     * @return 削除に失敗したキー（全件成功なら空）
+     * @throws IllegalArgumentException キーが上限を超える場合
+     */
+    public Set<String> deleteS3Objects(List<String> s3ObjectKeys) {
+        if (s3ObjectKeys.size() > MAX_DELETE_OBJECTS_PER_REQUEST) {
+            throw new IllegalArgumentException("DeleteObjects のキー数が上限を超えています: " + s3ObjectKeys.size());
+        }
+        if (s3ObjectKeys.isEmpty()) {
+            return Set.of();
+        }
+        try (S3Client s3Client = newS3Client()) {
+
+            List<ObjectIdentifier> objects = s3ObjectKeys.stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    // quiet: 成功したキーはレスポンスに含めず、失敗分だけ返させる
+                    .delete(Delete.builder().objects(objects).quiet(true).build())
+                    .build();
+
+            DeleteObjectsResponse response = s3Client.deleteObjects(deleteRequest);
+            Set<String> failedKeys = new HashSet<>();
+            for (S3Error error : response.errors()) {
+                failedKeys.add(error.key());
+            }
+            return failedKeys;
+        }
+    }
+
+    /**
+     * Issue#108: S3 オブジェクトの内容を {@code out} へストリーミングで書き出す。
      *
      * <p>ユーザーデータエクスポートで写真本体を ZIP に同梱する際に使用する。
-     * 1 枚あたり最大 50MB（{@link #MAX_PHOTO_UPLOAD_SIZE}）を想定するため、
-     * メモリへ全体を一度に読み込んでよい（ストリーミング処理側でメモリ使用量を
-     * 並列度で制御する想定、§4.3 §4.5 参照）。</p>
+     * レスポンスボディをバイト配列に溜めず、受信しながら {@code out}（一時ファイル等）へ流すため、
+     * 1 枚あたりのヒープ使用量はコピー用バッファ分に収まる。</p>
      *
      * @param s3ObjectKey ダウンロードする S3 オブジェクトキー
-     * @return オブジェクト本体のバイト配列
+     * @param out         書き出し先（クローズはしない）
+     * @return 書き出したバイト数
      * @throws software.amazon.awssdk.services.s3.model.NoSuchKeyException 存在しないキー
      * @throws software.amazon.awssdk.core.exception.SdkException その他の S3 エラー
+     * @throws UncheckedIOException 書き出し先または受信中の I/O エラー
      */
-    public byte[] downloadObjectAsBytes(String s3ObjectKey) {
-        try (S3Client s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build()) {
+    public long downloadObjectTo(String s3ObjectKey, OutputStream out) {
+        try (S3Client s3Client = newS3Client()) {
 
             software.amazon.awssdk.services.s3.model.GetObjectRequest getRequest =
                     software.amazon.awssdk.services.s3.model.GetObjectRequest.builder()
@@ -222,7 +302,11 @@ public class S3Service {
                             .key(s3ObjectKey)
                             .build();
 
-            return s3Client.getObjectAsBytes(getRequest).asByteArray();
+            try (InputStream body = s3Client.getObject(getRequest)) {
+                return body.transferTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
     }
 
@@ -233,10 +317,7 @@ public class S3Service {
      * @return 存在する場合true
      */
     public boolean existsInS3(String s3ObjectKey) {
-        try (S3Client s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build()) {
+        try (S3Client s3Client = newS3Client()) {
 
             s3Client.headObject(software.amazon.awssdk.services.s3.model.HeadObjectRequest.builder()
                     .bucket(bucketName)
@@ -259,10 +340,7 @@ public class S3Service {
      * @param tagValue タグ値（例: "registered"）
      */
     public void updateObjectTag(String s3ObjectKey, String tagKey, String tagValue) {
-        try (S3Client s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build()) {
+        try (S3Client s3Client = newS3Client()) {
 
             Tagging tagging = Tagging.builder()
                     .tagSet(Tag.builder().key(tagKey).value(tagValue).build())
@@ -316,10 +394,7 @@ public class S3Service {
      * @param destinationKey 移動先のS3オブジェクトキー
      */
     public void moveS3Object(String sourceKey, String destinationKey) {
-        try (S3Client s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build()) {
+        try (S3Client s3Client = newS3Client()) {
 
             CopyObjectRequest copyRequest = CopyObjectRequest.builder()
                     .sourceBucket(bucketName)
@@ -339,6 +414,122 @@ public class S3Service {
         }
     }
 
+    /**
+     * データエクスポート（ジョブモード）: マルチパートアップロードを開始する。
+     *
+     * @param s3ObjectKey アップロード先オブジェクトキー
+     * @param contentType Content-Type
+     * @return uploadId
+     */
+    public String createMultipartUpload(String s3ObjectKey, String contentType) {
+        try (S3Client s3Client = newS3Client()) {
+
+            CreateMultipartUploadRequest request = CreateMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3ObjectKey)
+                    .contentType(contentType)
+                    .build();
+
+            return s3Client.createMultipartUpload(request).uploadId();
+        }
+    }
+
+    /**
+     * データエクスポート（ジョブモード）: ファイルの内容を 1 パートとしてアップロードする。
+     *
+     * <p>同じ partNumber で再アップロードした場合は S3 側で上書きされる（再開時の再送に使う）。
+     * 最終パート以外は 5MB 以上である必要がある（S3 の制約）。</p>
+     *
+     * @return パートの ETag
+     */
+    public String uploadPart(String s3ObjectKey, String uploadId, int partNumber, Path file) {
+        try (S3Client s3Client = newS3Client()) {
+
+            UploadPartRequest request = UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3ObjectKey)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .build();
+
+            return s3Client.uploadPart(request, RequestBody.fromFile(file)).eTag();
+        }
+    }
+
+    /**
+     * データエクスポート（ジョブモード）: マルチパートアップロードを完了する。
+     *
+     * @param parts アップロード済みパート（パート番号昇順）
+     */
+    public void completeMultipartUpload(String s3ObjectKey, String uploadId, List<UploadedPart> parts) {
+        try (S3Client s3Client = newS3Client()) {
+
+            List<CompletedPart> completedParts = parts.stream()
+                    .map(p -> CompletedPart.builder().partNumber(p.partNumber()).eTag(p.eTag()).build())
+                    .toList();
+            CompleteMultipartUploadRequest request = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3ObjectKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build();
+
+            s3Client.completeMultipartUpload(request);
+        }
+    }
+
+    /**
+     * データエクスポート（ジョブモード）: マルチパートアップロードを中止し、アップロード済みパートを破棄する。
+     */
+    public void abortMultipartUpload(String s3ObjectKey, String uploadId) {
+        try (S3Client s3Client = newS3Client()) {
+
+            AbortMultipartUploadRequest request = AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3ObjectKey)
+                    .uploadId(uploadId)
+                    .build();
+
+            s3Client.abortMultipartUpload(request);
+        }
+    }
+
+    /**
+     * S3署名付きダウンロードURLを生成する（データエクスポートのダウンロードリンク用）。
+     *
+     * <p>Content-Disposition を attachment にしてブラウザで保存させる。
+     * 一時認証情報（IAM ロール）で署名した場合、URL はその認証情報の失効時刻を超えて使えない点に注意。</p>
+     *
+     * @param s3ObjectKey ダウンロード対象のオブジェクトキー
+     * @param expiration  有効期間
+     * @param filename    保存時のファイル名
+     * @return 署名付き URL
+     */
+    public String generatePresignedDownloadUrl(String s3ObjectKey, Duration expiration, String filename) {
+        try (S3Presigner presigner = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .build()) {
+
+            software.amazon.awssdk.services.s3.model.GetObjectRequest getRequest =
+                    software.amazon.awssdk.services.s3.model.GetObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(s3ObjectKey)
+                            .responseContentDisposition("attachment; filename=\"" + filename + "\"")
+                            .build();
+
+            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                    .signatureDuration(expiration)
+                    .getObjectRequest(getRequest)
+                    .build();
+
+            return presigner.presignGetObject(presignRequest).url().toString();
+        }
+    }
+
+    /** マルチパートアップロードのアップロード済みパート。 */
+    public record UploadedPart(int partNumber, String eTag) {}
+
     /**
      * 署名付きURL生成結果を保持するクラス
      */
@@ -0,0 +1,182 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.ScheduledJobRun;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Scheduled ジョブを全ノードで高々 1 回だけ実行するためのランナー。
+ *
+ * <p>全ノードが同じ cron で起動しても、PostgreSQL のロックテーブル（scheduled_job_locks）の
+ * リースを取得できた 1 ノードだけがジョブを実行し、他ノードはスキップする。</p>
+ *
+ * <ul>
+ *   <li>リース: 取得時に {@code lease} 後まで有効。実行中は {@code lease} の 1/3 ごとに延長し、
+ *       ノードが落ちた場合はリース切れで他ノードが次回から引き取れる</li>
+ *   <li>最低保持時間: 終了後も取得から {@code lock-at-least} 経つまではロックを残し、
+ *       起動が少し遅れた他ノードが同じ回を再実行しないようにする</li>
+ *   <li>実行履歴: ロックを取得して実行した回の所要時間・処理件数・結果を scheduled_job_runs に記録する</li>
+ * </ul>
+ *
+ * <p>{@code photlas.scheduling.lock.enabled=false} の場合はロック・履歴なしでそのまま実行する
+ * （テストなど単一ノードでジョブを直接呼ぶ場合）。</p>
+ */
+@Service
+public class ScheduledJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledJobRunner.class);
+
+    static final String METRIC_RUNS = "photlas.scheduled.jobs";
+    static final String METRIC_SKIPPED = "photlas.scheduled.jobs.skipped";
+
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 1000;
+
+    /** ジョブ本体。処理件数（削除した行数など）を返す。 */
+    @FunctionalInterface
+    public interface Job {
+        long run();
+    }
+
+    private final ScheduledJobStore store;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration lease;
+    private final Duration lockAtLeast;
+    private final String nodeId;
+    private final ScheduledExecutorService leaseRenewer;
+
+    public ScheduledJobRunner(
+            ScheduledJobStore store,
+            MeterRegistry meterRegistry,
+            @Value("${photlas.scheduling.lock.enabled:true}") boolean enabled,
+            @Value("${photlas.scheduling.lock.lease:PT10M}") Duration lease,
+            @Value("${photlas.scheduling.lock.lock-at-least:PT30S}") Duration lockAtLeast,
+            @Value("${photlas.scheduling.node-id:}") String nodeId) {
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.lease = lease;
+        this.lockAtLeast = lockAtLeast;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "photlas-job-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    /** 実行履歴・ロックの所有者表示に使うノード ID。 */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * ロックを取得できた場合だけジョブを実行する。
+     *
+     * <p>ジョブの例外はログと実行履歴（FAILED）に残して握りつぶす（@Scheduled の既定の扱いと同じ）。</p>
+     *
+     * @param jobName ジョブ名（ロックと実行履歴のキー）
+     * @param job     ジョブ本体
+     * @return 実行した場合は true、他ノードが保持中でスキップした場合は false
+     */
+    public boolean run(String jobName, Job job) {
+        if (!enabled) {
+            job.run();
+            return true;
+        }
+
+        String owner = nodeId + "#" + UUID.randomUUID();
+        if (!store.tryAcquire(jobName, owner, lease)) {
+            logger.debug("他ノードが実行中のためスキップ: job={}", jobName);
+            meterRegistry.counter(METRIC_SKIPPED, "job", jobName).increment();
+            return false;
+        }
+
+        long renewMillis = Math.max(lease.toMillis() / 3, 1);
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(
+                () -> renew(jobName, owner), renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        try {
+            execute(jobName, job);
+        } finally {
+            renewal.cancel(false);
+            try {
+                store.release(jobName, owner, lockAtLeast);
+            } catch (RuntimeException e) {
+                // 解放できなくてもリース切れで他ノードが引き取れる
+                logger.warn("スケジュールジョブのロック解放に失敗: job={}", jobName, e);
+            }
+        }
+        return true;
+    }
+
+    private void execute(String jobName, Job job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        ScheduledJobRun run = new ScheduledJobRun();
+        try {
+            run.setRowsProcessed(job.run());
+            run.setStatus(ScheduledJobRun.STATUS_COMPLETED);
+        } catch (RuntimeException e) {
+            logger.error("スケジュールジョブが失敗しました: job={}", jobName, e);
+            run.setStatus(ScheduledJobRun.STATUS_FAILED);
+            run.setErrorMessage(truncate(e.toString()));
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        meterRegistry.timer(METRIC_RUNS, "job", jobName, "outcome", run.getStatus().toLowerCase())
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        run.setJobName(jobName);
+        run.setNode(nodeId);
+        run.setStartedAt(startedAt);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        try {
+            store.recordRun(run);
+        } catch (RuntimeException e) {
+            logger.warn("スケジュールジョブの実行履歴の記録に失敗: job={}", jobName, e);
+        }
+    }
+
+    private void renew(String jobName, String owner) {
+        try {
+            if (!store.renew(jobName, owner, lease)) {
+                logger.warn("スケジュールジョブのリースを失いました（他ノードが引き取った可能性）: job={}", jobName);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("スケジュールジョブのリース延長に失敗: job={}", jobName, e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= ERROR_MESSAGE_MAX_LENGTH ? message : message.substring(0, ERROR_MESSAGE_MAX_LENGTH);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+}
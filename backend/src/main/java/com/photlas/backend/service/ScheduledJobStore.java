@@ -0,0 +1,57 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.ScheduledJobRun;
+import com.photlas.backend.repository.ScheduledJobLockRepository;
+import com.photlas.backend.repository.ScheduledJobRunRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * @Scheduled ジョブの分散ロックと実行履歴の永続化（{@link ScheduledJobRunner} 用）。
+ *
+ * <p>各メソッドは呼び出し元のトランザクションと独立してコミットする（REQUIRES_NEW）。
+ * ジョブ本体がトランザクション内から呼ばれても、ロックの取得・解放が他ノードから即座に見え、
+ * ジョブのロールバックに実行履歴が巻き込まれないようにする。</p>
+ */
+@Service
+public class ScheduledJobStore {
+
+    private final ScheduledJobLockRepository lockRepository;
+    private final ScheduledJobRunRepository runRepository;
+
+    public ScheduledJobStore(ScheduledJobLockRepository lockRepository, ScheduledJobRunRepository runRepository) {
+        this.lockRepository = lockRepository;
+        this.runRepository = runRepository;
+    }
+
+    /** リースが空いていればロックを取得する。 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String jobName, String owner, Duration lease) {
+        return lockRepository.tryAcquire(jobName, owner, seconds(lease)) == 1;
+    }
+
+    /** 保持中のリースを延長する。リースを失っていれば false。 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean renew(String jobName, String owner, Duration lease) {
+        return lockRepository.renew(jobName, owner, seconds(lease)) == 1;
+    }
+
+    /** ロックを解放する（取得から {@code lockAtLeast} 経つまでは保持したままにする）。 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String jobName, String owner, Duration lockAtLeast) {
+        return lockRepository.release(jobName, owner, seconds(lockAtLeast)) == 1;
+    }
+
+    /** 実行履歴を 1 件記録する。 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordRun(ScheduledJobRun run) {
+        runRepository.save(run);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * 写真のスポットへの割り当て（半径 200m 以内の既存スポットへの集約、なければ新規作成）と、
+ * 近接して重複したスポットの統合。
+ *
+ * <p>同じ場所への同時投稿が互いの新規スポットを見ないまま両方ともスポットを作らないよう、
+ * 検索の前に座標の周囲のセルの advisory lock（{@code pg_advisory_xact_lock}）を取得する。
+ * セルはジオハッシュ 6 桁と同じ格子（経度・緯度それぞれ 15 ビット。東京付近で約 1.0km × 0.6km）で、
+ * 座標から集約半径の範囲に掛かるセルをすべてロックする。200m 以内の 2 地点は必ず互いのセルを
+ * ロック対象に含むため、近くの割り当て同士だけが直列化され、離れた場所の投稿は待たない。</p>
+ *
+ * <p>ロックは呼び出し元のトランザクションの終了で解放される（新規スポットがコミットされて他から見えるまで保持する）。
+ * デッドロックを避けるため、複数のセルは常にセル番号の昇順に取得する。</p>
+ */
+@Service
+public class SpotAssignmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpotAssignmentService.class);
+
+    static final String METRIC_LOCK_WAIT = "photlas.spots.assignment.lock.wait";
+    static final String METRIC_ASSIGNMENTS = "photlas.spots.assignments";
+    static final String METRIC_MERGED = "photlas.spots.merged";
+
+    /** 集約半径（{@link SpotRepository#findSpotsWithin200m} と同じ） */
+    static final double AGGREGATION_RADIUS_METERS = 200;
+
+    /** pg_advisory_xact_lock(int, int) の 1 つ目のキー（スポットのセルのロックであることを示す。"SPOT"） */
+    static final int LOCK_NAMESPACE = 0x53504f54;
+
+    /** セルの格子のビット数（経度・緯度それぞれ。ジオハッシュ 6 桁 = 30 ビット） */
+    static final int CELL_BITS = 15;
+    private static final int CELLS_PER_AXIS = 1 << CELL_BITS;
+    private static final double CELL_LONGITUDE_DEGREES = 360.0 / CELLS_PER_AXIS;
+    private static final double CELL_LATITUDE_DEGREES = 180.0 / CELLS_PER_AXIS;
+
+    /**
+     * 緯度 1 度あたりの距離の最小値（WGS84 の子午線曲率半径が最小となる赤道での値）。
+     * 集約の判定（geography の ST_DWithin）は楕円体上の距離のため、球の値（約 111,195m）では範囲を狭く見積もる。
+     * 経度 1 度あたりの距離も WGS84 では {@code この値 × cos(緯度)} 以上になる。
+     */
+    private static final double MIN_METERS_PER_DEGREE = 110_574;
+    /** 計算誤差に対する集約半径の余裕（1%） */
+    private static final double RADIUS_MARGIN = 1.01;
+    /** 極付近で経度方向の範囲が発散しないよう、cos(緯度) の下限を 89 度の値にする */
+    private static final double MIN_LATITUDE_COS = Math.cos(Math.toRadians(89));
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private final SpotRepository spotRepository;
+    private final PhotoRepository photoRepository;
+    private final SpotTileService spotTileService;
+    private final SpotSummaryService spotSummaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public SpotAssignmentService(SpotRepository spotRepository, PhotoRepository photoRepository,
+                                 SpotTileService spotTileService, SpotSummaryService spotSummaryService,
+                                 JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.spotRepository = spotRepository;
+        this.photoRepository = photoRepository;
+        this.spotTileService = spotTileService;
+        this.spotSummaryService = spotSummaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 半径 200m 以内に既存スポットがあれば最も近いものを返し、なければ新規作成する。
+     * 呼び出し元のトランザクション内で呼ぶこと（ロックはそのトランザクションの終了まで保持する）。
+     *
+     * @param createdByUserId 新規作成する場合の作成者
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Spot findOrCreateSpot(BigDecimal latitude, BigDecimal longitude, Long createdByUserId) {
+        lockCells(cellsAround(latitude.doubleValue(), longitude.doubleValue()));
+
+        List<Spot> nearbySpots = spotRepository.findSpotsWithin200m(latitude, longitude);
+        if (!nearbySpots.isEmpty()) {
+            // 最も近いスポット（先頭）を返す
+            Spot closestSpot = nearbySpots.get(0);
+            meterRegistry.counter(METRIC_ASSIGNMENTS, "result", "existing").increment();
+            logger.info("既存スポットを使用: spotId={}", closestSpot.getSpotId());
+            return closestSpot;
+        }
+
+        Spot newSpot = new Spot();
+        newSpot.setLatitude(latitude);
+        newSpot.setLongitude(longitude);
+        newSpot.setCreatedByUserId(createdByUserId);
+        Spot savedSpot = spotRepository.save(newSpot);
+        meterRegistry.counter(METRIC_ASSIGNMENTS, "result", "created").increment();
+        logger.info("新規スポットを作成: spotId={}", savedSpot.getSpotId());
+        return savedSpot;
+    }
+
+    /**
+     * 重複したスポットの写真を残すスポットへ移し、重複したスポットを削除する。
+     *
+     * <p>両スポットの周囲のセルをロックしてから行うため、統合中に重複したスポットへ新しい写真が割り当てられることはない。
+     * 両スポットを含むタイルの版数を上げ、残すスポットの要約を作り直す。</p>
+     *
+     * @return 統合した場合は true。どちらかのスポットが既に無い場合は false
+     */
+    @Transactional
+    public boolean mergeSpots(long duplicateSpotId, long keepSpotId) {
+        Optional<Spot> duplicate = spotRepository.findById(duplicateSpotId);
+        Optional<Spot> keep = spotRepository.findById(keepSpotId);
+        if (duplicate.isEmpty() || keep.isEmpty()) {
+            return false;
+        }
+
+        SortedSet<Integer> cells = cellsAround(
+                duplicate.get().getLatitude().doubleValue(), duplicate.get().getLongitude().doubleValue());
+        cells.addAll(cellsAround(keep.get().getLatitude().doubleValue(), keep.get().getLongitude().doubleValue()));
+        lockCells(cells);
+        // ロック待ちの間に他の統合で消えていれば何もしない
+        if (!spotRepository.existsById(duplicateSpotId) || !spotRepository.existsById(keepSpotId)) {
+            return false;
+        }
+
+        spotTileService.bumpSpots(List.of(duplicateSpotId, keepSpotId));
+        int photosMoved = photoRepository.moveToSpot(duplicateSpotId, keepSpotId);
+        spotRepository.deleteOrphanedSpotsIn(List.of(duplicateSpotId));
+        spotSummaryService.refresh(List.of(keepSpotId));
+        meterRegistry.counter(METRIC_MERGED).increment();
+        logger.info("重複スポットを統合: duplicateSpotId={}, keepSpotId={}, photos={}",
+                duplicateSpotId, keepSpotId, photosMoved);
+        return true;
+    }
+
+    /** セルのロックを昇順に取得し、待ち時間を記録する */
+    private void lockCells(SortedSet<Integer> cells) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        for (int cell : cells) {
+            jdbcTemplate.queryForList(LOCK_SQL, LOCK_NAMESPACE, cell);
+        }
+        sample.stop(meterRegistry.timer(METRIC_LOCK_WAIT));
+    }
+
+    /**
+     * 座標から集約半径の範囲（外接する緯度経度の矩形）に掛かるセルの番号を昇順に返す。
+     * セル番号は {@code 経度方向の番号 << 15 | 緯度方向の番号}。経度は日付変更線で折り返す。
+     *
+     * <p>矩形は狭く見積もらないよう、1 度あたりの距離の最小値と、範囲内で最も極に近い緯度の cos から求める。</p>
+     */
+    static SortedSet<Integer> cellsAround(double latitude, double longitude) {
+        double latitudeDelta = AGGREGATION_RADIUS_METERS * RADIUS_MARGIN / MIN_METERS_PER_DEGREE;
+        double polewardLatitude = Math.min(Math.abs(latitude) + latitudeDelta, 90);
+        double longitudeDelta = latitudeDelta
+                / Math.max(Math.cos(Math.toRadians(polewardLatitude)), MIN_LATITUDE_COS);
+
+        int minY = clamp((int) Math.floor((latitude - latitudeDelta + 90) / CELL_LATITUDE_DEGREES));
+        int maxY = clamp((int) Math.floor((latitude + latitudeDelta + 90) / CELL_LATITUDE_DEGREES));
+        int minX = (int) Math.floor((longitude - longitudeDelta + 180) / CELL_LONGITUDE_DEGREES);
+        int maxX = (int) Math.floor((longitude + longitudeDelta + 180) / CELL_LONGITUDE_DEGREES);
+
+        SortedSet<Integer> cells = new TreeSet<>();
+        for (int x = minX; x <= maxX; x++) {
+            int wrappedX = Math.floorMod(x, CELLS_PER_AXIS);
+            for (int y = minY; y <= maxY; y++) {
+                cells.add(wrappedX << CELL_BITS | y);
+            }
+        }
+        return cells;
+    }
+
+    private static int clamp(int cell) {
+        return Math.max(0, Math.min(CELLS_PER_AXIS - 1, cell));
+    }
+}
@@ -0,0 +1,15 @@
+package com.photlas.backend.service;
+
+/**
+ * ベクタータイルに載せるスポット 1 件（{@link SpotVectorTileEncoder} の入力）。
+ *
+ * @param spotId       スポットID（地物の ID）
+ * @param latitude     緯度
+ * @param longitude    経度
+ * @param photoCount   フィルター条件に合致する写真数
+ * @param pinColor     ピン色（{@link SpotService#determinePinColor} の値）
+ * @param thumbnailKey 最新の写真のサムネイルのキー（CDN のドメインは含まない。写真が無ければ null）
+ */
+public record SpotFeature(long spotId, double latitude, double longitude, int photoCount,
+                          String pinColor, String thumbnailKey) {
+}
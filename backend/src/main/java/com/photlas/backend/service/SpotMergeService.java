@@ -0,0 +1,90 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.repository.SpotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 近接して重複したスポットの統合バッチ。
+ *
+ * <p>スポットの割り当てがロックされる前の同時投稿などで、集約半径（200m）以内に複数のスポットが
+ * できている場合、新しい方の写真を古い方へ移して新しい方を削除する（{@link SpotAssignmentService#mergeSpots}）。
+ * 1 組ごとに別のトランザクションでコミットする。</p>
+ */
+@Service
+public class SpotMergeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpotMergeService.class);
+    private static final String JOB_NAME = "spot_merge";
+
+    private final SpotRepository spotRepository;
+    private final SpotAssignmentService spotAssignmentService;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final double distanceMeters;
+    private final int batchSize;
+
+    public SpotMergeService(SpotRepository spotRepository, SpotAssignmentService spotAssignmentService,
+                            ScheduledJobRunner scheduledJobRunner,
+                            @Value("${photlas.spots.merge.distance-meters:200}") double distanceMeters,
+                            @Value("${photlas.spots.merge.batch-size:100}") int batchSize) {
+        this.spotRepository = spotRepository;
+        this.spotAssignmentService = spotAssignmentService;
+        this.scheduledJobRunner = scheduledJobRunner;
+        this.distanceMeters = distanceMeters;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 重複スポットの統合を実行する
+     * 毎日午前4時30分に実行される
+     *
+     * 複数ノードのうち分散ロックを取得した 1 ノードだけが実行する。
+     */
+    @Scheduled(cron = "0 30 4 * * *")
+    public void mergeDuplicateSpots() {
+        scheduledJobRunner.run(JOB_NAME, this::mergeAll);
+    }
+
+    /**
+     * 重複の組がなくなるまで統合する。
+     *
+     * <p>同じバッチの中で既に統合して消えたスポットを残す側とする組は飛ばし、次のバッチで組み直す。
+     * 各バッチの先頭の組は必ず統合できるため、バッチを繰り返すたびにスポットが減って終了する。</p>
+     */
+    private long mergeAll() {
+        long merged = 0;
+        while (true) {
+            List<Object[]> pairs = spotRepository.findDuplicateSpotPairs(distanceMeters, batchSize);
+            if (pairs.isEmpty()) {
+                break;
+            }
+            Set<Long> mergedSpotIds = new HashSet<>();
+            for (Object[] pair : pairs) {
+                long duplicateSpotId = ((Number) pair[0]).longValue();
+                long keepSpotId = ((Number) pair[1]).longValue();
+                if (mergedSpotIds.contains(keepSpotId)) {
+                    continue;
+                }
+                if (spotAssignmentService.mergeSpots(duplicateSpotId, keepSpotId)) {
+                    mergedSpotIds.add(duplicateSpotId);
+                }
+            }
+            if (mergedSpotIds.isEmpty()) {
+                break;
+            }
+            merged += mergedSpotIds.size();
+        }
+
+        if (merged > 0) {
+            logger.info("重複スポットの統合完了: {}件", merged);
+        }
+        return merged;
+    }
+}
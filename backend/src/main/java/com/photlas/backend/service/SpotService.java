@@ -1,5 +1,7 @@
 package com.photlas.backend.service;
 
+import com.photlas.backend.dto.NearbySpotsResponse;
+import com.photlas.backend.dto.SpotFilter;
 import com.photlas.backend.dto.SpotPhotosResponse;
 import com.photlas.backend.dto.SpotResponse;
 import com.photlas.backend.entity.CodeConstants;
@@ -12,8 +14,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,14 +42,30 @@ public class SpotService {
     private static final int PHOTO_COUNT_THRESHOLD_YELLOW = 10;
     private static final int MAX_SPOTS_LIMIT = 50;
 
+    /** 近くのスポット一覧の半径（m）と 1 ページの件数の上限 */
+    static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    static final int MAX_NEARBY_LIMIT = 100;
+
+    /** 日付変更線の経度（東端と西端） */
+    private static final BigDecimal ANTIMERIDIAN_EAST = new BigDecimal("180");
+    private static final BigDecimal ANTIMERIDIAN_WEST = new BigDecimal("-180");
+    private static final BigDecimal MAX_LATITUDE = new BigDecimal("90");
+
+    /** 集計行の並び順（表示用の写真枚数の多い順。リポジトリの ORDER BY と同じ） */
+    private static final Comparator<Object[]> BY_TOTAL_PHOTO_COUNT_DESC =
+            Comparator.comparingInt((Object[] row) -> ((Number) row[4]).intValue()).reversed();
+
     private final SpotRepository spotRepository;
     private final PhotoRepository photoRepository;
     private final S3Service s3Service;
+    private final QueryMetrics queryMetrics;
 
-    public SpotService(SpotRepository spotRepository, PhotoRepository photoRepository, S3Service s3Service) {
+    public SpotService(SpotRepository spotRepository, PhotoRepository photoRepository, S3Service s3Service,
+                       QueryMetrics queryMetrics) {
         this.spotRepository = spotRepository;
         this.photoRepository = photoRepository;
         this.s3Service = s3Service;
+        this.queryMetrics = queryMetrics;
     }
 
     @Transactional(readOnly = true)
@@ -80,47 +102,78 @@ public class SpotService {
                                        Integer minResolution, List<Integer> deviceTypes, Integer maxAgeDays,
                                        List<String> aspectRatios, List<String> focalLengthRanges, Integer maxIso,
                                        List<Long> tagIds) {
+        return getSpots(north, south, east, west, new SpotFilter(subjectCategories, months, timesOfDay, weathers,
+                minResolution, deviceTypes, maxAgeDays, aspectRatios, focalLengthRanges, maxIso, tagIds));
+    }
+
+    /**
+     * 範囲内のスポット一覧をフィルター（{@link SpotFilter}）で絞り込んで取得する。
+     */
+    @Transactional(readOnly = true)
+    public List<SpotResponse> getSpots(BigDecimal north, BigDecimal south, BigDecimal east, BigDecimal west,
+                                       SpotFilter filter) {
         logger.info("Getting spots within bounds: north={}, south={}, east={}, west={}, tagIds={}",
-                north, south, east, west, tagIds);
+                north, south, east, west, filter.tagIds());
 
-        // null/空リストをセンチネル値に変換
-        List<Integer> safeSubjectCategories = safeIntList(subjectCategories);
-        List<Integer> safeMonths = safeIntList(months);
-        List<Integer> safeTimesOfDay = safeIntList(timesOfDay);
-        List<Integer> safeWeathers = safeIntList(weathers);
-        int safeMinResolution = (minResolution != null) ? minResolution : -1;
-        List<Integer> safeDeviceTypes = safeIntList(deviceTypes);
-        LocalDateTime safeMaxAgeDate = (maxAgeDays != null)
-            ? LocalDateTime.now(ZoneId.of("Asia/Tokyo")).minusDays(maxAgeDays)
-            : LocalDateTime.of(1900, 1, 1, 0, 0);
-        List<String> safeAspectRatios = safeStringList(aspectRatios);
-        List<String> safeFocalLengthRanges = safeStringList(focalLengthRanges);
-        int safeMaxIso = (maxIso != null) ? maxIso : -1;
-        List<Long> safeTagIds = safeLongList(tagIds);
+        return findSpotRows(north, south, east, west, filter).stream()
+                .map(this::convertToSpotResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * ベクタータイル用に、範囲内のスポットを地物の属性として取得する。
+     * 対象・並び順・件数の上限は {@link #getSpots(BigDecimal, BigDecimal, BigDecimal, BigDecimal, SpotFilter)} と同じ。
+     */
+    @Transactional(readOnly = true)
+    public List<SpotFeature> getSpotFeatures(BigDecimal north, BigDecimal south, BigDecimal east, BigDecimal west,
+                                             SpotFilter filter) {
+        logger.info("Getting spot features within bounds: north={}, south={}, east={}, west={}, tagIds={}",
+                north, south, east, west, filter.tagIds());
+
+        return findSpotRows(north, south, east, west, filter).stream()
+                .map(this::convertToSpotFeature)
+                .toList();
+    }
+
+    /** 範囲内のスポットの集計行を取得し、最大件数に制限する（日付変更線をまたぐ範囲は 2 回に分けて検索する） */
+    private List<Object[]> findSpotRows(BigDecimal north, BigDecimal south, BigDecimal east, BigDecimal west,
+                                        SpotFilter filter) {
+        SqlFilter sql = SqlFilter.of(filter);
 
         // リポジトリから集計結果を取得
-        List<Object[]> results = spotRepository.findSpotsWithAdvancedFilters(
-                north, south, east, west, safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
-                safeMinResolution, safeDeviceTypes,
-                safeMaxAgeDate, safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds
-        );
+        String filters = filterShape(filter);
+        List<LongitudeRange> ranges = longitudeRanges(west, east);
+        List<Object[]> results = new ArrayList<>();
+        for (LongitudeRange range : ranges) {
+            results.addAll(queryMetrics.time("findSpotsWithAdvancedFilters", filters,
+                    () -> spotRepository.findSpotsWithAdvancedFilters(
+                            north, south, range.east(), range.west(),
+                            sql.subjectCategories(), sql.months(), sql.timesOfDay(), sql.weathers(),
+                            sql.minResolution(), sql.deviceTypes(),
+                            sql.maxAgeDate(), sql.aspectRatios(), sql.focalLengthRanges(), sql.maxIso(),
+                            sql.tagIds())));
+        }
+        if (ranges.size() > 1) {
+            // 日付変更線の両側の結果をまとめて、1 回で検索したときと同じ順に並べ直す
+            results.sort(BY_TOTAL_PHOTO_COUNT_DESC);
+        }
 
         logger.info("Found {} spots", results.size());
 
-        // SpotResponseに変換
-        List<SpotResponse> spotResponses = results.stream()
-                .map(this::convertToSpotResponse)
-                .collect(Collectors.toList());
-
         // 最大件数に制限
-        if (spotResponses.size() > MAX_SPOTS_LIMIT) {
-            spotResponses = spotResponses.subList(0, MAX_SPOTS_LIMIT);
+        if (results.size() > MAX_SPOTS_LIMIT) {
+            results = results.subList(0, MAX_SPOTS_LIMIT);
         }
 
-        return spotResponses;
+        return results;
     }
 
-    private SpotResponse convertToSpotResponse(Object[] result) {
+    /**
+     * 集計クエリの 1 行をスポットのレスポンスに変換する。
+     * <p>
+     * パッケージプライベート可視性は JMH ベンチマーク（src/jmh）から呼び出すため。
+     */
+    SpotResponse convertToSpotResponse(Object[] result) {
         Long spotId = ((Number) result[0]).longValue();
         BigDecimal latitude = (BigDecimal) result[1];
         BigDecimal longitude = (BigDecimal) result[2];
@@ -141,6 +194,17 @@ public class SpotService {
         return new SpotResponse(spotId, latitude, longitude, title, pinColor, thumbnailUrl, totalPhotoCount);
     }
 
+    /** 集計クエリの 1 行をベクタータイルの地物に変換する（サムネイルは CDN のドメインを含まないキー） */
+    private SpotFeature convertToSpotFeature(Object[] result) {
+        return new SpotFeature(
+                ((Number) result[0]).longValue(),
+                ((BigDecimal) result[1]).doubleValue(),
+                ((BigDecimal) result[2]).doubleValue(),
+                ((Number) result[4]).intValue(),
+                determinePinColor(((Number) result[3]).intValue()),
+                s3Service.deriveThumbnailKey((String) result[5]));
+    }
+
     /**
      * Issue#103: ピン色を投稿件数に応じて決定する。
      * 1〜9: Green / 10〜49: Yellow / 50〜99: Orange / 100〜999: Red / 1000以上: Purple
@@ -208,46 +272,53 @@ public class SpotService {
         int safeMaxIso = (maxIso != null) ? maxIso : -1;
         List<Long> safeTagIds = safeLongList(tagIds);
 
+        LocalDateTime safeMaxAgeCutoff = maxAgeCutoff;
+        String filters = filterShape(new SpotFilter(subjectCategories, months, timesOfDay, weathers,
+                minResolution, deviceTypes, maxAgeDays, aspectRatios, focalLengthRanges, maxIso, tagIds));
         List<Long> ids;
         long total;
         if (viewerUserId != null) {
-            ids = photoRepository.findPhotoIdsBySpotsPagedWithViewer(
-                    spotIds,
-                    CodeConstants.MODERATION_STATUS_PUBLISHED,
-                    CodeConstants.MODERATION_STATUS_PENDING_REVIEW,
-                    viewerUserId,
-                    maxAgeCutoff,
-                    safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
-                    safeMinResolution, safeDeviceTypes,
-                    safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds,
-                    limit,
-                    offset);
-            total = photoRepository.countPhotosBySpotsWithViewer(
-                    spotIds,
-                    CodeConstants.MODERATION_STATUS_PUBLISHED,
-                    CodeConstants.MODERATION_STATUS_PENDING_REVIEW,
-                    viewerUserId,
-                    maxAgeCutoff,
-                    safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
-                    safeMinResolution, safeDeviceTypes,
-                    safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds);
+            ids = queryMetrics.time("findPhotoIdsBySpotsPagedWithViewer", filters,
+                    () -> photoRepository.findPhotoIdsBySpotsPagedWithViewer(
+                            spotIds,
+                            CodeConstants.MODERATION_STATUS_PUBLISHED,
+                            CodeConstants.MODERATION_STATUS_PENDING_REVIEW,
+                            viewerUserId,
+                            safeMaxAgeCutoff,
+                            safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
+                            safeMinResolution, safeDeviceTypes,
+                            safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds,
+                            limit,
+                            offset));
+            total = queryMetrics.time("countPhotosBySpotsWithViewer", filters,
+                    () -> photoRepository.countPhotosBySpotsWithViewer(
+                            spotIds,
+                            CodeConstants.MODERATION_STATUS_PUBLISHED,
+                            CodeConstants.MODERATION_STATUS_PENDING_REVIEW,
+                            viewerUserId,
+                            safeMaxAgeCutoff,
+                            safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
+                            safeMinResolution, safeDeviceTypes,
+                            safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds));
         } else {
-            ids = photoRepository.findPhotoIdsBySpotsPaged(
-                    spotIds,
-                    CodeConstants.MODERATION_STATUS_PUBLISHED,
-                    maxAgeCutoff,
-                    safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
-                    safeMinResolution, safeDeviceTypes,
-                    safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds,
-                    limit,
-                    offset);
-            total = photoRepository.countPhotosBySpots(
-                    spotIds,
-                    CodeConstants.MODERATION_STATUS_PUBLISHED,
-                    maxAgeCutoff,
-                    safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
-                    safeMinResolution, safeDeviceTypes,
-                    safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds);
+            ids = queryMetrics.time("findPhotoIdsBySpotsPaged", filters,
+                    () -> photoRepository.findPhotoIdsBySpotsPaged(
+                            spotIds,
+                            CodeConstants.MODERATION_STATUS_PUBLISHED,
+                            safeMaxAgeCutoff,
+                            safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
+                            safeMinResolution, safeDeviceTypes,
+                            safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds,
+                            limit,
+                            offset));
+            total = queryMetrics.time("countPhotosBySpots", filters,
+                    () -> photoRepository.countPhotosBySpots(
+                            spotIds,
+                            CodeConstants.MODERATION_STATUS_PUBLISHED,
+                            safeMaxAgeCutoff,
+                            safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
+                            safeMinResolution, safeDeviceTypes,
+                            safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds));
         }
 
         logger.info("Found {} photo ids out of {} total", ids.size(), total);
@@ -293,28 +364,34 @@ public class SpotService {
                                                   Integer minResolution, List<Integer> deviceTypes, Integer maxAgeDays,
                                                   List<String> aspectRatios, List<String> focalLengthRanges,
                                                   Integer maxIso, List<Long> tagIds) {
-        logger.info("Getting mine-pending spots within bounds for user {}, tagIds={}", viewerUserId, tagIds);
-
-        // null/空リストをセンチネル値に変換 (getSpots 15 引数版と同じパターン)
-        List<Integer> safeSubjectCategories = safeIntList(subjectCategories);
-        List<Integer> safeMonths = safeIntList(months);
-        List<Integer> safeTimesOfDay = safeIntList(timesOfDay);
-        List<Integer> safeWeathers = safeIntList(weathers);
-        int safeMinResolution = (minResolution != null) ? minResolution : -1;
-        List<Integer> safeDeviceTypes = safeIntList(deviceTypes);
-        LocalDateTime safeMaxAgeDate = (maxAgeDays != null)
-            ? LocalDateTime.now(ZoneId.of("Asia/Tokyo")).minusDays(maxAgeDays)
-            : LocalDateTime.of(1900, 1, 1, 0, 0);
-        List<String> safeAspectRatios = safeStringList(aspectRatios);
-        List<String> safeFocalLengthRanges = safeStringList(focalLengthRanges);
-        int safeMaxIso = (maxIso != null) ? maxIso : -1;
-        List<Long> safeTagIds = safeLongList(tagIds);
+        return getMinePendingSpots(north, south, east, west, viewerUserId, new SpotFilter(subjectCategories, months,
+                timesOfDay, weathers, minResolution, deviceTypes, maxAgeDays, aspectRatios, focalLengthRanges,
+                maxIso, tagIds));
+    }
 
-        List<Object[]> results = spotRepository.findMinePendingSpots(
-                north, south, east, west, viewerUserId,
-                safeSubjectCategories, safeMonths, safeTimesOfDay, safeWeathers,
-                safeMinResolution, safeDeviceTypes, safeMaxAgeDate,
-                safeAspectRatios, safeFocalLengthRanges, safeMaxIso, safeTagIds);
+    /**
+     * 本人の PENDING_REVIEW 投稿のスポット一覧をフィルター（{@link SpotFilter}）で絞り込んで取得する。
+     */
+    @Transactional(readOnly = true)
+    public List<SpotResponse> getMinePendingSpots(BigDecimal north, BigDecimal south,
+                                                  BigDecimal east, BigDecimal west,
+                                                  Long viewerUserId, SpotFilter filter) {
+        logger.info("Getting mine-pending spots within bounds for user {}, tagIds={}", viewerUserId, filter.tagIds());
+
+        SqlFilter sql = SqlFilter.of(filter);
+        List<LongitudeRange> ranges = longitudeRanges(west, east);
+        List<Object[]> results = new ArrayList<>();
+        for (LongitudeRange range : ranges) {
+            results.addAll(spotRepository.findMinePendingSpots(
+                    north, south, range.east(), range.west(), viewerUserId,
+                    sql.subjectCategories(), sql.months(), sql.timesOfDay(), sql.weathers(),
+                    sql.minResolution(), sql.deviceTypes(), sql.maxAgeDate(),
+                    sql.aspectRatios(), sql.focalLengthRanges(), sql.maxIso(), sql.tagIds()));
+        }
+        if (ranges.size() > 1) {
+            // 件数の上限で切る前に、日付変更線の両側の結果を 1 回で検索したときと同じ順に並べ直す
+            results.sort(BY_TOTAL_PHOTO_COUNT_DESC);
+        }
 
         List<SpotResponse> spotResponses = results.stream()
                 .map(this::convertToSpotResponse)
@@ -327,18 +404,174 @@ public class SpotService {
         return spotResponses;
     }
 
+    /**
+     * 指定地点から半径 {@code radiusMeters} 以内の、公開写真のあるスポットを距離の近い順に 1 ページ分返す。
+     *
+     * <p>{@code cursor} には前のページの {@code nextCursor} を渡す（最初のページは null）。
+     * カーソルは最後に返したスポットの距離と ID で、その後ろから続きを読むため、ページの間にスポットが増減しても
+     * 重複・欠落しない。条件に合う写真のあるスポットだけを返す。
+     * 枚数・ピン色・サムネイルはスポットの要約（公開写真全体）から作る。</p>
+     *
+     * @throws IllegalArgumentException 座標・半径・件数が範囲外か、カーソルが不正な場合
+     */
+    @Transactional(readOnly = true)
+    public NearbySpotsResponse getNearbySpots(BigDecimal latitude, BigDecimal longitude,
+                                              double radiusMeters, int limit, String cursor,
+                                              SpotFilter filter) {
+        if (latitude.abs().compareTo(MAX_LATITUDE) > 0 || longitude.abs().compareTo(ANTIMERIDIAN_EAST) > 0) {
+            throw new IllegalArgumentException("緯度経度が範囲外です");
+        }
+        if (!(radiusMeters > 0 && radiusMeters <= MAX_NEARBY_RADIUS_METERS)) {
+            throw new IllegalArgumentException("半径は " + (int) MAX_NEARBY_RADIUS_METERS + "m 以下で指定してください");
+        }
+        if (limit < 1 || limit > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("件数は 1〜" + MAX_NEARBY_LIMIT + " で指定してください");
+        }
+        NearbyCursor after = cursor == null ? NearbyCursor.FIRST : NearbyCursor.decode(cursor);
+
+        logger.info("Getting nearby spots: latitude={}, longitude={}, radiusMeters={}, limit={}, after={}, tagIds={}",
+                latitude, longitude, radiusMeters, limit, after, filter.tagIds());
+
+        SqlFilter sql = SqlFilter.of(filter);
+        String filters = filterShape(filter);
+        boolean filtered = !QueryMetrics.NO_FILTERS.equals(filters);
+        // 次のページの有無を知るため 1 件多く取得する
+        List<Object[]> rows = queryMetrics.time("findNearbySpots", filters,
+                () -> spotRepository.findNearbySpots(latitude, longitude, radiusMeters,
+                        after.distanceMeters(), after.spotId(), filtered,
+                        sql.subjectCategories(), sql.months(), sql.timesOfDay(), sql.weathers(),
+                        sql.minResolution(), sql.deviceTypes(), sql.maxAgeDate(),
+                        sql.aspectRatios(), sql.focalLengthRanges(), sql.maxIso(), sql.tagIds(), limit + 1));
+
+        List<NearbySpotsResponse.NearbySpot> spots = rows.stream()
+                .limit(limit)
+                .map(this::convertToNearbySpot)
+                .toList();
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            NearbySpotsResponse.NearbySpot last = spots.get(spots.size() - 1);
+            nextCursor = new NearbyCursor(last.distanceMeters(), last.spotId()).encode();
+        }
+        return new NearbySpotsResponse(spots, nextCursor);
+    }
+
+    /** 近くのスポットのクエリの 1 行をレスポンスに変換する */
+    private NearbySpotsResponse.NearbySpot convertToNearbySpot(Object[] result) {
+        int photoCount = ((Number) result[4]).intValue();
+        return new NearbySpotsResponse.NearbySpot(
+                ((Number) result[0]).longValue(),
+                (BigDecimal) result[1],
+                (BigDecimal) result[2],
+                ((Number) result[3]).doubleValue(),
+                determinePinColor(photoCount),
+                s3Service.generateThumbnailCdnUrl((String) result[5]),
+                photoCount);
+    }
+
+    /**
+     * 近くのスポット一覧のカーソル（前のページの最後のスポットの距離と ID）。
+     *
+     * <p>クライアントには中身を解釈させないよう、"距離:ID" を Base64URL で符号化して渡す。
+     * 距離は {@link Double#toString} で書き出し、DB の計算結果と同じ値に戻るようにする（同じ距離のスポットを取りこぼさない）。</p>
+     */
+    record NearbyCursor(double distanceMeters, long spotId) {
+
+        /** 最初のページ（距離 0 のスポットも含める） */
+        static final NearbyCursor FIRST = new NearbyCursor(-1, 0);
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((distanceMeters + ":" + spotId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static NearbyCursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                double distanceMeters = Double.parseDouble(decoded.substring(0, separator));
+                long spotId = Long.parseLong(decoded.substring(separator + 1));
+                if (!(distanceMeters >= 0)) {
+                    throw new IllegalArgumentException("negative distance");
+                }
+                return new NearbyCursor(distanceMeters, spotId);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("カーソルが不正です", e);
+            }
+        }
+    }
+
+    /**
+     * 表示範囲の経度を、リポジトリの範囲検索に渡せる {@code west <= east} の範囲に分ける。
+     * 日付変更線をまたぐ範囲（{@code west > east}。例: 西端 170 度・東端 -170 度）は
+     * west〜180 度と -180 度〜east の 2 つになる。
+     */
+    static List<LongitudeRange> longitudeRanges(BigDecimal west, BigDecimal east) {
+        if (west.compareTo(east) <= 0) {
+            return List.of(new LongitudeRange(west, east));
+        }
+        return List.of(new LongitudeRange(west, ANTIMERIDIAN_EAST), new LongitudeRange(ANTIMERIDIAN_WEST, east));
+    }
+
+    /** 経度の範囲（{@code west <= east}） */
+    record LongitudeRange(BigDecimal west, BigDecimal east) {
+    }
+
+    /** クエリ計測の filters タグ（有効なフィルター名の組み合わせ。値は含めない） */
+    static String filterShape(SpotFilter filter) {
+        return new QueryMetrics.FilterShape()
+                .add("subject", filter.subjectCategories())
+                .add("month", filter.months())
+                .add("timeOfDay", filter.timesOfDay())
+                .add("weather", filter.weathers())
+                .add("resolution", filter.minResolution() != null)
+                .add("device", filter.deviceTypes())
+                .add("maxAge", filter.maxAgeDays() != null)
+                .add("aspectRatio", filter.aspectRatios())
+                .add("focalLength", filter.focalLengthRanges())
+                .add("iso", filter.maxIso() != null)
+                .add("tag", filter.tagIds())
+                .toString();
+    }
+
+    /**
+     * フィルターをスポット検索のクエリに渡す値に変換したもの（null/空リストはセンチネル値、
+     * 撮影日の下限は maxAgeDays が無ければ 1900-01-01）。
+     */
+    private record SqlFilter(List<Integer> subjectCategories, List<Integer> months, List<Integer> timesOfDay,
+                             List<Integer> weathers, int minResolution, List<Integer> deviceTypes,
+                             LocalDateTime maxAgeDate, List<String> aspectRatios, List<String> focalLengthRanges,
+                             int maxIso, List<Long> tagIds) {
+
+        static SqlFilter of(SpotFilter filter) {
+            return new SqlFilter(
+                    safeIntList(filter.subjectCategories()),
+                    safeIntList(filter.months()),
+                    safeIntList(filter.timesOfDay()),
+                    safeIntList(filter.weathers()),
+                    filter.minResolution() != null ? filter.minResolution() : -1,
+                    safeIntList(filter.deviceTypes()),
+                    filter.maxAgeDays() != null
+                            ? LocalDateTime.now(ZoneId.of("Asia/Tokyo")).minusDays(filter.maxAgeDays())
+                            : LocalDateTime.of(1900, 1, 1, 0, 0),
+                    safeStringList(filter.aspectRatios()),
+                    safeStringList(filter.focalLengthRanges()),
+                    filter.maxIso() != null ? filter.maxIso() : -1,
+                    safeLongList(filter.tagIds()));
+        }
+    }
+
     /** null/空リストをセンチネル値（-1）に変換 */
-    private List<Integer> safeIntList(List<Integer> list) {
+    private static List<Integer> safeIntList(List<Integer> list) {
         return (list == null || list.isEmpty()) ? List.of(-1) : list;
     }
 
     /** null/空リストをセンチネル値（"__NONE__"）に変換 */
-    private List<String> safeStringList(List<String> list) {
+    private static List<String> safeStringList(List<String> list) {
         return (list == null || list.isEmpty()) ? List.of("__NONE__") : list;
     }
 
     /** Issue#141: null/空リストをセンチネル値（-1L）に変換 (tagIds 用) */
-    private List<Long> safeLongList(List<Long> list) {
+    private static List<Long> safeLongList(List<Long> list) {
         return (list == null || list.isEmpty()) ? List.of(-1L) : list;
     }
 }
@@ -0,0 +1,97 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.SpotHistogramResponse;
+import com.photlas.backend.exception.SpotNotFoundException;
+import com.photlas.backend.repository.SpotRepository;
+import com.photlas.backend.repository.SpotSummaryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * スポットごとの公開写真の要約（枚数と代表サムネイル。spot_summaries）と
+ * 枚数の分布（撮影月 × 時間帯 × 天気。spot_photo_histograms）の維持と参照。
+ *
+ * <p>{@link CacheInvalidationBus} へ写真の公開・非公開・編集・投稿者の退会と復旧のイベントが発行されたとき、
+ * 発行元のトランザクションのコミット直前に、影響したスポットの要約と分布をまとめて作り直す
+ * （{@link CacheInvalidationBus.PublishHook}）。
+ * 写真の所属スポットが変わる処理（スポットの統合・撮影場所の変更）は {@link #refresh} を直接呼ぶ。</p>
+ *
+ * <p>イベントは変更前の状態を持たない（公開前の写真の削除でも PHOTO_REMOVED が届く）ため、
+ * 差分の加減算ではなく、影響したスポットの行をそのスポットの公開写真から作り直す。</p>
+ */
+@Service
+public class SpotSummaryService {
+
+    /** 要約・分布を作り直すイベントの種類（写真 ID のもの）。キーワードの変更（TAG_CHANGED）はどちらにも影響しない */
+    private static final Set<CacheInvalidationBus.Type> PHOTO_EVENT_TYPES = EnumSet.of(
+            CacheInvalidationBus.Type.PHOTO_PUBLISHED, CacheInvalidationBus.Type.PHOTO_REMOVED,
+            CacheInvalidationBus.Type.PHOTO_UPDATED);
+
+    private final SpotSummaryStore spotSummaryStore;
+    private final SpotSummaryRepository spotSummaryRepository;
+    private final SpotRepository spotRepository;
+    private final AffectedSpotResolver affectedSpotResolver;
+
+    public SpotSummaryService(SpotSummaryStore spotSummaryStore, SpotSummaryRepository spotSummaryRepository,
+                              SpotRepository spotRepository, AffectedSpotResolver affectedSpotResolver,
+                              CacheInvalidationBus cacheInvalidationBus) {
+        this.spotSummaryStore = spotSummaryStore;
+        this.spotSummaryRepository = spotSummaryRepository;
+        this.spotRepository = spotRepository;
+        this.affectedSpotResolver = affectedSpotResolver;
+        cacheInvalidationBus.addPublishHook(this::onPublish);
+    }
+
+    /**
+     * 指定スポットの要約と分布を作り直す（呼び出し元のトランザクションに参加する）。
+     */
+    public void refresh(Collection<Long> spotIds) {
+        spotSummaryStore.refresh(spotIds);
+    }
+
+    /**
+     * スポットの公開写真の枚数の分布と、月・時間帯・天気のフィルターに合う枚数を返す（photos は読まない）。
+     *
+     * <p>フィルターの判定は {@link SpotService#getSpots}（15 引数版）と同じで、null・空のリストは絞り込まない。
+     * 撮影月・時間帯・天気が不明な写真は、その項目で絞り込んだ場合には数えない。</p>
+     *
+     * @throws SpotNotFoundException スポットが存在しない場合
+     */
+    @Transactional(readOnly = true)
+    public SpotHistogramResponse getHistogram(Long spotId, List<Integer> months, List<Integer> timesOfDay,
+                                              List<Integer> weathers) {
+        if (!spotRepository.existsById(spotId)) {
+            throw new SpotNotFoundException("スポットが見つかりません: " + spotId);
+        }
+        List<int[]> cells = spotSummaryRepository.findHistogram(spotId).stream()
+                .map(row -> new int[] {
+                        ((Number) row[0]).intValue(),
+                        ((Number) row[1]).intValue(),
+                        ((Number) row[2]).intValue(),
+                        ((Number) row[3]).intValue()})
+                .toList();
+        int photoCount = cells.stream()
+                .filter(cell -> matches(months, cell[0]) && matches(timesOfDay, cell[1]) && matches(weathers, cell[2]))
+                .mapToInt(cell -> cell[3])
+                .sum();
+        return new SpotHistogramResponse(spotId, photoCount, cells);
+    }
+
+    /** 区分がフィルターに合うか（不明な区分 0 は絞り込んだ場合には合わない） */
+    private static boolean matches(List<Integer> filter, int value) {
+        return filter == null || filter.isEmpty() || (value != 0 && filter.contains(value));
+    }
+
+    /**
+     * 1 トランザクション分の無効化イベントに応じて、影響したスポットの要約と分布をまとめて 1 回作り直す。
+     * 写真の編集（PHOTO_UPDATED）は天気が変わり得るため作り直す。
+     */
+    void onPublish(List<CacheInvalidationBus.Event> events) {
+        spotSummaryStore.refresh(affectedSpotResolver.resolve(events, PHOTO_EVENT_TYPES));
+    }
+}
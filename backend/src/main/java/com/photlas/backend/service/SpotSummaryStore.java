@@ -0,0 +1,54 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.repository.SpotSummaryRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * スポットの要約（spot_summaries）と枚数の分布（spot_photo_histograms）の作り直しの DB 側の処理。
+ *
+ * <p>同じスポットの作り直しが同時に走ると、互いのコミット前の写真を見ないまま集計した古い値で
+ * 上書きし合う。集計の前にスポットごとの advisory lock（{@code pg_advisory_xact_lock}）を取得し、
+ * 先のトランザクションのコミット後に集計し直す。デッドロックを避けるため、ロックはスポット ID の昇順に取得する。</p>
+ *
+ * <p>呼び出し元のトランザクションがあればそれに参加する（変更と一緒にコミットされ、ロックもその終了まで保持する）。
+ * 無ければロックと集計を 1 つのトランザクションで行う。</p>
+ */
+@Service
+public class SpotSummaryStore {
+
+    /** pg_advisory_xact_lock(int, int) の 1 つ目のキー（スポットの要約のロックであることを示す。"SUMM"） */
+    static final int LOCK_NAMESPACE = 0x53554d4d;
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private final SpotSummaryRepository spotSummaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SpotSummaryStore(SpotSummaryRepository spotSummaryRepository, JdbcTemplate jdbcTemplate) {
+        this.spotSummaryRepository = spotSummaryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 指定スポットの要約と枚数の分布を作り直す。
+     */
+    @Transactional
+    public void refresh(Collection<Long> spotIds) {
+        if (spotIds.isEmpty()) {
+            return;
+        }
+        SortedSet<Long> sorted = new TreeSet<>(spotIds);
+        for (long spotId : sorted) {
+            // 2 つ目のキーは int のため下位 32 ビットを使う（衝突しても無関係なスポットを待つだけ）
+            jdbcTemplate.queryForList(LOCK_SQL, LOCK_NAMESPACE, (int) spotId);
+        }
+        spotSummaryRepository.refresh(sorted);
+        spotSummaryRepository.refreshHistograms(sorted);
+    }
+}
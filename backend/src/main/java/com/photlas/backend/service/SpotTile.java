@@ -0,0 +1,94 @@
+package com.photlas.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * スポット一覧のタイル（Web メルカトルのスリッピーマップ形式 z/x/y）。
+ *
+ * <p>タイルの範囲は固定なので、同じタイルへのリクエストは URL が一致し CDN でキャッシュできる。
+ * 範囲の端は隣のタイルと共有する（境界上のスポットは両方のタイルに含まれる）。
+ * 版数の管理（spot_tile_versions）も同じ式でタイル番号を求め、端のスポットは両方のタイルの版数を上げる。</p>
+ *
+ * @param z ズーム（0〜{@value #MAX_ZOOM}）
+ * @param x 西から数えたタイル番号（0〜2^z-1）
+ * @param y 北から数えたタイル番号（0〜2^z-1）
+ */
+public record SpotTile(int z, int x, int y) {
+
+    /** 版数を管理する最大ズーム（地図のクラスタリング最大ズーム 17 より 1 段深い） */
+    public static final int MAX_ZOOM = 18;
+
+    /** Web メルカトルで表せる緯度の上限 */
+    static final double MAX_LATITUDE = 85.0511287798;
+
+    /** スポットの座標の桁数（spots.latitude / longitude の scale） */
+    private static final int COORDINATE_SCALE = 6;
+
+    public SpotTile {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new IllegalArgumentException("z は 0〜" + MAX_ZOOM + " で指定してください: " + z);
+        }
+        int size = 1 << z;
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            throw new IllegalArgumentException("x / y は 0〜" + (size - 1) + " で指定してください: " + x + "/" + y);
+        }
+    }
+
+    /**
+     * 座標を含むタイルを返す。
+     */
+    public static SpotTile containing(int z, double latitude, double longitude) {
+        int size = 1 << z;
+        int x = (int) Math.floor(worldX(longitude) * size);
+        int y = (int) Math.floor(worldY(latitude) * size);
+        return new SpotTile(z, clamp(x, size), clamp(y, size));
+    }
+
+    /** 経度を世界全体に対する横位置（西端 0 〜 東端 1）に変換する */
+    static double worldX(double longitude) {
+        return (longitude + 180) / 360;
+    }
+
+    /** 緯度を世界全体に対する縦位置（北端 0 〜 南端 1、メルカトル）に変換する。±{@value #MAX_LATITUDE} 度に丸める */
+    static double worldY(double latitude) {
+        double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        return (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+    }
+
+    /** 北端の緯度（外側に丸める。最も北の段は極まで含める） */
+    public BigDecimal north() {
+        return y == 0 ? BigDecimal.valueOf(90) : coordinate(latitudeOf(y), RoundingMode.CEILING);
+    }
+
+    /** 南端の緯度（外側に丸める。最も南の段は極まで含める） */
+    public BigDecimal south() {
+        return y == (1 << z) - 1 ? BigDecimal.valueOf(-90) : coordinate(latitudeOf(y + 1), RoundingMode.FLOOR);
+    }
+
+    /** 東端の経度（外側に丸める） */
+    public BigDecimal east() {
+        return coordinate(longitudeOf(x + 1), RoundingMode.CEILING);
+    }
+
+    /** 西端の経度（外側に丸める） */
+    public BigDecimal west() {
+        return coordinate(longitudeOf(x), RoundingMode.FLOOR);
+    }
+
+    private double longitudeOf(int tileX) {
+        return (double) tileX / (1 << z) * 360 - 180;
+    }
+
+    private double latitudeOf(int tileY) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * tileY / (1 << z)))));
+    }
+
+    private static BigDecimal coordinate(double value, RoundingMode rounding) {
+        return BigDecimal.valueOf(value).setScale(COORDINATE_SCALE, rounding);
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+}
@@ -0,0 +1,171 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.SpotFilter;
+import com.photlas.backend.repository.SpotTileVersionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * スポットのタイル（{@link SpotTile}）の版数とフィルターのハッシュ。
+ *
+ * <p>タイルの版数は、タイル内のスポットの公開写真が変わるたびに上がる。{@link CacheInvalidationBus} へ
+ * 無効化イベントが発行されたとき、発行元のトランザクションのコミット直前に、影響したスポットを含む
+ * 全ズームのタイルの版数をまとめて上げる（{@link CacheInvalidationBus.PublishHook}）。ETag と版数付き URL の長期キャッシュはこの版数を元にする。</p>
+ */
+@Service
+public class SpotTileService {
+
+    /** 版数一覧を 1 回で取得できるタイル数の上限 */
+    static final int MAX_VERSION_TILES = 256;
+
+    /**
+     * 版数を保存する最小のズーム。これより低いズームのタイルの版数は、含まれるこのズームのタイルの版数の合計とする
+     * （どのスポットの変更でも同じ行を更新するズーム 0 などの行ロックの取り合いを避けるため。V54 のマイグレーション）。
+     */
+    public static final int MIN_VERSIONED_ZOOM = 8;
+
+    private static final HexFormat HEX = HexFormat.of();
+    /** フィルターのハッシュの桁数（16 進） */
+    private static final int FILTER_HASH_LENGTH = 16;
+
+    /**
+     * 版数を上げるイベントの種類（写真 ID のもの）。
+     * TAG_CHANGED の ID は写真 ID として扱う（キーワード ID の場合は関係のないタイルが上がるだけで害はない）。
+     */
+    private static final Set<CacheInvalidationBus.Type> PHOTO_EVENT_TYPES = EnumSet.of(
+            CacheInvalidationBus.Type.PHOTO_PUBLISHED, CacheInvalidationBus.Type.PHOTO_REMOVED,
+            CacheInvalidationBus.Type.PHOTO_UPDATED, CacheInvalidationBus.Type.TAG_CHANGED);
+
+    private final SpotTileVersionRepository spotTileVersionRepository;
+    private final AffectedSpotResolver affectedSpotResolver;
+
+    public SpotTileService(SpotTileVersionRepository spotTileVersionRepository,
+                           AffectedSpotResolver affectedSpotResolver,
+                           CacheInvalidationBus cacheInvalidationBus) {
+        this.spotTileVersionRepository = spotTileVersionRepository;
+        this.affectedSpotResolver = affectedSpotResolver;
+        cacheInvalidationBus.addPublishHook(this::onPublish);
+    }
+
+    /**
+     * タイルの版数を返す（一度も変更されていなければ 0）。
+     */
+    @Transactional(readOnly = true)
+    public long version(SpotTile tile) {
+        List<Object[]> rows = findVersions(tile.z(), tile.x(), tile.x(), tile.y(), tile.y());
+        return rows.isEmpty() ? 0L : ((Number) rows.get(0)[2]).longValue();
+    }
+
+    /**
+     * タイルの版数を読み、同じスナップショットでタイルの内容を読む。
+     *
+     * <p>リードレプリカへの振り分け時に版数と内容を別々のトランザクションで読むと、別のレプリカに当たり得る。
+     * 遅れたレプリカの古い内容を新しい版数の URL で長期キャッシュ（immutable）させないよう、
+     * 1 つの読み取り専用トランザクション（1 本の接続・REPEATABLE READ）で版数と内容を読む。</p>
+     *
+     * @param reader 版数を受け取り、タイルの内容（応答）を読む処理
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public <T> T readConsistently(SpotTile tile, LongFunction<T> reader) {
+        return reader.apply(version(tile));
+    }
+
+    /**
+     * 矩形範囲（両端を含む）のタイルの版数を "x/y" をキーにして返す。
+     *
+     * @throws IllegalArgumentException 範囲がタイルの外か、{@value #MAX_VERSION_TILES} タイルを超える場合
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> versions(int z, int minX, int minY, int maxX, int maxY) {
+        SpotTile min = new SpotTile(z, minX, minY);
+        SpotTile max = new SpotTile(z, maxX, maxY);
+        long count = (long) (max.x() - min.x() + 1) * (max.y() - min.y() + 1);
+        if (max.x() < min.x() || max.y() < min.y() || count > MAX_VERSION_TILES) {
+            throw new IllegalArgumentException("タイルの範囲が不正です（最大 " + MAX_VERSION_TILES + " タイル）");
+        }
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                versions.put(x + "/" + y, 0L);
+            }
+        }
+        for (Object[] row : findVersions(z, minX, maxX, minY, maxY)) {
+            versions.put(((Number) row[0]).intValue() + "/" + ((Number) row[1]).intValue(),
+                    ((Number) row[2]).longValue());
+        }
+        return versions;
+    }
+
+    /** ズーム {@value #MIN_VERSIONED_ZOOM} 未満は子タイルの版数の合計で読む */
+    private List<Object[]> findVersions(int z, int minX, int maxX, int minY, int maxY) {
+        int childZoom = Math.max(z, MIN_VERSIONED_ZOOM);
+        return spotTileVersionRepository.findVersions(childZoom, childZoom - z, minX, maxX, minY, maxY);
+    }
+
+    /**
+     * スポットを含む全ズームのタイルの版数を上げる（呼び出し元のトランザクションに参加する）。
+     * 行を更新するのはズーム {@value #MIN_VERSIONED_ZOOM} 以上だけで、低いズームの版数は合計として一緒に上がる。
+     * 写真の変更を伴わないスポット自体の変更（統合など）でも使う。
+     */
+    public void bumpSpots(Collection<Long> spotIds) {
+        spotTileVersionRepository.bumpForSpots(spotIds, MIN_VERSIONED_ZOOM, SpotTile.MAX_ZOOM);
+    }
+
+    /**
+     * 1 トランザクション分の無効化イベントに応じて、影響したスポットを含むタイルの版数をまとめて 1 回上げる。
+     */
+    void onPublish(List<CacheInvalidationBus.Event> events) {
+        SortedSet<Long> spotIds = affectedSpotResolver.resolve(events, PHOTO_EVENT_TYPES);
+        if (!spotIds.isEmpty()) {
+            bumpSpots(spotIds);
+        }
+    }
+
+    /**
+     * フィルター条件のハッシュ（ETag 用）。
+     *
+     * <p>リストは重複を除いて昇順に並べてから連結するため、指定順が違っても同じ条件なら同じ値になる。</p>
+     */
+    public static String filterHash(SpotFilter filter) {
+        String canonical = "subject=" + canonical(filter.subjectCategories())
+                + ";month=" + canonical(filter.months())
+                + ";timeOfDay=" + canonical(filter.timesOfDay())
+                + ";weather=" + canonical(filter.weathers())
+                + ";resolution=" + (filter.minResolution() == null ? "" : filter.minResolution())
+                + ";device=" + canonical(filter.deviceTypes())
+                + ";maxAge=" + (filter.maxAgeDays() == null ? "" : filter.maxAgeDays())
+                + ";aspectRatio=" + canonical(filter.aspectRatios())
+                + ";focalLength=" + canonical(filter.focalLengthRanges())
+                + ";iso=" + (filter.maxIso() == null ? "" : filter.maxIso())
+                + ";tag=" + canonical(filter.tagIds());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest).substring(0, FILTER_HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 が利用できません", e);
+        }
+    }
+
+    private static <T extends Comparable<T>> String canonical(Collection<T> values) {
+        return values == null ? "" : values.stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,150 @@
+package com.photlas.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * スポットを Mapbox Vector Tile（MVT 2.1、Protocol Buffers）にエンコードする。
+ *
+ * <p>レイヤー {@value #LAYER_NAME} に、スポットごとに Point 地物を 1 つ置く。地物の ID はスポットID、
+ * 属性は {@code count}（写真数）・{@code pin}（ピン色）・{@code thumb}（サムネイルのキー。無ければ省略）。
+ * 属性のキーと値はレイヤー内で重複を除いて共有する（ピン色の文字列は各 1 回だけ入る）。</p>
+ *
+ * <p>座標はタイル内の {@value #EXTENT} 単位の整数。タイルの端ちょうどのスポットは範囲外の座標
+ * （バッファ領域）になり得るが、MVT の仕様上許される。</p>
+ */
+final class SpotVectorTileEncoder {
+
+    static final String LAYER_NAME = "spots";
+    static final int EXTENT = 4096;
+
+    private static final int MVT_VERSION = 2;
+    private static final int GEOM_TYPE_POINT = 1;
+    private static final int COMMAND_MOVE_TO = 1;
+
+    private static final String KEY_COUNT = "count";
+    private static final String KEY_PIN = "pin";
+    private static final String KEY_THUMBNAIL = "thumb";
+
+    // Tile / Layer / Feature / Value のフィールド番号（vector_tile.proto）
+    private static final int TILE_LAYERS = 3;
+    private static final int LAYER_NAME_FIELD = 1;
+    private static final int LAYER_FEATURES = 2;
+    private static final int LAYER_KEYS = 3;
+    private static final int LAYER_VALUES = 4;
+    private static final int LAYER_EXTENT = 5;
+    private static final int LAYER_VERSION = 15;
+    private static final int FEATURE_ID = 1;
+    private static final int FEATURE_TAGS = 2;
+    private static final int FEATURE_TYPE = 3;
+    private static final int FEATURE_GEOMETRY = 4;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_UINT = 5;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private SpotVectorTileEncoder() {
+    }
+
+    /**
+     * タイルのスポットを MVT にエンコードする。スポットが無い場合は空のタイル（0 バイト）を返す。
+     */
+    static byte[] encode(SpotTile tile, List<SpotFeature> features) {
+        if (features.isEmpty()) {
+            return new byte[0];
+        }
+        List<String> keys = List.of(KEY_COUNT, KEY_PIN, KEY_THUMBNAIL);
+        Map<Object, Integer> values = new LinkedHashMap<>();
+        List<byte[]> encodedFeatures = new ArrayList<>(features.size());
+        for (SpotFeature feature : features) {
+            encodedFeatures.add(encodeFeature(tile, feature, values));
+        }
+
+        ByteArrayOutputStream layer = new ByteArrayOutputStream();
+        writeVarintField(layer, LAYER_VERSION, MVT_VERSION);
+        writeBytesField(layer, LAYER_NAME_FIELD, LAYER_NAME.getBytes(StandardCharsets.UTF_8));
+        for (byte[] feature : encodedFeatures) {
+            writeBytesField(layer, LAYER_FEATURES, feature);
+        }
+        for (String key : keys) {
+            writeBytesField(layer, LAYER_KEYS, key.getBytes(StandardCharsets.UTF_8));
+        }
+        for (Object value : values.keySet()) {
+            writeBytesField(layer, LAYER_VALUES, encodeValue(value));
+        }
+        writeVarintField(layer, LAYER_EXTENT, EXTENT);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeBytesField(out, TILE_LAYERS, layer.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeFeature(SpotTile tile, SpotFeature feature, Map<Object, Integer> values) {
+        ByteArrayOutputStream tags = new ByteArrayOutputStream();
+        writeVarint(tags, 0);
+        writeVarint(tags, valueIndex(values, (long) feature.photoCount()));
+        writeVarint(tags, 1);
+        writeVarint(tags, valueIndex(values, feature.pinColor()));
+        if (feature.thumbnailKey() != null) {
+            writeVarint(tags, 2);
+            writeVarint(tags, valueIndex(values, feature.thumbnailKey()));
+        }
+
+        double size = 1 << tile.z();
+        long x = Math.round((SpotTile.worldX(feature.longitude()) * size - tile.x()) * EXTENT);
+        long y = Math.round((SpotTile.worldY(feature.latitude()) * size - tile.y()) * EXTENT);
+        ByteArrayOutputStream geometry = new ByteArrayOutputStream();
+        writeVarint(geometry, (1L << 3) | COMMAND_MOVE_TO);
+        writeVarint(geometry, zigZag(x));
+        writeVarint(geometry, zigZag(y));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarintField(out, FEATURE_ID, feature.spotId());
+        writeBytesField(out, FEATURE_TAGS, tags.toByteArray());
+        writeVarintField(out, FEATURE_TYPE, GEOM_TYPE_POINT);
+        writeBytesField(out, FEATURE_GEOMETRY, geometry.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static int valueIndex(Map<Object, Integer> values, Object value) {
+        return values.computeIfAbsent(value, v -> values.size());
+    }
+
+    private static byte[] encodeValue(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (value instanceof Long number) {
+            writeVarintField(out, VALUE_UINT, number);
+        } else {
+            writeBytesField(out, VALUE_STRING, ((String) value).getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarintField(ByteArrayOutputStream out, int field, long value) {
+        writeVarint(out, ((long) field << 3) | WIRE_VARINT);
+        writeVarint(out, value);
+    }
+
+    private static void writeBytesField(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeVarint(out, ((long) field << 3) | WIRE_LENGTH_DELIMITED);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
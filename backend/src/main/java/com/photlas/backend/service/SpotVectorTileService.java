@@ -0,0 +1,77 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.SpotFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * スポットのベクタータイル（MVT）を gzip 圧縮して返す。
+ *
+ * <p>圧縮済みのタイルはノードローカルキャッシュに持つ。キーにタイルの版数とフィルターのハッシュ（ETag）を含めるため、
+ * スポットが変わると別のキーになり、無効化イベントで個別に破棄する必要はない（古いエントリは TTL とサイズ上限で消える）。</p>
+ */
+@Service
+public class SpotVectorTileService {
+
+    /** MVT のメディアタイプ */
+    public static final String CONTENT_TYPE = "application/vnd.mapbox-vector-tile";
+
+    /** キャッシュするタイル数の上限（1 タイルは多くても数 KB） */
+    private static final long TILE_CACHE_SIZE = 10_000;
+
+    private final SpotService spotService;
+    private final LocalCache<String, byte[]> tileCache;
+
+    public SpotVectorTileService(SpotService spotService,
+                                 CacheInvalidationBus cacheInvalidationBus,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${photlas.cache.spot-tiles.ttl:PT10M}") Duration tileCacheTtl) {
+        this.spotService = spotService;
+        this.tileCache = new LocalCache<>("spot_vector_tiles", tileCacheTtl, TILE_CACHE_SIZE,
+                (event, cache) -> { }, cacheInvalidationBus, meterRegistry);
+    }
+
+    /**
+     * タイルのスポットを gzip 圧縮済みの MVT で返す。
+     *
+     * @param tile タイル
+     * @param eTag タイルの版数とフィルター条件を表す ETag（キャッシュのキー）
+     * @param filter 写真フィルター
+     * @return gzip 圧縮済みの MVT
+     */
+    public byte[] gzippedTile(SpotTile tile, String eTag, SpotFilter filter) {
+        String key = tile.z() + "/" + tile.x() + "/" + tile.y() + "/" + eTag;
+        return tileCache.get(key, k -> gzip(SpotVectorTileEncoder.encode(tile, spotService.getSpotFeatures(
+                tile.north(), tile.south(), tile.east(), tile.west(), filter))));
+    }
+
+    /**
+     * gzip 圧縮を解く（gzip を受け付けないクライアント用）。
+     */
+    public static byte[] gunzip(byte[] gzipped) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -12,14 +12,17 @@ import com.photlas.backend.repository.PhotoRepository;
 import com.photlas.backend.repository.PhotoTagRepository;
 import com.photlas.backend.repository.TagCategoryRepository;
 import com.photlas.backend.repository.TagRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import software.amazon.awssdk.services.rekognition.model.Label;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -57,20 +60,35 @@ public class TagService {
     /** デフォルト言語（フォールバックチェーンの中継）。 */
     private static final String DEFAULT_LANG = "en";
 
+    /** 全アクティブタグ一覧のキャッシュ上限（言語ごとに 1 エントリ） */
+    private static final long TAG_LIST_CACHE_SIZE = 16;
+
     private final TagRepository tagRepository;
     private final TagCategoryRepository tagCategoryRepository;
     private final PhotoTagRepository photoTagRepository;
     private final PhotoRepository photoRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    /**
+     * 全アクティブタグ一覧（言語 → 一覧）。photoCount が写真の公開・非公開や退会でも変わるため、
+     * どの無効化イベントでも全破棄する。
+     */
+    private final LocalCache<String, List<TagListItem>> tagListCache;
 
     public TagService(
             TagRepository tagRepository,
             TagCategoryRepository tagCategoryRepository,
             PhotoTagRepository photoTagRepository,
-            PhotoRepository photoRepository) {
+            PhotoRepository photoRepository,
+            CacheInvalidationBus cacheInvalidationBus,
+            MeterRegistry meterRegistry,
+            @Value("${photlas.cache.tags.ttl:PT10M}") Duration tagListCacheTtl) {
         this.tagRepository = tagRepository;
         this.tagCategoryRepository = tagCategoryRepository;
         this.photoTagRepository = photoTagRepository;
         this.photoRepository = photoRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.tagListCache = new LocalCache<>("tag_list", tagListCacheTtl, TAG_LIST_CACHE_SIZE,
+                (event, cache) -> cache.invalidateAll(), cacheInvalidationBus, meterRegistry);
     }
 
     /**
@@ -312,6 +330,7 @@ public class TagService {
             }
             photoTagRepository.save(pt);
         }
+        cacheInvalidationBus.publish(CacheInvalidationBus.Type.TAG_CHANGED, photoId);
     }
 
     /**
@@ -328,6 +347,9 @@ public class TagService {
     public void replacePhotoTags(Long photoId, List<Long> tagIds) {
         photoTagRepository.deleteByPhotoId(photoId);
         assignTagsToPhoto(photoId, tagIds, PhotoTag.ASSIGNED_BY_USER, Map.of());
+        if (tagIds == null || tagIds.isEmpty()) {
+            cacheInvalidationBus.publish(CacheInvalidationBus.Type.TAG_CHANGED, photoId);
+        }
     }
 
     /**
@@ -383,9 +405,14 @@ public class TagService {
      * Issue#135 + Issue#141 後追い: 全アクティブタグを取得し、カテゴリ紐付け + photoCount 付きで返す。
      * フロントは KeywordSection の文脈連動表示・アコーディオン・検索 BOX で使う。
      * photoCount=0 のタグはフィルタ画面で非活性表示される。
+     * 結果はノードローカルにキャッシュし、{@link CacheInvalidationBus} のイベントで全ノード一斉に破棄する。
      */
     @Transactional(readOnly = true)
     public List<TagListItem> listAllActiveTags(String lang) {
+        return tagListCache.get(lang == null ? "" : lang, key -> loadAllActiveTags(lang));
+    }
+
+    private List<TagListItem> loadAllActiveTags(String lang) {
         List<Tag> tags = tagRepository.findAll().stream()
                 .filter(t -> Boolean.TRUE.equals(t.getIsActive()))
                 .toList();
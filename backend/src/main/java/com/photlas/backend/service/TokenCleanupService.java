@@ -7,7 +7,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 
@@ -19,33 +18,42 @@ import java.util.Date;
 public class TokenCleanupService {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenCleanupService.class);
+    private static final String JOB_NAME = "expired_tokens";
 
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final EmailVerificationTokenRepository emailVerificationTokenRepository;
     private final EmailChangeTokenRepository emailChangeTokenRepository;
+    private final ScheduledJobRunner scheduledJobRunner;
 
     public TokenCleanupService(
             PasswordResetTokenRepository passwordResetTokenRepository,
             EmailVerificationTokenRepository emailVerificationTokenRepository,
-            EmailChangeTokenRepository emailChangeTokenRepository) {
+            EmailChangeTokenRepository emailChangeTokenRepository,
+            ScheduledJobRunner scheduledJobRunner) {
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.emailVerificationTokenRepository = emailVerificationTokenRepository;
         this.emailChangeTokenRepository = emailChangeTokenRepository;
+        this.scheduledJobRunner = scheduledJobRunner;
     }
 
     /**
      * 期限切れトークンを削除する
-     * 1時間ごとに自動実行される
+     * 毎時 0 分に自動実行される（複数ノードのうち分散ロックを取得した 1 ノードだけが実行する）。
+     * 起動時刻に依らずすべてのノードが同時刻に起動するので、ロックの最低保持時間（lock-at-least）で他ノードの実行を抑えられる。
      */
-    @Scheduled(fixedRate = 3600000)
-    @Transactional
+    @Scheduled(cron = "0 0 * * * *")
     public void cleanupExpiredTokens() {
+        scheduledJobRunner.run(JOB_NAME, this::deleteExpiredTokens);
+    }
+
+    private long deleteExpiredTokens() {
         Date now = new Date();
 
-        passwordResetTokenRepository.deleteByExpiryDateBefore(now);
-        emailVerificationTokenRepository.deleteByExpiryDateBefore(now);
-        emailChangeTokenRepository.deleteByExpiryDateBefore(now);
+        long deleted = passwordResetTokenRepository.deleteByExpiryDateBefore(now)
+                + emailVerificationTokenRepository.deleteByExpiryDateBefore(now)
+                + emailChangeTokenRepository.deleteByExpiryDateBefore(now);
 
-        logger.info("期限切れトークンのクリーンアップを実行しました");
+        logger.info("期限切れトークンのクリーンアップを実行しました: {}件", deleted);
+        return deleted;
     }
 }
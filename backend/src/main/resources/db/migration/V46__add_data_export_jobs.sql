@@ -0,0 +1,48 @@
+-- データエクスポートのジョブモード（非同期生成 + S3 マルチパートアップロード + 再開）。
+--
+-- 設計:
+--   - data_export_log にジョブ状態（モード / ハートビート / 試行回数 / S3 マルチパートの uploadId /
+--     チェックポイント / スループット）を追加する。既存行はストリーミングモード（STREAM）。
+--   - ZIP は S3 マルチパートアップロードへ書き出し、パートはエントリ境界で区切る。
+--     パート完了ごとに「アップロード済みパート」と「そのパートまでに書いた ZIP エントリ」
+--     （セントラルディレクトリの材料）を記録し、クラッシュ時は最後の完了パートから再開する。
+--   - エントリ・パートは追記のみ（チェックポイントごとの書き込み量をパート内の件数に比例させる）。
+
+ALTER TABLE data_export_log
+    ADD COLUMN mode                     VARCHAR(10)  NOT NULL DEFAULT 'STREAM',
+    ADD COLUMN started_at               TIMESTAMP,
+    ADD COLUMN heartbeat_at             TIMESTAMP,
+    ADD COLUMN attempts                 INT          NOT NULL DEFAULT 0,
+    ADD COLUMN archive_name             VARCHAR(255),
+    ADD COLUMN s3_object_key            VARCHAR(512),
+    ADD COLUMN s3_upload_id             VARCHAR(1024),
+    ADD COLUMN checkpoint_photo_id      BIGINT,
+    ADD COLUMN checkpoint_errors        TEXT,
+    ADD COLUMN bytes_written            BIGINT       NOT NULL DEFAULT 0,
+    ADD COLUMN throughput_bytes_per_sec BIGINT,
+    ADD COLUMN download_expires_at      TIMESTAMP;
+
+-- ワーカーのポーリング（QUEUED / ハートビート切れの IN_PROGRESS）用
+CREATE INDEX idx_data_export_log_job_status ON data_export_log(status, heartbeat_at) WHERE mode = 'JOB';
+
+CREATE TABLE data_export_archive_part (
+    id            BIGSERIAL PRIMARY KEY,
+    log_id        BIGINT       NOT NULL REFERENCES data_export_log(id) ON DELETE CASCADE,
+    part_number   INT          NOT NULL,
+    etag          VARCHAR(255) NOT NULL,
+    size_bytes    BIGINT       NOT NULL,
+    CONSTRAINT uq_data_export_archive_part UNIQUE (log_id, part_number)
+);
+
+CREATE TABLE data_export_archive_entry (
+    id                  BIGSERIAL PRIMARY KEY,
+    log_id              BIGINT        NOT NULL REFERENCES data_export_log(id) ON DELETE CASCADE,
+    seq                 INT           NOT NULL,
+    name                VARCHAR(1024) NOT NULL,
+    method              INT           NOT NULL,
+    crc                 BIGINT        NOT NULL,
+    compressed_size     BIGINT        NOT NULL,
+    size                BIGINT        NOT NULL,
+    local_header_offset BIGINT        NOT NULL,
+    CONSTRAINT uq_data_export_archive_entry UNIQUE (log_id, seq)
+);
@@ -0,0 +1,30 @@
+-- @Scheduled ジョブの分散ロック（複数ノードで同じジョブを同時に実行しない）と実行履歴。
+--
+-- 設計:
+--   - scheduled_job_locks はジョブ名ごとに 1 行のリース。lock_until を過ぎた行だけを
+--     INSERT ... ON CONFLICT DO UPDATE ... WHERE で奪えるため、同時に取得できるのは 1 ノードだけ。
+--   - 時刻はすべて DB の clock_timestamp() で比較し、ノード間の時計のずれに影響されない。
+--   - 実行中はリースを定期的に延長し、終了時は「最低保持時間」まで lock_until を残す
+--     （同じ cron で遅れて起動した他ノードが、終わったばかりのジョブを再実行しないように）。
+--   - scheduled_job_runs はロックを取得して実行した回の履歴（所要時間・処理件数・結果）。
+
+CREATE TABLE scheduled_job_locks (
+    job_name   VARCHAR(100) PRIMARY KEY,
+    locked_by  VARCHAR(255) NOT NULL,
+    locked_at  TIMESTAMP    NOT NULL,
+    lock_until TIMESTAMP    NOT NULL
+);
+
+CREATE TABLE scheduled_job_runs (
+    id             BIGSERIAL PRIMARY KEY,
+    job_name       VARCHAR(100) NOT NULL,
+    node           VARCHAR(255) NOT NULL,
+    started_at     TIMESTAMP    NOT NULL,
+    finished_at    TIMESTAMP    NOT NULL,
+    duration_ms    BIGINT       NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    rows_processed BIGINT,
+    error_message  VARCHAR(1000)
+);
+
+CREATE INDEX idx_scheduled_job_runs_job_started ON scheduled_job_runs(job_name, started_at DESC);
@@ -0,0 +1,14 @@
+-- モデレーションのバッチコールバックの受信記録（同じスキャン結果の再送を重複適用しない）。
+--
+-- 設計:
+--   - スキャナーが結果ごとに付与する idempotency_key を、適用と同じトランザクションで
+--     INSERT ... ON CONFLICT DO NOTHING する。挿入できなかったキーは適用済みの再送としてスキップする。
+--   - 同じキーの同時配送は、先の INSERT のコミットを待ってから重複と判定される。
+--   - 古い行は定期ジョブで削除する（保持期間はスキャナーの再送期間より長くする）。
+
+CREATE TABLE moderation_callback_receipts (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    received_at     TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX idx_moderation_callback_receipts_received_at ON moderation_callback_receipts(received_at);
@@ -0,0 +1,27 @@
+-- メールの送信キュー（outbox）。業務処理と同じトランザクションで積み、専用の送信スレッドが SMTP へ送る。
+--
+-- 設計:
+--   - 送信待ち（PENDING）の行は next_attempt_at 順に FOR UPDATE SKIP LOCKED で取り出し、locked_until までのリースを付ける。
+--     複数ノードが同時に取り出しても同じ行を二重に送らない（送信中にノードが落ちた行はリース切れ後に再送される）。
+--   - 一時的な失敗は attempts を増やして指数バックオフで next_attempt_at を先送りする。
+--     上限回数に達した行と恒久的な失敗（存在しない宛先など）は FAILED にする。
+--   - 本文に個人情報を含むため、SENT / FAILED の行は定期ジョブで削除する。
+
+CREATE TABLE mail_outbox (
+    id               BIGSERIAL PRIMARY KEY,
+    mail_type        VARCHAR(50)   NOT NULL,
+    recipient        VARCHAR(255)  NOT NULL,
+    recipient_domain VARCHAR(255)  NOT NULL,
+    subject          VARCHAR(1000) NOT NULL,
+    body             TEXT          NOT NULL,
+    status           VARCHAR(20)   NOT NULL,
+    attempts         INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at  TIMESTAMP     NOT NULL,
+    locked_until     TIMESTAMP,
+    last_error       VARCHAR(1000),
+    created_at       TIMESTAMP     NOT NULL,
+    finished_at      TIMESTAMP
+);
+
+CREATE INDEX idx_mail_outbox_pending ON mail_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_mail_outbox_finished_at ON mail_outbox(finished_at) WHERE status <> 'PENDING';
@@ -0,0 +1,16 @@
+-- スポットのタイル（z/x/y、Web メルカトルのスリッピーマップ形式）ごとの版数。
+--
+-- 設計:
+--   - /api/v1/spots/tiles/{z}/{x}/{y} の ETag と、版数付き URL の長期キャッシュ可否の判定に使う。
+--   - タイルに含まれるスポットの公開写真が変わる（公開・非公開・編集・キーワード変更・投稿者の退会）と、
+--     そのスポットを含む全ズーム（0〜18）のタイルの版数を 1 上げる。行が無いタイルは版数 0 とみなす。
+--   - 版数の更新は変更と同じトランザクションで行う（ロールバックされた変更で版数は上がらない）。
+
+CREATE TABLE spot_tile_versions (
+    z          SMALLINT  NOT NULL,
+    x          INTEGER   NOT NULL,
+    y          INTEGER   NOT NULL,
+    version    BIGINT    NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (z, x, y)
+);
@@ -0,0 +1,17 @@
+-- スポットの表示範囲（緯度経度の矩形）検索用の空間インデックス。
+--
+-- 目的:
+--   地図の表示範囲の検索（SpotRepository.findSpotsWithAdvancedFilters / findMinePendingSpots）は
+--   idx_spots_lat_lng（B-tree）で緯度だけを範囲走査し、経度は行ごとに判定していた。
+--   広い表示範囲では走査する行が多くなるため、矩形との && を GiST 索引で判定する。
+--
+-- 設計:
+--   - 索引は geom（geography）を geometry にキャストした式に張る。geography の && は辺を大円として
+--     扱うため、表示範囲のような経緯度の矩形（経線・緯線で囲まれた範囲）とは一致しない
+--     （幅が 180 度を超える矩形は反対側を向き、南北の辺は極側にふくらむ）。
+--     geometry の && は経緯度の平面上の矩形として判定するので、BETWEEN と同じ範囲になる。
+--   - geography → geometry のキャストは immutable のため式インデックスに使える。
+--     クエリ側は索引と同じ式 CAST(s.geom AS geometry) で参照する。
+--   - 半径検索（findSpotsWithin200m）は引き続き idx_spots_geom（geography）を使う。
+
+CREATE INDEX idx_spots_geom_envelope ON spots USING GIST (CAST(geom AS geometry));
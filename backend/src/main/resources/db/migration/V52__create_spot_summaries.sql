@@ -0,0 +1,26 @@
+-- スポットごとの公開写真の要約（枚数と代表サムネイル）。
+--
+-- 設計:
+--   - /api/v1/spots/nearby は距離順（geom <-> point）にスポットを読み進めるため、スポットごとに全写真を
+--     結合・集計せず、この表から枚数とサムネイルを引く。
+--   - 対象は公開（moderation_status = 1002）かつ投稿者が退会していない写真。公開写真が 1 枚も無いスポットは行を持たない。
+--   - サムネイルは最新の撮影日時の写真（shot_at DESC NULLS LAST, photo_id DESC。idx_photos_spot_pub_shot と同じ順）。
+--   - 写真の公開・非公開・投稿者の退会・スポットの統合・撮影場所の変更と同じトランザクションで、影響したスポットの行を作り直す。
+
+CREATE TABLE spot_summaries (
+    spot_id                 BIGINT       PRIMARY KEY REFERENCES spots(spot_id) ON DELETE CASCADE,
+    photo_count             INTEGER      NOT NULL,
+    thumbnail_s3_object_key VARCHAR(255) NOT NULL,
+    updated_at              TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO spot_summaries (spot_id, photo_count, thumbnail_s3_object_key)
+SELECT p.spot_id,
+       COUNT(*),
+       (ARRAY_AGG(p.s3_object_key ORDER BY p.shot_at DESC NULLS LAST, p.photo_id DESC))[1]
+  FROM photos p
+ INNER JOIN spots s ON p.spot_id = s.spot_id
+ INNER JOIN users u ON p.user_id = u.id
+ WHERE p.moderation_status = 1002
+   AND u.deleted_at IS NULL
+ GROUP BY p.spot_id;
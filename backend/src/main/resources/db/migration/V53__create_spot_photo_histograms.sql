@@ -0,0 +1,30 @@
+-- スポットごとの公開写真の枚数の分布（撮影月 × 時間帯 × 天気）。
+--
+-- 設計:
+--   - GET /api/v1/spots/{spotId}/histogram で「いつ撮られているか」を 1 回で返し、
+--     月・時間帯・天気のフィルターに合う枚数も photos を読まずにこの表から数える。
+--   - 対象の写真は spot_summaries（V52）と同じ（公開かつ投稿者が退会していない写真）。枚数が 0 の組み合わせは行を持たない。
+--   - 撮影日時・時間帯・天気が不明な写真は、それぞれ 0 の列に数える（month は EXTRACT(MONTH FROM shot_at)。フィルターと同じ）。
+--   - spot_summaries と同じトランザクション・同じロックで、影響したスポットの行を作り直す（写真の編集で天気が変わった場合も含む）。
+
+CREATE TABLE spot_photo_histograms (
+    spot_id     BIGINT    NOT NULL REFERENCES spots(spot_id) ON DELETE CASCADE,
+    month       SMALLINT  NOT NULL,
+    time_of_day INTEGER   NOT NULL,
+    weather     INTEGER   NOT NULL,
+    photo_count INTEGER   NOT NULL,
+    PRIMARY KEY (spot_id, month, time_of_day, weather)
+);
+
+INSERT INTO spot_photo_histograms (spot_id, month, time_of_day, weather, photo_count)
+SELECT p.spot_id,
+       CAST(COALESCE(EXTRACT(MONTH FROM p.shot_at), 0) AS SMALLINT),
+       COALESCE(p.time_of_day, 0),
+       COALESCE(p.weather, 0),
+       COUNT(*)
+  FROM photos p
+ INNER JOIN spots s ON p.spot_id = s.spot_id
+ INNER JOIN users u ON p.user_id = u.id
+ WHERE p.moderation_status = 1002
+   AND u.deleted_at IS NULL
+ GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,21 @@
+-- ズーム 0〜7 のタイルの版数を保存せず、ズーム 8 のタイルの版数の合計から求めるようにする。
+--
+-- 目的:
+--   写真の公開状態が変わるたびに全ズーム（0〜18）の行を更新していたため、どのスポットの変更も
+--   ズーム 0 の 1 行（と低ズームの少数の行）の行ロックを取り合い、写真のステータス変更が全体で直列になっていた。
+--
+-- 設計:
+--   - 版数を上げるのはズーム 8〜18 の行だけにする（SpotTileService.MIN_VERSIONED_ZOOM）。
+--   - ズーム 0〜7 のタイルの版数は、含まれるズーム 8 のタイルの版数の合計とする。
+--     子の版数はどれか 1 つが上がれば合計も必ず上がる（最大値では別の子が大きいと上がらない）。
+--   - 既に配った版数付き URL（?v=<版数>、immutable で長期キャッシュ済み）と新しい版数が一致しないよう、
+--     ズーム 8 の行の版数に、これまでの低ズームの版数の最大値を足してから低ズームの行を消す。
+--     低ズームのタイルの新しい版数は、子の行が 1 つでもあれば必ずこれまでのどの値よりも大きくなり、
+--     ズーム 8 のタイルの版数もそれぞれ以前の値より大きくなる。
+
+UPDATE spot_tile_versions
+   SET version = version + (SELECT COALESCE(MAX(version), 0) FROM spot_tile_versions WHERE z < 8),
+       updated_at = CURRENT_TIMESTAMP
+ WHERE z = 8;
+
+DELETE FROM spot_tile_versions WHERE z < 8;
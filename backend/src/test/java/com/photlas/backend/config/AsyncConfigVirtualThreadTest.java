@@ -0,0 +1,48 @@
+package com.photlas.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AsyncConfig の仮想スレッドモード（spring.threads.virtual.enabled=true）のテスト
+ *
+ * 範囲:
+ *   - @Async が仮想スレッドで実行され、呼び出し元の MDC が伝搬される
+ */
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+public class AsyncConfigVirtualThreadTest {
+
+    @Autowired
+    private TestAsyncCaptureService captureService;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("@Async が仮想スレッドで実行され、呼び出し元の MDC が伝搬される")
+    void runsOnVirtualThreadWithMdc() throws Exception {
+        String expectedTraceId = "Root=1-virtual-thread";
+        MDC.put("traceId", expectedTraceId);
+
+        TestAsyncCaptureService.AsyncCaptureResult result =
+                captureService.captureTraceId().get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.virtual(), "仮想スレッドで実行されるべき - actual threadName: " + result.threadName());
+        assertTrue(result.threadName().startsWith("photlas-async-"),
+                "スレッド名のプレフィックスは維持されるべき - actual threadName: " + result.threadName());
+        assertEquals(expectedTraceId, result.traceId());
+    }
+}
@@ -0,0 +1,109 @@
+package com.photlas.backend.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link AwsSdkMetricsInterceptor} のユニットテスト（テスト内で起動するローカルの HTTP サーバーを S3 のエンドポイントにする）。
+ *
+ * 範囲:
+ *   - 成功した呼び出しをサービス名・オペレーション名・success で記録する
+ *   - 4xx・5xx の応答を client_error・server_error で記録する
+ *   - タイムアウトと接続失敗を timeout・error に分類する
+ */
+class AwsSdkMetricsInterceptorTest {
+
+    private HttpServer server;
+    private volatile int status = 200;
+    private SimpleMeterRegistry meterRegistry;
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = status == 200 ? new byte[0]
+                    : "<Error><Code>Test</Code><Message>test</Message></Error>".getBytes();
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        s3Client = S3Client.builder()
+                .region(Region.AP_NORTHEAST_1)
+                .endpointOverride(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .overrideConfiguration(c -> c
+                        .addExecutionInterceptor(new AwsSdkMetricsInterceptor(meterRegistry))
+                        .retryPolicy(r -> r.numRetries(0)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("成功した呼び出しをサービス名・オペレーション名・success で記録する")
+    void recordsSuccessfulCall() {
+        s3Client.putObject(r -> r.bucket("test-bucket").key("a.jpg"), RequestBody.fromString("x"));
+
+        Timer timer = meterRegistry.find(AwsSdkMetricsInterceptor.METRIC_CALLS)
+                .tags("service", "S3", "operation", "PutObject", "outcome", "success").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("4xx・5xx の応答を client_error・server_error で記録する")
+    void recordsErrorResponses() {
+        status = 404;
+        assertThatThrownBy(() -> s3Client.deleteObject(r -> r.bucket("test-bucket").key("a.jpg")))
+                .isInstanceOf(S3Exception.class);
+        status = 503;
+        assertThatThrownBy(() -> s3Client.deleteObject(r -> r.bucket("test-bucket").key("a.jpg")))
+                .isInstanceOf(S3Exception.class);
+
+        assertThat(meterRegistry.find(AwsSdkMetricsInterceptor.METRIC_CALLS)
+                .tags("operation", "DeleteObject", "outcome", "client_error").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(AwsSdkMetricsInterceptor.METRIC_CALLS)
+                .tags("operation", "DeleteObject", "outcome", "server_error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("タイムアウトと接続失敗を timeout・error に分類する")
+    void classifiesTimeoutAndConnectionFailure() {
+        assertThat(AwsSdkMetricsInterceptor.outcomeOf(ApiCallTimeoutException.create(10_000))).isEqualTo("timeout");
+
+        server.stop(0);
+        assertThatThrownBy(() -> s3Client.deleteObject(r -> r.bucket("test-bucket").key("a.jpg")))
+                .isInstanceOf(SdkClientException.class);
+        assertThat(meterRegistry.find(AwsSdkMetricsInterceptor.METRIC_CALLS)
+                .tags("operation", "DeleteObject", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.photlas.backend.config;
+
+import com.photlas.backend.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link JwtAuthenticationFilter} のメトリクスのユニットテスト。
+ *
+ * 範囲:
+ *   - 有効なトークンは認証情報を設定し outcome=authenticated で記録する
+ *   - 検証に失敗したトークンは outcome=invalid で記録する
+ *   - Authorization ヘッダーがないリクエストは計測しない
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("有効なトークンは認証情報を設定し outcome=authenticated で記録する")
+    void recordsAuthenticated() throws Exception {
+        when(jwtService.extractUsername("valid")).thenReturn("user@example.com");
+        when(jwtService.isTokenValid("valid", "user@example.com")).thenReturn(true);
+        when(jwtService.extractRole("valid")).thenReturn("USER");
+
+        newFilter().doFilter(request("Bearer valid"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user@example.com");
+        assertThat(count("authenticated")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("検証に失敗したトークンは outcome=invalid で記録する")
+    void recordsInvalid() throws Exception {
+        when(jwtService.extractUsername("expired")).thenThrow(new IllegalArgumentException("expired"));
+
+        newFilter().doFilter(request("Bearer expired"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(count("invalid")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Authorization ヘッダーがないリクエストは計測しない")
+    void skipsRequestsWithoutToken() throws Exception {
+        newFilter().doFilter(request(null), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(meterRegistry.find(JwtAuthenticationFilter.METRIC_AUTHENTICATION).timers()).isEmpty();
+    }
+
+    private JwtAuthenticationFilter newFilter() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(meterRegistry);
+        return new JwtAuthenticationFilter(jwtService, provider);
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spots");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private long count(String outcome) {
+        return meterRegistry.find(JwtAuthenticationFilter.METRIC_AUTHENTICATION).tag("outcome", outcome).timer().count();
+    }
+}
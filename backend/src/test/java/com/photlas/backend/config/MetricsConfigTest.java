@@ -0,0 +1,86 @@
+package com.photlas.backend.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MetricsConfig} のユニットテスト。
+ *
+ * 範囲:
+ *   - 地図表示のエンドポイントの http.server.requests に SLO の境界のバケットが付く
+ *   - それ以外のエンドポイントには最大の境界のバケットだけを付け、他のメトリクスにはバケットを付けない
+ *   - Prometheus のスクレイプ結果に地図表示のエンドポイントの SLO のバケットが出る（他のエンドポイントと混在しても失敗しない）
+ */
+class MetricsConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    MetricsConfigTest() {
+        meterRegistry.config().meterFilter(MetricsConfig.sloMeterFilter(MetricsConfig.HTTP_SERVER_REQUESTS,
+                Set.of("/api/v1/spots"), List.of(Duration.ofMillis(250), Duration.ofMillis(100))));
+    }
+
+    @Test
+    @DisplayName("地図表示のエンドポイントの http.server.requests に SLO の境界のバケットが付く")
+    void addsSloBucketsToMapEndpoints() {
+        Timer timer = meterRegistry.timer(MetricsConfig.HTTP_SERVER_REQUESTS, "uri", "/api/v1/spots", "method", "GET");
+        timer.record(Duration.ofMillis(80));
+        timer.record(Duration.ofMillis(200));
+        timer.record(Duration.ofMillis(900));
+
+        CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        assertThat(buckets).extracting(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .containsExactly(100.0, 250.0);
+        assertThat(buckets).extracting(CountAtBucket::count).containsExactly(1.0, 2.0);
+    }
+
+    @Test
+    @DisplayName("それ以外のエンドポイントには最大の境界のバケットだけを付け、他のメトリクスにはバケットを付けない")
+    void leavesOtherMetersAlone() {
+        Timer otherUri = meterRegistry.timer(MetricsConfig.HTTP_SERVER_REQUESTS, "uri", "/api/v1/photos/{id}");
+        Timer otherName = meterRegistry.timer("photlas.db.query", "uri", "/api/v1/spots");
+        otherUri.record(Duration.ofMillis(80));
+        otherName.record(Duration.ofMillis(80));
+
+        assertThat(otherUri.takeSnapshot().histogramCounts())
+                .extracting(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .containsExactly(250.0);
+        assertThat(otherName.takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Prometheus のスクレイプ結果に地図表示のエンドポイントの SLO のバケットが出る")
+    void exposesSloBucketsInPrometheusScrape() {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        prometheus.config().meterFilter(new MetricsConfig().mapEndpointSloMeterFilter(
+                List.of("/api/v1/spots"), List.of(Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofSeconds(1))));
+        prometheus.timer(MetricsConfig.HTTP_SERVER_REQUESTS, "uri", "/api/v1/spots", "method", "GET")
+                .record(Duration.ofMillis(200));
+        prometheus.timer(MetricsConfig.HTTP_SERVER_REQUESTS, "uri", "/api/v1/photos/{id}", "method", "GET")
+                .record(Duration.ofMillis(200));
+
+        List<String> buckets = prometheus.scrape().lines()
+                .filter(line -> line.startsWith("http_server_requests_seconds_bucket{"))
+                .toList();
+
+        List<String> spotBuckets = buckets.stream()
+                .filter(line -> line.contains("uri=\"/api/v1/spots\""))
+                .toList();
+        assertThat(spotBuckets).extracting(line -> line.replaceAll(".*le=\"([^\"]+)\".*", "$1"))
+                .containsExactly("0.1", "0.25", "1.0", "+Inf");
+        assertThat(spotBuckets).filteredOn(line -> line.contains("le=\"0.25\""))
+                .singleElement().asString().endsWith(" 1");
+    }
+}
@@ -0,0 +1,106 @@
+package com.photlas.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * リードレプリカ振り分けの結合テスト（ローカルの PostgreSQL 2 台。2 台目は docker-compose の db-replica）。
+ *
+ * 2 台目の URL を環境変数 PHOTLAS_TEST_REPLICA_URL で指定したときだけ実行する。
+ * 2 台の間でレプリケーションはしないため、どちらで実行されたかは inet_server_port() で見分ける。
+ *
+ * 範囲:
+ *   - 読み取り専用トランザクションはレプリカ、それ以外はプライマリで実行される
+ *   - プライマリに固定したスレッドの読み取り専用トランザクションはプライマリで実行される
+ *   - 測定に失敗したレプリカには振り分けず、次の測定で回復したら戻す
+ */
+@SpringBootTest(properties = {
+        "photlas.datasource.replica.enabled=true",
+        "photlas.datasource.replica.urls=${PHOTLAS_TEST_REPLICA_URL:}",
+        "spring.jpa.open-in-view=false"
+})
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "PHOTLAS_TEST_REPLICA_URL", matches = ".+")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String SERVER_PORT_SQL = "SELECT inet_server_port()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private int primaryPort;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        replicaLagMonitor.check();
+        primaryPort = portIn(readWrite);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    @DisplayName("読み取り専用トランザクションはレプリカ、それ以外はプライマリで実行される")
+    void routesReadOnlyTransactionsToReplica() {
+        assertThat(replicaLagMonitor.healthyReplicas()).hasSize(1);
+
+        int readOnlyPort = portIn(readOnly);
+
+        assertThat(readOnlyPort).isNotEqualTo(primaryPort);
+        assertThat(serverPort()).isEqualTo(primaryPort);
+    }
+
+    @Test
+    @DisplayName("プライマリに固定したスレッドの読み取り専用トランザクションはプライマリで実行される")
+    void pinnedThreadReadsPrimary() {
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        assertThat(portIn(readOnly)).isEqualTo(primaryPort);
+    }
+
+    @Test
+    @DisplayName("測定に失敗したレプリカには振り分けず、次の測定で回復したら戻す")
+    void fallsBackToPrimaryWhileReplicaUnhealthy() {
+        String replica = replicaLagMonitor.replicas().get(0).name();
+
+        replicaLagMonitor.recordFailure(replica);
+        assertThat(portIn(readOnly)).isEqualTo(primaryPort);
+
+        replicaLagMonitor.check();
+        assertThat(portIn(readOnly)).isNotEqualTo(primaryPort);
+    }
+
+    private int portIn(TransactionTemplate transactionTemplate) {
+        Integer port = transactionTemplate.execute(status -> serverPort());
+        return port;
+    }
+
+    private int serverPort() {
+        return jdbcTemplate.queryForObject(SERVER_PORT_SQL, Integer.class);
+    }
+}
@@ -0,0 +1,141 @@
+package com.photlas.backend.config;
+
+import com.photlas.backend.service.PostgresNotificationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * {@link ReplicaRoutingDataSource} / {@link ReplicaLagMonitor} / {@link ReadYourWritesInterceptor} のユニットテスト。
+ *
+ * 範囲:
+ *   - 正常なレプリカへラウンドロビンで振り分け、未測定・遅延超過・測定失敗のレプリカは外す
+ *   - 正常なレプリカがない場合とプライマリに固定されている場合はプライマリを返す
+ *   - 書き込みリクエストはプライマリに固定し、成功したら書き込みを記録・通知する
+ *   - 書き込みを記録したユーザーの後続リクエストはプライマリに固定する
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        monitor = new ReplicaLagMonitor(replicas, Duration.ofSeconds(5), meterRegistry);
+        routing = new ReplicaRoutingDataSource(primary, monitor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("正常なレプリカへラウンドロビンで振り分け、遅延超過・測定失敗のレプリカは外す")
+    void routesToHealthyReplicas() {
+        // 未測定の間はプライマリ
+        assertThat(routing.select()).isSameAs(primary);
+
+        monitor.recordLag("replica-1", 0.2);
+        monitor.recordLag("replica-2", 5.0);
+        assertThat(List.of(routing.select(), routing.select(), routing.select()))
+                .containsExactly(replica1, replica2, replica1);
+
+        monitor.recordLag("replica-2", 12.0);
+        assertThat(List.of(routing.select(), routing.select())).containsOnly(replica1);
+        assertThat(meterRegistry.get(ReplicaLagMonitor.METRIC_HEALTHY).tag("pool", "replica-2").gauge().value())
+                .isZero();
+
+        monitor.recordFailure("replica-1");
+        assertThat(routing.select()).isSameAs(primary);
+        assertThat(meterRegistry.get(ReplicaLagMonitor.METRIC_LAG).tag("pool", "replica-1").gauge().value())
+                .isNaN();
+        assertThat(meterRegistry.get(ReplicaRoutingDataSource.METRIC_ROUTED)
+                .tags("pool", "primary", "reason", ReplicaRoutingDataSource.REASON_REPLICA_UNAVAILABLE)
+                .counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("プライマリに固定されている間はレプリカが正常でもプライマリを返す")
+    void pinnedThreadReadsPrimary() {
+        monitor.recordLag("replica-1", 0);
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        assertThat(routing.select()).isSameAs(primary);
+
+        ReplicaRoutingDataSource.unpin();
+        assertThat(routing.select()).isSameAs(replica1);
+    }
+
+    @Test
+    @DisplayName("書き込みリクエストはプライマリに固定し、成功したら記録して後続の読み取りもプライマリで行う")
+    void readYourWritesAfterSuccessfulWrite() {
+        PostgresNotificationBus notificationBus = mock(PostgresNotificationBus.class);
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(notificationBus, Duration.ofMinutes(1));
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(tracker);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "writer@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        // 読み取りリクエスト: 書き込み前は固定しない
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/v1/spots/mine-pending");
+        interceptor.preHandle(get, new MockHttpServletResponse(), null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+        interceptor.afterCompletion(get, new MockHttpServletResponse(), null, null);
+
+        // 失敗した書き込みは記録しない
+        MockHttpServletRequest failed = new MockHttpServletRequest("POST", "/api/v1/photos");
+        MockHttpServletResponse badRequest = new MockHttpServletResponse();
+        badRequest.setStatus(400);
+        interceptor.preHandle(failed, badRequest, null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isTrue();
+        interceptor.afterCompletion(failed, badRequest, null, null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+        verify(notificationBus, never()).publish(anyString(), anyString());
+
+        // 成功した書き込みは記録して全ノードに通知する（通知には認証名ではなくハッシュを載せる）
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/v1/photos");
+        interceptor.preHandle(post, new MockHttpServletResponse(), null);
+        interceptor.afterCompletion(post, new MockHttpServletResponse(), null, null);
+        verify(notificationBus).publish(ReadYourWritesTracker.CHANNEL, ReadYourWritesTracker.key("writer@example.com"));
+        assertThat(ReadYourWritesTracker.key("writer@example.com")).doesNotContain("writer").hasSize(64);
+
+        interceptor.preHandle(get, new MockHttpServletResponse(), null);
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isTrue();
+        interceptor.afterCompletion(get, new MockHttpServletResponse(), null, null);
+
+        // 他ノードからの通知でも記録される
+        tracker.onNotification(ReadYourWritesTracker.key("other@example.com"));
+        assertThat(tracker.hasRecentWrite("other@example.com")).isTrue();
+        verify(notificationBus).subscribe(any(), any());
+    }
+}
@@ -23,9 +23,10 @@ public class TestAsyncCaptureService {
     public CompletableFuture<AsyncCaptureResult> captureTraceId() {
         String traceId = MDC.get("traceId");
         String threadName = Thread.currentThread().getName();
-        return CompletableFuture.completedFuture(new AsyncCaptureResult(traceId, threadName));
+        return CompletableFuture.completedFuture(
+                new AsyncCaptureResult(traceId, threadName, Thread.currentThread().isVirtual()));
     }
 
-    public record AsyncCaptureResult(String traceId, String threadName) {
+    public record AsyncCaptureResult(String traceId, String threadName, boolean virtual) {
     }
 }
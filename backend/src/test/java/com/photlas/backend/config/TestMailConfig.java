@@ -1,5 +1,7 @@
 package com.photlas.backend.config;
 
+import com.photlas.backend.service.MailOutboxService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,9 +9,16 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
 /**
  * テスト環境用のJavaMailSenderモック設定
  * メール送信をモック化し、テスト中に実際のSMTPサーバーへの接続を行わない。
+ * 送信キュー経由のメールは {@link EnqueuedMail#capture} でモックの {@link MailOutboxService} から取り出す。
  */
 @Configuration
 @Profile("test")
@@ -20,4 +29,34 @@ public class TestMailConfig {
     public JavaMailSender javaMailSender() {
         return Mockito.mock(JavaMailSender.class);
     }
+
+    /**
+     * モックの {@link MailOutboxService} に登録されたメール
+     *
+     * @param mailType 種類
+     * @param to       宛先
+     * @param subject  件名
+     * @param body     本文
+     */
+    public record EnqueuedMail(String mailType, String to, String subject, String body) {
+
+        /** 1 回だけ登録されたことを検証し、その内容を返す */
+        public static EnqueuedMail capture(MailOutboxService mailOutboxService) {
+            ArgumentCaptor<String> mailType = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<String> to = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<String> subject = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+            verify(mailOutboxService, atLeastOnce())
+                    .enqueue(mailType.capture(), to.capture(), subject.capture(), body.capture());
+            List<EnqueuedMail> mails = new ArrayList<>();
+            for (int i = 0; i < mailType.getAllValues().size(); i++) {
+                mails.add(new EnqueuedMail(mailType.getAllValues().get(i), to.getAllValues().get(i),
+                        subject.getAllValues().get(i), body.getAllValues().get(i)));
+            }
+            if (mails.size() != 1) {
+                throw new AssertionError("登録されたメールが 1 件ではありません: " + mails);
+            }
+            return mails.get(0);
+        }
+    }
 }
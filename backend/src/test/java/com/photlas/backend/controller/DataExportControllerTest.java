@@ -18,8 +18,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -70,7 +73,7 @@ class DataExportControllerTest {
         userId = user.getId();
         userToken = jwtService.generateTokenWithRole(EMAIL, "USER");
 
-        when(s3Service.downloadObjectAsBytes(anyString())).thenReturn(new byte[]{0x01, 0x02});
+        when(s3Service.downloadObjectTo(anyString(), any(OutputStream.class))).thenReturn(0L);
     }
 
     @Test
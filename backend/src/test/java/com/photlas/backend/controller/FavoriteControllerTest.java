@@ -22,6 +22,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import static com.photlas.backend.controller.SqlStatementAssertions.sqlStatements;
+import static com.photlas.backend.controller.SqlStatementAssertions.sqlStatementsAtMost;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -309,6 +311,39 @@ public class FavoriteControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    /** お気に入り一覧 1 リクエストの SQL 実行数の上限 */
+    private static final int FAVORITES_SQL_STATEMENTS_MAX = 10;
+
+    @Test
+    @DisplayName("N+1 - お気に入り一覧の SQL 実行数はお気に入りの件数に比例して増えない")
+    void testGetFavorites_SqlStatementsDoNotGrowWithFavorites() throws Exception {
+        performAddFavorite(testPhoto.getPhotoId());
+        favoriteRepository.flush();
+        int withOneFavorite = sqlStatements(mockMvc.perform(get(USER_FAVORITES_ENDPOINT)
+                .header(HEADER_AUTHORIZATION, getBearerToken(token)))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(FAVORITES_SQL_STATEMENTS_MAX))
+                .andReturn());
+
+        // 投稿者・スポットの異なる写真を 4 件追加でお気に入り登録
+        for (int i = 0; i < 4; i++) {
+            User owner = new User();
+            owner.setUsername("owner" + i);
+            owner.setEmail("owner" + i + "@example.com");
+            owner.setPasswordHash(TEST_PASSWORD_HASH);
+            owner.setRole(CodeConstants.ROLE_USER);
+            owner = userRepository.save(owner);
+            performAddFavorite(createTestPhoto(owner, createTestSpot(owner)).getPhotoId());
+        }
+        favoriteRepository.flush();
+
+        mockMvc.perform(get(USER_FAVORITES_ENDPOINT)
+                .header(HEADER_AUTHORIZATION, getBearerToken(token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_PATH_CONTENT_SIZE, hasSize(5)))
+                .andExpect(sqlStatementsAtMost(withOneFavorite));
+    }
+
     // ============================================================
     // Issue#75: お気に入り一覧のthumbnail_urlテスト
     // ============================================================
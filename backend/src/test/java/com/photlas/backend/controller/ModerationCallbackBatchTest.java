@@ -0,0 +1,242 @@
+package com.photlas.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.photlas.backend.dto.ModerationCallbackBatchRequest;
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.Photo;
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.entity.User;
+import com.photlas.backend.filter.RateLimitFilter;
+import com.photlas.backend.repository.ModerationDetailRepository;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import com.photlas.backend.repository.UserRepository;
+import com.photlas.backend.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * モデレーションのバッチコールバック（/callback/batch）のテスト。
+ *
+ * 範囲:
+ *   - 複数の結果を 1 リクエストで適用し、見つからないキーは not_found として返す
+ *   - 同じ idempotency_key の再送・バッチ内の重複は適用しない
+ *   - QUARANTINED の写真は S3 移動を非同期に行い、プロフィール画像はリセットする
+ *   - APIキー検証・件数上限
+ *
+ * 隔離の S3 移動は別スレッドで行うため、テストはトランザクションで囲まずに各テスト前にデータを消す。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ModerationCallbackBatchTest {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String TEST_API_KEY = "test-moderation-api-key";
+    private static final String BATCH_URL = "/api/v1/internal/moderation/callback/batch";
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private SpotRepository spotRepository;
+    @Autowired private ModerationDetailRepository moderationDetailRepository;
+    @Autowired private RateLimitFilter rateLimitFilter;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Spot spot;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter.clearCache();
+        moderationDetailRepository.deleteAll();
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM moderation_callback_receipts");
+
+        user = new User();
+        user.setUsername("testuser");
+        user.setEmail("test@example.com");
+        user.setPasswordHash("hashedpassword");
+        user.setRole(CodeConstants.ROLE_USER);
+        user = userRepository.save(user);
+
+        spot = new Spot();
+        spot.setLatitude(new BigDecimal("35.658581"));
+        spot.setLongitude(new BigDecimal("139.745433"));
+        spot.setCreatedByUserId(user.getId());
+        spot = spotRepository.save(spot);
+    }
+
+    @Test
+    @DisplayName("複数の結果を 1 リクエストで適用し、見つからないキーは not_found を返す")
+    void appliesBatchAndReportsMissingKeys() throws Exception {
+        Photo first = savePhoto("first");
+        Photo second = savePhoto("second");
+
+        postBatch(List.of(
+                item(first.getS3ObjectKey(), "PUBLISHED", null),
+                item("uploads/missing.jpg", "PUBLISHED", null),
+                item(second.getS3ObjectKey(), "1002", null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.not_found").value(1))
+                .andExpect(jsonPath("$.results[1].s3_object_key").value("uploads/missing.jpg"))
+                .andExpect(jsonPath("$.results[1].outcome").value("not_found"));
+
+        assertThat(photoRepository.findById(first.getPhotoId()).orElseThrow().getModerationStatus())
+                .isEqualTo(CodeConstants.MODERATION_STATUS_PUBLISHED);
+        assertThat(photoRepository.findById(second.getPhotoId()).orElseThrow().getModerationStatus())
+                .isEqualTo(CodeConstants.MODERATION_STATUS_PUBLISHED);
+        assertThat(moderationDetailRepository.findAll())
+                .extracting(d -> d.getTargetId())
+                .containsExactlyInAnyOrder(first.getPhotoId(), second.getPhotoId());
+    }
+
+    @Test
+    @DisplayName("同じ idempotency_key の再送とバッチ内の重複は適用しない")
+    void skipsRepeatedDeliveries() throws Exception {
+        Photo photo = savePhoto("photo");
+
+        postBatch(List.of(
+                item(photo.getS3ObjectKey(), "PUBLISHED", "scan-1"),
+                item(photo.getS3ObjectKey(), "PUBLISHED", "scan-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1));
+
+        postBatch(List.of(item(photo.getS3ObjectKey(), "PUBLISHED", "scan-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.results[0].outcome").value("duplicate"));
+
+        assertThat(moderationDetailRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("QUARANTINED の写真は S3 の quarantined/ へ非同期に移動する")
+    void quarantinesPhotosAsynchronously() throws Exception {
+        Photo photo = savePhoto("unsafe");
+        String originalKey = photo.getS3ObjectKey();
+
+        postBatch(List.of(item(originalKey, "QUARANTINED", "scan-2")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quarantined").value(1));
+
+        verify(s3Service, timeout(5000)).moveS3Object(originalKey, "quarantined/" + originalKey);
+        verify(s3Service, timeout(5000)).moveS3Object(
+                "thumbnails/uploads/" + user.getId() + "/unsafe.webp",
+                "quarantined/thumbnails/uploads/" + user.getId() + "/unsafe.webp");
+        Photo updated = awaitPhoto(photo.getPhotoId(), p -> p.getS3ObjectKey().startsWith("quarantined/"));
+        assertThat(updated.getModerationStatus()).isEqualTo(CodeConstants.MODERATION_STATUS_QUARANTINED);
+        assertThat(moderationDetailRepository.findAll().get(0).getQuarantinedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("QUARANTINED のプロフィール画像はリセットする")
+    void resetsQuarantinedProfileImage() throws Exception {
+        String profileKey = "profile-images/" + user.getId() + "/avatar.jpg";
+        user.setProfileImageS3Key(profileKey);
+        userRepository.save(user);
+
+        postBatch(List.of(item(profileKey, "QUARANTINED", null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.quarantined").value(0));
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getProfileImageS3Key()).isNull();
+        assertThat(moderationDetailRepository.findAll().get(0).getTargetType())
+                .isEqualTo(CodeConstants.TARGET_TYPE_PROFILE);
+    }
+
+    @Test
+    @DisplayName("不正なAPIキーは 401、件数上限超過は 400")
+    void rejectsInvalidRequests() throws Exception {
+        Photo photo = savePhoto("photo");
+
+        mockMvc.perform(post(BATCH_URL)
+                        .header(API_KEY_HEADER, "invalid-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("results", List.of(item(photo.getS3ObjectKey(), "PUBLISHED", null))))))
+                .andExpect(status().isUnauthorized());
+
+        List<Map<String, Object>> tooMany = new ArrayList<>();
+        for (int i = 0; i <= ModerationCallbackBatchRequest.MAX_BATCH_SIZE; i++) {
+            tooMany.add(item(photo.getS3ObjectKey(), "PUBLISHED", null));
+        }
+        postBatch(tooMany).andExpect(status().isBadRequest());
+
+        assertThat(photoRepository.findById(photo.getPhotoId()).orElseThrow().getModerationStatus())
+                .isEqualTo(CodeConstants.MODERATION_STATUS_PENDING_REVIEW);
+    }
+
+    private ResultActions postBatch(List<Map<String, Object>> items) throws Exception {
+        return mockMvc.perform(post(BATCH_URL)
+                .header(API_KEY_HEADER, TEST_API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("results", items))));
+    }
+
+    private static Map<String, Object> item(String s3ObjectKey, String status, String idempotencyKey) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("s3_object_key", s3ObjectKey);
+        item.put("status", status);
+        item.put("confidence_score", 0.5);
+        if (idempotencyKey != null) {
+            item.put("idempotency_key", idempotencyKey);
+        }
+        return item;
+    }
+
+    private Photo savePhoto(String name) {
+        Photo photo = new Photo();
+        photo.setSpotId(spot.getSpotId());
+        photo.setUserId(user.getId());
+        photo.setS3ObjectKey("uploads/" + user.getId() + "/" + name + ".jpg");
+        photo.setShotAt(LocalDateTime.now());
+        photo.setModerationStatus(CodeConstants.MODERATION_STATUS_PENDING_REVIEW);
+        return photoRepository.save(photo);
+    }
+
+    private Photo awaitPhoto(Long photoId, Predicate<Photo> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        Photo photo = photoRepository.findById(photoId).orElseThrow();
+        while (!condition.test(photo) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            photo = photoRepository.findById(photoId).orElseThrow();
+        }
+        assertThat(condition.test(photo)).isTrue();
+        return photo;
+    }
+}
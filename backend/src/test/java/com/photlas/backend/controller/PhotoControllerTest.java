@@ -30,6 +30,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.photlas.backend.controller.SqlStatementAssertions.sqlStatements;
+import static com.photlas.backend.controller.SqlStatementAssertions.sqlStatementsAtMost;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -1144,4 +1146,37 @@ public class PhotoControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].photoId").value(visible.getPhotoId()));
     }
+
+    /** 写真詳細バッチ取得 1 リクエストの SQL 実行数の上限 */
+    private static final int PHOTOS_BATCH_SQL_STATEMENTS_MAX = 10;
+
+    @Test
+    @DisplayName("N+1 - POST /api/v1/photos/batch の SQL 実行数は写真の件数に比例して増えない")
+    void testGetPhotosBatch_SqlStatementsDoNotGrowWithPhotos() throws Exception {
+        Spot spot = createSpot(LATITUDE_TOKYO_TOWER, LONGITUDE_TOKYO_TOWER);
+        Photo first = createPhoto("photos/batch-n1-0.jpg", spot.getSpotId());
+        int withOnePhoto = sqlStatements(mockMvc.perform(post(ENDPOINT_PHOTOS + "/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"photoIds\":[" + first.getPhotoId() + "]}")
+                .header(HEADER_AUTHORIZATION, BEARER_PREFIX + token))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(PHOTOS_BATCH_SQL_STATEMENTS_MAX))
+                .andReturn());
+
+        StringBuilder ids = new StringBuilder().append(first.getPhotoId());
+        for (int i = 1; i <= 4; i++) {
+            Spot other = createSpot(LATITUDE_TOKYO_TOWER.add(BigDecimal.valueOf(i)), LONGITUDE_TOKYO_TOWER);
+            ids.append(",").append(createPhoto("photos/batch-n1-" + i + ".jpg", other.getSpotId()).getPhotoId());
+        }
+
+        mockMvc.perform(post(ENDPOINT_PHOTOS + "/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"photoIds\":[" + ids + "]}")
+                .header(HEADER_AUTHORIZATION, BEARER_PREFIX + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(sqlStatementsAtMost(withOnePhoto));
+    }
 }
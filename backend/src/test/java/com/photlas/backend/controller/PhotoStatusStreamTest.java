@@ -0,0 +1,91 @@
+package com.photlas.backend.controller;
+
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.User;
+import com.photlas.backend.filter.RateLimitFilter;
+import com.photlas.backend.repository.UserRepository;
+import com.photlas.backend.service.JwtService;
+import com.photlas.backend.service.ModerationStatusPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 写真のモデレーションステータスの SSE 配信（/api/v1/photos/status/stream）のテスト。
+ *
+ * 範囲:
+ *   - 認証なしの購読は 401
+ *   - 通知したステータス変更が LISTEN/NOTIFY 経由で投稿者の接続に届き、他ユーザーには届かない
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PhotoStatusStreamTest {
+
+    private static final String STREAM_URL = "/api/v1/photos/status/stream";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtService jwtService;
+    @Autowired private RateLimitFilter rateLimitFilter;
+    @Autowired private ModerationStatusPublisher moderationStatusPublisher;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter.clearCache();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setUsername("owner");
+        owner.setEmail("owner@example.com");
+        owner.setPasswordHash("hashedpassword");
+        owner.setRole(CodeConstants.ROLE_USER);
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    @DisplayName("認証なしの購読は 401")
+    void rejectsAnonymousSubscription() throws Exception {
+        mockMvc.perform(get(STREAM_URL))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("ステータス変更が投稿者の接続にだけ届く")
+    void deliversStatusChangeToOwner() throws Exception {
+        String token = jwtService.generateTokenWithRole(owner.getEmail(), "USER");
+        MvcResult result = mockMvc.perform(get(STREAM_URL).header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = result.getResponse();
+
+        // LISTEN の開始を待ってから通知する（購読前の通知は届かない）
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!response.getContentAsString().contains("moderation-status")
+                && System.currentTimeMillis() < deadline) {
+            moderationStatusPublisher.publish(owner.getId() + 1, 99L, CodeConstants.MODERATION_STATUS_PUBLISHED);
+            moderationStatusPublisher.publish(owner.getId(), 42L, CodeConstants.MODERATION_STATUS_PUBLISHED);
+            Thread.sleep(200);
+        }
+
+        String body = response.getContentAsString();
+        assertThat(body).contains("event:moderation-status");
+        assertThat(body).contains("\"photo_id\":\"42\"");
+        assertThat(body).contains("\"moderation_status\":" + CodeConstants.MODERATION_STATUS_PUBLISHED);
+        assertThat(body).doesNotContain("\"photo_id\":\"99\"");
+    }
+}
@@ -1,5 +1,6 @@
 package com.photlas.backend.controller;
 
+import com.photlas.backend.dto.SpotFilter;
 import com.photlas.backend.service.SpotService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,8 +39,7 @@ class SpotControllerTagIdsTest {
     @Test
     @DisplayName("Issue#141 - GET /spots?tag_ids=1&tag_ids=2: SpotService.getSpots に tagIds=[1,2] が渡される")
     void getSpots_passesTagIdsToService() throws Exception {
-        when(spotService.getSpots(any(), any(), any(), any(), any(), any(), any(), any(),
-                any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(spotService.getSpots(any(), any(), any(), any(), any(SpotFilter.class))).thenReturn(List.of());
 
         mockMvc.perform(get(SPOTS_URL)
                         .param("north", "90")
@@ -50,22 +50,17 @@ class SpotControllerTagIdsTest {
                         .param("tag_ids", "2"))
                 .andExpect(status().isOk());
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Long>> tagIdsCaptor =
-                (ArgumentCaptor<List<Long>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<SpotFilter> filterCaptor = ArgumentCaptor.forClass(SpotFilter.class);
         verify(spotService).getSpots(any(BigDecimal.class), any(BigDecimal.class),
                 any(BigDecimal.class), any(BigDecimal.class),
-                any(), any(), any(), any(),
-                any(), any(), any(), any(), any(), any(),
-                tagIdsCaptor.capture());
-        assertThat(tagIdsCaptor.getValue()).containsExactly(1L, 2L);
+                filterCaptor.capture());
+        assertThat(filterCaptor.getValue().tagIds()).containsExactly(1L, 2L);
     }
 
     @Test
     @DisplayName("Issue#141 - GET /spots (tag_ids 未指定): SpotService.getSpots に tagIds=null が渡される")
     void getSpots_omitsTagIds_passesNull() throws Exception {
-        when(spotService.getSpots(any(), any(), any(), any(), any(), any(), any(), any(),
-                any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(spotService.getSpots(any(), any(), any(), any(), any(SpotFilter.class))).thenReturn(List.of());
 
         mockMvc.perform(get(SPOTS_URL)
                         .param("north", "90")
@@ -74,14 +69,10 @@ class SpotControllerTagIdsTest {
                         .param("west", "-180"))
                 .andExpect(status().isOk());
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Long>> tagIdsCaptor =
-                (ArgumentCaptor<List<Long>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<SpotFilter> filterCaptor = ArgumentCaptor.forClass(SpotFilter.class);
         verify(spotService).getSpots(any(BigDecimal.class), any(BigDecimal.class),
                 any(BigDecimal.class), any(BigDecimal.class),
-                any(), any(), any(), any(),
-                any(), any(), any(), any(), any(), any(),
-                tagIdsCaptor.capture());
-        assertThat(tagIdsCaptor.getValue()).isNull();
+                filterCaptor.capture());
+        assertThat(filterCaptor.getValue().tagIds()).isNull();
     }
 }
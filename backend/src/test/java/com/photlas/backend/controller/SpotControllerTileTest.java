@@ -0,0 +1,182 @@
+package com.photlas.backend.controller;
+
+import com.photlas.backend.dto.SpotFilter;
+import com.photlas.backend.service.SpotService;
+import com.photlas.backend.service.SpotTile;
+import com.photlas.backend.service.SpotTileService;
+import com.photlas.backend.service.SpotVectorTileService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code GET /api/v1/spots/tiles/{z}/{x}/{y}}（JSON / .mvt）と {@code GET /api/v1/spots/tiles/{z}/versions} のテスト。
+ *
+ * 範囲:
+ *   - タイルの範囲で SpotService.getSpots を呼び、ETag と短期の Cache-Control を返す
+ *   - If-None-Match が一致すればスポットを検索せずに 304 を返す
+ *   - 最新の版数を指定した場合だけ長期キャッシュ（immutable）を許可する。max_age_days 指定時は許可しない
+ *   - 範囲外のタイル番号は 400
+ *   - 版数一覧は短期キャッシュで返す
+ *   - .mvt は gzip 済みのタイルを Content-Encoding: gzip で返し、gzip 非対応（q=0 を含む）なら展開して別の ETag で返す
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SpotControllerTileTest {
+
+    private static final String TILE_URL = "/api/v1/spots/tiles/10/909/403";
+
+    @Autowired private MockMvc mockMvc;
+    @MockBean private SpotService spotService;
+    @MockBean private SpotTileService spotTileService;
+    @MockBean private SpotVectorTileService spotVectorTileService;
+
+    @Test
+    @DisplayName("タイルの範囲でスポットを検索し、ETag と短期の Cache-Control を返す")
+    void returnsSpotsWithETag() throws Exception {
+        SpotTile tile = new SpotTile(10, 909, 403);
+        stubVersion(tile, 4L);
+        when(spotService.getSpots(any(), any(), any(), any(), any(SpotFilter.class))).thenReturn(List.of());
+
+        String eTag = mockMvc.perform(get(TILE_URL).param("months", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                .andExpect(jsonPath("$").isArray())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).startsWith("\"t2-4-").endsWith("\"");
+        ArgumentCaptor<SpotFilter> filter = ArgumentCaptor.forClass(SpotFilter.class);
+        verify(spotService).getSpots(eq(tile.north()), eq(tile.south()), eq(tile.east()), eq(tile.west()),
+                filter.capture());
+        assertThat(filter.getValue().months()).isEqualTo(List.of(5));
+    }
+
+    @Test
+    @DisplayName("If-None-Match が一致すればスポットを検索せずに 304 を返す")
+    void returnsNotModifiedWithoutQuery() throws Exception {
+        stubVersion(new SpotTile(10, 909, 403), 4L);
+        String eTag = "\"t2-4-" + SpotTileService.filterHash(SpotFilter.NONE) + "\"";
+
+        mockMvc.perform(get(TILE_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        verify(spotService, never()).getSpots(any(), any(), any(), any(), any(SpotFilter.class));
+    }
+
+    @Test
+    @DisplayName("最新の版数を指定した場合だけ長期キャッシュを許可し、max_age_days 指定時は許可しない")
+    void longCacheOnlyForCurrentVersion() throws Exception {
+        stubVersion(new SpotTile(10, 909, 403), 4L);
+        when(spotService.getSpots(any(), any(), any(), any(), any(SpotFilter.class))).thenReturn(List.of());
+
+        mockMvc.perform(get(TILE_URL).param("v", "4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+        mockMvc.perform(get(TILE_URL).param("v", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"));
+        mockMvc.perform(get(TILE_URL).param("v", "4").param("max_age_days", "30"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("immutable"))));
+    }
+
+    @Test
+    @DisplayName("範囲外のタイル番号は 400")
+    void rejectsOutOfRangeTile() throws Exception {
+        mockMvc.perform(get("/api/v1/spots/tiles/2/4/0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/spots/tiles/19/0/0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("版数一覧は短期キャッシュで返す")
+    void returnsVersions() throws Exception {
+        when(spotTileService.versions(10, 909, 403, 910, 403))
+                .thenReturn(Map.of("909/403", 0L, "910/403", 2L));
+
+        mockMvc.perform(get("/api/v1/spots/tiles/10/versions")
+                        .param("min_x", "909").param("min_y", "403")
+                        .param("max_x", "910").param("max_y", "403"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public"))
+                .andExpect(jsonPath("$.z").value(10))
+                .andExpect(jsonPath("$.versions['910/403']").value(2));
+    }
+
+    @Test
+    @DisplayName(".mvt は gzip 済みのタイルを返し、gzip 非対応なら展開して別の ETag で返す")
+    void returnsVectorTile() throws Exception {
+        byte[] raw = {0x1a, 0x00};
+        stubVersion(new SpotTile(10, 909, 403), 4L);
+        when(spotVectorTileService.gzippedTile(eq(new SpotTile(10, 909, 403)), any(), any(SpotFilter.class)))
+                .thenReturn(gzip(raw));
+
+        String gzipETag = mockMvc.perform(get(TILE_URL + ".mvt").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, SpotVectorTileService.CONTENT_TYPE))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String identityETag = mockMvc.perform(get(TILE_URL + ".mvt"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(raw))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(TILE_URL + ".mvt").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, identityETag));
+        mockMvc.perform(get(TILE_URL + ".mvt").header(HttpHeaders.ACCEPT_ENCODING, "br, *;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        assertThat(gzipETag).startsWith("\"m2-4-");
+        assertThat(identityETag).endsWith("-identity\"").isNotEqualTo(gzipETag);
+        verify(spotService, never()).getSpots(any(), any(), any(), any(), any(SpotFilter.class));
+    }
+
+    /** 版数の読み出しと同じトランザクションで応答を作る処理に、版数を渡して実行させる */
+    private void stubVersion(SpotTile tile, long version) {
+        when(spotTileService.readConsistently(eq(tile), any())).thenAnswer(invocation ->
+                invocation.<LongFunction<?>>getArgument(1).apply(version));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,38 @@
+package com.photlas.backend.controller;
+
+import com.photlas.backend.filter.SqlStatementCountFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * リクエストごとの SQL 実行数（{@link SqlStatementCountFilter} のレスポンスヘッダー X-SQL-Statements）の検証。
+ *
+ * <p>N+1 の検出に使う。件数を変えて同じエンドポイントを呼び、件数が多いほうの実行数が少ないほうを超えないこと
+ * （{@code sqlStatementsAtMost(sqlStatements(少ないほうの結果))}）と、エンドポイントごとの上限を確かめる。
+ * テストのトランザクション内で保存した未反映の行があると、リクエスト中の自動フラッシュも数に入るため、
+ * 呼ぶ前にリポジトリの flush() で反映しておくこと。</p>
+ */
+final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /** リクエストで実行した SQL の数 */
+    static int sqlStatements(MvcResult result) {
+        String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER_STATEMENTS);
+        assertThat(header)
+                .as("%s ヘッダーがない（photlas.sql-statements.response-header が無効）",
+                        SqlStatementCountFilter.HEADER_STATEMENTS)
+                .isNotNull();
+        return Integer.parseInt(header);
+    }
+
+    /** リクエストで実行した SQL が max 以下であること */
+    static ResultMatcher sqlStatementsAtMost(int max) {
+        return result -> assertThat(sqlStatements(result))
+                .as("%s %s の SQL 実行数", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+}
@@ -40,6 +40,8 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 
+import static com.photlas.backend.controller.SqlStatementAssertions.sqlStatements;
+import static com.photlas.backend.controller.SqlStatementAssertions.sqlStatementsAtMost;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -478,6 +480,29 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.total_elements", is(0)));
     }
 
+    /** 投稿一覧 1 リクエストの SQL 実行数の上限 */
+    private static final int USER_PHOTOS_SQL_STATEMENTS_MAX = 8;
+
+    @Test
+    @DisplayName("N+1 - GET /api/v1/users/{userId}/photos の SQL 実行数は写真の件数に比例して増えない")
+    void testGetUserPhotos_SqlStatementsDoNotGrowWithPhotos() throws Exception {
+        Spot spot = createTestSpot(testUser.getId());
+        createTestPhoto(spot.getSpotId(), testUser.getId(), "photos/n1-000.jpg");
+        int withOnePhoto = sqlStatements(mockMvc.perform(get(getUserPhotosEndpoint(testUser.getId())))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(USER_PHOTOS_SQL_STATEMENTS_MAX))
+                .andReturn());
+
+        for (int i = 1; i <= 4; i++) {
+            createTestPhoto(createTestSpot(testUser.getId()).getSpotId(), testUser.getId(), "photos/n1-00" + i + ".jpg");
+        }
+
+        mockMvc.perform(get(getUserPhotosEndpoint(testUser.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(5)))
+                .andExpect(sqlStatementsAtMost(withOnePhoto));
+    }
+
     // GET /api/v1/users/me/photos のテスト
     private static final String USER_ME_PHOTOS_ENDPOINT = "/api/v1/users/me/photos";
 
@@ -0,0 +1,73 @@
+package com.photlas.backend.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ConcurrencyLimitFilter} のユニットテスト。
+ *
+ * 範囲:
+ *   - 同時処理数が DB 接続数 × per-connection に達したら、待ち時間を過ぎたリクエストを 503 で返す
+ *   - 処理が終われば枠が空き、次のリクエストを受け付ける
+ *   - /actuator 配下は上限の対象外
+ */
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    @DisplayName("同時処理数の上限に達したら 503 を返し、枠が空けば受け付ける")
+    void rejectsWhenSaturated() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(meterRegistry, 1, 1, Duration.ofMillis(50));
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (req, res) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/spots"),
+                        new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(filter.inFlight()).isEqualTo(1);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/tags"), rejected, (req, res) -> { });
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"code\":\"SERVER_BUSY\"");
+        assertThat(meterRegistry.counter(ConcurrencyLimitFilter.METRIC_REJECTED).count()).isEqualTo(1.0);
+
+        // ヘルスチェックは上限の対象外
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, (req, res) -> { });
+        assertThat(health.getStatus()).isEqualTo(200);
+
+        release.countDown();
+        holder.join(5000);
+        assertThat(filter.inFlight()).isZero();
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/tags"), accepted, (req, res) -> { });
+        assertThat(accepted.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,126 @@
+package com.photlas.backend.filter;
+
+import com.photlas.backend.config.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link SqlStatementCountFilter} と {@link SqlStatementCounter} のユニットテスト（DataSource・接続はモック）。
+ *
+ * 範囲:
+ *   - リクエスト中に実行した SQL の数を、本文を書く前にレスポンスヘッダーに付ける
+ *   - 実行数を uri・method タグ付きの分布に記録する
+ *   - ヘッダーを無効にしてもメトリクスは記録する
+ *   - リクエストの外（スコープなし）では接続を包まない
+ */
+class SqlStatementCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataSource dataSource;
+    private Connection rawConnection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rawConnection = mock(Connection.class);
+        when(rawConnection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+        when(rawConnection.createStatement()).thenAnswer(invocation -> mock(Statement.class));
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(rawConnection);
+        dataSource = new SqlStatementCounter.CountingDataSource(target);
+    }
+
+    @Test
+    @DisplayName("リクエスト中に実行した SQL の数を、本文を書く前にレスポンスヘッダーに付ける")
+    void writesCountsBeforeBody() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        newFilter(true).doFilter(request, response, chain(3));
+
+        assertThat(response.getHeader(SqlStatementCountFilter.HEADER_STATEMENTS)).isEqualTo("4");
+        assertThat(response.getHeader(SqlStatementCountFilter.HEADER_ORM_STATEMENTS)).isEqualTo("3");
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("実行数を uri・method タグ付きの分布に記録する")
+    void recordsMetric() throws Exception {
+        newFilter(true).doFilter(request(), new MockHttpServletResponse(), chain(2));
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementCountFilter.METRIC_STATEMENTS)
+                .tags("uri", "/api/v1/users/{userId}/photos", "method", "GET").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("ヘッダーを無効にしてもメトリクスは記録する")
+    void recordsMetricWithoutHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        newFilter(false).doFilter(request(), response, chain(1));
+
+        assertThat(response.getHeader(SqlStatementCountFilter.HEADER_STATEMENTS)).isNull();
+        assertThat(meterRegistry.find(SqlStatementCountFilter.METRIC_STATEMENTS).summary().totalAmount())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("リクエストの外（スコープなし）では接続を包まない")
+    void leavesConnectionsOutsideScopeAlone() throws Exception {
+        assertThat(dataSource.getConnection()).isSameAs(rawConnection);
+    }
+
+    /** Hibernate が準備した SQL を queries 件と JdbcTemplate 相当の SQL を 1 件実行し、本文を書いて flush する */
+    private FilterChain chain(int queries) {
+        SqlStatementCounter.Inspector inspector = new SqlStatementCounter.Inspector();
+        return (req, res) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                for (int i = 0; i < queries; i++) {
+                    String sql = inspector.inspect("select * from photos where photo_id = ?");
+                    connection.prepareStatement(sql).executeQuery();
+                }
+                connection.createStatement().execute("select 1");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        };
+    }
+
+    private SqlStatementCountFilter newFilter(boolean responseHeader) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(meterRegistry);
+        return new SqlStatementCountFilter(provider, responseHeader);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/1/photos");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/users/{userId}/photos");
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package com.photlas.backend.repository;
+
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.service.SpotTile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SpotTileVersionRepository#bumpForSpots} の結合テスト（実 PostgreSQL）。
+ *
+ * 範囲:
+ * - タイルの端（外側に丸めた範囲）に載るスポットは、そのスポットを返すすべてのタイルの版数を上げる
+ * - 端から離れたスポットは 1 つのタイルだけ版数を上げる
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SpotTileVersionRepositoryTest {
+
+    private static final int ZOOM = 18;
+
+    @Autowired
+    private SpotRepository spotRepository;
+
+    @Autowired
+    private SpotTileVersionRepository spotTileVersionRepository;
+
+    private Spot saveSpot(String latitude, String longitude) {
+        Spot spot = new Spot();
+        spot.setLatitude(new BigDecimal(latitude));
+        spot.setLongitude(new BigDecimal(longitude));
+        spot.setCreatedByUserId(1L);
+        return spotRepository.saveAndFlush(spot);
+    }
+
+    /** スポットの周囲 3×3 のタイルのうち、範囲（タイル一覧の検索条件）にスポットが入るもの */
+    private static Set<SpotTile> tilesReturning(Spot spot) {
+        SpotTile center = SpotTile.containing(ZOOM, spot.getLatitude().doubleValue(), spot.getLongitude().doubleValue());
+        Set<SpotTile> tiles = new HashSet<>();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                SpotTile tile = new SpotTile(ZOOM, center.x() + dx, center.y() + dy);
+                if (tile.south().compareTo(spot.getLatitude()) <= 0 && tile.north().compareTo(spot.getLatitude()) >= 0
+                        && tile.west().compareTo(spot.getLongitude()) <= 0
+                        && tile.east().compareTo(spot.getLongitude()) >= 0) {
+                    tiles.add(tile);
+                }
+            }
+        }
+        return tiles;
+    }
+
+    private Set<SpotTile> bumpedTiles(Spot spot) {
+        SpotTile center = SpotTile.containing(ZOOM, spot.getLatitude().doubleValue(), spot.getLongitude().doubleValue());
+        Set<SpotTile> tiles = new HashSet<>();
+        for (Object[] row : spotTileVersionRepository.findVersions(ZOOM, 0,
+                center.x() - 1, center.x() + 1, center.y() - 1, center.y() + 1)) {
+            tiles.add(new SpotTile(ZOOM, ((Number) row[0]).intValue(), ((Number) row[1]).intValue()));
+        }
+        return tiles;
+    }
+
+    @Test
+    @DisplayName("経度 135 度ちょうど（タイルの境界）のスポットは、西と東の両方のタイルの版数を上げる")
+    void bumpsBothTilesSharingAnEdge() {
+        Spot spot = saveSpot("35.681236", "135.000000");
+        SpotTile east = SpotTile.containing(ZOOM, 35.681236, 135.0);
+        SpotTile west = new SpotTile(ZOOM, east.x() - 1, east.y());
+        assertThat(tilesReturning(spot)).contains(west, east);
+
+        spotTileVersionRepository.bumpForSpots(List.of(spot.getSpotId()), ZOOM, ZOOM);
+
+        assertThat(bumpedTiles(spot)).containsAll(tilesReturning(spot));
+    }
+
+    @Test
+    @DisplayName("端から離れたスポットは、含むタイル 1 つだけ版数を上げる")
+    void bumpsSingleTileAwayFromEdges() {
+        Spot spot = saveSpot("35.681236", "139.767125");
+
+        spotTileVersionRepository.bumpForSpots(List.of(spot.getSpotId()), ZOOM, ZOOM);
+
+        assertThat(bumpedTiles(spot))
+                .containsExactly(SpotTile.containing(ZOOM, 35.681236, 139.767125))
+                .isEqualTo(tilesReturning(spot));
+    }
+}
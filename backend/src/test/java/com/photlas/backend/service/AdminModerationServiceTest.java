@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -32,6 +33,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 
 /**
  * Issue#54: 管理者モデレーション操作のテスト
@@ -44,6 +47,9 @@ public class AdminModerationServiceTest {
     @MockitoBean
     private S3Service s3Service;
 
+    @MockitoSpyBean
+    private ModerationStatusPublisher moderationStatusPublisher;
+
     @Autowired
     private AdminModerationService adminModerationService;
 
@@ -243,6 +249,24 @@ public class AdminModerationServiceTest {
         assertThat(updatedPublished.getModerationStatus()).isEqualTo(CodeConstants.MODERATION_STATUS_REMOVED);
     }
 
+    @Test
+    @DisplayName("永久停止時: REMOVEDにした写真のステータス変更をまとめて通知する")
+    void testRejectPhoto_PermanentSuspension_PublishesRemovedPhotos() {
+        Photo publishedPhoto = createPhotoWithStatus("photos/pub.jpg", CodeConstants.MODERATION_STATUS_PUBLISHED);
+        Photo pendingPhoto = createPhotoWithStatus("photos/pending.jpg", CodeConstants.MODERATION_STATUS_PENDING_REVIEW);
+
+        for (int i = 1; i <= 3; i++) {
+            Photo photo = createPhotoWithStatus("photos/ban" + i + ".jpg", CodeConstants.MODERATION_STATUS_QUARANTINED);
+            adminModerationService.rejectPhoto(photo.getPhotoId(), "違反" + i);
+        }
+
+        verify(moderationStatusPublisher).publishAll(argThat(changes -> changes.containsAll(List.of(
+                new ModerationStatusPublisher.StatusChange(photoOwner.getId(), publishedPhoto.getPhotoId(),
+                        CodeConstants.MODERATION_STATUS_REMOVED),
+                new ModerationStatusPublisher.StatusChange(photoOwner.getId(), pendingPhoto.getPhotoId(),
+                        CodeConstants.MODERATION_STATUS_REMOVED)))));
+    }
+
     // ===== Issue#54: violationType振り分けテスト =====
 
     @Test
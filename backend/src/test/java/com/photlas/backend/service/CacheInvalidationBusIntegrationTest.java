@@ -0,0 +1,97 @@
+package com.photlas.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link CacheInvalidationBus} の結合テスト（ローカル PostgreSQL の LISTEN/NOTIFY）。
+ *
+ * 範囲:
+ *   - 他ノードが NOTIFY したイベントが LISTEN 経由で登録済みキャッシュへ届く
+ *   - トランザクション中の発行はコミット後に反映され、ロールバック時は反映されない
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheInvalidationBusIntegrationTest {
+
+    /** 他ノードの送信元ID（テストごとに連番を 1 から振り直す） */
+    private static final String OTHER_NODE = "integration-test-node";
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private PostgresNotificationBus notificationBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<CacheInvalidationBus.Event> received = new LinkedBlockingQueue<>();
+    private CacheInvalidationBus.Listener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CacheInvalidationBus.Listener() {
+            @Override
+            public void onEvent(CacheInvalidationBus.Event event) {
+                received.add(event);
+            }
+
+            @Override
+            public void invalidateAll() {
+                // 全破棄はこのテストの対象外
+            }
+        };
+        bus.register(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.unregister(listener);
+    }
+
+    @Test
+    @DisplayName("他ノードが NOTIFY したイベントが LISTEN 経由で届く")
+    void deliversForeignNotification() throws InterruptedException {
+        CacheInvalidationBus.Event event = new CacheInvalidationBus.Event(CacheInvalidationBus.Type.USER_DELETED, 42L);
+        String sender = OTHER_NODE + "-" + System.nanoTime();
+
+        // LISTEN 接続の確立前に送った通知は届かないため、届くまで送り直す
+        CacheInvalidationBus.Event delivered = null;
+        for (long seq = 1; seq <= 20 && delivered == null; seq++) {
+            notificationBus.publish(CacheInvalidationBus.CHANNEL, CacheInvalidationBus.encode(sender, seq, event));
+            delivered = received.poll(500, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(delivered).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("トランザクション中の発行はコミット後に反映され、ロールバック時は反映されない")
+    void publishesOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.publish(CacheInvalidationBus.Type.PHOTO_REMOVED, 1L);
+            status.setRollbackOnly();
+        });
+        assertThat(received).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.publish(CacheInvalidationBus.Type.PHOTO_PUBLISHED, 2L);
+            assertThat(received).isEmpty();
+        });
+        assertThat(received).containsExactly(
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_PUBLISHED, 2L));
+    }
+}
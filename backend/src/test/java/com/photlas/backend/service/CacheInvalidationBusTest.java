@@ -0,0 +1,199 @@
+package com.photlas.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * {@link CacheInvalidationBus} / {@link LocalCache} のユニットテスト。
+ *
+ * 範囲:
+ *   - 発行したイベントは自ノードへ即時反映し、連番付きで NOTIFY する
+ *   - 他ノードのイベントは反映し、自ノードが送ったイベントは二重に反映しない
+ *   - 連番の欠番・LISTEN 接続の張り直しで全破棄する
+ *   - 不正なペイロードは無視する
+ *   - 発行時の処理（PublishHook）は発行したノードでだけ、発行時に実行する
+ *   - トランザクション中の発行は、コミット直前にまとめて 1 回だけ発行時の処理へ渡す
+ *   - LocalCache はイベントで破棄され、TTL 0 ではキャッシュしない
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private PostgresNotificationBus notificationBus;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus bus;
+    private RecordingListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bus = new CacheInvalidationBus(notificationBus, meterRegistry);
+        listener = new RecordingListener();
+        bus.register(listener);
+    }
+
+    @Test
+    @DisplayName("発行したイベントは自ノードへ即時反映し、連番付きで NOTIFY する")
+    void publishAppliesLocallyAndNotifies() {
+        bus.publish(CacheInvalidationBus.Type.PHOTO_PUBLISHED, 10L);
+        bus.publishPhotoStatus(11L, 1003);
+
+        assertThat(listener.events).containsExactly(
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_PUBLISHED, 10L),
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_REMOVED, 11L));
+        verify(notificationBus, timeout(1000)).publish(CacheInvalidationBus.CHANNEL,
+                bus.senderId() + ":1:PHOTO_PUBLISHED:10");
+        verify(notificationBus, timeout(1000)).publish(CacheInvalidationBus.CHANNEL,
+                bus.senderId() + ":2:PHOTO_REMOVED:11");
+        assertThat(meterRegistry.counter(CacheInvalidationBus.METRIC_EVENTS, "type", "photo_published").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("他ノードのイベントは反映し、自ノードが送ったイベントは二重に反映しない")
+    void appliesOnlyForeignEvents() {
+        bus.onNotification("other:1:USER_DELETED:5");
+        bus.onNotification(bus.senderId() + ":1:TAG_CHANGED:6");
+
+        assertThat(listener.events).containsExactly(
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.USER_DELETED, 5L));
+        assertThat(listener.fullRefreshes.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("連番が飛んだ場合は全破棄してからイベントを反映する")
+    void gapTriggersFullRefresh() {
+        bus.onNotification("other:1:TAG_CHANGED:1");
+        bus.onNotification("other:2:TAG_CHANGED:2");
+        assertThat(listener.fullRefreshes.get()).isZero();
+
+        bus.onNotification("other:5:TAG_CHANGED:5");
+
+        assertThat(listener.fullRefreshes.get()).isEqualTo(1);
+        assertThat(listener.events).hasSize(3);
+        assertThat(meterRegistry.counter(CacheInvalidationBus.METRIC_FULL_REFRESH).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("LISTEN 接続を張り直したときは全破棄する")
+    void reconnectTriggersFullRefresh() {
+        ArgumentCaptor<Runnable> onConnect = ArgumentCaptor.forClass(Runnable.class);
+        verify(notificationBus).onConnect(onConnect.capture());
+        verify(notificationBus).subscribe(eq(CacheInvalidationBus.CHANNEL), any());
+
+        onConnect.getValue().run();
+
+        assertThat(listener.fullRefreshes.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("不正なペイロードは無視する")
+    void ignoresMalformedPayload() {
+        bus.onNotification("other:1:TAG_CHANGED");
+        bus.onNotification("other:x:TAG_CHANGED:1");
+        bus.onNotification("other:1:UNKNOWN:1");
+
+        assertThat(listener.events).isEmpty();
+        assertThat(listener.fullRefreshes.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("発行時の処理は発行したノードでだけ、発行時に実行する")
+    void publishHookRunsOnlyOnPublishingNode() {
+        List<CacheInvalidationBus.Event> hooked = new ArrayList<>();
+        bus.addPublishHook(hooked::addAll);
+
+        bus.publish(CacheInvalidationBus.Type.PHOTO_UPDATED, 7L);
+        bus.onNotification("other:1:PHOTO_PUBLISHED:8");
+
+        assertThat(hooked).containsExactly(
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_UPDATED, 7L));
+        assertThat(listener.events).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("トランザクション中の発行は、コミット直前にまとめて 1 回だけ発行時の処理へ渡し、コミット後に送る")
+    void publishHookRunsOncePerTransaction() {
+        List<List<CacheInvalidationBus.Event>> hooked = new ArrayList<>();
+        bus.addPublishHook(hooked::add);
+        CacheInvalidationBus.Event removed = new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_REMOVED, 1L);
+        CacheInvalidationBus.Event published = new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_PUBLISHED, 2L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(removed.type(), removed.id());
+            bus.publishAll(List.of(published));
+            assertThat(hooked).isEmpty();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            synchronizations.forEach(s -> s.beforeCommit(false));
+            assertThat(hooked).containsExactly(List.of(removed, published));
+            assertThat(listener.events).isEmpty();
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(listener.events).containsExactly(removed, published);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("LocalCache はイベントで破棄され、TTL 0 ではキャッシュしない")
+    void localCacheIsInvalidatedByEvents() {
+        AtomicInteger loads = new AtomicInteger();
+        LocalCache<String, Integer> cache = new LocalCache<>("test", Duration.ofMinutes(1), 10,
+                (event, c) -> c.invalidate("k" + event.id()), bus, meterRegistry);
+        LocalCache<String, Integer> uncached = new LocalCache<>("test_uncached", Duration.ZERO, 10,
+                (event, c) -> c.invalidateAll(), bus, meterRegistry);
+
+        assertThat(cache.get("k1", key -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get("k1", key -> loads.incrementAndGet())).isEqualTo(1);
+
+        bus.onNotification("other:1:TAG_CHANGED:1");
+        assertThat(cache.get("k1", key -> loads.incrementAndGet())).isEqualTo(2);
+
+        assertThat(uncached.get("k1", key -> loads.incrementAndGet())).isEqualTo(3);
+        assertThat(uncached.get("k1", key -> loads.incrementAndGet())).isEqualTo(4);
+    }
+
+    private static class RecordingListener implements CacheInvalidationBus.Listener {
+
+        private final List<CacheInvalidationBus.Event> events = new ArrayList<>();
+        private final AtomicInteger fullRefreshes = new AtomicInteger();
+
+        @Override
+        public void onEvent(CacheInvalidationBus.Event event) {
+            events.add(event);
+        }
+
+        @Override
+        public void invalidateAll() {
+            fullRefreshes.incrementAndGet();
+        }
+    }
+}
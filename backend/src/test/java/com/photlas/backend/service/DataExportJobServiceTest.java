@@ -0,0 +1,245 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.*;
+import com.photlas.backend.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link DataExportJobService} のテスト（ジョブモード）。
+ *
+ * 範囲:
+ *   - tryAcquireExportSlot がジョブを QUEUED / JOB で登録する
+ *   - ワーカーが ZIP をマルチパートで S3 に生成し、完了・スループット・リンク有効期限を記録してリンクをメール送信する
+ *   - パート途中の失敗は QUEUED に戻り、再実行時は最後の完了パートから再開する（取得済み写真を再取得しない）
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "photlas.export.mode=job",
+        // 写真 1 枚ごとにパートを区切ってチェックポイントさせる
+        "photlas.export.job.part-size-bytes=1",
+        "photlas.export.job.poll-interval-ms=3600000"
+})
+class DataExportJobServiceTest {
+
+    private static final String UPLOAD_ID = "upload-1";
+    private static final String DOWNLOAD_URL = "https://example.com/exports/signed";
+
+    @Autowired private DataExportJobService dataExportJobService;
+    @Autowired private DataExportService dataExportService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private SpotRepository spotRepository;
+    @Autowired private DataExportLogRepository dataExportLogRepository;
+    @Autowired private DataExportArchivePartRepository partRepository;
+
+    @MockBean private S3Service s3Service;
+    @MockBean private EmailService emailService;
+
+    private User user;
+    /** パート番号 → アップロードされた内容（同じ番号の再送は上書き）。 */
+    private final Map<Integer, byte[]> uploadedParts = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+        dataExportLogRepository.deleteAll();
+        userRepository.deleteAll();
+        uploadedParts.clear();
+
+        user = new User();
+        user.setUsername("naegi");
+        user.setEmail("naegi@example.com");
+        user.setPasswordHash("hash");
+        user.setRole(CodeConstants.ROLE_USER);
+        user.setLanguage("ja");
+        user = userRepository.save(user);
+
+        when(s3Service.createMultipartUpload(anyString(), anyString())).thenReturn(UPLOAD_ID);
+        when(s3Service.uploadPart(anyString(), eq(UPLOAD_ID), anyInt(), any(Path.class)))
+                .thenAnswer(invocation -> {
+                    int partNumber = invocation.getArgument(2);
+                    uploadedParts.put(partNumber, Files.readAllBytes(invocation.getArgument(3, Path.class)));
+                    return "etag-" + partNumber;
+                });
+        when(s3Service.generatePresignedDownloadUrl(anyString(), any(Duration.class), anyString()))
+                .thenReturn(DOWNLOAD_URL);
+        when(s3Service.downloadObjectTo(anyString(), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    byte[] data = invocation.getArgument(0, String.class).getBytes();
+                    invocation.getArgument(1, OutputStream.class).write(data);
+                    return (long) data.length;
+                });
+    }
+
+    @Test
+    @DisplayName("ジョブモードでは tryAcquireExportSlot がジョブを QUEUED で登録する")
+    void acquireSlotQueuesJob() {
+        DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.1", "UA");
+
+        assertThat(log.getMode()).isEqualTo(DataExportLog.MODE_JOB);
+        assertThat(log.getStatus()).isEqualTo(DataExportLog.STATUS_QUEUED);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getExportInProgressAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("ワーカーが ZIP をマルチパートで生成し、完了を記録してダウンロードリンクをメール送信する")
+    void workerBuildsArchiveAndSendsLink() throws Exception {
+        List<Photo> photos = List.of(savePhoto("a"), savePhoto("b"));
+        DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.1", "UA");
+
+        claimAndRun(log.getId());
+
+        DataExportLog done = dataExportLogRepository.findById(log.getId()).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(DataExportLog.STATUS_COMPLETED);
+        assertThat(done.getBytesWritten()).isEqualTo(totalUploadedBytes());
+        assertThat(done.getThroughputBytesPerSec()).isNotNull();
+        assertThat(done.getDownloadExpiresAt()).isAfter(LocalDateTime.now());
+        assertThat(done.getS3ObjectKey()).startsWith("exports/" + user.getId() + "/" + log.getId() + "/");
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(reloaded.getLastExportedAt()).isNotNull();
+        assertThat(reloaded.getExportInProgressAt()).isNull();
+
+        verify(s3Service).completeMultipartUpload(eq(done.getS3ObjectKey()), eq(UPLOAD_ID), anyList());
+        verify(emailService).send(eq("naegi@example.com"), anyString(), contains(DOWNLOAD_URL));
+
+        Map<String, byte[]> entries = readZip(joinParts());
+        for (Photo photo : photos) {
+            assertThat(entries).hasEntrySatisfying(
+                    done.getArchiveName() + "/photos/" + photo.getPhotoId() + ".jpg",
+                    data -> assertThat(new String(data)).isEqualTo(photo.getS3ObjectKey()));
+        }
+        assertThat(entries).containsKey(done.getArchiveName() + "/_complete.flag");
+    }
+
+    @Test
+    @DisplayName("パートのアップロード失敗で QUEUED に戻り、再実行時は最後の完了パートから再開する")
+    void resumesFromLastCompletedPart() throws Exception {
+        Photo first = savePhoto("first");
+        Photo second = savePhoto("second");
+        Photo third = savePhoto("third");
+        DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.1", "UA");
+
+        // 3 枚目の写真で区切るパート（パート 3）の初回アップロードだけ失敗させる
+        AtomicBoolean failed = new AtomicBoolean();
+        when(s3Service.uploadPart(anyString(), eq(UPLOAD_ID), eq(3), any(Path.class)))
+                .thenAnswer(invocation -> {
+                    if (failed.compareAndSet(false, true)) {
+                        throw new RuntimeException("connection reset");
+                    }
+                    uploadedParts.put(3, Files.readAllBytes(invocation.getArgument(3, Path.class)));
+                    return "etag-3";
+                });
+
+        claimAndRun(log.getId());
+
+        DataExportLog requeued = dataExportLogRepository.findById(log.getId()).orElseThrow();
+        assertThat(requeued.getStatus()).isEqualTo(DataExportLog.STATUS_QUEUED);
+        assertThat(requeued.getCheckpointPhotoId()).isEqualTo(second.getPhotoId());
+        assertThat(partRepository.findByLogIdOrderByPartNumber(log.getId())).hasSize(2);
+
+        claimAndRun(log.getId());
+
+        DataExportLog done = dataExportLogRepository.findById(log.getId()).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(DataExportLog.STATUS_COMPLETED);
+        assertThat(done.getAttempts()).isEqualTo(2);
+        // チェックポイント済みの写真は再取得しない
+        verify(s3Service, times(1)).downloadObjectTo(eq(first.getS3ObjectKey()), any(OutputStream.class));
+        verify(s3Service, times(1)).downloadObjectTo(eq(second.getS3ObjectKey()), any(OutputStream.class));
+        // マルチパートアップロードは初回に開始したものを使い続ける
+        verify(s3Service, times(1)).createMultipartUpload(anyString(), anyString());
+
+        Map<String, byte[]> entries = readZip(joinParts());
+        String root = done.getArchiveName() + "/";
+        assertThat(entries).containsKeys(
+                root + "README.md",
+                root + "photos/" + first.getPhotoId() + ".jpg",
+                root + "photos/" + second.getPhotoId() + ".jpg",
+                root + "photos/" + third.getPhotoId() + ".jpg",
+                root + "photos.json",
+                root + "_complete.flag");
+    }
+
+    private void claimAndRun(Long logId) {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(dataExportLogRepository.claimJob(logId, now, now.minusMinutes(10))).isEqualTo(1);
+        dataExportJobService.runJob(logId);
+    }
+
+    private Photo savePhoto(String name) {
+        Spot spot = new Spot();
+        spot.setLatitude(new BigDecimal("35.658581"));
+        spot.setLongitude(new BigDecimal("139.745433"));
+        spot.setCreatedByUserId(user.getId());
+        spot = spotRepository.save(spot);
+
+        Photo p = new Photo();
+        p.setSpotId(spot.getSpotId());
+        p.setUserId(user.getId());
+        p.setS3ObjectKey("uploads/" + user.getId() + "/" + name + ".jpg");
+        p.setLatitude(new BigDecimal("35.658581"));
+        p.setLongitude(new BigDecimal("139.745433"));
+        p.setShotAt(LocalDateTime.now());
+        p.setModerationStatus(CodeConstants.MODERATION_STATUS_PUBLISHED);
+        return photoRepository.save(p);
+    }
+
+    private long totalUploadedBytes() {
+        return uploadedParts.values().stream().mapToLong(b -> b.length).sum();
+    }
+
+    private byte[] joinParts() throws Exception {
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        for (byte[] part : uploadedParts.values()) {
+            joined.write(part);
+        }
+        return joined.toByteArray();
+    }
+
+    private static Map<String, byte[]> readZip(byte[] data) throws Exception {
+        Map<String, byte[]> result = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(data))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                result.put(entry.getName(), zis.readAllBytes());
+                names.add(entry.getName());
+            }
+        }
+        assertThat(names).doesNotHaveDuplicates();
+        return result;
+    }
+}
@@ -5,6 +5,7 @@ import com.photlas.backend.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -37,10 +38,11 @@ import static org.mockito.Mockito.*;
  *   - 成功時の lastExportedAt 更新・exportInProgressAt クリア・data_export_log COMPLETED
  *   - 成功時に通知メールが送られる
  *   - IOException 発生時は FAILED + lastExportedAt は更新されない
- *   - ZIP エントリはすべて DEFLATED
+ *   - ZIP のメタデータ系エントリは DEFLATED、写真本体は STORED（CRC・サイズ付き）
  *   - S3 ダウンロード失敗で 1 回リトライ → 成功すれば写真は含まれる
  *   - S3 ダウンロード 2 回失敗 → errors.json に記録、ZIP は完成する
  *   - 同時実行ロックの原子的取得（tryAcquireExportSlot）の動作
+ *   - キューで待っているジョブがあれば、ロックがストール扱いでも ExportInProgressException
  */
 @SpringBootTest
 @ActiveProfiles("test")
@@ -74,7 +76,8 @@ class DataExportServiceTest {
         user = userRepository.save(user);
 
         // S3 download succeeds with empty bytes by default
-        when(s3Service.downloadObjectAsBytes(anyString())).thenReturn(new byte[]{0x01, 0x02});
+        when(s3Service.downloadObjectTo(anyString(), any(OutputStream.class)))
+                .thenAnswer(writes(new byte[]{0x01, 0x02}));
     }
 
     @Test
@@ -206,7 +209,7 @@ class DataExportServiceTest {
     }
 
     @Test
-    @DisplayName("Issue#108 - ZIP のすべてのエントリが DEFLATED (compression method 8)")
+    @DisplayName("Issue#108 - 写真を含まない ZIP のエントリはすべて DEFLATED (compression method 8)")
     void allZipEntriesUseDeflated() throws Exception {
         DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.1", "UA-test");
         ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -222,6 +225,52 @@ class DataExportServiceTest {
         }
     }
 
+    @Test
+    @DisplayName("写真本体は STORED（CRC・サイズ付き）、JSON / README は DEFLATED で格納される")
+    void photoEntriesAreStoredAndMetadataEntriesDeflated() throws Exception {
+        Spot spot = new Spot();
+        spot.setLatitude(new BigDecimal("35.658581"));
+        spot.setLongitude(new BigDecimal("139.745433"));
+        spot.setCreatedByUserId(user.getId());
+        spot = spotRepository.save(spot);
+
+        Photo p = new Photo();
+        p.setSpotId(spot.getSpotId());
+        p.setUserId(user.getId());
+        p.setS3ObjectKey("uploads/" + user.getId() + "/stored.jpg");
+        p.setLatitude(new BigDecimal("35.658581"));
+        p.setLongitude(new BigDecimal("139.745433"));
+        p.setShotAt(LocalDateTime.now());
+        p.setModerationStatus(CodeConstants.MODERATION_STATUS_PUBLISHED);
+        p = photoRepository.save(p);
+
+        byte[] image = new byte[64 * 1024];
+        new java.util.Random(7).nextBytes(image);
+        when(s3Service.downloadObjectTo(eq(p.getS3ObjectKey()), any(OutputStream.class)))
+                .thenAnswer(writes(image));
+
+        DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.1", "UA");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dataExportService.streamExport(log, out);
+
+        boolean photoSeen = false;
+        try (ZipInputStream zis = new ZipInputStream(new java.io.ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (entry.getName().contains("/photos/")) {
+                    photoSeen = true;
+                    assertThat(entry.getMethod()).as("entry: %s", entry.getName()).isEqualTo(ZipEntry.STORED);
+                    assertThat(entry.getSize()).isEqualTo(image.length);
+                    // ZipInputStream は読み切り時に CRC を検証する
+                    assertThat(zis.readAllBytes()).isEqualTo(image);
+                } else {
+                    assertThat(entry.getMethod()).as("entry: %s", entry.getName()).isEqualTo(ZipEntry.DEFLATED);
+                }
+            }
+        }
+        assertThat(photoSeen).isTrue();
+    }
+
     @Test
     @DisplayName("Issue#108 - 同時実行ロック取得: 2 回目は ExportInProgressException")
     void doubleAcquireExportSlotConflicts() {
@@ -232,6 +281,24 @@ class DataExportServiceTest {
                 .isInstanceOf(com.photlas.backend.exception.ExportInProgressException.class);
     }
 
+    @Test
+    @DisplayName("キューで 30 分以上待っているジョブがあれば、ロックがストール扱いでも ExportInProgressException")
+    void queuedJobKeepsSlotAfterStaleThreshold() {
+        DataExportLog queued = new DataExportLog();
+        queued.setUserId(user.getId());
+        queued.setRequestedAt(LocalDateTime.now().minusMinutes(45));
+        queued.setMode(DataExportLog.MODE_JOB);
+        queued.setStatus(DataExportLog.STATUS_QUEUED);
+        dataExportLogRepository.saveAndFlush(queued);
+        user.setExportInProgressAt(LocalDateTime.now().minusMinutes(45));
+        userRepository.saveAndFlush(user);
+
+        assertThatThrownBy(() ->
+                dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.2", "UA-test-2"))
+                .isInstanceOf(com.photlas.backend.exception.ExportInProgressException.class);
+        assertThat(dataExportLogRepository.findByUserIdOrderByRequestedAtDesc(user.getId())).hasSize(1);
+    }
+
     @Test
     @DisplayName("Issue#108 - 直近 7 日以内に lastExportedAt がある場合は ExportRateLimitException")
     void rateLimitedWhenRecentlyExported() {
@@ -262,9 +329,9 @@ class DataExportServiceTest {
         p.setModerationStatus(CodeConstants.MODERATION_STATUS_PUBLISHED);
         p = photoRepository.save(p);
 
-        when(s3Service.downloadObjectAsBytes(eq(p.getS3ObjectKey())))
+        when(s3Service.downloadObjectTo(eq(p.getS3ObjectKey()), any(OutputStream.class)))
                 .thenThrow(new RuntimeException("transient"))
-                .thenReturn(new byte[]{0x10});
+                .thenAnswer(writes(new byte[]{0x10}));
 
         DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.1", "UA");
         ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -276,7 +343,8 @@ class DataExportServiceTest {
 
         assertThat(entries).containsKey(prefix + "photos/" + p.getPhotoId() + ".jpg");
         // 2 回呼ばれている（最初失敗、2 回目成功）
-        verify(s3Service, times(2)).downloadObjectAsBytes(p.getS3ObjectKey());
+        verify(s3Service, times(2)).downloadObjectTo(eq(p.getS3ObjectKey()), any(OutputStream.class));
+        assertThat(entries.get(prefix + "photos/" + p.getPhotoId() + ".jpg")).containsExactly(0x10);
     }
 
     @Test
@@ -298,7 +366,7 @@ class DataExportServiceTest {
         p.setModerationStatus(CodeConstants.MODERATION_STATUS_PUBLISHED);
         p = photoRepository.save(p);
 
-        when(s3Service.downloadObjectAsBytes(eq(p.getS3ObjectKey())))
+        when(s3Service.downloadObjectTo(eq(p.getS3ObjectKey()), any(OutputStream.class)))
                 .thenThrow(new RuntimeException("permanent"));
 
         DataExportLog log = dataExportService.tryAcquireExportSlot(user.getId(), "192.0.2.1", "UA");
@@ -317,6 +385,14 @@ class DataExportServiceTest {
         assertThat(entries).containsKey(prefix + "_complete.flag");
     }
 
+    /** downloadObjectTo の呼び出しで data を書き出し、そのバイト数を返すスタブ。 */
+    private static Answer<Long> writes(byte[] data) {
+        return invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(data);
+            return (long) data.length;
+        };
+    }
+
     /**
      * ZIP バイナリを {entryName -> bytes} マップに展開する。
      */
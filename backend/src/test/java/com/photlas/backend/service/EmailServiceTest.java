@@ -3,15 +3,11 @@ package com.photlas.backend.service;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.dao.DataAccessResourceFailureException;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -23,32 +19,26 @@ import static org.mockito.Mockito.*;
 public class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
 
     @InjectMocks
     private EmailService emailService;
 
     @Test
-    @DisplayName("メール送信が正常に行われる")
+    @DisplayName("メールが送信キューに登録される")
     void testSendEmail_Success() {
         emailService.send("test@example.com", "件名", "本文");
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(captor.capture());
-
-        SimpleMailMessage message = captor.getValue();
-        assertThat(message.getTo()).containsExactly("test@example.com");
-        assertThat(message.getSubject()).isEqualTo("件名");
-        assertThat(message.getText()).isEqualTo("本文");
+        verify(mailOutboxService).enqueue(EmailService.MAIL_TYPE, "test@example.com", "件名", "本文");
     }
 
     @Test
-    @DisplayName("メール送信失敗時に例外がそのままスローされる")
+    @DisplayName("送信キューへの登録失敗時に例外がそのままスローされる")
     void testSendEmail_Failure_ThrowsException() {
-        doThrow(new MailSendException("SMTP error"))
-                .when(mailSender).send(any(SimpleMailMessage.class));
+        doThrow(new DataAccessResourceFailureException("DB error"))
+                .when(mailOutboxService).enqueue(any(), any(), any(), any());
 
         assertThatThrownBy(() -> emailService.send("test@example.com", "件名", "本文"))
-                .isInstanceOf(MailSendException.class);
+                .isInstanceOf(DataAccessResourceFailureException.class);
     }
 }
@@ -10,7 +10,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.TimeZone;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -88,6 +99,73 @@ class ExifReaderTest {
         assertThat(result).isEqualTo(ExifData.empty());
     }
 
+    // ========== JPEG ヘッダ高速パス ==========
+
+    @Test
+    @DisplayName("JPEG 高速パス: ビッグエンディアンの APP1 から全タグを読み取れる")
+    void readJpegFastPathBigEndian() throws IOException {
+        byte[] jpeg = jpegWithExif(
+                64, 48, Tags.typical(), ByteOrder.BIG_ENDIAN);
+
+        ExifData data = reader.read(jpeg);
+
+        assertThat(data.dateTimeOriginal()).contains(LocalDateTime.of(2026, 5, 16, 22, 30, 15));
+        assertThat(data.exposureTimeSeconds()).contains(15.0);
+        assertThat(data.iso()).contains(1600);
+        assertThat(data.focalLength35mm()).contains(50);
+        assertThat(data.gpsAltitude()).contains(1500.0);
+    }
+
+    @Test
+    @DisplayName("JPEG 高速パス: リトルエンディアンでも metadata-extractor と同じ結果になる")
+    void readJpegFastPathMatchesMetadataExtractor() throws IOException {
+        Tags tags = new Tags(
+                "2025:12:31 23:59:59", null, new long[]{1, 250}, 100, 24, null);
+        byte[] jpeg = jpegWithExif(64, 48, tags, ByteOrder.LITTLE_ENDIAN);
+
+        ExifData fast = reader.read(jpeg);
+
+        assertThat(fast).isEqualTo(reader.readWithMetadataExtractor(jpeg));
+        // DateTimeOriginal が無い場合は IFD0 の DateTime を使う
+        assertThat(fast.dateTimeOriginal()).contains(LocalDateTime.of(2025, 12, 31, 23, 59, 59));
+        assertThat(fast.exposureTimeSeconds()).contains(1.0 / 250);
+    }
+
+    @Test
+    @DisplayName("JPEG 高速パス: EXIF の無い JPEG は ExifData.empty() を返す")
+    void readJpegWithoutExifReturnsEmpty() throws IOException {
+        ExifData data = reader.read(plainJpeg(32, 32));
+
+        assertThat(data).isEqualTo(ExifData.empty());
+    }
+
+    @Test
+    @DisplayName("JPEG 高速パス: IFD オフセットが壊れていても例外を投げず metadata-extractor にフォールバックする")
+    void readJpegWithBrokenTiffFallsBack() throws IOException {
+        byte[] app1 = exifApp1(Tags.typical(), ByteOrder.BIG_ENDIAN);
+        // IFD0 オフセット（"Exif\0\0" + "MM" + 42 の直後 4 バイト）を範囲外に書き換える
+        app1[10] = 0x7F;
+        byte[] jpeg = insertApp1(plainJpeg(32, 32), app1);
+
+        ExifData data = reader.read(jpeg);
+
+        assertThat(data).isEqualTo(reader.readWithMetadataExtractor(jpeg));
+    }
+
+    @Test
+    @DisplayName("JPEG 高速パス: SOS（スキャン開始）以降のセグメントは読まない")
+    void parseStopsAtStartOfScan() {
+        byte[] app1 = exifApp1(Tags.typical(), ByteOrder.BIG_ENDIAN);
+        byte[] soiAndSos = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xDA, 0x00, 0x02};
+        // SOI → SOS → APP1(Exif) の順に並べる（APP1 はスキャンデータ扱いで読まれないはず）
+        byte[] withApp1 = insertApp1(new byte[]{(byte) 0xFF, (byte) 0xD8}, app1);
+        byte[] reordered = new byte[soiAndSos.length + withApp1.length - 2];
+        System.arraycopy(soiAndSos, 0, reordered, 0, soiAndSos.length);
+        System.arraycopy(withApp1, 2, reordered, soiAndSos.length, withApp1.length - 2);
+
+        assertThat(JpegExifHeaderParser.parse(reordered).getDirectoryCount()).isZero();
+    }
+
     // ========== Metadata からの解析 (正常系) ==========
 
     @Test
@@ -209,4 +287,171 @@ class ExifReaderTest {
         metadata.addDirectory(exif);
         return metadata;
     }
+
+    // ---- EXIF(APP1) 付き JPEG の組み立て（JMH の ExifReaderBenchmark と共用） ----
+    // ImageIO で書き出した JPEG の SOI 直後に、指定タグを持つ APP1 セグメントを差し込む。
+
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_RATIONAL = 5;
+
+    /** 埋め込む EXIF タグ値。null のフィールドは書き込まない。 */
+    record Tags(
+            String dateTime,
+            String dateTimeOriginal,
+            long[] exposureTime,
+            Integer iso,
+            Integer focalLength35mm,
+            long[] gpsAltitude
+    ) {
+        static Tags typical() {
+            return new Tags("2026:05:16 22:30:20", "2026:05:16 22:30:15",
+                    new long[]{15, 1}, 1600, 50, new long[]{1500, 1});
+        }
+    }
+
+    /** 単色の JPEG を生成し、EXIF を差し込んで返す。 */
+    static byte[] jpegWithExif(int width, int height, Tags tags, ByteOrder order) throws IOException {
+        return insertApp1(plainJpeg(width, height), exifApp1(tags, order));
+    }
+
+    /** EXIF を持たない JPEG を生成する。 */
+    static byte[] plainJpeg(int width, int height) throws IOException {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(new Color(40, 90, 160));
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.ORANGE);
+        g.fillOval(width / 4, height / 4, width / 2, height / 2);
+        g.dispose();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpg", baos);
+        return baos.toByteArray();
+    }
+
+    /** SOI（先頭 2 バイト）の直後に APP1 セグメントを差し込む。 */
+    static byte[] insertApp1(byte[] jpeg, byte[] app1Payload) {
+        int segmentLength = app1Payload.length + 2;
+        ByteBuffer out = ByteBuffer.allocate(jpeg.length + 4 + app1Payload.length);
+        out.put(jpeg, 0, 2);
+        out.put((byte) 0xFF).put((byte) 0xE1);
+        out.put((byte) (segmentLength >> 8)).put((byte) segmentLength);
+        out.put(app1Payload);
+        out.put(jpeg, 2, jpeg.length - 2);
+        return out.array();
+    }
+
+    /** "Exif\0\0" + TIFF（IFD0 / Exif SubIFD / GPS IFD）の APP1 ペイロードを組み立てる。 */
+    static byte[] exifApp1(Tags tags, ByteOrder order) {
+        List<Entry> subIfd = new ArrayList<>();
+        if (tags.exposureTime() != null) {
+            subIfd.add(Entry.rational(0x829A, tags.exposureTime()));
+        }
+        if (tags.iso() != null) {
+            subIfd.add(Entry.shortValue(0x8827, tags.iso()));
+        }
+        if (tags.dateTimeOriginal() != null) {
+            subIfd.add(Entry.ascii(0x9003, tags.dateTimeOriginal()));
+        }
+        if (tags.focalLength35mm() != null) {
+            subIfd.add(Entry.shortValue(0xA405, tags.focalLength35mm()));
+        }
+        List<Entry> gpsIfd = new ArrayList<>();
+        if (tags.gpsAltitude() != null) {
+            gpsIfd.add(Entry.rational(0x0006, tags.gpsAltitude()));
+        }
+
+        int ifd0Count = 2 + (tags.dateTime() != null ? 1 : 0);
+        int ifd0Offset = 8;
+        int subIfdOffset = ifd0Offset + ifdSize(ifd0Count);
+        int gpsIfdOffset = subIfdOffset + ifdSize(subIfd.size());
+        int dataOffset = gpsIfdOffset + ifdSize(gpsIfd.size());
+
+        List<Entry> ifd0 = new ArrayList<>();
+        if (tags.dateTime() != null) {
+            ifd0.add(Entry.ascii(0x0132, tags.dateTime()));
+        }
+        ifd0.add(Entry.longValue(0x8769, subIfdOffset));
+        ifd0.add(Entry.longValue(0x8825, gpsIfdOffset));
+
+        ByteBuffer tiff = ByteBuffer.allocate(4096).order(order);
+        tiff.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[]{'I', 'I'} : new byte[]{'M', 'M'});
+        tiff.putShort((short) 42);
+        tiff.putInt(ifd0Offset);
+        int[] data = {dataOffset};
+        writeIfd(tiff, ifd0Offset, ifd0, data);
+        writeIfd(tiff, subIfdOffset, subIfd, data);
+        writeIfd(tiff, gpsIfdOffset, gpsIfd, data);
+
+        byte[] preamble = {'E', 'x', 'i', 'f', 0, 0};
+        byte[] payload = new byte[preamble.length + data[0]];
+        System.arraycopy(preamble, 0, payload, 0, preamble.length);
+        System.arraycopy(tiff.array(), 0, payload, preamble.length, data[0]);
+        return payload;
+    }
+
+    private static int ifdSize(int entries) {
+        return 2 + entries * 12 + 4;
+    }
+
+    private static void writeIfd(ByteBuffer tiff, int offset, List<Entry> entries, int[] dataCursor) {
+        tiff.position(offset);
+        tiff.putShort((short) entries.size());
+        for (Entry e : entries) {
+            tiff.putShort((short) e.tag());
+            tiff.putShort((short) e.type());
+            tiff.putInt(e.count());
+            byte[] value = e.encode(tiff.order());
+            if (value.length <= 4) {
+                tiff.put(value);
+                tiff.put(new byte[4 - value.length]);
+            } else {
+                tiff.putInt(dataCursor[0]);
+                int resume = tiff.position();
+                tiff.position(dataCursor[0]);
+                tiff.put(value);
+                dataCursor[0] += value.length + (value.length % 2);
+                tiff.position(resume);
+            }
+        }
+        tiff.putInt(0);
+    }
+
+    private record Entry(int tag, int type, int count, long[] numbers, String text) {
+
+        static Entry ascii(int tag, String value) {
+            return new Entry(tag, TYPE_ASCII, value.length() + 1, null, value);
+        }
+
+        static Entry shortValue(int tag, int value) {
+            return new Entry(tag, TYPE_SHORT, 1, new long[]{value}, null);
+        }
+
+        static Entry longValue(int tag, long value) {
+            return new Entry(tag, TYPE_LONG, 1, new long[]{value}, null);
+        }
+
+        static Entry rational(int tag, long[] fraction) {
+            return new Entry(tag, TYPE_RATIONAL, 1, fraction, null);
+        }
+
+        byte[] encode(ByteOrder order) {
+            if (type == TYPE_ASCII) {
+                byte[] chars = text.getBytes(StandardCharsets.US_ASCII);
+                byte[] out = new byte[chars.length + 1];
+                System.arraycopy(chars, 0, out, 0, chars.length);
+                return out;
+            }
+            ByteBuffer buf = ByteBuffer.allocate(type == TYPE_SHORT ? 2 : numbers.length * 4).order(order);
+            if (type == TYPE_SHORT) {
+                buf.putShort((short) numbers[0]);
+            } else {
+                for (long n : numbers) {
+                    buf.putInt((int) n);
+                }
+            }
+            return buf.array();
+        }
+    }
 }
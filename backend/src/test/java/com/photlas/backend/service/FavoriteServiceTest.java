@@ -210,15 +210,16 @@ public class FavoriteServiceTest {
         when(favoriteRepository.findByUserIdExcludingDeletedUsers(eq(TEST_USER_ID), any())).thenReturn(favoritePage);
 
         Photo photo = createTestPhoto();
-        when(photoRepository.findById(TEST_PHOTO_ID)).thenReturn(Optional.of(photo));
+        when(photoRepository.findAllById(List.of(TEST_PHOTO_ID))).thenReturn(List.of(photo));
 
         Spot spot = new Spot();
         spot.setSpotId(100L);
         spot.setLatitude(new BigDecimal("35.681236"));
         spot.setLongitude(new BigDecimal("139.767125"));
-        when(spotRepository.findById(100L)).thenReturn(Optional.of(spot));
-        when(userRepository.findById(TEST_USER_ID)).thenReturn(Optional.of(user));
-        when(favoriteRepository.countByPhotoId(TEST_PHOTO_ID)).thenReturn(1L);
+        when(spotRepository.findAllById(any())).thenReturn(List.of(spot));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(favoriteRepository.countGroupedByPhotoIdIn(List.of(TEST_PHOTO_ID)))
+                .thenReturn(List.<Object[]>of(new Object[]{TEST_PHOTO_ID, 1L}));
         when(s3Service.generateCdnUrl("photos/test.jpg")).thenReturn("https://cdn.example.com/photos/test.jpg");
 
         // When
@@ -333,16 +334,16 @@ public class FavoriteServiceTest {
         );
         when(favoriteRepository.findByUserIdExcludingDeletedUsers(eq(TEST_USER_ID), any())).thenReturn(favoritePage);
 
-        when(photoRepository.findById(10L)).thenReturn(Optional.of(photo1));
-        when(photoRepository.findById(11L)).thenReturn(Optional.of(photo2));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(activeUser));
+        when(photoRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(photo1, photo2));
+        when(userRepository.findAllById(any())).thenReturn(List.of(activeUser));
 
         Spot spot = new Spot();
         spot.setSpotId(100L);
         spot.setLatitude(new BigDecimal("35.681236"));
         spot.setLongitude(new BigDecimal("139.767125"));
-        when(spotRepository.findById(100L)).thenReturn(Optional.of(spot));
-        when(favoriteRepository.countByPhotoId(any())).thenReturn(1L);
+        when(spotRepository.findAllById(any())).thenReturn(List.of(spot));
+        when(favoriteRepository.countGroupedByPhotoIdIn(List.of(10L, 11L)))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, 1L}, new Object[]{11L, 1L}));
         when(s3Service.generateCdnUrl(any())).thenReturn("https://cdn.example.com/photo.jpg");
 
         // When
@@ -382,15 +383,16 @@ public class FavoriteServiceTest {
 
         Page<Favorite> favoritePage = new PageImpl<>(List.of(favorite), PageRequest.of(0, 10), 1);
         when(favoriteRepository.findByUserIdExcludingDeletedUsers(eq(TEST_USER_ID), any())).thenReturn(favoritePage);
-        when(photoRepository.findById(TEST_PHOTO_ID)).thenReturn(Optional.of(photo));
+        when(photoRepository.findAllById(List.of(TEST_PHOTO_ID))).thenReturn(List.of(photo));
 
         Spot spot = new Spot();
         spot.setSpotId(100L);
         spot.setLatitude(new BigDecimal("35.681236"));
         spot.setLongitude(new BigDecimal("139.767125"));
-        when(spotRepository.findById(100L)).thenReturn(Optional.of(spot));
-        when(userRepository.findById(TEST_USER_ID)).thenReturn(Optional.of(user));
-        when(favoriteRepository.countByPhotoId(TEST_PHOTO_ID)).thenReturn(1L);
+        when(spotRepository.findAllById(any())).thenReturn(List.of(spot));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(favoriteRepository.countGroupedByPhotoIdIn(List.of(TEST_PHOTO_ID)))
+                .thenReturn(List.<Object[]>of(new Object[]{TEST_PHOTO_ID, 1L}));
         when(s3Service.generateCdnUrl("assets/blocked-content.png")).thenReturn("https://cdn/assets/blocked-content.png");
 
         // When
@@ -8,19 +8,36 @@ import com.maxmind.geoip2.record.Country;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * Issue#106: IPアドレスからの国判定サービスのテスト
+ *
+ * <p>メモリマップ・開き直しのテストは {@link #writeDatabase} で組み立てたデータベースファイルを使う。</p>
  */
 @ExtendWith(MockitoExtension.class)
 public class GeoIpServiceTest {
@@ -100,4 +117,286 @@ public class GeoIpServiceTest {
         // Then: null が返される（DBがなくても例外を投げず動作する）
         assertThat(result).isNull();
     }
+
+    // ===== 判定結果のキャッシュ =====
+
+    @Test
+    @DisplayName("同じIPアドレスの判定結果（判定不能を含む）はキャッシュし、データベースを再度引かない")
+    void getCountryCode_cachesResults() throws IOException, GeoIp2Exception {
+        CountryResponse response = mock(CountryResponse.class);
+        Country country = mock(Country.class);
+        when(response.getCountry()).thenReturn(country);
+        when(country.getIsoCode()).thenReturn("JP");
+        when(databaseReader.country(InetAddress.getByName("8.8.8.8"))).thenReturn(response);
+        when(databaseReader.country(InetAddress.getByName("127.0.0.1")))
+                .thenThrow(new AddressNotFoundException("Address not found"));
+        GeoIpService service = new GeoIpService(databaseReader);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.getCountryCode("8.8.8.8")).isEqualTo("JP");
+            assertThat(service.getCountryCode("127.0.0.1")).isNull();
+        }
+
+        verify(databaseReader, times(2)).country(any(InetAddress.class));
+    }
+
+    @Test
+    @DisplayName("I/O エラーの結果はキャッシュせず、次の呼び出しで引き直す")
+    void getCountryCode_doesNotCacheIoErrors() throws IOException, GeoIp2Exception {
+        when(databaseReader.country(any(InetAddress.class))).thenThrow(new IOException("closed"));
+        GeoIpService service = new GeoIpService(databaseReader);
+
+        assertThat(service.getCountryCode("8.8.8.8")).isNull();
+        assertThat(service.getCountryCode("8.8.8.8")).isNull();
+
+        verify(databaseReader, times(2)).country(any(InetAddress.class));
+    }
+
+    @Test
+    @DisplayName("ホスト名は DNS を引かずに判定不能として null を返す")
+    void getCountryCode_hostName_doesNotResolve() throws IOException, GeoIp2Exception {
+        GeoIpService service = new GeoIpService(databaseReader);
+
+        assertThat(service.getCountryCode("localhost")).isNull();
+        // 16 進数の文字だけのホスト名・4 組でない数字の並びも IP アドレスとして扱わない
+        assertThat(service.getCountryCode("cafe")).isNull();
+        assertThat(service.getCountryCode("dead.beef")).isNull();
+        assertThat(service.getCountryCode("1.2.3")).isNull();
+
+        verify(databaseReader, never()).country(any(InetAddress.class));
+    }
+
+    // ===== メモリマップ・開き直し =====
+
+    @Test
+    @DisplayName("ファイルシステム上のデータベースをメモリマップで開いて国コードを判定する")
+    void fileDatabase_lookup(@TempDir Path dir) throws IOException {
+        Path db = writeDatabase(dir.resolve("GeoLite2-Country.mmdb"), List.of(
+                new Network(0x01000000, 8, "JP"),
+                new Network(0x08080000, 16, "US")));
+
+        GeoIpService service = new GeoIpService("file:" + db, 100);
+        try {
+            assertThat(service.getCountryCode("1.2.3.4")).isEqualTo("JP");
+            assertThat(service.getCountryCode("8.8.8.8")).isEqualTo("US");
+            assertThat(service.getCountryCode("9.9.9.9")).isNull();
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    @DisplayName("データベースファイルが置き換えられたら再起動なしで開き直し、キャッシュも捨てる")
+    void fileDatabase_reloadsWhenReplaced(@TempDir Path dir) throws IOException {
+        Path db = writeDatabase(dir.resolve("GeoLite2-Country.mmdb"),
+                List.of(new Network(0x01000000, 8, "JP")));
+        GeoIpService service = new GeoIpService("file:" + db, 100);
+        try {
+            assertThat(service.getCountryCode("1.2.3.4")).isEqualTo("JP");
+
+            service.reloadIfChanged();
+            assertThat(service.getCountryCode("1.2.3.4")).isEqualTo("JP");
+
+            writeDatabase(db, List.of(new Network(0x01000000, 8, "KR")));
+            Files.setLastModifiedTime(db, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+            service.reloadIfChanged();
+
+            assertThat(service.getCountryCode("1.2.3.4")).isEqualTo("KR");
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    @DisplayName("置き換えたファイルが壊れていれば現在のデータベースを使い続ける")
+    void fileDatabase_keepsCurrentWhenReplacementIsBroken(@TempDir Path dir) throws IOException {
+        Path db = writeDatabase(dir.resolve("GeoLite2-Country.mmdb"),
+                List.of(new Network(0x01000000, 8, "JP")));
+        GeoIpService service = new GeoIpService("file:" + db, 100);
+        try {
+            Path broken = dir.resolve("broken.tmp");
+            Files.writeString(broken, "not a maxmind database");
+            Files.move(broken, db, StandardCopyOption.REPLACE_EXISTING);
+            service.reloadIfChanged();
+
+            assertThat(service.getCountryCode("1.2.3.5")).isEqualTo("JP");
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    @DisplayName("起動時になかったデータベースファイルが配置されたら開く")
+    void fileDatabase_loadsWhenPlacedLater(@TempDir Path dir) throws IOException {
+        Path db = dir.resolve("GeoLite2-Country.mmdb");
+        GeoIpService service = new GeoIpService("file:" + db, 100);
+        try {
+            assertThat(service.getCountryCode("1.2.3.4")).isNull();
+
+            writeDatabase(db, List.of(new Network(0x01000000, 8, "JP")));
+            service.reloadIfChanged();
+
+            assertThat(service.getCountryCode("1.2.3.4")).isEqualTo("JP");
+        } finally {
+            service.close();
+        }
+    }
+
+    // ---- GeoLite2-Country 形式（MaxMind DB）のデータベースの組み立て（JMH の GeoIpLookupBenchmark と共用） ----
+    // IPv4 のネットワークごとに国コードを持つ最小限のデータベース（レコード長 24 ビット、データは {"country": {"iso_code": ...}} のみ）。
+
+    private static final byte[] METADATA_MARKER = {
+            (byte) 0xAB, (byte) 0xCD, (byte) 0xEF, 'M', 'a', 'x', 'M', 'i', 'n', 'd', '.', 'c', 'o', 'm'};
+
+    private static final int TYPE_POINTER = 1;
+    private static final int TYPE_STRING = 2;
+    private static final int TYPE_UINT16 = 5;
+    private static final int TYPE_UINT32 = 6;
+    private static final int TYPE_MAP = 7;
+    private static final int TYPE_UINT64 = 9;
+    private static final int TYPE_ARRAY = 11;
+
+    /**
+     * IPv4 ネットワークと国コードの組
+     *
+     * @param address      ネットワークアドレス（例: 1.2.0.0 は 0x01020000）
+     * @param prefixLength プレフィックス長
+     * @param isoCode      国コード
+     */
+    record Network(int address, int prefixLength, String isoCode) {}
+
+    /** 二分木のノード（子はノード・国コード・null（該当なし）のいずれか） */
+    private static final class Node {
+        final Object[] children = new Object[2];
+        int index;
+    }
+
+    /**
+     * データベースを path に書き出す。既存のファイルは別名で書き出してからのリネームで置き換える。
+     */
+    static Path writeDatabase(Path path, List<Network> networks) throws IOException {
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "geolite2-", ".tmp");
+        Files.write(temp, buildDatabase(networks));
+        return Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] buildDatabase(List<Network> networks) {
+        Node root = new Node();
+        for (Network network : networks) {
+            Node node = root;
+            for (int bit = 0; bit < network.prefixLength(); bit++) {
+                int side = (network.address() >>> (31 - bit)) & 1;
+                if (bit == network.prefixLength() - 1) {
+                    node.children[side] = network.isoCode();
+                } else {
+                    if (!(node.children[side] instanceof Node)) {
+                        node.children[side] = new Node();
+                    }
+                    node = (Node) node.children[side];
+                }
+            }
+        }
+        List<Node> nodes = new ArrayList<>();
+        number(root, nodes);
+        int nodeCount = nodes.size();
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        Map<String, Integer> dataOffsets = new HashMap<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Node node : nodes) {
+            for (Object child : node.children) {
+                long record;
+                if (child instanceof Node next) {
+                    record = next.index;
+                } else if (child instanceof String isoCode) {
+                    int offset = dataOffsets.computeIfAbsent(isoCode, code -> {
+                        int position = data.size();
+                        writeCountry(data, code);
+                        return position;
+                    });
+                    record = nodeCount + 16L + offset;
+                } else {
+                    record = nodeCount;
+                }
+                out.write((int) (record >>> 16) & 0xFF);
+                out.write((int) (record >>> 8) & 0xFF);
+                out.write((int) record & 0xFF);
+            }
+        }
+        out.writeBytes(new byte[16]);
+        out.writeBytes(data.toByteArray());
+        out.writeBytes(METADATA_MARKER);
+        writeMetadata(out, nodeCount);
+        return out.toByteArray();
+    }
+
+    private static void number(Node node, List<Node> nodes) {
+        node.index = nodes.size();
+        nodes.add(node);
+        for (Object child : node.children) {
+            if (child instanceof Node next) {
+                number(next, nodes);
+            }
+        }
+    }
+
+    private static void writeCountry(ByteArrayOutputStream out, String isoCode) {
+        writeControl(out, TYPE_MAP, 1);
+        writeString(out, "country");
+        writeControl(out, TYPE_MAP, 1);
+        writeString(out, "iso_code");
+        writeString(out, isoCode);
+    }
+
+    private static void writeMetadata(ByteArrayOutputStream out, int nodeCount) {
+        Map<String, Runnable> fields = new LinkedHashMap<>();
+        fields.put("binary_format_major_version", () -> writeUnsigned(out, TYPE_UINT16, 2, 2));
+        fields.put("binary_format_minor_version", () -> writeUnsigned(out, TYPE_UINT16, 0, 2));
+        fields.put("build_epoch", () -> writeUnsigned(out, TYPE_UINT64, System.currentTimeMillis() / 1000, 8));
+        fields.put("database_type", () -> writeString(out, "GeoLite2-Country"));
+        fields.put("description", () -> {
+            writeControl(out, TYPE_MAP, 1);
+            writeString(out, "en");
+            writeString(out, "Photlas test fixture");
+        });
+        fields.put("ip_version", () -> writeUnsigned(out, TYPE_UINT16, 4, 2));
+        fields.put("languages", () -> {
+            writeControl(out, TYPE_ARRAY, 1);
+            writeString(out, "en");
+        });
+        fields.put("node_count", () -> writeUnsigned(out, TYPE_UINT32, nodeCount, 4));
+        fields.put("record_size", () -> writeUnsigned(out, TYPE_UINT16, 24, 2));
+
+        writeControl(out, TYPE_MAP, fields.size());
+        fields.forEach((key, value) -> {
+            writeString(out, key);
+            value.run();
+        });
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeControl(out, TYPE_STRING, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeUnsigned(ByteArrayOutputStream out, int type, long value, int length) {
+        writeControl(out, type, length);
+        for (int i = length - 1; i >= 0; i--) {
+            out.write((int) (value >>> (8 * i)) & 0xFF);
+        }
+    }
+
+    /** 制御バイト（型 3 ビット + サイズ 5 ビット。型 8 以上は拡張型の 2 バイト目に置く）。サイズは 28 以下のみ扱う */
+    private static void writeControl(ByteArrayOutputStream out, int type, int size) {
+        if (size > 28 || type == TYPE_POINTER) {
+            throw new IllegalArgumentException("unsupported: type=" + type + ", size=" + size);
+        }
+        if (type <= 7) {
+            out.write((type << 5) | size);
+        } else {
+            out.write(size);
+            out.write(type - 7);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.photlas.backend.service;
 
+import com.photlas.backend.config.TestMailConfig.EnqueuedMail;
 import com.photlas.backend.entity.CodeConstants;
 import com.photlas.backend.entity.LocationSuggestion;
 import com.photlas.backend.entity.Photo;
@@ -12,12 +13,9 @@ import com.photlas.backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,7 +25,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.verify;
 
 /**
  * Issue#113 フェーズ 5 - LocationSuggestionService の 5 言語化テスト。
@@ -46,7 +43,7 @@ class LocationSuggestionMultiLanguageTest {
     @Autowired private SpotRepository spotRepository;
     @Autowired private LocationSuggestionRepository locationSuggestionRepository;
 
-    @MockBean private JavaMailSender mailSender;
+    @MockBean private MailOutboxService mailOutboxService;
 
     @BeforeEach
     void setUp() {
@@ -68,9 +65,9 @@ class LocationSuggestionMultiLanguageTest {
         locationSuggestionService.createSuggestion(photo.getPhotoId(), suggester.getEmail(),
                 new BigDecimal("35.660001"), new BigDecimal("139.745500"));
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getTo()).containsExactly("owner-ja@example.com");
-        assertThat(captured.getSubject()).contains("Photlas").contains("指摘");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.to()).isEqualTo("owner-ja@example.com");
+        assertThat(captured.subject()).contains("Photlas").contains("指摘");
     }
 
     @Test
@@ -83,8 +80,8 @@ class LocationSuggestionMultiLanguageTest {
         locationSuggestionService.createSuggestion(photo.getPhotoId(), suggester.getEmail(),
                 new BigDecimal("35.660001"), new BigDecimal("139.745500"));
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).contains("Photlas").contains("Location");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).contains("Photlas").contains("Location");
     }
 
     @Test
@@ -97,8 +94,8 @@ class LocationSuggestionMultiLanguageTest {
         locationSuggestionService.createSuggestion(photo.getPhotoId(), suggester.getEmail(),
                 new BigDecimal("35.660001"), new BigDecimal("139.745500"));
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).matches(".*[\\uAC00-\\uD7AF].*");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).matches(".*[\\uAC00-\\uD7AF].*");
     }
 
     @Test
@@ -111,8 +108,8 @@ class LocationSuggestionMultiLanguageTest {
         locationSuggestionService.createSuggestion(photo.getPhotoId(), suggester.getEmail(),
                 new BigDecimal("35.660001"), new BigDecimal("139.745500"));
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).matches(".*[\\u4E00-\\u9FFF].*");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).matches(".*[\\u4E00-\\u9FFF].*");
     }
 
     // ========== 指摘通知 (グループ C: 既存設計) ==========
@@ -128,7 +125,7 @@ class LocationSuggestionMultiLanguageTest {
         User owner = seedUser("ja", "owner-fail@example.com");
         User suggester = seedUser("ja", "suggester-fail@example.com");
         Photo photo = seedPhoto(owner);
-        doThrow(new RuntimeException("SMTP error")).when(mailSender).send(any(SimpleMailMessage.class));
+        doThrow(new RuntimeException("outbox error")).when(mailOutboxService).enqueue(any(), any(), any(), any());
 
         // 既存実装: メール送信失敗でも例外は伝播せず、emailSent=false で保存される
         locationSuggestionService.createSuggestion(photo.getPhotoId(), suggester.getEmail(),
@@ -171,9 +168,7 @@ class LocationSuggestionMultiLanguageTest {
         return photoRepository.saveAndFlush(photo);
     }
 
-    private SimpleMailMessage captureSent() {
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(captor.capture());
-        return captor.getValue();
+    private EnqueuedMail captureSent() {
+        return EnqueuedMail.capture(mailOutboxService);
     }
 }
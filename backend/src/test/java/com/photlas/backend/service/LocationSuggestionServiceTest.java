@@ -1,5 +1,6 @@
 package com.photlas.backend.service;
 
+import com.photlas.backend.config.TestMailConfig.EnqueuedMail;
 import com.photlas.backend.dto.LocationSuggestionReviewResponse;
 import com.photlas.backend.entity.CodeConstants;
 import com.photlas.backend.entity.*;
@@ -10,12 +11,9 @@ import com.photlas.backend.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -59,11 +57,20 @@ public class LocationSuggestionServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
 
     @Mock
     private S3Service s3Service;
 
+    @Mock
+    private SpotAssignmentService spotAssignmentService;
+
+    @Mock
+    private SpotSummaryService spotSummaryService;
+
+    @Mock
+    private SpotTileService spotTileService;
+
     private EmailTemplateService emailTemplateService;
     private LocationSuggestionService service;
 
@@ -80,9 +87,9 @@ public class LocationSuggestionServiceTest {
         emailTemplateService = new EmailTemplateService(source);
         service = new LocationSuggestionService(
                 locationSuggestionRepository, photoRepository, spotRepository,
-                userRepository, mailSender, s3Service, emailTemplateService);
+                userRepository, mailOutboxService, s3Service, emailTemplateService, spotAssignmentService,
+                spotSummaryService, spotTileService);
         org.springframework.test.util.ReflectionTestUtils.setField(service, "frontendUrl", "https://photlas.jp");
-        org.springframework.test.util.ReflectionTestUtils.setField(service, "mailFrom", "noreply@photlas.jp");
     }
 
     // ========================================
@@ -114,7 +121,7 @@ public class LocationSuggestionServiceTest {
         assertThat(result.isEmailSent()).isTrue();
         assertThat(result.getReviewToken()).isNotNull();
 
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutboxService, times(1)).enqueue(any(), any(), any(), any());
     }
 
     @Test
@@ -168,7 +175,7 @@ public class LocationSuggestionServiceTest {
         // Assert
         assertThat(result.isEmailSent()).isFalse();
         assertThat(result.getReviewToken()).isNull();
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        verify(mailOutboxService, never()).enqueue(any(), any(), any(), any());
     }
 
     @Test
@@ -240,7 +247,7 @@ public class LocationSuggestionServiceTest {
         when(locationSuggestionRepository.findByReviewToken(REVIEW_TOKEN)).thenReturn(Optional.of(suggestion));
         when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
         when(userRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
-        when(spotRepository.findSpotsWithin200m(SUGGESTED_LAT, SUGGESTED_LNG)).thenReturn(List.of(newSpot));
+        when(spotAssignmentService.findOrCreateSpot(SUGGESTED_LAT, SUGGESTED_LNG, 0L)).thenReturn(newSpot);
         when(locationSuggestionRepository.findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
                 PHOTO_ID, CodeConstants.SUGGESTION_STATUS_PENDING, false)).thenReturn(List.of());
 
@@ -255,6 +262,28 @@ public class LocationSuggestionServiceTest {
         assertThat(photo.getLatitude()).isEqualByComparingTo(SUGGESTED_LAT);
         assertThat(photo.getLongitude()).isEqualByComparingTo(SUGGESTED_LNG);
         verify(photoRepository).save(photo);
+        // 移動元・移動先のスポットの要約を作り直す
+        verify(spotSummaryService).refresh(List.of(SPOT_ID, 200L));
+    }
+
+    @Test
+    @DisplayName("受け入れ: 写真の移動元・移動先のスポットを含むタイルの版数を上げる")
+    void testAcceptSuggestion_BumpsTilesOfBothSpots() {
+        LocationSuggestion suggestion = createMockSuggestion();
+        Photo photo = createMockPhoto(PHOTO_ID, OWNER_ID, SPOT_ID);
+        User owner = createMockUser(OWNER_ID, OWNER_EMAIL, "投稿者");
+        Spot newSpot = createMockSpot(200L, SUGGESTED_LAT, SUGGESTED_LNG);
+
+        when(locationSuggestionRepository.findByReviewToken(REVIEW_TOKEN)).thenReturn(Optional.of(suggestion));
+        when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
+        when(userRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
+        when(spotAssignmentService.findOrCreateSpot(SUGGESTED_LAT, SUGGESTED_LNG, 0L)).thenReturn(newSpot);
+        when(locationSuggestionRepository.findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
+                PHOTO_ID, CodeConstants.SUGGESTION_STATUS_PENDING, false)).thenReturn(List.of());
+
+        service.acceptSuggestion(REVIEW_TOKEN, OWNER_EMAIL);
+
+        verify(spotTileService).bumpSpots(List.of(SPOT_ID, 200L));
     }
 
     @Test
@@ -274,7 +303,7 @@ public class LocationSuggestionServiceTest {
         when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
         when(userRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(owner));
-        when(spotRepository.findSpotsWithin200m(SUGGESTED_LAT, SUGGESTED_LNG)).thenReturn(List.of(newSpot));
+        when(spotAssignmentService.findOrCreateSpot(SUGGESTED_LAT, SUGGESTED_LNG, 0L)).thenReturn(newSpot);
         when(locationSuggestionRepository.findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
                 PHOTO_ID, CodeConstants.SUGGESTION_STATUS_PENDING, false)).thenReturn(List.of(nextSuggestion));
 
@@ -284,7 +313,7 @@ public class LocationSuggestionServiceTest {
         // Assert
         assertThat(nextSuggestion.isEmailSent()).isTrue();
         assertThat(nextSuggestion.getReviewToken()).isNotNull();
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailOutboxService, times(1)).enqueue(any(), any(), any(), any());
     }
 
     // ========================================
@@ -314,10 +343,8 @@ public class LocationSuggestionServiceTest {
         assertThat(suggestion.getStatus()).isEqualTo(CodeConstants.SUGGESTION_STATUS_REJECTED);
         assertThat(suggestion.getResolvedAt()).isNotNull();
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-        SimpleMailMessage sentMail = captor.getValue();
-        assertThat(sentMail.getTo()).containsExactly(SUGGESTER_EMAIL);
+        EnqueuedMail sentMail = EnqueuedMail.capture(mailOutboxService);
+        assertThat(sentMail.to()).isEqualTo(SUGGESTER_EMAIL);
     }
 
     // ========================================
@@ -385,7 +412,7 @@ public class LocationSuggestionServiceTest {
         when(locationSuggestionRepository.save(any(LocationSuggestion.class))).thenAnswer(i -> i.getArgument(0));
 
         // メール送信を失敗させる
-        doThrow(new RuntimeException("SMTP error")).when(mailSender).send(any(SimpleMailMessage.class));
+        doThrow(new RuntimeException("outbox error")).when(mailOutboxService).enqueue(any(), any(), any(), any());
 
         // Act
         LocationSuggestion result = service.createSuggestion(PHOTO_ID, SUGGESTER_EMAIL, SUGGESTED_LAT, SUGGESTED_LNG);
@@ -411,12 +438,12 @@ public class LocationSuggestionServiceTest {
         when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
         when(userRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
         when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(owner));
-        when(spotRepository.findSpotsWithin200m(SUGGESTED_LAT, SUGGESTED_LNG)).thenReturn(List.of(newSpot));
+        when(spotAssignmentService.findOrCreateSpot(SUGGESTED_LAT, SUGGESTED_LNG, 0L)).thenReturn(newSpot);
         when(locationSuggestionRepository.findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
                 PHOTO_ID, CodeConstants.SUGGESTION_STATUS_PENDING, false)).thenReturn(List.of(nextSuggestion));
 
         // 次の指摘のメール送信を失敗させる
-        doThrow(new RuntimeException("SMTP error")).when(mailSender).send(any(SimpleMailMessage.class));
+        doThrow(new RuntimeException("outbox error")).when(mailOutboxService).enqueue(any(), any(), any(), any());
 
         // Act
         service.acceptSuggestion(REVIEW_TOKEN, OWNER_EMAIL);
@@ -592,7 +619,7 @@ public class LocationSuggestionServiceTest {
         when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
         when(userRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
         when(userRepository.findById(SUGGESTER_ID)).thenReturn(Optional.of(suggester));
-        when(spotRepository.findSpotsWithin200m(SUGGESTED_LAT, SUGGESTED_LNG)).thenReturn(List.of(newSpot));
+        when(spotAssignmentService.findOrCreateSpot(SUGGESTED_LAT, SUGGESTED_LNG, 0L)).thenReturn(newSpot);
         when(locationSuggestionRepository.findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
                 PHOTO_ID, CodeConstants.SUGGESTION_STATUS_PENDING, false)).thenReturn(List.of());
 
@@ -600,12 +627,10 @@ public class LocationSuggestionServiceTest {
         service.acceptSuggestion(REVIEW_TOKEN, OWNER_EMAIL);
 
         // Assert: 指摘者への承認通知メールが送信されること
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-        SimpleMailMessage sentMail = captor.getValue();
-        assertThat(sentMail.getTo()).containsExactly(SUGGESTER_EMAIL);
-        assertThat(sentMail.getSubject()).contains("受け入れられました");
-        assertThat(sentMail.getText()).contains("/photo-viewer/" + PHOTO_ID);
+        EnqueuedMail sentMail = EnqueuedMail.capture(mailOutboxService);
+        assertThat(sentMail.to()).isEqualTo(SUGGESTER_EMAIL);
+        assertThat(sentMail.subject()).contains("受け入れられました");
+        assertThat(sentMail.body()).contains("/photo-viewer/" + PHOTO_ID);
     }
 
     @Test
@@ -623,7 +648,7 @@ public class LocationSuggestionServiceTest {
         when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
         when(userRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
         when(userRepository.findById(SUGGESTER_ID)).thenReturn(Optional.of(suggester));
-        when(spotRepository.findSpotsWithin200m(SUGGESTED_LAT, SUGGESTED_LNG)).thenReturn(List.of(newSpot));
+        when(spotAssignmentService.findOrCreateSpot(SUGGESTED_LAT, SUGGESTED_LNG, 0L)).thenReturn(newSpot);
         when(locationSuggestionRepository.findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
                 PHOTO_ID, CodeConstants.SUGGESTION_STATUS_PENDING, false)).thenReturn(List.of());
 
@@ -631,12 +656,10 @@ public class LocationSuggestionServiceTest {
         service.acceptSuggestion(REVIEW_TOKEN, OWNER_EMAIL);
 
         // Assert: 英語の承認通知メールが送信されること
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-        SimpleMailMessage sentMail = captor.getValue();
-        assertThat(sentMail.getTo()).containsExactly(SUGGESTER_EMAIL);
-        assertThat(sentMail.getSubject()).contains("Accepted");
-        assertThat(sentMail.getText()).contains("has been accepted");
+        EnqueuedMail sentMail = EnqueuedMail.capture(mailOutboxService);
+        assertThat(sentMail.to()).isEqualTo(SUGGESTER_EMAIL);
+        assertThat(sentMail.subject()).contains("Accepted");
+        assertThat(sentMail.body()).contains("has been accepted");
     }
 
     @Test
@@ -651,7 +674,7 @@ public class LocationSuggestionServiceTest {
         when(locationSuggestionRepository.findByReviewToken(REVIEW_TOKEN)).thenReturn(Optional.of(suggestion));
         when(photoRepository.findById(PHOTO_ID)).thenReturn(Optional.of(photo));
         when(userRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
-        when(spotRepository.findSpotsWithin200m(SUGGESTED_LAT, SUGGESTED_LNG)).thenReturn(List.of(newSpot));
+        when(spotAssignmentService.findOrCreateSpot(SUGGESTED_LAT, SUGGESTED_LNG, 0L)).thenReturn(newSpot);
         when(locationSuggestionRepository.findByPhotoIdAndStatusAndEmailSentOrderByCreatedAtAsc(
                 PHOTO_ID, CodeConstants.SUGGESTION_STATUS_PENDING, false)).thenReturn(List.of());
 
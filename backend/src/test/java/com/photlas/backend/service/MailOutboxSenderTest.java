@@ -0,0 +1,283 @@
+package com.photlas.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link MailOutboxSender} のユニットテスト（テスト内で起動するローカルの SMTP サーバーを相手に、実際の JavaMailSenderImpl で送る）。
+ *
+ * 範囲:
+ *   - 取り出した複数のメールを 1 回の SMTP 接続でまとめて送り、送信済みにする
+ *   - 宛先ドメインのレート制限を超えた分は試行回数に数えずに先送りする
+ *   - 一時的な失敗（4xx）は指数バックオフで再送し、最大試行回数に達したら送信失敗にする
+ *   - 存在しない宛先（5xx）は再送せず送信失敗にする
+ *   - SMTP サーバーに接続できない場合は全件を再送する
+ */
+@ExtendWith(MockitoExtension.class)
+class MailOutboxSenderTest {
+
+    private static final String MAIL_FROM = "Photlas <noreply@photlas.jp>";
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration RETRY_BASE = Duration.ofSeconds(30);
+    private static final Duration RETRY_MAX = Duration.ofMinutes(10);
+
+    @Mock
+    private MailOutboxStore store;
+
+    private FakeSmtpServer smtpServer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer(
+                Set.of("unknown@example.com"),
+                Set.of("busy@example.com"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    @DisplayName("取り出した複数のメールを 1 回の SMTP 接続でまとめて送り、送信済みにする")
+    void sendsBatchInOneSession() {
+        when(store.claim(anyInt(), any())).thenReturn(List.of(
+                mail(1L, "a@example.com", 0),
+                mail(2L, "b@example.org", 0),
+                mail(3L, "c@example.com", 0)));
+
+        int claimed = newSender(smtpServer.port(), 60).drainOnce();
+
+        assertThat(claimed).isEqualTo(3);
+        assertThat(smtpServer.sessions.get()).isEqualTo(1);
+        assertThat(smtpServer.recipients).containsExactlyInAnyOrder("a@example.com", "b@example.org", "c@example.com");
+        assertThat(smtpServer.messages).allSatisfy(data -> assertThat(data).contains("noreply@photlas.jp"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> sent = ArgumentCaptor.forClass(List.class);
+        verify(store).markSent(sent.capture());
+        assertThat(sent.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(meterRegistry.find(MailOutboxSender.METRIC_LATENCY).timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.find(MailOutboxSender.METRIC_MESSAGES).tag("result", "sent").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("宛先ドメインのレート制限を超えた分は試行回数に数えずに先送りする")
+    void defersOverDomainLimit() {
+        when(store.claim(anyInt(), any())).thenReturn(List.of(
+                mail(1L, "a@example.com", 0),
+                mail(2L, "b@Example.com", 0),
+                mail(3L, "c@example.org", 0)));
+
+        newSender(smtpServer.port(), 1).drainOnce();
+
+        assertThat(smtpServer.recipients).containsExactlyInAnyOrder("a@example.com", "c@example.org");
+        ArgumentCaptor<Duration> delay = ArgumentCaptor.forClass(Duration.class);
+        verify(store).reschedule(eq(2L), delay.capture(), eq(false), isNull());
+        assertThat(delay.getValue()).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("一時的な失敗（4xx）は指数バックオフで再送し、他のメールは同じ接続で送る")
+    void retriesTransientFailureWithBackoff() {
+        when(store.claim(anyInt(), any())).thenReturn(List.of(
+                mail(1L, "busy@example.com", 2),
+                mail(2L, "ok@example.com", 0)));
+
+        newSender(smtpServer.port(), 60).drainOnce();
+
+        verify(store).reschedule(eq(1L), eq(RETRY_BASE.multipliedBy(4)), eq(true), anyString());
+        verify(store).markSent(List.of(2L));
+        verify(store, never()).markFailed(eq(1L), anyString());
+        assertThat(smtpServer.sessions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("一時的な失敗でも最大試行回数に達したら送信失敗にする")
+    void failsAfterMaxAttempts() {
+        when(store.claim(anyInt(), any())).thenReturn(List.of(mail(1L, "busy@example.com", MAX_ATTEMPTS - 1)));
+
+        newSender(smtpServer.port(), 60).drainOnce();
+
+        verify(store).markFailed(eq(1L), anyString());
+        verify(store, never()).reschedule(eq(1L), any(), eq(true), anyString());
+    }
+
+    @Test
+    @DisplayName("存在しない宛先（5xx）は再送せず送信失敗にする")
+    void failsPermanentlyOnInvalidAddress() {
+        when(store.claim(anyInt(), any())).thenReturn(List.of(mail(1L, "unknown@example.com", 0)));
+
+        newSender(smtpServer.port(), 60).drainOnce();
+
+        verify(store).markFailed(eq(1L), anyString());
+        assertThat(meterRegistry.find(MailOutboxSender.METRIC_MESSAGES).tag("result", "failed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("SMTP サーバーに接続できない場合は全件を再送する")
+    void retriesAllWhenServerUnavailable() throws IOException {
+        int closedPort = smtpServer.port();
+        smtpServer.close();
+        when(store.claim(anyInt(), any())).thenReturn(List.of(
+                mail(1L, "a@example.com", 0),
+                mail(2L, "b@example.com", 0)));
+
+        newSender(closedPort, 60).drainOnce();
+
+        verify(store).reschedule(eq(1L), eq(RETRY_BASE), eq(true), anyString());
+        verify(store).reschedule(eq(2L), eq(RETRY_BASE), eq(true), anyString());
+        verify(store, never()).markSent(any());
+    }
+
+    @Test
+    @DisplayName("再送間隔は試行回数ごとに倍になり、上限で頭打ちになる")
+    void backoffIsCapped() {
+        MailOutboxSender sender = newSender(smtpServer.port(), 60);
+
+        assertThat(sender.backoff(1)).isEqualTo(RETRY_BASE);
+        assertThat(sender.backoff(3)).isEqualTo(RETRY_BASE.multipliedBy(4));
+        assertThat(sender.backoff(40)).isEqualTo(RETRY_MAX);
+    }
+
+    private MailOutboxSender newSender(int port, int perDomainPerMinute) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        mailSender.setDefaultEncoding("UTF-8");
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return new MailOutboxSender(store, mailSender, meterRegistry, MAIL_FROM, false,
+                100, 50, perDomainPerMinute, MAX_ATTEMPTS, RETRY_BASE, RETRY_MAX, Duration.ofSeconds(5));
+    }
+
+    private static MailOutboxStore.OutboxMail mail(long id, String recipient, int attempts) {
+        return new MailOutboxStore.OutboxMail(id, "account", recipient, MailOutboxStore.domainOf(recipient),
+                "件名 " + id, "本文 " + id, attempts, Duration.ofSeconds(1));
+    }
+
+    /**
+     * テスト用の最小限の SMTP サーバー。接続数と受信したメールを記録する。
+     * rejected の宛先には 550（恒久的な失敗）、busy の宛先には 451（一時的な失敗）を返す。
+     */
+    private static final class FakeSmtpServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final Set<String> rejected;
+        private final Set<String> busy;
+        final AtomicInteger sessions = new AtomicInteger();
+        final List<String> recipients = new CopyOnWriteArrayList<>();
+        final List<String> messages = new CopyOnWriteArrayList<>();
+
+        FakeSmtpServer(Set<String> rejected, Set<String> busy) throws IOException {
+            this.serverSocket = new ServerSocket(0);
+            this.rejected = rejected;
+            this.busy = busy;
+            Thread acceptor = new Thread(this::acceptLoop, "fake-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    sessions.incrementAndGet();
+                    handle(socket);
+                } catch (IOException e) {
+                    // close() による終了
+                }
+            }
+        }
+
+        private void handle(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            reply(out, "220 localhost ESMTP");
+            List<String> pending = new CopyOnWriteArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM")) {
+                    pending.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    if (rejected.contains(address)) {
+                        reply(out, "550 5.1.1 No such user");
+                    } else if (busy.contains(address)) {
+                        reply(out, "451 4.3.0 Try again later");
+                    } else {
+                        pending.add(address);
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        data.append(line).append('\n');
+                    }
+                    recipients.addAll(pending);
+                    messages.add(data.toString());
+                    reply(out, "250 OK");
+                } else if (command.startsWith("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // RSET / NOOP など
+                    pending.clear();
+                    reply(out, "250 OK");
+                }
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.photlas.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MailOutboxStore} のテスト（ローカル PostgreSQL 上の mail_outbox）。
+ *
+ * 範囲:
+ *   - 取り出したメールはリースの間は再度取り出されない
+ *   - 先送りしたメールは送信時期まで取り出されず、試行回数は指定どおりに数える
+ *   - 送信済み・送信失敗の行は送信待ちに数えず、クリーンアップで削除される
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MailOutboxStoreTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private MailOutboxStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM mail_outbox");
+    }
+
+    @Test
+    @DisplayName("取り出したメールはリースの間は再度取り出されない")
+    void claimHidesLeasedMails() {
+        store.insert("account", "a@Example.com", "件名", "本文");
+        store.insert("account", "b@example.org", "件名", "本文");
+
+        List<MailOutboxStore.OutboxMail> first = store.claim(1, LEASE);
+        List<MailOutboxStore.OutboxMail> second = store.claim(10, LEASE);
+
+        assertThat(first).hasSize(1);
+        assertThat(first.get(0).recipientDomain()).isEqualTo("example.com");
+        assertThat(second).extracting(MailOutboxStore.OutboxMail::recipient).containsExactly("b@example.org");
+        assertThat(store.claim(10, LEASE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("先送りしたメールは送信時期まで取り出されず、試行回数は指定どおりに数える")
+    void rescheduleDelaysAndCountsAttempts() {
+        store.insert("account", "a@example.com", "件名", "本文");
+        long deferred = store.claim(1, LEASE).get(0).id();
+        store.reschedule(deferred, Duration.ofMinutes(1), false, null);
+        assertThat(store.claim(10, LEASE)).isEmpty();
+
+        store.reschedule(deferred, Duration.ZERO, true, "451 Try again later");
+        MailOutboxStore.OutboxMail retried = store.claim(10, LEASE).get(0);
+        assertThat(retried.id()).isEqualTo(deferred);
+        assertThat(retried.attempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("送信済み・送信失敗の行は送信待ちに数えず、クリーンアップで削除される")
+    void finishedRowsAreCleanedUp() {
+        store.insert("account", "a@example.com", "件名", "本文");
+        store.insert("account", "b@example.com", "件名", "本文");
+        store.insert("account", "c@example.com", "件名", "本文");
+        List<MailOutboxStore.OutboxMail> claimed = store.claim(2, LEASE);
+        store.markSent(List.of(claimed.get(0).id()));
+        store.markFailed(claimed.get(1).id(), "550 No such user");
+
+        assertThat(store.countPending()).isEqualTo(1);
+        assertThat(store.deleteFinishedBefore(LocalDateTime.now().minusDays(1))).isZero();
+        assertThat(store.deleteFinishedBefore(LocalDateTime.now().plusMinutes(1))).isEqualTo(2);
+        assertThat(store.countPending()).isEqualTo(1);
+    }
+}
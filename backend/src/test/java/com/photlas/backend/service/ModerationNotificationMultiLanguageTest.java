@@ -1,10 +1,10 @@
 package com.photlas.backend.service;
 
+import com.photlas.backend.config.TestMailConfig.EnqueuedMail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
@@ -12,9 +12,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -23,13 +20,12 @@ import java.util.Locale;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.verify;
 
 /**
  * Issue#113 フェーズ 4 - ModerationNotificationService の 5 言語化テスト。
  *
  * <p>4 種類の通知（隔離 / 警告 / 一時停止 / 永久停止）が言語に応じて適切な
- * 言語で送信されることを検証する。グループ B (@Async + try-catch + ERROR ログ) も対象。</p>
+ * 言語で送信されることを検証する。グループ B (送信キュー登録 + try-catch + ERROR ログ) も対象。</p>
  *
  * <p>本テストは Mockito ベース（@SpringBootTest を使わない）。理由:
  * <ul>
@@ -44,7 +40,7 @@ import static org.mockito.Mockito.verify;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class ModerationNotificationMultiLanguageTest {
 
-    @Mock private JavaMailSender mailSender;
+    @Mock private MailOutboxService mailOutboxService;
 
     private EmailTemplateService emailTemplateService;
     private ModerationNotificationService notificationService;
@@ -58,8 +54,7 @@ class ModerationNotificationMultiLanguageTest {
         source.setDefaultLocale(Locale.ENGLISH);
         source.setFallbackToSystemLocale(false);
         emailTemplateService = new EmailTemplateService(source);
-        notificationService = new ModerationNotificationService(mailSender, emailTemplateService);
-        ReflectionTestUtils.setField(notificationService, "mailFrom", "noreply@photlas.jp");
+        notificationService = new ModerationNotificationService(mailOutboxService, emailTemplateService);
     }
 
     @Test
@@ -68,9 +63,9 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendQuarantineNotification("ja@example.com", "naegi",
                 LocalDateTime.of(2026, 3, 15, 14, 30), "ja");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).contains("Photlas").contains("審査");
-        assertThat(captured.getText()).contains("コンテンツポリシー");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).contains("Photlas").contains("審査");
+        assertThat(captured.body()).contains("コンテンツポリシー");
     }
 
     @Test
@@ -79,8 +74,8 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendQuarantineNotification("en@example.com", "naegi",
                 LocalDateTime.now(), "en");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).contains("Photlas").contains("Review");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).contains("Photlas").contains("Review");
     }
 
     @Test
@@ -89,8 +84,8 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendQuarantineNotification("ko@example.com", "naegi",
                 LocalDateTime.now(), "ko");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).matches(".*[\\uAC00-\\uD7AF].*");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).matches(".*[\\uAC00-\\uD7AF].*");
     }
 
     @Test
@@ -99,8 +94,8 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendQuarantineNotification("zhcn@example.com", "naegi",
                 LocalDateTime.now(), "zh-CN");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).matches(".*[\\u4E00-\\u9FFF].*");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).matches(".*[\\u4E00-\\u9FFF].*");
     }
 
     @Test
@@ -109,9 +104,9 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendWarningNotification("ja@example.com", "naegi",
                 "不適切な投稿", "ja");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getText()).contains("不適切な投稿");
-        assertThat(captured.getSubject()).contains("Photlas").contains("警告");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.body()).contains("不適切な投稿");
+        assertThat(captured.subject()).contains("Photlas").contains("警告");
     }
 
     @Test
@@ -120,9 +115,9 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendWarningNotification("en@example.com", "naegi",
                 "Inappropriate content", "en");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getText()).contains("Inappropriate content");
-        assertThat(captured.getSubject()).contains("Photlas").contains("Warning");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.body()).contains("Inappropriate content");
+        assertThat(captured.subject()).contains("Photlas").contains("Warning");
     }
 
     @Test
@@ -132,9 +127,9 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendTemporarySuspensionNotification("ja@example.com", "naegi",
                 "違反", suspendedUntil, "ja");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getText()).contains("2026-06-30");
-        assertThat(captured.getSubject()).contains("Photlas");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.body()).contains("2026-06-30");
+        assertThat(captured.subject()).contains("Photlas");
     }
 
     @Test
@@ -143,9 +138,9 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendPermanentSuspensionNotification("ja@example.com", "naegi",
                 "重大違反", "ja");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).contains("Photlas").contains("永久停止");
-        assertThat(captured.getText()).contains("重大違反");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).contains("Photlas").contains("永久停止");
+        assertThat(captured.body()).contains("重大違反");
     }
 
     @Test
@@ -154,23 +149,21 @@ class ModerationNotificationMultiLanguageTest {
         notificationService.sendPermanentSuspensionNotification("en@example.com", "naegi",
                 "Severe violation", "en");
 
-        SimpleMailMessage captured = captureSent();
-        assertThat(captured.getSubject()).contains("Photlas").contains("Permanent");
+        EnqueuedMail captured = captureSent();
+        assertThat(captured.subject()).contains("Photlas").contains("Permanent");
     }
 
     @Test
     @DisplayName("Issue#113 - グループ B: メール送信失敗でも例外が外に伝播しない")
     void groupBFailureSwallowed() {
-        doThrow(new RuntimeException("SMTP failure")).when(mailSender).send(any(SimpleMailMessage.class));
+        doThrow(new RuntimeException("outbox failure")).when(mailOutboxService).enqueue(any(), any(), any(), any());
 
         notificationService.sendQuarantineNotification("err@example.com", "naegi",
                 LocalDateTime.now(), "ja");
         // 例外が伝播しなければテスト成功
     }
 
-    private SimpleMailMessage captureSent() {
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(captor.capture());
-        return captor.getValue();
+    private EnqueuedMail captureSent() {
+        return EnqueuedMail.capture(mailOutboxService);
     }
 }
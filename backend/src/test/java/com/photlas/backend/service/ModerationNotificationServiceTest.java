@@ -1,16 +1,13 @@
 package com.photlas.backend.service;
 
+import com.photlas.backend.config.TestMailConfig.EnqueuedMail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -30,7 +27,7 @@ import static org.mockito.Mockito.*;
 public class ModerationNotificationServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
 
     private EmailTemplateService emailTemplateService;
     private ModerationNotificationService notificationService;
@@ -44,8 +41,7 @@ public class ModerationNotificationServiceTest {
         source.setDefaultLocale(Locale.ENGLISH);
         source.setFallbackToSystemLocale(false);
         emailTemplateService = new EmailTemplateService(source);
-        notificationService = new ModerationNotificationService(mailSender, emailTemplateService);
-        ReflectionTestUtils.setField(notificationService, "mailFrom", "noreply@photlas.jp");
+        notificationService = new ModerationNotificationService(mailOutboxService, emailTemplateService);
     }
 
     @Test
@@ -55,14 +51,11 @@ public class ModerationNotificationServiceTest {
         notificationService.sendQuarantineNotification(
                 "user@example.com", "テストユーザー", createdAt);
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-
-        SimpleMailMessage message = captor.getValue();
-        assertThat(message.getTo()).containsExactly("user@example.com");
-        assertThat(message.getSubject()).contains("審査");
-        assertThat(message.getText()).contains("テストユーザー");
-        assertThat(message.getText()).contains("2026年03月15日 14:30");
+        EnqueuedMail message = EnqueuedMail.capture(mailOutboxService);
+        assertThat(message.to()).isEqualTo("user@example.com");
+        assertThat(message.subject()).contains("審査");
+        assertThat(message.body()).contains("テストユーザー");
+        assertThat(message.body()).contains("2026年03月15日 14:30");
     }
 
     @Test
@@ -71,14 +64,11 @@ public class ModerationNotificationServiceTest {
         notificationService.sendWarningNotification(
                 "user@example.com", "テストユーザー", "不適切なコンテンツ");
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-
-        SimpleMailMessage message = captor.getValue();
-        assertThat(message.getTo()).containsExactly("user@example.com");
-        assertThat(message.getSubject()).contains("警告");
-        assertThat(message.getText()).contains("不適切なコンテンツ");
-        assertThat(message.getText()).contains("テストユーザー");
+        EnqueuedMail message = EnqueuedMail.capture(mailOutboxService);
+        assertThat(message.to()).isEqualTo("user@example.com");
+        assertThat(message.subject()).contains("警告");
+        assertThat(message.body()).contains("不適切なコンテンツ");
+        assertThat(message.body()).contains("テストユーザー");
     }
 
     @Test
@@ -89,14 +79,11 @@ public class ModerationNotificationServiceTest {
         notificationService.sendTemporarySuspensionNotification(
                 "user@example.com", "テストユーザー", "暴力的コンテンツ", suspendedUntil);
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-
-        SimpleMailMessage message = captor.getValue();
-        assertThat(message.getTo()).containsExactly("user@example.com");
-        assertThat(message.getSubject()).contains("一時停止");
-        assertThat(message.getText()).contains("暴力的コンテンツ");
-        assertThat(message.getText()).contains("2026-05-10");
+        EnqueuedMail message = EnqueuedMail.capture(mailOutboxService);
+        assertThat(message.to()).isEqualTo("user@example.com");
+        assertThat(message.subject()).contains("一時停止");
+        assertThat(message.body()).contains("暴力的コンテンツ");
+        assertThat(message.body()).contains("2026-05-10");
     }
 
     @Test
@@ -105,37 +92,31 @@ public class ModerationNotificationServiceTest {
         notificationService.sendPermanentSuspensionNotification(
                 "user@example.com", "テストユーザー", "著作権侵害");
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-
-        SimpleMailMessage message = captor.getValue();
-        assertThat(message.getTo()).containsExactly("user@example.com");
-        assertThat(message.getSubject()).contains("永久停止");
-        assertThat(message.getText()).contains("著作権侵害");
-        assertThat(message.getText()).contains("テストユーザー");
+        EnqueuedMail message = EnqueuedMail.capture(mailOutboxService);
+        assertThat(message.to()).isEqualTo("user@example.com");
+        assertThat(message.subject()).contains("永久停止");
+        assertThat(message.body()).contains("著作権侵害");
+        assertThat(message.body()).contains("テストユーザー");
     }
 
-    // ===== Issue#54: Fromアドレス設定テスト =====
+    // ===== 送信キューへの登録 =====
+    // From アドレスは送信時に MailOutboxSender が設定する（MailOutboxSenderTest で検証）
 
     @Test
-    @DisplayName("Issue#54 - メールにFromアドレスが設定されている")
-    void testSendEmail_HasFromAddress() {
+    @DisplayName("メールの種類が送信キューに記録される")
+    void testSendEmail_RecordsMailType() {
         notificationService.sendQuarantineNotification(
                 "user@example.com", "テストユーザー", LocalDateTime.of(2026, 3, 15, 14, 30));
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
-
-        SimpleMailMessage message = captor.getValue();
-        assertThat(message.getFrom()).isNotNull();
-        assertThat(message.getFrom()).contains("noreply@photlas.jp");
+        EnqueuedMail message = EnqueuedMail.capture(mailOutboxService);
+        assertThat(message.mailType()).isEqualTo("moderationQuarantine");
     }
 
     @Test
-    @DisplayName("Issue#54 - メール送信失敗時に例外がスローされない")
+    @DisplayName("Issue#54 - 送信キューへの登録失敗時に例外がスローされない")
     void testSendEmail_Failure_DoesNotThrow() {
-        doThrow(new RuntimeException("SMTP接続エラー"))
-                .when(mailSender).send(any(SimpleMailMessage.class));
+        doThrow(new RuntimeException("DB接続エラー"))
+                .when(mailOutboxService).enqueue(any(), any(), any(), any());
 
         // 例外がスローされないことを確認
         notificationService.sendQuarantineNotification(
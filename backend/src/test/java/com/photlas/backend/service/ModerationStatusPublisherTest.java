@@ -0,0 +1,71 @@
+package com.photlas.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * {@link ModerationStatusPublisher} のユニットテスト。
+ *
+ * 範囲:
+ *   - ステータス変更を userId:photoId:status 形式で通知し、受信したノードは購読へ配信する
+ *   - ステータス変更をキャッシュ無効化バスへも発行する
+ *   - 不正なペイロードは無視する
+ */
+@ExtendWith(MockitoExtension.class)
+class ModerationStatusPublisherTest {
+
+    @Mock
+    private PostgresNotificationBus notificationBus;
+
+    @Mock
+    private ModerationStatusStreamRegistry registry;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Test
+    @DisplayName("ステータス変更を通知し、受信したペイロードを購読へ配信する")
+    void publishesAndDelivers() {
+        ModerationStatusPublisher publisher = new ModerationStatusPublisher(notificationBus, registry, cacheInvalidationBus);
+        verify(notificationBus).subscribe(eq(ModerationStatusPublisher.CHANNEL), any());
+
+        publisher.publish(1L, 10L, 1002);
+        publisher.publishAll(List.of(
+                new ModerationStatusPublisher.StatusChange(1L, 11L, 1003),
+                new ModerationStatusPublisher.StatusChange(2L, 12L, 1002)));
+
+        verify(notificationBus).publish(ModerationStatusPublisher.CHANNEL, "1:10:1002");
+        verify(notificationBus).publishAll(ModerationStatusPublisher.CHANNEL, List.of("1:11:1003", "2:12:1002"));
+        verify(cacheInvalidationBus).publishPhotoStatus(10L, 1002);
+        verify(cacheInvalidationBus).publishAll(List.of(
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_REMOVED, 11L),
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_PUBLISHED, 12L)));
+
+        publisher.onNotification("1:10:1002");
+        verify(registry).deliver(1L, 10L, 1002);
+    }
+
+    @Test
+    @DisplayName("不正なペイロードは無視する")
+    void ignoresMalformedPayload() {
+        ModerationStatusPublisher publisher = new ModerationStatusPublisher(notificationBus, registry, cacheInvalidationBus);
+
+        publisher.onNotification("1:abc:1002");
+        publisher.onNotification("1:10");
+
+        assertThat(ModerationStatusPublisher.decode(null)).isNull();
+        verify(registry, never()).deliver(anyLong(), anyLong(), any());
+    }
+}
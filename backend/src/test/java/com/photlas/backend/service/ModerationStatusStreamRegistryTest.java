@@ -0,0 +1,64 @@
+package com.photlas.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * {@link ModerationStatusStreamRegistry} のユニットテスト。
+ *
+ * 範囲:
+ *   - ユーザーごとに接続を保持し、接続数をメトリクスに出す
+ *   - 同時接続数の上限を超えた場合は最も古い接続を外す
+ *   - 接続のないユーザーへの配信は何もしない
+ */
+class ModerationStatusStreamRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ModerationStatusStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new ModerationStatusStreamRegistry(meterRegistry, Duration.ofMinutes(5), 2);
+    }
+
+    @Test
+    @DisplayName("ユーザーごとに接続を保持し、接続数をメトリクスに出す")
+    void tracksConnections() {
+        SseEmitter emitter = registry.subscribe(1L);
+        registry.subscribe(2L);
+
+        assertThat(emitter.getTimeout()).isEqualTo(Duration.ofMinutes(5).toMillis());
+        assertThat(registry.connectionCount()).isEqualTo(2);
+        assertThat(meterRegistry.get(ModerationStatusStreamRegistry.METRIC_CONNECTIONS).gauge().value())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("同時接続数の上限を超えた場合は最も古い接続を外す")
+    void evictsOldestConnectionOverLimit() {
+        registry.subscribe(1L);
+        registry.subscribe(1L);
+        registry.subscribe(1L);
+
+        assertThat(registry.connectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("接続のないユーザーへの配信は何もしない")
+    void deliverWithoutConnectionIsNoop() {
+        registry.subscribe(1L);
+
+        assertThatCode(() -> registry.deliver(2L, 10L, 1002)).doesNotThrowAnyException();
+        assertThatCode(() -> registry.deliver(1L, 10L, 1002)).doesNotThrowAnyException();
+        assertThat(registry.connectionCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,139 @@
+package com.photlas.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link OrderedPrefetchPipeline} のテスト。
+ *
+ * 範囲:
+ *   - 完了順がばらついても入力順に消費される
+ *   - 同時実行数は Executor のスレッド数、未消費件数は lookahead を超えない
+ *   - 取得済みバッファ量が上限に達している間は新たな取得を投入しない
+ *   - 消費側の例外はそのまま伝搬し、未消費の取得結果は後始末される
+ */
+class OrderedPrefetchPipelineTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("完了順がばらついても入力順に消費される")
+    void consumesInInputOrder() throws IOException {
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        Random random = new Random(1);
+        List<Integer> delays = items.stream().map(i -> random.nextInt(5)).toList();
+        List<Integer> consumed = new ArrayList<>();
+
+        new OrderedPrefetchPipeline<Integer, Integer>(executor, 6, Long.MAX_VALUE, r -> 1, r -> { })
+                .run(items, i -> {
+                    sleep(delays.get(i));
+                    return i * 10;
+                }, (item, result) -> {
+                    assertThat(result).isEqualTo(item * 10);
+                    consumed.add(item);
+                });
+
+        assertThat(consumed).isEqualTo(items);
+    }
+
+    @Test
+    @DisplayName("同時実行数はスレッド数、未消費件数は lookahead を超えない")
+    void respectsConcurrencyAndLookahead() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger consumedCount = new AtomicInteger();
+        AtomicInteger maxOutstanding = new AtomicInteger();
+
+        new OrderedPrefetchPipeline<Integer, Integer>(executor, 4, Long.MAX_VALUE, r -> 1, r -> { })
+                .run(IntStream.range(0, 40).boxed().toList(), i -> {
+                    started.incrementAndGet();
+                    maxOutstanding.accumulateAndGet(started.get() - consumedCount.get(), Math::max);
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(2);
+                    running.decrementAndGet();
+                    return i;
+                }, (item, result) -> consumedCount.incrementAndGet());
+
+        assertThat(consumedCount.get()).isEqualTo(40);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+        assertThat(maxOutstanding.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("取得済みバッファが上限に達している間は次の取得を投入しない")
+    void respectsBufferedBytesBudget() throws IOException {
+        // 同期 Executor: 投入と同時に取得が完了しバッファに計上されるため、投入判定が決定的になる
+        assertThat(startedAheadAtEachConsume(100)).containsOnly(1);
+        // 上限なしなら lookahead(4) 件まで先行する
+        assertThat(startedAheadAtEachConsume(Long.MAX_VALUE)).startsWith(4, 4, 4);
+    }
+
+    /** 各要素の消費時点で、その要素を含めて何件先まで取得が開始されていたかを返す。 */
+    private List<Integer> startedAheadAtEachConsume(long maxBufferedBytes) throws IOException {
+        AtomicInteger started = new AtomicInteger();
+        List<Integer> ahead = new ArrayList<>();
+        new OrderedPrefetchPipeline<Integer, Integer>(Runnable::run, 4, maxBufferedBytes, r -> 100, r -> { })
+                .run(IntStream.range(0, 10).boxed().toList(), i -> {
+                    started.incrementAndGet();
+                    return i;
+                }, (item, result) -> ahead.add(started.get() - item));
+        return ahead;
+    }
+
+    @Test
+    @DisplayName("消費側の IOException はそのまま伝搬し、消費されなかった取得結果は後始末される")
+    void propagatesSinkExceptionAndDiscardsPending() throws Exception {
+        List<Integer> discarded = Collections.synchronizedList(new ArrayList<>());
+        OrderedPrefetchPipeline<Integer, Integer> pipeline =
+                new OrderedPrefetchPipeline<>(executor, 4, Long.MAX_VALUE, r -> 1, discarded::add);
+
+        assertThatThrownBy(() -> pipeline.run(IntStream.range(0, 20).boxed().toList(), i -> i,
+                (item, result) -> {
+                    if (item == 3) {
+                        throw new IOException("client disconnected");
+                    }
+                }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("client disconnected");
+
+        // 3 の消費時点で先読み済みだった 4〜6 が後始末される（7 以降は投入されていない）
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(discarded).containsExactlyInAnyOrder(4, 5, 6);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -385,10 +385,63 @@ class PhotoAnalyzeServiceTest {
         byte[] largeJpeg = createJpeg(2560, 1920);
         service.analyze(largeJpeg, JPEG);
 
-        // ExifReader は元の画像バイト列で呼ばれる（縮小前）
+        // ExifReader は元の画像バイト列（縮小前）の先頭部分で呼ばれる
         ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
         verify(exifReader).read(captor.capture());
-        assertThat(captor.getValue()).isEqualTo(largeJpeg);
+        assertThat(captor.getValue()).isNotEmpty();
+        assertThat(largeJpeg).startsWith(captor.getValue());
+    }
+
+    // ========== ストリーミング解析 ==========
+
+    @Test
+    @DisplayName("analyze(InputStream): EXIF はヘッダ先読み範囲（128KB）だけから読み取る")
+    void analyze_stream_readsExifFromBoundedHeaderOnly() throws IOException {
+        when(rekognitionClient.detectLabels(any(DetectLabelsRequest.class)))
+                .thenReturn(DetectLabelsResponse.builder().labels(List.of()).build());
+        when(cacheService.save(any())).thenReturn("token");
+
+        byte[] noisyJpeg = createNoisyJpeg(2000, 1500);
+        assertThat(noisyJpeg.length).isGreaterThan(128 * 1024);
+        service.analyze(new ByteArrayInputStream(noisyJpeg), JPEG, AnalyzeExifInput.empty());
+
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(exifReader).read(captor.capture());
+        assertThat(captor.getValue()).hasSize(128 * 1024);
+        assertThat(noisyJpeg).startsWith(captor.getValue());
+    }
+
+    @Test
+    @DisplayName("analyze(InputStream): 大きい画像は間引きデコード後に長辺 1280px 以下へ縮小して送る")
+    void analyze_stream_largeImageIsSubsampledAndResized() throws IOException {
+        when(rekognitionClient.detectLabels(any(DetectLabelsRequest.class)))
+                .thenReturn(DetectLabelsResponse.builder().labels(List.of()).build());
+        when(cacheService.save(any())).thenReturn("token");
+
+        service.analyze(new ByteArrayInputStream(createJpeg(4000, 3000)), JPEG, AnalyzeExifInput.empty());
+
+        ArgumentCaptor<DetectLabelsRequest> captor = ArgumentCaptor.forClass(DetectLabelsRequest.class);
+        verify(rekognitionClient).detectLabels(captor.capture());
+        BufferedImage sentImage = ImageIO.read(
+                new ByteArrayInputStream(captor.getValue().image().bytes().asByteArray()));
+        // 4000/3 = 1333px まで間引いてから 1280px に仕上げる（縦横比は維持）
+        assertThat(sentImage.getWidth()).isEqualTo(1280);
+        assertThat(sentImage.getHeight()).isEqualTo(960);
+    }
+
+    @Test
+    @DisplayName("analyze(InputStream): 長辺 1280px 以下の画像は元のバイト列をそのまま送る")
+    void analyze_stream_smallImageIsSentAsIs() throws IOException {
+        when(rekognitionClient.detectLabels(any(DetectLabelsRequest.class)))
+                .thenReturn(DetectLabelsResponse.builder().labels(List.of()).build());
+        when(cacheService.save(any())).thenReturn("token");
+
+        byte[] png = createPng(640, 480);
+        service.analyze(new ByteArrayInputStream(png), PNG, AnalyzeExifInput.empty());
+
+        ArgumentCaptor<DetectLabelsRequest> captor = ArgumentCaptor.forClass(DetectLabelsRequest.class);
+        verify(rekognitionClient).detectLabels(captor.capture());
+        assertThat(captor.getValue().image().bytes().asByteArray()).isEqualTo(png);
     }
 
     @Test
@@ -469,6 +522,20 @@ class PhotoAnalyzeServiceTest {
         return baos.toByteArray();
     }
 
+    /** テスト用のノイズ JPEG 画像を生成する（圧縮が効かずファイルサイズが大きくなる）。 */
+    private byte[] createNoisyJpeg(int width, int height) throws IOException {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        java.util.Random random = new java.util.Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                img.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(img, "JPEG", baos);
+        return baos.toByteArray();
+    }
+
     // ========== Issue#136 Phase 11: CachedAnalyzeResult への切替検証 ==========
 
     @Test
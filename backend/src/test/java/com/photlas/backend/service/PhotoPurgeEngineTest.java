@@ -0,0 +1,160 @@
+package com.photlas.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link PhotoPurgeEngine} のユニットテスト。
+ *
+ * 範囲:
+ *   - S3 キーを 1000 件ずつの DeleteObjects に分割して発行する
+ *   - チャンクをハイウォーターマーク（処理済み最大 photoId）から取得し、DB 削除はバッチ単位で行う
+ *   - 各バッチで削除した写真のスポットだけを孤立スポットの候補として渡す
+ *   - S3 削除に失敗した写真は keepPhotoOnObjectFailure=true で DB に残し、false で削除する
+ *   - DeleteObjects リクエスト自体の失敗はそのリクエストの全キーを失敗として扱う
+ *   - 実行ごとの件数メトリクスを記録する
+ */
+@ExtendWith(MockitoExtension.class)
+class PhotoPurgeEngineTest {
+
+    private static final int SCAN_SIZE = 3;
+    private static final int DELETE_BATCH_SIZE = 2;
+
+    @Mock
+    private PhotoPurgeStore photoPurgeStore;
+
+    @Mock
+    private S3Service s3Service;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PhotoPurgeEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new PhotoPurgeEngine(photoPurgeStore, s3Service, Executors.newFixedThreadPool(2),
+                meterRegistry, SCAN_SIZE, DELETE_BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("S3 キーを 1000 件ずつの DeleteObjects リクエストに分割する")
+    void splitsKeysIntoDeleteObjectsRequests() {
+        List<String> keys = IntStream.range(0, 2500).mapToObj(i -> "uploads/1/" + i + ".jpg").toList();
+        when(s3Service.deleteS3Objects(anyList())).thenReturn(Set.of());
+
+        Set<String> failed = engine.deleteObjects(keys);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(s3Service, times(3)).deleteS3Objects(captor.capture());
+        assertThat(captor.getAllValues()).extracting(List::size).containsExactlyInAnyOrder(1000, 1000, 500);
+        assertThat(captor.getAllValues().stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(keys);
+        assertThat(failed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("チャンクをハイウォーターマークから取得し、DB はバッチ単位で削除する")
+    void advancesHighWaterMarkAndDeletesInBatches() {
+        FakeSource source = new FakeSource(List.of(1L, 2L, 5L, 8L));
+        when(s3Service.deleteS3Objects(anyList())).thenReturn(Set.of());
+        when(photoPurgeStore.deletePhotos(any(), any())).thenAnswer(invocation ->
+                new PhotoPurgeStore.BatchResult(invocation.getArgument(0, Collection.class).size(), 1));
+
+        PhotoPurgeEngine.Result result = engine.purge("test", source, true);
+
+        assertThat(source.afterIds).containsExactly(0L, 5L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> photoIds = ArgumentCaptor.forClass(Collection.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> spotIds = ArgumentCaptor.forClass(Collection.class);
+        verify(photoPurgeStore, times(3)).deletePhotos(photoIds.capture(), spotIds.capture());
+        assertThat(photoIds.getAllValues()).extracting(List::copyOf)
+                .containsExactly(List.of(1L, 2L), List.of(5L), List.of(8L));
+        // スポットは photoId / 4（1, 2 → 0 / 5 → 1 / 8 → 2）。バッチ内の重複は除く
+        assertThat(spotIds.getAllValues()).extracting(List::copyOf)
+                .containsExactly(List.of(0L), List.of(1L), List.of(2L));
+        assertThat(result).isEqualTo(new PhotoPurgeEngine.Result(4, 0, 8, 0, 3));
+        assertThat(meterRegistry.counter(PhotoPurgeEngine.METRIC_PHOTOS, "job", "test", "outcome", "deleted").count())
+                .isEqualTo(4);
+        assertThat(meterRegistry.timer(PhotoPurgeEngine.METRIC_RUN, "job", "test").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("S3 削除に失敗した写真は DB に残し、同じ実行内で再取得しない")
+    void keepsPhotosWhoseObjectsFailed() {
+        FakeSource source = new FakeSource(List.of(1L, 2L));
+        when(s3Service.deleteS3Objects(anyList())).thenReturn(Set.of("thumbnails/uploads/2.webp"));
+        when(photoPurgeStore.deletePhotos(any(), any())).thenReturn(new PhotoPurgeStore.BatchResult(1, 0));
+
+        PhotoPurgeEngine.Result result = engine.purge("test", source, true);
+
+        verify(photoPurgeStore).deletePhotos(List.of(1L), Set.of(0L));
+        assertThat(source.afterIds).containsExactly(0L);
+        assertThat(result).isEqualTo(new PhotoPurgeEngine.Result(1, 1, 3, 1, 0));
+    }
+
+    @Test
+    @DisplayName("keepPhotoOnObjectFailure=false では S3 削除に失敗しても DB を削除する")
+    void deletesRowsDespiteObjectFailureWhenNotKeeping() {
+        FakeSource source = new FakeSource(List.of(1L, 2L));
+        when(s3Service.deleteS3Objects(anyList())).thenThrow(new RuntimeException("503 Slow Down"));
+        when(photoPurgeStore.deletePhotos(any(), any())).thenReturn(new PhotoPurgeStore.BatchResult(2, 1));
+
+        PhotoPurgeEngine.Result result = engine.purge("test", source, false);
+
+        verify(photoPurgeStore).deletePhotos(List.of(1L, 2L), Set.of(0L));
+        assertThat(result).isEqualTo(new PhotoPurgeEngine.Result(2, 0, 0, 4, 1));
+    }
+
+    @Test
+    @DisplayName("対象がない場合は S3・DB とも呼ばない")
+    void doesNothingWithoutTargets() {
+        PhotoPurgeEngine.Result result = engine.purge("test", new FakeSource(List.of()), true);
+
+        verify(s3Service, never()).deleteS3Objects(anyList());
+        verify(photoPurgeStore, never()).deletePhotos(any(), any());
+        assertThat(result).isEqualTo(new PhotoPurgeEngine.Result(0, 0, 0, 0, 0));
+    }
+
+    /** photoId の一覧からキーセットページングで返すソース（キーは uploads/{id}.jpg、スポットは id / 4）。 */
+    private static final class FakeSource implements PhotoPurgeEngine.TargetSource {
+        private final List<Long> photoIds;
+        private final List<Long> afterIds = new ArrayList<>();
+
+        FakeSource(List<Long> photoIds) {
+            this.photoIds = photoIds;
+        }
+
+        @Override
+        public List<Object[]> fetch(Long afterPhotoId, Pageable pageable) {
+            afterIds.add(afterPhotoId);
+            return photoIds.stream()
+                    .filter(id -> id > afterPhotoId)
+                    .limit(pageable.getPageSize())
+                    .map(id -> new Object[]{id, "uploads/" + id + ".jpg", id / 4})
+                    .toList();
+        }
+    }
+}
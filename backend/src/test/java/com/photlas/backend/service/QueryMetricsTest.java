@@ -0,0 +1,61 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.SpotFilter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link QueryMetrics} と {@link SpotService#filterShape} のユニットテスト。
+ *
+ * 範囲:
+ *   - クエリの所要時間をクエリ名・フィルターの組み合わせ・結果のタグ付きで記録する
+ *   - 例外を投げたクエリは outcome=error で記録し、例外はそのまま伝える
+ *   - filters タグは有効なフィルター名だけを並べ、値を含めない
+ */
+class QueryMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryMetrics queryMetrics = new QueryMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("クエリの所要時間をクエリ名・フィルターの組み合わせ・結果のタグ付きで記録する")
+    void recordsSuccessfulQuery() {
+        List<Long> result = queryMetrics.time("findPhotoIdsBySpotsPaged", "month+tag", () -> List.of(1L, 2L));
+
+        assertThat(result).containsExactly(1L, 2L);
+        Timer timer = meterRegistry.find(QueryMetrics.METRIC_QUERY)
+                .tags("query", "findPhotoIdsBySpotsPaged", "filters", "month+tag", "outcome", "success").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("例外を投げたクエリは outcome=error で記録し、例外はそのまま伝える")
+    void recordsFailedQuery() {
+        assertThatThrownBy(() -> queryMetrics.time("countPhotosBySpots", QueryMetrics.NO_FILTERS, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(meterRegistry.find(QueryMetrics.METRIC_QUERY)
+                .tags("query", "countPhotosBySpots", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("filters タグは有効なフィルター名だけを並べ、値を含めない")
+    void filterShapeListsActiveFiltersOnly() {
+        assertThat(SpotService.filterShape(SpotFilter.NONE)).isEqualTo(QueryMetrics.NO_FILTERS);
+        assertThat(SpotService.filterShape(new SpotFilter(null, List.of(), null, null, null, null, null, null, null,
+                null, null)))
+                .isEqualTo(QueryMetrics.NO_FILTERS);
+        assertThat(SpotService.filterShape(new SpotFilter(List.of(201, 202), List.of(5), null, null, 12, null, 30,
+                null, List.of("wide"), null, List.of(7L))))
+                .isEqualTo("subject+month+resolution+maxAge+focalLength+tag");
+    }
+}
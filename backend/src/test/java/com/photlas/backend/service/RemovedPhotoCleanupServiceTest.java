@@ -18,13 +18,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Issue#54: REMOVED投稿の180日後物理削除サービスのテスト
@@ -142,8 +145,7 @@ public class RemovedPhotoCleanupServiceTest {
 
         cleanupService.cleanupRemovedPhotos();
 
-        verify(s3Service).deleteS3Object("uploads/1/abc.jpg");
-        verify(s3Service).deleteS3Object("thumbnails/uploads/1/abc.webp");
+        verify(s3Service).deleteS3Objects(List.of("uploads/1/abc.jpg", "thumbnails/uploads/1/abc.webp"));
         assertThat(photoRepository.findById(photo.getPhotoId())).isEmpty();
     }
 
@@ -152,7 +154,49 @@ public class RemovedPhotoCleanupServiceTest {
     void testCleanup_noPhotos_noS3Delete() {
         cleanupService.cleanupRemovedPhotos();
 
-        verify(s3Service, never()).deleteS3Object(anyString());
+        verify(s3Service, never()).deleteS3Objects(anyList());
+    }
+
+    @Test
+    @DisplayName("Issue#62 - S3削除に失敗した写真はDBに残り、他の写真は削除される")
+    void testCleanup_keepsPhotoWhenS3DeleteFails() {
+        Photo failed = createPhoto("uploads/1/failed.jpg", CodeConstants.MODERATION_STATUS_REMOVED);
+        Photo deleted = createPhoto("uploads/1/deleted.jpg", CodeConstants.MODERATION_STATUS_REMOVED);
+        updateUpdatedAt(failed.getPhotoId(), LocalDateTime.now().minusDays(200));
+        updateUpdatedAt(deleted.getPhotoId(), LocalDateTime.now().minusDays(200));
+        when(s3Service.deleteS3Objects(anyList())).thenReturn(Set.of("thumbnails/uploads/1/failed.webp"));
+
+        cleanupService.cleanupRemovedPhotos();
+
+        assertThat(photoRepository.findById(failed.getPhotoId())).isPresent();
+        assertThat(photoRepository.findById(deleted.getPhotoId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("物理削除で写真が0件になったスポットは削除され、他の写真が残るスポットは残る")
+    void testCleanup_deletesOrphanedSpotsOfDeletedPhotos() {
+        Spot otherSpot = new Spot();
+        otherSpot.setLatitude(new BigDecimal("35.681236"));
+        otherSpot.setLongitude(new BigDecimal("139.767125"));
+        otherSpot.setCreatedByUserId(testUser.getId());
+        otherSpot = spotRepository.save(otherSpot);
+
+        Photo orphaning = createPhoto("uploads/1/orphaning.jpg", CodeConstants.MODERATION_STATUS_REMOVED);
+        Photo sharing = createPhoto("uploads/1/sharing.jpg", CodeConstants.MODERATION_STATUS_REMOVED);
+        sharing.setSpotId(otherSpot.getSpotId());
+        photoRepository.save(sharing);
+        Photo remaining = createPhoto("uploads/1/remaining.jpg", CodeConstants.MODERATION_STATUS_PUBLISHED);
+        remaining.setSpotId(otherSpot.getSpotId());
+        photoRepository.save(remaining);
+        entityManager.flush();
+        updateUpdatedAt(orphaning.getPhotoId(), LocalDateTime.now().minusDays(200));
+        updateUpdatedAt(sharing.getPhotoId(), LocalDateTime.now().minusDays(200));
+
+        cleanupService.cleanupRemovedPhotos();
+
+        assertThat(spotRepository.findById(testSpot.getSpotId())).isEmpty();
+        assertThat(spotRepository.findById(otherSpot.getSpotId())).isPresent();
+        assertThat(photoRepository.findById(remaining.getPhotoId())).isPresent();
     }
 
     // ===== レポート#41 #1: 関連レコード削除テスト =====
@@ -40,6 +40,9 @@ public class ReportServiceTest {
     @Mock
     private QuarantineService quarantineService;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private ReportService reportService;
 
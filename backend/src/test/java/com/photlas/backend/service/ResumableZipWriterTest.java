@@ -0,0 +1,150 @@
+package com.photlas.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link ResumableZipWriter} のテスト。
+ *
+ * 範囲:
+ *   - STORED / DEFLATED エントリが ZipFile・ZipInputStream の両方で読める（UTF-8 ファイル名含む）
+ *   - 途中の状態（オフセット + エントリ一覧）から再開した出力を連結すると、一括で書いた出力と一致する
+ *   - 65535 エントリを超えると ZIP64 の終端レコードで書かれ、ZipFile で読める
+ *   - 一時ファイルのサイズが記録と異なる場合は IOException
+ */
+class ResumableZipWriterTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 5, 16, 22, 30, 14);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("STORED / DEFLATED エントリが ZipFile・ZipInputStream で読める")
+    void writesReadableArchive() throws IOException {
+        Path image = randomFile("a.jpg", 100_000, 1);
+        byte[] json = "{\"user\":\"なえぎ\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResumableZipWriter zip = new ResumableZipWriter(out, 0, List.of(), TIMESTAMP);
+        zip.writeDeflated("root/user.json", json);
+        zip.writeStored("root/photos/写真.jpg", image, Files.size(image), crcOf(image));
+        zip.finish();
+
+        Path archive = dir.resolve("archive.zip");
+        Files.write(archive, out.toByteArray());
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            ZipEntry jsonEntry = zipFile.getEntry("root/user.json");
+            assertThat(jsonEntry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(zipFile.getInputStream(jsonEntry).readAllBytes()).isEqualTo(json);
+
+            ZipEntry imageEntry = zipFile.getEntry("root/photos/写真.jpg");
+            assertThat(imageEntry.getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(zipFile.getInputStream(imageEntry).readAllBytes()).isEqualTo(Files.readAllBytes(image));
+            assertThat(imageEntry.getTimeLocal()).isEqualTo(TIMESTAMP);
+        }
+
+        List<String> streamed = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                zis.readAllBytes();
+                streamed.add(entry.getName());
+            }
+        }
+        assertThat(streamed).containsExactly("root/user.json", "root/photos/写真.jpg");
+    }
+
+    @Test
+    @DisplayName("途中の状態から再開した出力を連結すると一括で書いた出力と一致する")
+    void resumedOutputMatchesSinglePass() throws IOException {
+        Path first = randomFile("1.jpg", 30_000, 2);
+        Path second = randomFile("2.jpg", 40_000, 3);
+        byte[] readme = "# README".getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream single = new ByteArrayOutputStream();
+        ResumableZipWriter oneShot = new ResumableZipWriter(single, 0, List.of(), TIMESTAMP);
+        oneShot.writeDeflated("README.md", readme);
+        oneShot.writeStored("1.jpg", first, Files.size(first), crcOf(first));
+        oneShot.writeStored("2.jpg", second, Files.size(second), crcOf(second));
+        oneShot.finish();
+
+        ByteArrayOutputStream part1 = new ByteArrayOutputStream();
+        ResumableZipWriter before = new ResumableZipWriter(part1, 0, List.of(), TIMESTAMP);
+        before.writeDeflated("README.md", readme);
+        before.writeStored("1.jpg", first, Files.size(first), crcOf(first));
+
+        ByteArrayOutputStream part2 = new ByteArrayOutputStream();
+        ResumableZipWriter after = new ResumableZipWriter(part2, before.offset(), before.entries(), TIMESTAMP);
+        after.writeStored("2.jpg", second, Files.size(second), crcOf(second));
+        after.finish();
+
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        joined.write(part1.toByteArray());
+        joined.write(part2.toByteArray());
+        assertThat(joined.toByteArray()).isEqualTo(single.toByteArray());
+        assertThat(before.offset()).isEqualTo(part1.size());
+    }
+
+    @Test
+    @DisplayName("65535 エントリを超えると ZIP64 終端レコードで書かれ ZipFile で読める")
+    void writesZip64EndRecordForManyEntries() throws IOException {
+        int count = 70_000;
+        Path archive = dir.resolve("many.zip");
+        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(archive))) {
+            ResumableZipWriter zip = new ResumableZipWriter(out, 0, List.of(), TIMESTAMP);
+            for (int i = 0; i < count; i++) {
+                zip.writeDeflated("e/" + i, new byte[]{(byte) i});
+            }
+            zip.finish();
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertThat(zipFile.size()).isEqualTo(count);
+            assertThat(zipFile.getInputStream(zipFile.getEntry("e/69999")).readAllBytes())
+                    .containsExactly((byte) 69_999);
+        }
+    }
+
+    @Test
+    @DisplayName("一時ファイルのサイズが記録と異なる場合は IOException")
+    void rejectsSizeMismatch() throws IOException {
+        Path image = randomFile("short.jpg", 10, 4);
+        ResumableZipWriter zip = new ResumableZipWriter(new ByteArrayOutputStream(), 0, List.of(), TIMESTAMP);
+
+        assertThatThrownBy(() -> zip.writeStored("short.jpg", image, 11, crcOf(image)))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Path randomFile(String name, int size, long seed) throws IOException {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return Files.write(dir.resolve(name), data);
+    }
+
+    private static long crcOf(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,153 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.ScheduledJobRun;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ScheduledJobRunner} のユニットテスト。
+ *
+ * 範囲:
+ *   - ロックを取得できない場合はジョブを実行せずスキップする
+ *   - 実行後に処理件数・結果を実行履歴に記録し、最低保持時間つきでロックを解放する
+ *   - ジョブの例外は FAILED として記録し、ロックは解放する（例外は呼び出し元へ伝播しない）
+ *   - 実行中はリースを定期的に延長する
+ *   - 無効化時はロック・履歴なしでそのまま実行する
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduledJobRunnerTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+    private static final Duration LOCK_AT_LEAST = Duration.ofSeconds(30);
+
+    @Mock
+    private ScheduledJobStore store;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ScheduledJobRunner runner;
+
+    @AfterEach
+    void tearDown() {
+        if (runner != null) {
+            runner.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("他ノードがロックを保持している場合はジョブを実行しない")
+    void skipsWhenLockIsHeld() {
+        runner = newRunner(true, LEASE);
+        when(store.tryAcquire(eq("job"), anyString(), eq(LEASE))).thenReturn(false);
+        AtomicInteger calls = new AtomicInteger();
+
+        boolean ran = runner.run("job", () -> calls.incrementAndGet());
+
+        assertThat(ran).isFalse();
+        assertThat(calls).hasValue(0);
+        verify(store, never()).recordRun(any());
+        verify(store, never()).release(anyString(), anyString(), any());
+        assertThat(meterRegistry.counter(ScheduledJobRunner.METRIC_SKIPPED, "job", "job").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("実行後に処理件数を履歴に記録し、取得時と同じ所有者で最低保持時間つきに解放する")
+    void recordsRunAndReleases() {
+        runner = newRunner(true, LEASE);
+        when(store.tryAcquire(eq("job"), anyString(), eq(LEASE))).thenReturn(true);
+
+        boolean ran = runner.run("job", () -> 42L);
+
+        assertThat(ran).isTrue();
+        ArgumentCaptor<String> acquiredBy = ArgumentCaptor.forClass(String.class);
+        verify(store).tryAcquire(eq("job"), acquiredBy.capture(), eq(LEASE));
+        assertThat(acquiredBy.getValue()).startsWith("node-1#");
+        verify(store).release("job", acquiredBy.getValue(), LOCK_AT_LEAST);
+
+        ScheduledJobRun run = capturedRun();
+        assertThat(run.getJobName()).isEqualTo("job");
+        assertThat(run.getNode()).isEqualTo("node-1");
+        assertThat(run.getStatus()).isEqualTo(ScheduledJobRun.STATUS_COMPLETED);
+        assertThat(run.getRowsProcessed()).isEqualTo(42L);
+        assertThat(run.getFinishedAt()).isAfterOrEqualTo(run.getStartedAt());
+    }
+
+    @Test
+    @DisplayName("ジョブの例外は FAILED として記録し、ロックは解放する")
+    void recordsFailureAndReleases() {
+        runner = newRunner(true, LEASE);
+        when(store.tryAcquire(eq("job"), anyString(), eq(LEASE))).thenReturn(true);
+
+        boolean ran = runner.run("job", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(ran).isTrue();
+        verify(store).release(eq("job"), anyString(), eq(LOCK_AT_LEAST));
+        ScheduledJobRun run = capturedRun();
+        assertThat(run.getStatus()).isEqualTo(ScheduledJobRun.STATUS_FAILED);
+        assertThat(run.getRowsProcessed()).isNull();
+        assertThat(run.getErrorMessage()).contains("boom");
+    }
+
+    @Test
+    @DisplayName("実行中はリースを延長する")
+    void renewsLeaseWhileRunning() {
+        Duration shortLease = Duration.ofMillis(30);
+        runner = newRunner(true, shortLease);
+        when(store.tryAcquire(eq("job"), anyString(), eq(shortLease))).thenReturn(true);
+        when(store.renew(eq("job"), anyString(), eq(shortLease))).thenReturn(true);
+
+        runner.run("job", () -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        });
+
+        verify(store, atLeastOnce()).renew(eq("job"), anyString(), eq(shortLease));
+    }
+
+    @Test
+    @DisplayName("無効化時はロック・履歴なしでそのまま実行する")
+    void runsDirectlyWhenDisabled() {
+        runner = newRunner(false, LEASE);
+        AtomicInteger calls = new AtomicInteger();
+
+        boolean ran = runner.run("job", () -> calls.incrementAndGet());
+
+        assertThat(ran).isTrue();
+        assertThat(calls).hasValue(1);
+        verifyNoInteractions(store);
+    }
+
+    private ScheduledJobRunner newRunner(boolean enabled, Duration lease) {
+        return new ScheduledJobRunner(store, meterRegistry, enabled, lease, LOCK_AT_LEAST, "node-1");
+    }
+
+    private ScheduledJobRun capturedRun() {
+        ArgumentCaptor<ScheduledJobRun> captor = ArgumentCaptor.forClass(ScheduledJobRun.class);
+        verify(store).recordRun(captor.capture());
+        return captor.getValue();
+    }
+}
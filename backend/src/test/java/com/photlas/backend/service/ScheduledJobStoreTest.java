@@ -0,0 +1,114 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.ScheduledJobLock;
+import com.photlas.backend.repository.ScheduledJobLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ScheduledJobStore} のテスト（ローカル PostgreSQL 上の scheduled_job_locks）。
+ *
+ * 範囲:
+ *   - 空いているロックは取得でき、保持中は他の所有者が取得できない
+ *   - 解放後は取得できるが、最低保持時間内は保持されたまま
+ *   - リースが切れたロックは他の所有者が引き取れ、元の所有者は延長・解放できない
+ *   - 複数スレッドが同時に取得を試みても成功するのは 1 つだけ
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduledJobStoreTest {
+
+    private static final String JOB = "store-test-job";
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    private ScheduledJobStore store;
+
+    @Autowired
+    private ScheduledJobLockRepository lockRepository;
+
+    @BeforeEach
+    void setUp() {
+        lockRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("空いているロックは取得でき、保持中は他の所有者が取得できない")
+    void acquiresFreeLockExclusively() {
+        assertThat(store.tryAcquire(JOB, "node-a#1", LEASE)).isTrue();
+        assertThat(store.tryAcquire(JOB, "node-b#1", LEASE)).isFalse();
+
+        ScheduledJobLock lock = lockRepository.findById(JOB).orElseThrow();
+        assertThat(lock.getLockedBy()).isEqualTo("node-a#1");
+        assertThat(lock.getLockUntil()).isAfter(lock.getLockedAt());
+    }
+
+    @Test
+    @DisplayName("解放後は取得できるが、最低保持時間内は保持されたまま")
+    void releaseHonoursLockAtLeast() {
+        assertThat(store.tryAcquire(JOB, "node-a#1", LEASE)).isTrue();
+        assertThat(store.release(JOB, "node-a#1", Duration.ofMinutes(5))).isTrue();
+        assertThat(store.tryAcquire(JOB, "node-b#1", LEASE)).isFalse();
+
+        assertThat(store.tryAcquire("other-" + JOB, "node-a#2", LEASE)).isTrue();
+        assertThat(store.release("other-" + JOB, "node-a#2", Duration.ZERO)).isTrue();
+        assertThat(store.tryAcquire("other-" + JOB, "node-b#2", LEASE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("リースが切れたロックは引き取られ、元の所有者は延長・解放できない")
+    void expiredLeaseCanBeTakenOver() throws InterruptedException {
+        assertThat(store.tryAcquire(JOB, "node-a#1", Duration.ofMillis(50))).isTrue();
+        Thread.sleep(200);
+
+        assertThat(store.tryAcquire(JOB, "node-b#1", LEASE)).isTrue();
+        assertThat(store.renew(JOB, "node-a#1", LEASE)).isFalse();
+        assertThat(store.release(JOB, "node-a#1", Duration.ZERO)).isFalse();
+        assertThat(store.renew(JOB, "node-b#1", LEASE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("複数スレッドが同時に取得を試みても成功するのは 1 つだけ")
+    void concurrentAcquireHasSingleWinner() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String owner = "node-" + i + "#1";
+                Callable<Boolean> attempt = () -> {
+                    start.await();
+                    return store.tryAcquire(JOB, owner, LEASE);
+                };
+                results.add(executor.submit(attempt));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
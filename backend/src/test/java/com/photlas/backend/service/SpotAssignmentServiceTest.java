@@ -0,0 +1,140 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.repository.SpotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link SpotAssignmentService} のテスト。
+ *
+ * 範囲:
+ * - ロックするセル: 座標自身のセルを含み、200m 以内（WGS84 の楕円体上の距離）の 2 地点は互いのセルを含む。
+ *   経度は日付変更線で折り返す
+ * - 同じ場所への同時の割り当ては、先のトランザクションのコミットを待って同じスポットになる
+ * - トランザクションの外からは呼べない
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SpotAssignmentServiceTest {
+
+    @Autowired private SpotAssignmentService spotAssignmentService;
+    @Autowired private SpotRepository spotRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockBean private S3Service s3Service;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        spotRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("座標自身のセルを含み、都市部の緯度では 1〜4 セルになる")
+    void cellsAroundContainOwnCell() {
+        SortedSet<Integer> cells = SpotAssignmentService.cellsAround(35.681236, 139.767125);
+
+        assertThat(cells).hasSizeBetween(1, 4).contains(cellOf(35.681236, 139.767125));
+    }
+
+    @Test
+    @DisplayName("200m 以内の 2 地点は互いのセルをロック対象に含む")
+    void nearbyPointsShareCells() {
+        // 東西に約 150m 離れ、経度方向のセルの境界（139.768066... 度）をまたぐ 2 地点
+        double lat = 35.681236;
+        double lngA = 139.767300;
+        double lngB = 139.768950;
+
+        assertThat(cellOf(lat, lngA)).isNotEqualTo(cellOf(lat, lngB));
+
+        assertThat(SpotAssignmentService.cellsAround(lat, lngA)).contains(cellOf(lat, lngB));
+        assertThat(SpotAssignmentService.cellsAround(lat, lngB)).contains(cellOf(lat, lngA));
+    }
+
+    @Test
+    @DisplayName("赤道付近で南北に約 199m（WGS84 の楕円体上の距離）離れた 2 地点も互いのセルを含む")
+    void nearbyPointsOnEllipsoidShareCells() {
+        // 緯度 0 度のセルの境界をまたぎ、球の 1 度あたりの距離（約 111,195m）で見積もると 200m を超える 2 地点
+        double latA = -0.0017990;
+        double latB = 0.0000007;
+        double lng = 139.767125;
+
+        assertThat(cellOf(latA, lng)).isNotEqualTo(cellOf(latB, lng));
+
+        assertThat(SpotAssignmentService.cellsAround(latA, lng)).contains(cellOf(latB, lng));
+        assertThat(SpotAssignmentService.cellsAround(latB, lng)).contains(cellOf(latA, lng));
+    }
+
+    @Test
+    @DisplayName("日付変更線の近くでは反対側（経度 -180 度側）のセルも含む")
+    void cellsAroundWrapAtAntimeridian() {
+        SortedSet<Integer> cells = SpotAssignmentService.cellsAround(-17.0, 179.9995);
+
+        assertThat(cells).contains(cellOf(-17.0, -179.9995));
+    }
+
+    @Test
+    @DisplayName("同じ場所への同時の割り当ては、先のトランザクションのコミットを待って同じスポットになる")
+    void concurrentAssignmentsShareSpot() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstCreated = new CountDownLatch(1);
+
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Spot spot = spotAssignmentService.findOrCreateSpot(
+                    new BigDecimal("35.681236"), new BigDecimal("139.767125"), 1L);
+            firstCreated.countDown();
+            // コミット前に後の割り当てが検索を始める時間を作る
+            sleep(500);
+            return spot.getSpotId();
+        }));
+        assertThat(firstCreated.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> transaction.execute(status ->
+                spotAssignmentService.findOrCreateSpot(
+                        new BigDecimal("35.681300"), new BigDecimal("139.767300"), 2L).getSpotId()));
+
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(first.get(10, TimeUnit.SECONDS));
+        assertThat(spotRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("トランザクションの外から呼ぶと例外になる（ロックをコミットまで保持できないため）")
+    void requiresTransaction() {
+        assertThatThrownBy(() -> spotAssignmentService.findOrCreateSpot(
+                new BigDecimal("35.681236"), new BigDecimal("139.767125"), 1L))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private static int cellOf(double latitude, double longitude) {
+        int cells = 1 << SpotAssignmentService.CELL_BITS;
+        int x = (int) Math.floor((longitude + 180) / (360.0 / cells));
+        int y = (int) Math.floor((latitude + 90) / (180.0 / cells));
+        return x << SpotAssignmentService.CELL_BITS | y;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
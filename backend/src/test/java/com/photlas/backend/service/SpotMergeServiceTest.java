@@ -0,0 +1,121 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.Photo;
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.entity.User;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import com.photlas.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SpotMergeService} のテスト。
+ *
+ * 範囲:
+ * - 200m 以内の新しいスポットの写真を古いスポットへ移し、新しいスポットを削除する
+ * - 離れたスポットはそのまま残す
+ * - A←B←C の連鎖は B を A へ統合したあと、A から 200m を超える C は残す
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SpotMergeServiceTest {
+
+    @Autowired private SpotMergeService spotMergeService;
+    @Autowired private SpotRepository spotRepository;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockBean private S3Service s3Service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+
+        String shortId = String.valueOf(System.nanoTime()).substring(0, 9);
+        user = new User();
+        user.setUsername("m" + shortId);
+        user.setEmail("m" + shortId + "@example.com");
+        user.setPasswordHash("dummy");
+        user.setRole(CodeConstants.ROLE_USER);
+        user = userRepository.save(user);
+    }
+
+    private Spot saveSpot(String lat, String lng) {
+        Spot s = new Spot();
+        s.setLatitude(new BigDecimal(lat));
+        s.setLongitude(new BigDecimal(lng));
+        s.setCreatedByUserId(user.getId());
+        return spotRepository.saveAndFlush(s);
+    }
+
+    private Photo savePhoto(Spot spot) {
+        Photo p = new Photo();
+        p.setSpotId(spot.getSpotId());
+        p.setUserId(user.getId());
+        p.setS3ObjectKey("uploads/" + System.nanoTime() + ".jpg");
+        p.setModerationStatus(CodeConstants.MODERATION_STATUS_PUBLISHED);
+        return photoRepository.saveAndFlush(p);
+    }
+
+    @Test
+    @DisplayName("200m 以内の新しいスポットの写真を古いスポットへ移し、新しいスポットを削除する")
+    void mergesNearbyDuplicate() {
+        Spot keep = saveSpot("35.681236", "139.767125");
+        Spot duplicate = saveSpot("35.681300", "139.767200");
+        Spot far = saveSpot("35.690000", "139.767125");
+        Photo keepPhoto = savePhoto(keep);
+        Photo movedPhoto1 = savePhoto(duplicate);
+        Photo movedPhoto2 = savePhoto(duplicate);
+        Photo farPhoto = savePhoto(far);
+
+        spotMergeService.mergeDuplicateSpots();
+
+        assertThat(spotRepository.findAll()).extracting(Spot::getSpotId)
+                .containsExactlyInAnyOrder(keep.getSpotId(), far.getSpotId());
+        assertThat(photoRepository.findById(keepPhoto.getPhotoId())).get()
+                .extracting(Photo::getSpotId).isEqualTo(keep.getSpotId());
+        assertThat(photoRepository.findById(movedPhoto1.getPhotoId())).get()
+                .extracting(Photo::getSpotId).isEqualTo(keep.getSpotId());
+        assertThat(photoRepository.findById(movedPhoto2.getPhotoId())).get()
+                .extracting(Photo::getSpotId).isEqualTo(keep.getSpotId());
+        assertThat(photoRepository.findById(farPhoto.getPhotoId())).get()
+                .extracting(Photo::getSpotId).isEqualTo(far.getSpotId());
+    }
+
+    @Test
+    @DisplayName("連鎖した重複は古いスポットへ統合し、統合先から 200m を超えるスポットは残す")
+    void mergesChainTowardsOldest() {
+        // 東へ約 150m ずつ並ぶ 3 スポット（A と C は約 300m 離れている）
+        Spot a = saveSpot("35.681236", "139.767125");
+        Spot b = saveSpot("35.681236", "139.768785");
+        Spot c = saveSpot("35.681236", "139.770445");
+        savePhoto(a);
+        Photo photoB = savePhoto(b);
+        Photo photoC = savePhoto(c);
+
+        spotMergeService.mergeDuplicateSpots();
+
+        assertThat(spotRepository.findAll()).extracting(Spot::getSpotId)
+                .containsExactlyInAnyOrder(a.getSpotId(), c.getSpotId());
+        assertThat(photoRepository.findById(photoB.getPhotoId())).get()
+                .extracting(Photo::getSpotId).isEqualTo(a.getSpotId());
+        assertThat(photoRepository.findById(photoC.getPhotoId())).get()
+                .extracting(Photo::getSpotId).isEqualTo(c.getSpotId());
+    }
+}
@@ -0,0 +1,214 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.NearbySpotsResponse;
+import com.photlas.backend.dto.SpotFilter;
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.Photo;
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.entity.User;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import com.photlas.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 近くのスポット一覧（{@link SpotService#getNearbySpots}）の統合テスト。
+ *
+ * 範囲:
+ * - 距離の近い順に返し、半径の外と公開写真の無いスポットは返さない
+ * - カーソルで続きを読むと、同じ距離のスポットもページの境目で重複・欠落しない
+ * - フィルター（天気）に合う写真のあるスポットだけを返す
+ * - 枚数とサムネイルは写真の公開・非公開のイベントで作り直したスポットの要約から返す
+ * - 不正なカーソル・範囲外の件数は IllegalArgumentException
+ *
+ * 要約の作り直しはトランザクションのコミット直前に行われるため、テスト全体をトランザクションで囲まず、
+ * 写真の保存（コミット済み）の後にトランザクションの外でイベントを発行して即時に作り直させる。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SpotServiceNearbyTest {
+
+    private static final BigDecimal ORIGIN_LAT = new BigDecimal("35.681236");
+    private static final BigDecimal ORIGIN_LNG = new BigDecimal("139.767125");
+
+    @Autowired private SpotService spotService;
+    @Autowired private SpotRepository spotRepository;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CacheInvalidationBus cacheInvalidationBus;
+
+    @MockBean private S3Service s3Service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+
+        String shortId = String.valueOf(System.nanoTime()).substring(0, 9);
+        user = new User();
+        user.setUsername("n" + shortId);
+        user.setEmail("n" + shortId + "@example.com");
+        user.setPasswordHash("dummy");
+        user.setRole(CodeConstants.ROLE_USER);
+        user = userRepository.save(user);
+
+        when(s3Service.generateThumbnailCdnUrl(anyString())).thenAnswer(invocation -> "cdn/" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    private Spot saveSpot(String lat, String lng) {
+        Spot s = new Spot();
+        s.setLatitude(new BigDecimal(lat));
+        s.setLongitude(new BigDecimal(lng));
+        s.setCreatedByUserId(user.getId());
+        return spotRepository.saveAndFlush(s);
+    }
+
+    /** 写真を保存し、公開・非公開のイベントを発行する（スポットの要約が作り直される） */
+    private Photo savePhoto(Spot spot, int moderationStatus, Integer weather, LocalDateTime shotAt) {
+        Photo p = new Photo();
+        p.setSpotId(spot.getSpotId());
+        p.setUserId(user.getId());
+        p.setS3ObjectKey("uploads/" + System.nanoTime() + ".jpg");
+        p.setModerationStatus(moderationStatus);
+        p.setWeather(weather);
+        p.setShotAt(shotAt);
+        Photo saved = photoRepository.saveAndFlush(p);
+        cacheInvalidationBus.publishPhotoStatus(saved.getPhotoId(), moderationStatus);
+        return saved;
+    }
+
+    private Photo savePublishedPhoto(Spot spot) {
+        return savePhoto(spot, CodeConstants.MODERATION_STATUS_PUBLISHED, null, null);
+    }
+
+    private NearbySpotsResponse nearby(double radiusMeters, int limit, String cursor) {
+        return nearby(radiusMeters, limit, cursor, null);
+    }
+
+    private NearbySpotsResponse nearby(double radiusMeters, int limit, String cursor, List<Integer> weathers) {
+        return spotService.getNearbySpots(ORIGIN_LAT, ORIGIN_LNG, radiusMeters, limit, cursor,
+                new SpotFilter(null, null, null, weathers, null, null, null, null, null, null, null));
+    }
+
+    private static List<Long> spotIds(NearbySpotsResponse response) {
+        return response.spots().stream().map(NearbySpotsResponse.NearbySpot::spotId).toList();
+    }
+
+    @Test
+    @DisplayName("距離の近い順に返し、半径の外と公開写真の無いスポットは返さない")
+    void returnsSpotsByDistanceWithinRadius() {
+        // 東へ約 90m・270m・180m、約 1.8km
+        Spot near = saveSpot("35.681236", "139.768125");
+        Spot far = saveSpot("35.681236", "139.770125");
+        Spot middle = saveSpot("35.681236", "139.769125");
+        Spot outside = saveSpot("35.681236", "139.787125");
+        Spot pendingOnly = saveSpot("35.681236", "139.767625");
+        savePublishedPhoto(near);
+        savePublishedPhoto(far);
+        savePublishedPhoto(middle);
+        savePublishedPhoto(outside);
+        savePhoto(pendingOnly, CodeConstants.MODERATION_STATUS_PENDING_REVIEW, null, null);
+
+        NearbySpotsResponse response = nearby(1_000, 20, null);
+
+        assertThat(spotIds(response)).containsExactly(near.getSpotId(), middle.getSpotId(), far.getSpotId());
+        assertThat(response.spots()).extracting(NearbySpotsResponse.NearbySpot::distanceMeters)
+                .isSorted()
+                .allSatisfy(distance -> assertThat(distance).isBetween(80.0, 300.0));
+        assertThat(response.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("カーソルで続きを読むと、同じ距離のスポットもページの境目で重複・欠落しない")
+    void pagesWithCursor() {
+        List<Long> expected = new ArrayList<>();
+        for (String lng : List.of("139.768125", "139.768125", "139.768125", "139.769125", "139.770125")) {
+            Spot spot = saveSpot("35.681236", lng);
+            savePublishedPhoto(spot);
+            expected.add(spot.getSpotId());
+        }
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            NearbySpotsResponse page = nearby(1_000, 2, cursor);
+            actual.addAll(spotIds(page));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("フィルター（天気）に合う写真のあるスポットだけを返す")
+    void appliesFilters() {
+        Spot sunny = saveSpot("35.681236", "139.768125");
+        Spot rainy = saveSpot("35.681236", "139.769125");
+        savePhoto(sunny, CodeConstants.MODERATION_STATUS_PUBLISHED, CodeConstants.WEATHER_SUNNY, null);
+        savePhoto(rainy, CodeConstants.MODERATION_STATUS_PUBLISHED, CodeConstants.WEATHER_RAIN, null);
+
+        assertThat(spotIds(nearby(1_000, 20, null, List.of(CodeConstants.WEATHER_RAIN))))
+                .containsExactly(rainy.getSpotId());
+    }
+
+    @Test
+    @DisplayName("枚数とサムネイル（最新の撮影日時の写真）は公開・非公開に合わせて変わる")
+    void followsSpotSummary() {
+        Spot spot = saveSpot("35.681236", "139.768125");
+        savePhoto(spot, CodeConstants.MODERATION_STATUS_PUBLISHED, null, LocalDateTime.of(2024, 1, 1, 0, 0));
+        Photo latest = savePhoto(spot, CodeConstants.MODERATION_STATUS_PUBLISHED, null,
+                LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        NearbySpotsResponse.NearbySpot before = nearby(1_000, 20, null).spots().get(0);
+        assertThat(before.photoCount()).isEqualTo(2);
+        assertThat(before.thumbnailUrl()).isEqualTo("cdn/" + latest.getS3ObjectKey());
+
+        latest.setModerationStatus(CodeConstants.MODERATION_STATUS_REMOVED);
+        photoRepository.save(latest);
+        cacheInvalidationBus.publishPhotoStatus(latest.getPhotoId(), CodeConstants.MODERATION_STATUS_REMOVED);
+
+        NearbySpotsResponse.NearbySpot after = nearby(1_000, 20, null).spots().get(0);
+        assertThat(after.photoCount()).isEqualTo(1);
+        assertThat(after.thumbnailUrl()).isNotEqualTo("cdn/" + latest.getS3ObjectKey());
+    }
+
+    @Test
+    @DisplayName("不正なカーソル・範囲外の件数は IllegalArgumentException")
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> nearby(1_000, 20, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> nearby(1_000, SpotService.MAX_NEARBY_LIMIT + 1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> nearby(SpotService.MAX_NEARBY_RADIUS_METERS + 1, 20, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,170 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.SpotResponse;
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.Photo;
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.entity.User;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import com.photlas.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 表示範囲（緯度経度の矩形）によるスポット検索の統合テスト。
+ *
+ * 範囲:
+ * - 矩形の境界上のスポットを含む（geom の && と BETWEEN の組み合わせが従来の BETWEEN と同じ範囲になる）
+ * - 経度の幅が 180 度を超える広い範囲
+ * - 日付変更線をまたぐ範囲（west > east）は両側のスポットを写真枚数の多い順に返す
+ * - 本人 PENDING 版（getMinePendingSpots）も日付変更線をまたげ、両側の結果を写真枚数の多い順に返す
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SpotServiceViewportTest {
+
+    @Autowired private SpotService spotService;
+    @Autowired private SpotRepository spotRepository;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockBean private S3Service s3Service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+
+        String shortId = String.valueOf(System.nanoTime()).substring(0, 9);
+        user = new User();
+        user.setUsername("v" + shortId);
+        user.setEmail("v" + shortId + "@example.com");
+        user.setPasswordHash("dummy");
+        user.setRole(CodeConstants.ROLE_USER);
+        user = userRepository.save(user);
+    }
+
+    private Spot saveSpot(String lat, String lng) {
+        Spot s = new Spot();
+        s.setLatitude(new BigDecimal(lat));
+        s.setLongitude(new BigDecimal(lng));
+        s.setCreatedByUserId(user.getId());
+        return spotRepository.saveAndFlush(s);
+    }
+
+    private void savePhotos(Spot spot, int count, int moderationStatus) {
+        for (int i = 0; i < count; i++) {
+            Photo p = new Photo();
+            p.setSpotId(spot.getSpotId());
+            p.setUserId(user.getId());
+            p.setS3ObjectKey("uploads/" + System.nanoTime() + "-" + i + ".jpg");
+            p.setModerationStatus(moderationStatus);
+            photoRepository.saveAndFlush(p);
+        }
+    }
+
+    private List<Long> getSpotIds(String north, String south, String east, String west) {
+        return spotService.getSpots(new BigDecimal(north), new BigDecimal(south), new BigDecimal(east),
+                        new BigDecimal(west), null, null, null, null).stream()
+                .map(SpotResponse::getSpotId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("矩形の境界上のスポットを含み、外側のスポットは含まない")
+    void includesSpotsOnBoundary() {
+        Spot corner = saveSpot("35.600000", "139.700000");
+        Spot edge = saveSpot("35.650000", "139.800000");
+        Spot outside = saveSpot("35.599999", "139.750000");
+        savePhotos(corner, 1, CodeConstants.MODERATION_STATUS_PUBLISHED);
+        savePhotos(edge, 1, CodeConstants.MODERATION_STATUS_PUBLISHED);
+        savePhotos(outside, 1, CodeConstants.MODERATION_STATUS_PUBLISHED);
+
+        assertThat(getSpotIds("35.700000", "35.600000", "139.800000", "139.700000"))
+                .containsExactlyInAnyOrder(corner.getSpotId(), edge.getSpotId());
+    }
+
+    @Test
+    @DisplayName("経度の幅が 180 度を超える範囲でも範囲内のスポットをすべて返す")
+    void wideViewport() {
+        Spot tokyo = saveSpot("35.681200", "139.767100");
+        Spot london = saveSpot("51.507400", "-0.127800");
+        Spot honolulu = saveSpot("21.306900", "-157.858300");
+        savePhotos(tokyo, 1, CodeConstants.MODERATION_STATUS_PUBLISHED);
+        savePhotos(london, 1, CodeConstants.MODERATION_STATUS_PUBLISHED);
+        savePhotos(honolulu, 1, CodeConstants.MODERATION_STATUS_PUBLISHED);
+
+        assertThat(getSpotIds("60", "30", "150", "-10"))
+                .containsExactlyInAnyOrder(tokyo.getSpotId(), london.getSpotId());
+    }
+
+    @Test
+    @DisplayName("日付変更線をまたぐ範囲は両側のスポットを写真枚数の多い順に返す")
+    void crossesAntimeridian() {
+        Spot fiji = saveSpot("-17.713400", "178.065000");
+        Spot samoa = saveSpot("-13.759000", "-172.104600");
+        Spot tokyo = saveSpot("35.681200", "139.767100");
+        savePhotos(fiji, 1, CodeConstants.MODERATION_STATUS_PUBLISHED);
+        savePhotos(samoa, 3, CodeConstants.MODERATION_STATUS_PUBLISHED);
+        savePhotos(tokyo, 2, CodeConstants.MODERATION_STATUS_PUBLISHED);
+
+        assertThat(getSpotIds("0", "-30", "-170", "170"))
+                .containsExactly(samoa.getSpotId(), fiji.getSpotId());
+    }
+
+    @Test
+    @DisplayName("本人 PENDING 版も日付変更線をまたぐ範囲の両側のスポットを返す")
+    void minePendingCrossesAntimeridian() {
+        Spot fiji = saveSpot("-17.713400", "178.065000");
+        Spot samoa = saveSpot("-13.759000", "-172.104600");
+        savePhotos(fiji, 1, CodeConstants.MODERATION_STATUS_PENDING_REVIEW);
+        savePhotos(samoa, 1, CodeConstants.MODERATION_STATUS_PENDING_REVIEW);
+
+        List<SpotResponse> result = spotService.getMinePendingSpots(new BigDecimal("0"), new BigDecimal("-30"),
+                new BigDecimal("-170"), new BigDecimal("170"), user.getId());
+
+        assertThat(result).extracting(SpotResponse::getSpotId)
+                .containsExactlyInAnyOrder(fiji.getSpotId(), samoa.getSpotId());
+    }
+
+    @Test
+    @DisplayName("本人 PENDING 版も日付変更線の両側の結果を写真枚数の多い順に並べる")
+    void minePendingSortsMergedRangesByPhotoCount() {
+        Spot fiji = saveSpot("-17.713400", "178.065000");
+        Spot samoa = saveSpot("-13.759000", "-172.104600");
+        savePhotos(fiji, 1, CodeConstants.MODERATION_STATUS_PENDING_REVIEW);
+        savePhotos(samoa, 3, CodeConstants.MODERATION_STATUS_PENDING_REVIEW);
+
+        List<SpotResponse> result = spotService.getMinePendingSpots(new BigDecimal("0"), new BigDecimal("-30"),
+                new BigDecimal("-170"), new BigDecimal("170"), user.getId());
+
+        assertThat(result).extracting(SpotResponse::getSpotId)
+                .containsExactly(samoa.getSpotId(), fiji.getSpotId());
+    }
+
+    @Test
+    @DisplayName("経度の範囲の分割: west <= east はそのまま、west > east は日付変更線で 2 つに分ける")
+    void longitudeRanges() {
+        assertThat(SpotService.longitudeRanges(new BigDecimal("-180"), new BigDecimal("180")))
+                .containsExactly(new SpotService.LongitudeRange(new BigDecimal("-180"), new BigDecimal("180")));
+        assertThat(SpotService.longitudeRanges(new BigDecimal("170"), new BigDecimal("-170")))
+                .containsExactly(
+                        new SpotService.LongitudeRange(new BigDecimal("170"), new BigDecimal("180")),
+                        new SpotService.LongitudeRange(new BigDecimal("-180"), new BigDecimal("-170")));
+    }
+}
@@ -0,0 +1,172 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.SpotHistogramResponse;
+import com.photlas.backend.entity.CodeConstants;
+import com.photlas.backend.entity.Photo;
+import com.photlas.backend.entity.Spot;
+import com.photlas.backend.entity.User;
+import com.photlas.backend.exception.SpotNotFoundException;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotRepository;
+import com.photlas.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * スポットの公開写真の枚数の分布（{@link SpotSummaryService#getHistogram}）のテスト。
+ *
+ * 範囲:
+ * - 公開写真を撮影月 × 時間帯 × 天気で数え、不明な区分は 0 に数える。公開前の写真は数えない
+ * - 写真の編集（天気の変更）・非公開のイベントで分布を作り直す
+ * - 月・時間帯・天気のフィルターに合う枚数を分布から数える
+ * - 存在しないスポットは SpotNotFoundException
+ *
+ * 分布の作り直しはトランザクションのコミット直前に行われるため、テスト全体をトランザクションで囲まず、
+ * 写真の保存（コミット済み）の後にトランザクションの外でイベントを発行して即時に作り直させる。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SpotSummaryServiceTest {
+
+    @Autowired private SpotSummaryService spotSummaryService;
+    @Autowired private SpotRepository spotRepository;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CacheInvalidationBus cacheInvalidationBus;
+
+    @MockBean private S3Service s3Service;
+
+    private User user;
+    private Spot spot;
+
+    @BeforeEach
+    void setUp() {
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+
+        String shortId = String.valueOf(System.nanoTime()).substring(0, 9);
+        user = new User();
+        user.setUsername("h" + shortId);
+        user.setEmail("h" + shortId + "@example.com");
+        user.setPasswordHash("dummy");
+        user.setRole(CodeConstants.ROLE_USER);
+        user = userRepository.save(user);
+
+        spot = new Spot();
+        spot.setLatitude(new BigDecimal("35.681236"));
+        spot.setLongitude(new BigDecimal("139.767125"));
+        spot.setCreatedByUserId(user.getId());
+        spot = spotRepository.saveAndFlush(spot);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        photoRepository.deleteAll();
+        spotRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    /** 写真を保存し、公開・非公開のイベントを発行する */
+    private Photo savePhoto(int moderationStatus, LocalDateTime shotAt, Integer timeOfDay, Integer weather) {
+        Photo p = new Photo();
+        p.setSpotId(spot.getSpotId());
+        p.setUserId(user.getId());
+        p.setS3ObjectKey("uploads/" + System.nanoTime() + ".jpg");
+        p.setModerationStatus(moderationStatus);
+        p.setShotAt(shotAt);
+        p.setTimeOfDay(timeOfDay);
+        p.setWeather(weather);
+        Photo saved = photoRepository.saveAndFlush(p);
+        cacheInvalidationBus.publishPhotoStatus(saved.getPhotoId(), moderationStatus);
+        return saved;
+    }
+
+    private Photo saveAugustEveningPhoto(Integer weather) {
+        return savePhoto(CodeConstants.MODERATION_STATUS_PUBLISHED, LocalDateTime.of(2024, 8, 10, 18, 0),
+                CodeConstants.TIME_OF_DAY_EVENING, weather);
+    }
+
+    private List<List<Integer>> cells(SpotHistogramResponse response) {
+        return response.cells().stream()
+                .map(cell -> List.of(cell[0], cell[1], cell[2], cell[3]))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("公開写真を撮影月 × 時間帯 × 天気で数え、不明な区分は 0 に数える")
+    void countsPublishedPhotosByBucket() {
+        saveAugustEveningPhoto(CodeConstants.WEATHER_SUNNY);
+        saveAugustEveningPhoto(CodeConstants.WEATHER_SUNNY);
+        saveAugustEveningPhoto(CodeConstants.WEATHER_RAIN);
+        savePhoto(CodeConstants.MODERATION_STATUS_PUBLISHED, null, null, null);
+        savePhoto(CodeConstants.MODERATION_STATUS_PENDING_REVIEW, LocalDateTime.of(2024, 1, 1, 9, 0),
+                CodeConstants.TIME_OF_DAY_MORNING, CodeConstants.WEATHER_SNOW);
+
+        SpotHistogramResponse response = spotSummaryService.getHistogram(spot.getSpotId(), null, null, null);
+
+        assertThat(response.photoCount()).isEqualTo(4);
+        assertThat(cells(response)).containsExactly(
+                List.of(0, 0, 0, 1),
+                List.of(8, CodeConstants.TIME_OF_DAY_EVENING, CodeConstants.WEATHER_SUNNY, 2),
+                List.of(8, CodeConstants.TIME_OF_DAY_EVENING, CodeConstants.WEATHER_RAIN, 1));
+    }
+
+    @Test
+    @DisplayName("天気の編集と非公開のイベントで分布を作り直す")
+    void rebuildsOnUpdateAndRemoval() {
+        Photo edited = saveAugustEveningPhoto(CodeConstants.WEATHER_SUNNY);
+        Photo removed = saveAugustEveningPhoto(CodeConstants.WEATHER_SUNNY);
+
+        edited.setWeather(CodeConstants.WEATHER_CLOUDY);
+        photoRepository.save(edited);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Type.PHOTO_UPDATED, edited.getPhotoId());
+        removed.setModerationStatus(CodeConstants.MODERATION_STATUS_REMOVED);
+        photoRepository.save(removed);
+        cacheInvalidationBus.publishPhotoStatus(removed.getPhotoId(), CodeConstants.MODERATION_STATUS_REMOVED);
+
+        assertThat(cells(spotSummaryService.getHistogram(spot.getSpotId(), null, null, null))).containsExactly(
+                List.of(8, CodeConstants.TIME_OF_DAY_EVENING, CodeConstants.WEATHER_CLOUDY, 1));
+    }
+
+    @Test
+    @DisplayName("月・時間帯・天気のフィルターに合う枚数を数え、不明な区分は絞り込むと数えない")
+    void countsFilteredPhotos() {
+        saveAugustEveningPhoto(CodeConstants.WEATHER_SUNNY);
+        saveAugustEveningPhoto(CodeConstants.WEATHER_RAIN);
+        savePhoto(CodeConstants.MODERATION_STATUS_PUBLISHED, LocalDateTime.of(2024, 1, 5, 8, 0),
+                CodeConstants.TIME_OF_DAY_MORNING, CodeConstants.WEATHER_SUNNY);
+        savePhoto(CodeConstants.MODERATION_STATUS_PUBLISHED, null, null, CodeConstants.WEATHER_SUNNY);
+
+        Long spotId = spot.getSpotId();
+        assertThat(spotSummaryService.getHistogram(spotId, List.of(8), null, null).photoCount()).isEqualTo(2);
+        assertThat(spotSummaryService.getHistogram(spotId, null, null,
+                List.of(CodeConstants.WEATHER_SUNNY)).photoCount()).isEqualTo(3);
+        assertThat(spotSummaryService.getHistogram(spotId, List.of(1, 8),
+                List.of(CodeConstants.TIME_OF_DAY_EVENING), List.of(CodeConstants.WEATHER_SUNNY)).photoCount())
+                .isEqualTo(1);
+        // フィルター無しは全件、分布自体はフィルターで絞り込まない
+        SpotHistogramResponse all = spotSummaryService.getHistogram(spotId, List.of(), null, null);
+        assertThat(all.photoCount()).isEqualTo(4);
+        assertThat(spotSummaryService.getHistogram(spotId, List.of(8), null, null).cells()).hasSize(all.cells().size());
+    }
+
+    @Test
+    @DisplayName("存在しないスポットは SpotNotFoundException")
+    void rejectsUnknownSpot() {
+        assertThatThrownBy(() -> spotSummaryService.getHistogram(spot.getSpotId() + 1000, null, null, null))
+                .isInstanceOf(SpotNotFoundException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.photlas.backend.service;
+
+import com.photlas.backend.dto.SpotFilter;
+import com.photlas.backend.repository.PhotoRepository;
+import com.photlas.backend.repository.SpotTileVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link SpotTileService} のユニットテスト。
+ *
+ * 範囲:
+ *   - 版数の無いタイルは 0、範囲指定の版数一覧は全タイルを埋める
+ *   - ズーム 8 未満の版数は子タイルの版数の合計
+ *   - 範囲が不正・広すぎる場合は IllegalArgumentException
+ *   - 1 トランザクション分の無効化イベントの写真・ユーザーのスポットを含むタイルの版数を、まとめて 1 回上げる
+ *   - フィルターのハッシュは指定順・重複に依らず、条件が違えば変わる
+ */
+@ExtendWith(MockitoExtension.class)
+class SpotTileServiceTest {
+
+    @Mock
+    private SpotTileVersionRepository repository;
+    @Mock
+    private PhotoRepository photoRepository;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private SpotTileService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SpotTileService(repository, new AffectedSpotResolver(photoRepository), cacheInvalidationBus);
+    }
+
+    @Test
+    @DisplayName("版数の無いタイルは 0 を返す")
+    void versionDefaultsToZero() {
+        when(repository.findVersions(10, 0, 909, 909, 403, 403)).thenReturn(List.of());
+        when(repository.findVersions(10, 0, 909, 909, 404, 404))
+                .thenReturn(List.<Object[]>of(new Object[]{909, 404, 3L}));
+
+        assertThat(service.version(new SpotTile(10, 909, 403))).isZero();
+        assertThat(service.version(new SpotTile(10, 909, 404))).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("ズーム 8 未満のタイルの版数は、ズーム 8 の子タイルの版数の合計で読む")
+    void lowZoomVersionsAreDerivedFromChildTiles() {
+        when(repository.findVersions(SpotTileService.MIN_VERSIONED_ZOOM, 3, 1, 1, 0, 1))
+                .thenReturn(List.<Object[]>of(new Object[]{1, 0, 7L}));
+        when(repository.findVersions(SpotTileService.MIN_VERSIONED_ZOOM, 5, 0, 0, 0, 0))
+                .thenReturn(List.<Object[]>of(new Object[]{0, 0, 12L}));
+
+        assertThat(service.versions(5, 1, 0, 1, 1)).containsExactly(
+                Map.entry("1/0", 7L), Map.entry("1/1", 0L));
+        assertThat(service.version(new SpotTile(3, 0, 0))).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("範囲指定の版数一覧は行の無いタイルを 0 で埋める")
+    void versionsFillMissingTiles() {
+        when(repository.findVersions(10, 0, 909, 910, 403, 404))
+                .thenReturn(List.<Object[]>of(new Object[]{910, 403, 5L}));
+
+        Map<String, Long> versions = service.versions(10, 909, 403, 910, 404);
+
+        assertThat(versions).containsExactly(
+                Map.entry("909/403", 0L), Map.entry("910/403", 5L),
+                Map.entry("909/404", 0L), Map.entry("910/404", 0L));
+    }
+
+    @Test
+    @DisplayName("範囲が逆転・タイル外・広すぎる場合は IllegalArgumentException")
+    void versionsRejectInvalidRanges() {
+        assertThatThrownBy(() -> service.versions(10, 910, 403, 909, 403))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.versions(1, 0, 0, 2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.versions(10, 0, 0, 16, 15))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repository, never()).findVersions(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("1 トランザクション分のイベントの写真・ユーザーのスポットを含むタイルの版数を、まとめて 1 回上げる")
+    void bumpsVersionsOnPublish() {
+        ArgumentCaptor<CacheInvalidationBus.PublishHook> hook =
+                ArgumentCaptor.forClass(CacheInvalidationBus.PublishHook.class);
+        verify(cacheInvalidationBus).addPublishHook(hook.capture());
+        when(photoRepository.findSpotIdsByPhotoIdIn(Set.of(1L, 2L))).thenReturn(List.of(20L, 10L));
+        when(photoRepository.findSpotIdsByUserIdIn(Set.of(3L, 4L))).thenReturn(List.of(30L, 10L));
+
+        hook.getValue().onPublish(List.of(
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_PUBLISHED, 1L),
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_UPDATED, 2L),
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.TAG_CHANGED, 2L),
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.USER_DELETED, 3L),
+                new CacheInvalidationBus.Event(CacheInvalidationBus.Type.USER_RESTORED, 4L)));
+
+        verify(repository).bumpForSpots(new TreeSet<>(List.of(10L, 20L, 30L)),
+                SpotTileService.MIN_VERSIONED_ZOOM, SpotTile.MAX_ZOOM);
+    }
+
+    @Test
+    @DisplayName("影響するスポットが無ければ版数を上げない")
+    void skipsBumpWithoutSpots() {
+        ArgumentCaptor<CacheInvalidationBus.PublishHook> hook =
+                ArgumentCaptor.forClass(CacheInvalidationBus.PublishHook.class);
+        verify(cacheInvalidationBus).addPublishHook(hook.capture());
+        when(photoRepository.findSpotIdsByPhotoIdIn(Set.of(1L))).thenReturn(List.of());
+
+        hook.getValue().onPublish(List.of(new CacheInvalidationBus.Event(CacheInvalidationBus.Type.PHOTO_REMOVED, 1L)));
+
+        verify(repository, never()).bumpForSpots(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("フィルターのハッシュは指定順・重複に依らず、条件が違えば変わる")
+    void filterHashIsCanonical() {
+        String hash = SpotTileService.filterHash(new SpotFilter(List.of(2, 1), List.of(5), null, null,
+                null, null, null, List.of("VERTICAL", "HORIZONTAL"), null, null, List.of(9L, 3L, 9L)));
+        String reordered = SpotTileService.filterHash(new SpotFilter(List.of(1, 2), List.of(5), null, null,
+                null, null, null, List.of("HORIZONTAL", "VERTICAL"), null, null, List.of(3L, 9L)));
+        String differentField = SpotTileService.filterHash(new SpotFilter(List.of(1, 2), null, List.of(5), null,
+                null, null, null, List.of("HORIZONTAL", "VERTICAL"), null, null, List.of(3L, 9L)));
+        String none = SpotTileService.filterHash(SpotFilter.NONE);
+
+        assertThat(hash).hasSize(16).isEqualTo(reordered);
+        assertThat(differentField).isNotEqualTo(hash);
+        assertThat(none).isNotEqualTo(hash)
+                .isEqualTo(SpotTileService.filterHash(new SpotFilter(List.of(), List.of(), List.of(), List.of(),
+                        null, List.of(), null, List.of(), List.of(), null, List.of())));
+    }
+}
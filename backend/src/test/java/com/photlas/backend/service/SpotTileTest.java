@@ -0,0 +1,71 @@
+package com.photlas.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link SpotTile} のユニットテスト。
+ *
+ * 範囲:
+ *   - 座標を含むタイル番号（スリッピーマップの定義どおり）
+ *   - タイルの範囲（外側に丸め、最も北・南の段は極まで含める）
+ *   - 範囲外のズーム・タイル番号は IllegalArgumentException
+ */
+class SpotTileTest {
+
+    @Test
+    @DisplayName("東京駅を含むタイルはスリッピーマップの定義どおりの番号になる")
+    void containingMatchesSlippyMapNumbering() {
+        assertThat(SpotTile.containing(0, 35.681236, 139.767125)).isEqualTo(new SpotTile(0, 0, 0));
+        assertThat(SpotTile.containing(10, 35.681236, 139.767125)).isEqualTo(new SpotTile(10, 909, 403));
+        assertThat(SpotTile.containing(18, 35.681236, 139.767125)).isEqualTo(new SpotTile(18, 232847, 103226));
+    }
+
+    @Test
+    @DisplayName("経度 180 度・極付近はタイルの端に丸める")
+    void containingClampsToEdges() {
+        assertThat(SpotTile.containing(2, 89.9, 180)).isEqualTo(new SpotTile(2, 3, 0));
+        assertThat(SpotTile.containing(2, -89.9, -180)).isEqualTo(new SpotTile(2, 0, 3));
+    }
+
+    @Test
+    @DisplayName("タイルの範囲は座標を含み、外側に丸める")
+    void boundsContainTheTile() {
+        SpotTile tile = new SpotTile(10, 909, 403);
+
+        assertThat(tile.west()).isEqualByComparingTo("139.570312");
+        assertThat(tile.east()).isEqualByComparingTo("139.921875");
+        assertThat(tile.north().compareTo(new BigDecimal("35.681236"))).isPositive();
+        assertThat(tile.south().compareTo(new BigDecimal("35.681236"))).isNegative();
+        assertThat(SpotTile.containing(10, tile.north().doubleValue() - 1e-5, 139.7))
+                .isEqualTo(tile);
+        assertThat(SpotTile.containing(10, tile.south().doubleValue() + 1e-5, 139.7))
+                .isEqualTo(tile);
+    }
+
+    @Test
+    @DisplayName("最も北・南の段のタイルは極まで含める")
+    void edgeRowsExtendToPoles() {
+        SpotTile world = new SpotTile(0, 0, 0);
+
+        assertThat(world.north()).isEqualByComparingTo("90");
+        assertThat(world.south()).isEqualByComparingTo("-90");
+        assertThat(world.west()).isEqualByComparingTo("-180");
+        assertThat(world.east()).isEqualByComparingTo("180");
+    }
+
+    @Test
+    @DisplayName("範囲外のズーム・タイル番号は IllegalArgumentException")
+    void rejectsOutOfRange() {
+        assertThatThrownBy(() -> new SpotTile(SpotTile.MAX_ZOOM + 1, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SpotTile(-1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SpotTile(2, 4, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SpotTile(2, 0, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,150 @@
+package com.photlas.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link SpotVectorTileEncoder} / {@link SpotVectorTileService#gzip} のユニットテスト。
+ *
+ * 範囲:
+ *   - レイヤー名・バージョン・extent と、地物の ID・種類・座標（タイル内の位置）
+ *   - 属性のキーと値はレイヤー内で共有し、サムネイルが無い地物は thumb を省略する
+ *   - スポットが無いタイルは 0 バイト
+ *   - gzip と展開で元に戻る
+ *
+ * テスト内の最小限の Protocol Buffers デコーダーで読み戻して検証する。
+ */
+class SpotVectorTileEncoderTest {
+
+    private static final SpotTile TILE = new SpotTile(10, 909, 403);
+
+    @Test
+    @DisplayName("レイヤー・地物の ID・種類・タイル内の座標をエンコードする")
+    void encodesLayerAndPointFeatures() {
+        // タイルの北西端と中央
+        SpotFeature corner = new SpotFeature(1L, 35.746512, 139.5703125, 3, "Green", "thumbnails/a.webp");
+        SpotFeature center = new SpotFeature(2L, 35.603719, 139.74609375, 120, "Red", "thumbnails/b.webp");
+
+        List<Field> layer = decode(only(decode(SpotVectorTileEncoder.encode(TILE, List.of(corner, center))), 3).bytes);
+
+        assertThat(only(layer, 15).value).isEqualTo(2);
+        assertThat(only(layer, 1).string()).isEqualTo(SpotVectorTileEncoder.LAYER_NAME);
+        assertThat(only(layer, 5).value).isEqualTo(SpotVectorTileEncoder.EXTENT);
+        List<Field> features = all(layer, 2);
+        assertThat(features).hasSize(2);
+
+        List<Field> first = decode(features.get(0).bytes);
+        assertThat(only(first, 1).value).isEqualTo(1L);
+        assertThat(only(first, 3).value).isEqualTo(1L);
+        long[] geometry = packed(only(first, 4).bytes);
+        assertThat(geometry[0]).isEqualTo(9L);
+        assertThat(unZigZag(geometry[1])).isZero();
+        assertThat(Math.abs(unZigZag(geometry[2]))).isLessThanOrEqualTo(1L);
+
+        long[] centerGeometry = packed(only(decode(features.get(1).bytes), 4).bytes);
+        assertThat(unZigZag(centerGeometry[1])).isEqualTo(SpotVectorTileEncoder.EXTENT / 2);
+        assertThat(unZigZag(centerGeometry[2])).isBetween(2047L, 2049L);
+    }
+
+    @Test
+    @DisplayName("属性のキーと値はレイヤー内で共有し、サムネイルが無い地物は thumb を省略する")
+    void sharesKeysAndValues() {
+        SpotFeature a = new SpotFeature(1L, 35.70, 139.70, 3, "Green", "thumbnails/a.webp");
+        SpotFeature b = new SpotFeature(2L, 35.71, 139.71, 3, "Green", null);
+
+        List<Field> layer = decode(only(decode(SpotVectorTileEncoder.encode(TILE, List.of(a, b))), 3).bytes);
+
+        assertThat(all(layer, 3)).extracting(Field::string).containsExactly("count", "pin", "thumb");
+        List<List<Field>> values = all(layer, 4).stream().map(field -> decode(field.bytes)).toList();
+        assertThat(values).hasSize(3);
+        assertThat(only(values.get(0), 5).value).isEqualTo(3L);
+        assertThat(only(values.get(1), 1).string()).isEqualTo("Green");
+        assertThat(only(values.get(2), 1).string()).isEqualTo("thumbnails/a.webp");
+
+        assertThat(packed(only(decode(all(layer, 2).get(0).bytes), 2).bytes)).containsExactly(0, 0, 1, 1, 2, 2);
+        assertThat(packed(only(decode(all(layer, 2).get(1).bytes), 2).bytes)).containsExactly(0, 0, 1, 1);
+    }
+
+    @Test
+    @DisplayName("スポットが無いタイルは 0 バイト")
+    void emptyTile() {
+        assertThat(SpotVectorTileEncoder.encode(TILE, List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("gzip と展開で元に戻る")
+    void gzipRoundTrip() {
+        byte[] tile = SpotVectorTileEncoder.encode(TILE,
+                List.of(new SpotFeature(1L, 35.70, 139.70, 3, "Green", "thumbnails/a.webp")));
+
+        byte[] gzipped = SpotVectorTileService.gzip(tile);
+
+        assertThat(gzipped[0]).isEqualTo((byte) 0x1f);
+        assertThat(SpotVectorTileService.gunzip(gzipped)).isEqualTo(tile);
+    }
+
+    /** 1 フィールド（varint なら value、長さ区切りなら bytes） */
+    private record Field(int number, long value, byte[] bytes) {
+        String string() {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<Field> decode(byte[] message) {
+        ByteArrayInputStream in = new ByteArrayInputStream(message);
+        List<Field> fields = new ArrayList<>();
+        while (in.available() > 0) {
+            long key = readVarint(in);
+            int number = (int) (key >>> 3);
+            if ((key & 7) == 0) {
+                fields.add(new Field(number, readVarint(in), null));
+            } else {
+                byte[] bytes = new byte[(int) readVarint(in)];
+                in.read(bytes, 0, bytes.length);
+                fields.add(new Field(number, 0, bytes));
+            }
+        }
+        return fields;
+    }
+
+    private static long[] packed(byte[] bytes) {
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        List<Long> values = new ArrayList<>();
+        while (in.available() > 0) {
+            values.add(readVarint(in));
+        }
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long readVarint(ByteArrayInputStream in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static List<Field> all(List<Field> fields, int number) {
+        return fields.stream().filter(field -> field.number == number).toList();
+    }
+
+    private static Field only(List<Field> fields, int number) {
+        List<Field> matched = all(fields, number);
+        assertThat(matched).hasSize(1);
+        return matched.get(0);
+    }
+}
@@ -77,6 +77,7 @@ public class UserServiceTest {
     // Hotfix: AccountService が ObjectProvider で optional 注入するため、
     // ObjectProvider<OAuthTokenRevokeService> を自前で stub する（@Mock だけでは @InjectMocks が選べない）
     @Mock private org.springframework.beans.factory.ObjectProvider<OAuthTokenRevokeService> oauthTokenRevokeServiceProvider;
+    @Mock private CacheInvalidationBus cacheInvalidationBus;
     @InjectMocks private AccountService accountService;
 
     /**
@@ -584,6 +585,23 @@ public class UserServiceTest {
         verify(passwordEncoder).matches(CURRENT_PASSWORD, TEST_PASSWORD_HASH);
     }
 
+    @Test
+    @DisplayName("Issue#92 - ログイン: 退会済みユーザーを復旧し、USER_RESTORED を発行する")
+    void testLoginUser_DeletedUser_RecoversAndPublishesRestored() {
+        User user = createMockUser(1L, TEST_EMAIL, "d_abc123");
+        user.setEmailVerified(true);
+        user.setOriginalUsername(TEST_USERNAME);
+        user.setDeletedAt(java.time.LocalDateTime.now());
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(CURRENT_PASSWORD, TEST_PASSWORD_HASH)).thenReturn(true);
+
+        authService.loginUser(new LoginRequest(TEST_EMAIL, CURRENT_PASSWORD));
+
+        assertThat(user.getDeletedAt()).isNull();
+        assertThat(user.getUsername()).isEqualTo(TEST_USERNAME);
+        verify(cacheInvalidationBus).publish(CacheInvalidationBus.Type.USER_RESTORED, 1L);
+    }
+
     @Test
     @DisplayName("Issue#72 - 登録: 退会済みメールアドレスで登録すると専用エラーメッセージ")
     void testRegisterUser_DeletedEmail_ThrowsSpecificError() {
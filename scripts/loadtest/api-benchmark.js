@@ -0,0 +1,176 @@
+// 合成データ（synthetic-data.sql）を入れた DB に対する API 負荷シナリオ（k6）
+//
+// 地図の閲覧と同じ比率で、スポット検索・スポットの写真一覧・写真詳細の一括取得・キーワードページ・
+// サイトマップを一定到着率で流す。エンドポイントごとのスループットと p50 / p95 / p99 は
+// --summary-export の name タグ別の値から読む。実行は run-api-benchmark.sh から。
+//
+// 環境変数:
+//   BASE_URL  対象の URL（既定 http://localhost:8080）
+//   RATE      1 秒あたりのリクエスト数（既定 200）
+//   DURATION  計測時間（既定 2m）
+//   SEED      リクエストの選び方の乱数の種（既定 42。同じ種なら同じ順序でリクエストを選ぶ）
+import http from 'k6/http';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SEED = Number(__ENV.SEED || 42);
+
+export const ENDPOINTS = ['spots', 'spots_photos', 'photos_batch', 'tag_page', 'sitemap'];
+
+// 到着リクエストに占める割合（合計 1）
+const MIX = [
+  ['spots', 0.5],
+  ['spots_photos', 0.2],
+  ['photos_batch', 0.15],
+  ['tag_page', 0.1],
+  ['sitemap', 0.05],
+];
+
+// 表示範囲の中心（synthetic-data.sql のクラスタと揃える）と、そこを選ぶ割合
+const VIEWPORTS = [
+  [35.6812, 139.7671, 0.45],
+  [35.6900, 139.7000, 0.2],
+  [34.6937, 135.5023, 0.15],
+  [35.0116, 135.7681, 0.1],
+  [43.0618, 141.3545, 0.05],
+  [33.5904, 130.4017, 0.05],
+];
+
+const thresholds = {};
+for (const name of ENDPOINTS) {
+  // name タグ別のサブメトリクスをサマリーに出すための常に成り立つ閾値
+  thresholds[`http_req_duration{name:${name}}`] = ['max>=0'];
+  thresholds[`http_reqs{name:${name}}`] = ['count>=0'];
+  thresholds[`http_req_failed{name:${name}}`] = ['rate>=0'];
+}
+
+export const options = {
+  scenarios: {
+    api_mix: {
+      executor: 'constant-arrival-rate',
+      rate: Number(__ENV.RATE || 200),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '2m',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+    },
+  },
+  thresholds,
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+  setupTimeout: '120s',
+};
+
+/** 反復番号から決まる疑似乱数（mulberry32）。VU の割り当てに依らず同じ反復は同じリクエストになる */
+function random(iteration, salt) {
+  let t = (SEED * 0x9e3779b1 + iteration * 0x85ebca6b + salt * 0xc2b2ae35) >>> 0;
+  t = Math.imul(t ^ (t >>> 15), t | 1);
+  t ^= t + Math.imul(t ^ (t >>> 7), t | 61);
+  return ((t ^ (t >>> 14)) >>> 0) / 4294967296;
+}
+
+function pick(weighted, r) {
+  let acc = 0;
+  for (const entry of weighted) {
+    acc += entry[entry.length - 1];
+    if (r < acc) {
+      return entry;
+    }
+  }
+  return weighted[weighted.length - 1];
+}
+
+/** ズームに応じた大きさ（0.01〜0.2 度四方）の表示範囲 */
+function bounds(iteration) {
+  const [lat, lng] = pick(VIEWPORTS, random(iteration, 1));
+  const span = 0.01 * Math.pow(20, random(iteration, 2));
+  const centerLat = lat + (random(iteration, 3) - 0.5) * 0.1;
+  const centerLng = lng + (random(iteration, 4) - 0.5) * 0.1;
+  return `north=${(centerLat + span / 2).toFixed(6)}&south=${(centerLat - span / 2).toFixed(6)}`
+      + `&east=${(centerLng + span / 2).toFixed(6)}&west=${(centerLng - span / 2).toFixed(6)}`;
+}
+
+function sample(items, count, iteration, salt) {
+  const picked = [];
+  for (let i = 0; i < count && items.length > 0; i++) {
+    picked.push(items[Math.floor(random(iteration, salt + i) * items.length)]);
+  }
+  return picked;
+}
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+/** 負荷で使うスポット・写真・キーワード・サイトマップのページ数を API から集める */
+export function setup() {
+  const spotIds = [];
+  for (let i = 0; i < 200 && spotIds.length < 5000; i++) {
+    const res = http.get(`${BASE_URL}/api/v1/spots?${bounds(1_000_000 + i)}`, { tags: { name: 'setup' } });
+    if (res.status === 200) {
+      for (const spot of res.json()) {
+        spotIds.push(spot.spotId);
+      }
+    }
+  }
+  const photoIds = [];
+  for (let i = 0; i < 100 && spotIds.length > 0; i++) {
+    const body = JSON.stringify({ spotIds: sample(spotIds, 20, 2_000_000 + i, 0), limit: 100 });
+    const res = http.post(`${BASE_URL}/api/v1/spots/photos`, body, { ...JSON_HEADERS, tags: { name: 'setup' } });
+    if (res.status === 200) {
+      photoIds.push(...res.json().ids);
+    }
+  }
+  const tagsRes = http.get(`${BASE_URL}/api/v1/tags?lang=ja`, { tags: { name: 'setup' } });
+  const tagSlugs = tagsRes.status === 200
+    ? tagsRes.json().tags.filter((tag) => tag.photoCount > 0).map((tag) => tag.slug)
+    : [];
+  const indexRes = http.get(`${BASE_URL}/api/v1/sitemap.xml`, { tags: { name: 'setup' } });
+  const photoSitemapPages = indexRes.status === 200
+    ? (indexRes.body.match(/sitemap-photos-\d+\.xml/g) || []).length
+    : 0;
+  if (spotIds.length === 0 || photoIds.length === 0) {
+    throw new Error('スポット・写真が見つからない。synthetic-data.sql でデータを入れてから実行すること');
+  }
+  console.log(`setup: spots=${spotIds.length} photos=${photoIds.length} tags=${tagSlugs.length} `
+      + `photoSitemapPages=${photoSitemapPages}`);
+  return { spotIds, photoIds, tagSlugs, photoSitemapPages };
+}
+
+export default function (data) {
+  const iteration = exec.scenario.iterationInTest;
+  const [name] = pick(MIX, random(iteration, 0));
+  let res;
+  switch (name) {
+    case 'spots':
+      res = http.get(`${BASE_URL}/api/v1/spots?${bounds(iteration)}`, { tags: { name } });
+      break;
+    case 'spots_photos': {
+      const count = 1 + Math.floor(random(iteration, 5) * 50);
+      const body = JSON.stringify({
+        spotIds: sample(data.spotIds, count, iteration, 100),
+        limit: 30,
+        offset: 30 * Math.floor(random(iteration, 6) * 3),
+      });
+      res = http.post(`${BASE_URL}/api/v1/spots/photos`, body, { ...JSON_HEADERS, tags: { name } });
+      break;
+    }
+    case 'photos_batch': {
+      const body = JSON.stringify({ photoIds: sample(data.photoIds, 20, iteration, 200) });
+      res = http.post(`${BASE_URL}/api/v1/photos/batch`, body, { ...JSON_HEADERS, tags: { name } });
+      break;
+    }
+    case 'tag_page': {
+      const [slug] = sample(data.tagSlugs, 1, iteration, 300);
+      const page = Math.floor(random(iteration, 7) * 3);
+      res = http.get(`${BASE_URL}/tags/${slug}?lang=ja&page=${page}`, { tags: { name } });
+      break;
+    }
+    default: {
+      const r = random(iteration, 8);
+      const path = r < 0.2 || data.photoSitemapPages === 0 ? '/api/v1/sitemap.xml'
+        : r < 0.4 ? '/api/v1/sitemap-tags.xml'
+          : `/api/v1/sitemap-photos-${Math.floor(random(iteration, 9) * data.photoSitemapPages)}.xml`;
+      res = http.get(`${BASE_URL}${path}`, { tags: { name } });
+    }
+  }
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
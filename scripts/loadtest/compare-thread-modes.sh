@@ -0,0 +1,69 @@
+#!/bin/bash
+# 仮想スレッドモード（spring.threads.virtual.enabled=true）とプラットフォームスレッドの負荷比較
+#
+# ビルド済みの jar を各モードで起動し、同じ k6 シナリオ（thread-modes.js）を流して
+# スループット・p95・p99・エラー率を並べて表示する。
+#
+# 前提: k6 / jq がインストール済み、ローカル DB（docker compose up -d db）が起動済み、
+#       ./gradlew bootJar 済み（backend/build/libs/*-SNAPSHOT.jar）
+#
+# 使用方法:
+#   ./scripts/loadtest/compare-thread-modes.sh [RATE] [DURATION]
+#   例: ./scripts/loadtest/compare-thread-modes.sh 400 3m
+
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+BACKEND_DIR="${SCRIPT_DIR}/../../backend"
+RATE="${1:-200}"
+DURATION="${2:-2m}"
+PORT="${PORT:-8080}"
+OUT_DIR="$(mktemp -d)"
+
+JAR="$(ls "${BACKEND_DIR}"/build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)"
+
+run_mode() {
+  local mode="$1" virtual="$2"
+  echo "=== ${mode}（spring.threads.virtual.enabled=${virtual}）==="
+  # レート制限はアプリ全体の比較の妨げになるため引き上げる
+  java -jar "${JAR}" \
+    --server.port="${PORT}" \
+    --spring.threads.virtual.enabled="${virtual}" \
+    --spring.jpa.show-sql=false \
+    --rate-limit.general=100000000 \
+    > "${OUT_DIR}/${mode}.log" 2>&1 &
+  local pid=$!
+  trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+  for _ in $(seq 1 60); do
+    curl -fs "http://localhost:${PORT}/api/v1/health" > /dev/null && break
+    sleep 2
+  done
+
+  # JIT とプールを温めてから計測する
+  k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e DURATION=30s \
+    "${SCRIPT_DIR}/thread-modes.js" > /dev/null
+  k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e DURATION="${DURATION}" \
+    --summary-export "${OUT_DIR}/${mode}.json" "${SCRIPT_DIR}/thread-modes.js"
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+printf '\n%-10s %10s %10s %10s %10s %8s\n' mode "req/s" "p50(ms)" "p95(ms)" "p99(ms)" "errors"
+for mode in platform virtual; do
+  jq -r --arg mode "${mode}" '[
+      $mode,
+      (.metrics.http_reqs.rate | floor),
+      (.metrics.http_req_duration.med | . * 10 | round / 10),
+      (.metrics.http_req_duration["p(95)"] | . * 10 | round / 10),
+      (.metrics.http_req_duration["p(99)"] | . * 10 | round / 10),
+      (.metrics.http_req_failed.value * 100 | . * 100 | round / 100 | tostring + "%")
+    ] | @tsv' "${OUT_DIR}/${mode}.json" \
+    | awk -F'\t' '{ printf "%-10s %10s %10s %10s %10s %8s\n", $1, $2, $3, $4, $5, $6 }'
+done
+echo "ログと k6 のサマリー: ${OUT_DIR}"
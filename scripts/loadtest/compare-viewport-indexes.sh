@@ -0,0 +1,107 @@
+#!/bin/bash
+# 表示範囲（緯度経度の矩形）検索の索引の比較
+#
+# 合成データを入れたベンチマーク用 DB に対して、ズームごとの表示範囲で次の 2 つのクエリを pgbench で流し、
+# スループット・平均レイテンシと、使われた索引を並べて表示する。
+#   btree  緯度・経度の BETWEEN だけ（V51 以前のクエリ。idx_spots_lat_lng の範囲走査）
+#   gist   CAST(geom AS geometry) && ST_MakeEnvelope(...) + BETWEEN（現在のクエリ。idx_spots_geom_envelope）
+# クエリは /api/v1/spots のフィルター無しの形（スポットと公開写真の結合・集計）に揃えてある。
+# 表示範囲は 1280×800 px の画面を想定し、中心を東京付近（±0.25 度）でランダムに動かす。
+#
+# 前提: run-api-benchmark.sh を KEEP_DB=true で実行し、合成データ入りの DB コンテナが残っていること
+#
+# 使用方法:
+#   ./scripts/loadtest/compare-viewport-indexes.sh [DURATION_SEC] [CLIENTS]
+#   例: ZOOMS="4 8 12 16" ./scripts/loadtest/compare-viewport-indexes.sh 30 8
+#
+# 環境変数:
+#   ZOOMS         比較するズーム（既定 "5 8 11 14 17"）
+#   DB_CONTAINER  DB コンテナ名（既定 photlas-benchmark-db）
+
+set -euo pipefail
+
+DURATION="${1:-20}"
+CLIENTS="${2:-4}"
+ZOOMS="${ZOOMS:-5 8 11 14 17}"
+DB_CONTAINER="${DB_CONTAINER:-photlas-benchmark-db}"
+OUT_DIR="$(mktemp -d)"
+
+# 表示範囲の中心（東京駅）と、画面の大きさ（px）
+CENTER_LAT=35.6812
+CENTER_LNG=139.7671
+SCREEN_WIDTH=1280
+SCREEN_HEIGHT=800
+
+psql_db() {
+  docker exec -i "${DB_CONTAINER}" psql -X -q -v ON_ERROR_STOP=1 -U photlas_user -d photlas_dev "$@"
+}
+
+# 範囲の条件（:north などは pgbench の変数）
+bbox_condition() {
+  case "$1" in
+    btree)
+      echo "s.latitude BETWEEN :south AND :north AND s.longitude BETWEEN :west AND :east" ;;
+    gist)
+      echo "CAST(s.geom AS geometry) && ST_MakeEnvelope(:west, :south, :east, :north, 4326)
+         AND s.latitude BETWEEN :south AND :north AND s.longitude BETWEEN :west AND :east" ;;
+  esac
+}
+
+spots_query() {
+  cat <<SQL
+SELECT s.spot_id, COUNT(DISTINCT p.photo_id) AS total_photo_count
+  FROM spots s
+ INNER JOIN photos p ON s.spot_id = p.spot_id
+ INNER JOIN users u ON p.user_id = u.id
+ WHERE $(bbox_condition "$1")
+   AND p.moderation_status = 1002
+   AND u.deleted_at IS NULL
+ GROUP BY s.spot_id
+ ORDER BY total_photo_count DESC;
+SQL
+}
+
+# pgbench のスクリプト。中心をずらし、緯度は ±85 度、経度は ±180 度に収める
+pgbench_script() {
+  cat <<SQL
+\\set lat ${CENTER_LAT} + (random(0, 1000000) - 500000) / 2000000.0
+\\set lng ${CENTER_LNG} + (random(0, 1000000) - 500000) / 2000000.0
+\\set north least(:lat + :half_h, 85.0)
+\\set south greatest(:lat - :half_h, -85.0)
+\\set east least(:lng + :half_w, 180.0)
+\\set west greatest(:lng - :half_w, -180.0)
+$(spots_query "$1")
+SQL
+}
+
+psql_db -c "ANALYZE spots; ANALYZE photos; ANALYZE users" > /dev/null
+
+printf '%-5s %-6s %12s %10s %8s  %s\n' zoom index "width(deg)" "tps" "avg(ms)" "plan"
+for zoom in ${ZOOMS}; do
+  # 256 px タイルで 2^zoom 枚が経度 360 度にあたる。高さは中心緯度のメルカトルの伸びで縮める
+  half_w="$(awk -v z="${zoom}" -v w="${SCREEN_WIDTH}" 'BEGIN { printf "%.6f", w / 256 * 360 / 2 ^ z / 2 }')"
+  half_h="$(awk -v z="${zoom}" -v h="${SCREEN_HEIGHT}" -v lat="${CENTER_LAT}" \
+    'BEGIN { printf "%.6f", h / 256 * 360 / 2 ^ z / 2 * cos(lat * 3.14159265 / 180) }')"
+  for strategy in btree gist; do
+    # 中心に固定した範囲の実行計画（どの索引を使ったか）
+    explain="${OUT_DIR}/explain-z${zoom}-${strategy}.txt"
+    spots_query "${strategy}" \
+      | sed -e "s/:north/least(${CENTER_LAT} + ${half_h}, 85.0)/g" \
+            -e "s/:south/greatest(${CENTER_LAT} - ${half_h}, -85.0)/g" \
+            -e "s/:east/least(${CENTER_LNG} + ${half_w}, 180.0)/g" \
+            -e "s/:west/greatest(${CENTER_LNG} - ${half_w}, -180.0)/g" \
+            -e '1s/^/EXPLAIN (ANALYZE, BUFFERS) /' \
+      | psql_db > "${explain}"
+    plan="$(grep -oE 'idx_spots_[a-z_]+|Seq Scan on spots' "${explain}" | sort -u | paste -sd, -)"
+
+    result="$(pgbench_script "${strategy}" \
+      | docker exec -i "${DB_CONTAINER}" pgbench -n -M prepared -T "${DURATION}" \
+          -c "${CLIENTS}" -j "${CLIENTS}" -D half_w="${half_w}" -D half_h="${half_h}" \
+          -U photlas_user -f - photlas_dev 2>&1)"
+    tps="$(echo "${result}" | awk '/^tps = / { printf "%.1f", $3 }')"
+    latency="$(echo "${result}" | awk '/^latency average = / { print $4 }')"
+    printf '%-5s %-6s %12.4f %10s %8s  %s\n' "${zoom}" "${strategy}" "$(awk -v h="${half_w}" 'BEGIN { print h * 2 }')" \
+      "${tps}" "${latency}" "${plan:-?}"
+  done
+done
+echo "実行計画（EXPLAIN ANALYZE）: ${OUT_DIR}"
@@ -0,0 +1,148 @@
+#!/bin/bash
+# 合成データを入れた DB に対する API 負荷ベンチマーク
+#
+# ベンチマーク専用の PostGIS コンテナ（pg_stat_statements 有効）を起動し、アプリを起動して
+# Flyway でスキーマを作ったあと synthetic-data.sql で合成データを投入する。暖機後に統計をリセットして
+# k6 シナリオ（api-benchmark.js）を流し、エンドポイントごとのスループット・p50・p95・p99・エラー率と、
+# 総実行時間の長いクエリ上位の実行計画（EXPLAIN (GENERIC_PLAN)）を出力する。
+# 同じ SEED なら同じデータ・同じリクエスト列になるため、変更前後の比較に使える。
+#
+# 前提: k6 / jq / docker がインストール済み、./gradlew bootJar 済み（backend/build/libs/*-SNAPSHOT.jar）
+#       ローカル開発用の DB（5432）とは別のポート・コンテナを使うため、開発データは消えない
+#
+# 使用方法:
+#   ./scripts/loadtest/run-api-benchmark.sh [RATE] [DURATION]
+#   例: PHOTOS=200000 ./scripts/loadtest/run-api-benchmark.sh 400 3m
+#
+# 環境変数:
+#   USERS / SPOTS / PHOTOS / FAVORITES  合成データの件数（既定は synthetic-data.sql の既定値）
+#   SEED        データとリクエスト列の乱数の種（既定 0.42。k6 には 1000 倍した整数を渡す）
+#   TOP_QUERIES 実行計画を出すクエリの件数（既定 10）
+#   KEEP_DB=true で終了後も DB コンテナを残す（同じデータで再計測するときは REUSE_DB=true）
+
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+BACKEND_DIR="${SCRIPT_DIR}/../../backend"
+RATE="${1:-200}"
+DURATION="${2:-2m}"
+PORT="${PORT:-8080}"
+DB_PORT="${DB_PORT:-55432}"
+DB_CONTAINER="${DB_CONTAINER:-photlas-benchmark-db}"
+SEED="${SEED:-0.42}"
+TOP_QUERIES="${TOP_QUERIES:-10}"
+OUT_DIR="$(mktemp -d)"
+
+JAR="$(ls "${BACKEND_DIR}"/build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)"
+
+psql_db() {
+  docker exec -i "${DB_CONTAINER}" psql -X -q -v ON_ERROR_STOP=1 -U photlas_user -d photlas_dev "$@"
+}
+
+cleanup() {
+  [ -n "${APP_PID:-}" ] && kill "${APP_PID}" 2>/dev/null || true
+  if [ "${KEEP_DB:-false}" != "true" ]; then
+    docker rm -f "${DB_CONTAINER}" > /dev/null 2>&1 || true
+  fi
+}
+trap cleanup EXIT
+
+if [ "${REUSE_DB:-false}" != "true" ]; then
+  docker rm -f "${DB_CONTAINER}" > /dev/null 2>&1 || true
+  # 本番相当の計画を得るため、統計の取得と work_mem 以外は既定値のまま
+  docker run -d --name "${DB_CONTAINER}" -p "${DB_PORT}:5432" \
+    -e POSTGRES_DB=photlas_dev -e POSTGRES_USER=photlas_user -e POSTGRES_PASSWORD=photlas_password \
+    postgis/postgis:17-3.5 \
+    postgres -c shared_preload_libraries=pg_stat_statements -c pg_stat_statements.track=all \
+    -c max_connections=300 > /dev/null
+  for _ in $(seq 1 60); do
+    docker exec "${DB_CONTAINER}" pg_isready -U photlas_user -d photlas_dev > /dev/null 2>&1 && break
+    sleep 1
+  done
+fi
+
+echo "=== アプリ起動（Flyway でスキーマを作成）==="
+# レート制限は計測の妨げになるため引き上げる
+java -jar "${JAR}" \
+  --server.port="${PORT}" \
+  --spring.datasource.url="jdbc:postgresql://localhost:${DB_PORT}/photlas_dev" \
+  --spring.jpa.show-sql=false \
+  --rate-limit.general=100000000 \
+  --rate-limit.photo=100000000 \
+  --rate-limit.auth=100000000 \
+  > "${OUT_DIR}/app.log" 2>&1 &
+APP_PID=$!
+for _ in $(seq 1 90); do
+  curl -fs "http://localhost:${PORT}/api/v1/health" > /dev/null && break
+  sleep 2
+done
+
+if [ "${REUSE_DB:-false}" != "true" ]; then
+  echo "=== 合成データ投入 ==="
+  psql_db -v seed="${SEED}" \
+    ${USERS:+-v users="${USERS}"} ${SPOTS:+-v spots="${SPOTS}"} \
+    ${PHOTOS:+-v photos="${PHOTOS}"} ${FAVORITES:+-v favorites="${FAVORITES}"} \
+    < "${SCRIPT_DIR}/synthetic-data.sql"
+fi
+psql_db -c "CREATE EXTENSION IF NOT EXISTS pg_stat_statements"
+
+K6_SEED="$(awk -v s="${SEED}" 'BEGIN { printf "%d", s * 1000 }')"
+K6_ARGS=(-e BASE_URL="http://localhost:${PORT}" -e RATE="${RATE}" -e SEED="${K6_SEED}")
+
+echo "=== 暖機（30s）==="
+# JIT・コネクションプール・アプリ内キャッシュ・共有バッファを温めてから統計をリセットする
+k6 run --quiet "${K6_ARGS[@]}" -e DURATION=30s "${SCRIPT_DIR}/api-benchmark.js" > /dev/null
+psql_db -c "SELECT pg_stat_statements_reset()" > /dev/null
+
+echo "=== 計測（${RATE} req/s × ${DURATION}）==="
+k6 run --quiet "${K6_ARGS[@]}" -e DURATION="${DURATION}" \
+  --summary-export "${OUT_DIR}/summary.json" "${SCRIPT_DIR}/api-benchmark.js"
+
+printf '\n%-14s %10s %10s %10s %10s %8s\n' endpoint "req/s" "p50(ms)" "p95(ms)" "p99(ms)" "errors"
+for name in spots spots_photos photos_batch tag_page sitemap; do
+  jq -r --arg name "${name}" '
+      def m($metric): .metrics[$metric + "{name:" + $name + "}"];
+      [
+        $name,
+        (m("http_reqs").rate | floor),
+        (m("http_req_duration").med | . * 10 | round / 10),
+        (m("http_req_duration")["p(95)"] | . * 10 | round / 10),
+        (m("http_req_duration")["p(99)"] | . * 10 | round / 10),
+        (m("http_req_failed").value * 100 | . * 100 | round / 100 | tostring + "%")
+      ] | @tsv' "${OUT_DIR}/summary.json" \
+    | awk -F'\t' '{ printf "%-14s %10s %10s %10s %10s %8s\n", $1, $2, $3, $4, $5, $6 }'
+done
+
+echo
+echo "=== 総実行時間の長いクエリ上位 ${TOP_QUERIES} 件 ==="
+psql_db -c "
+  SELECT round(total_exec_time::numeric, 1) AS total_ms,
+         calls,
+         round(mean_exec_time::numeric, 3) AS mean_ms,
+         rows,
+         left(regexp_replace(query, '\s+', ' ', 'g'), 100) AS query
+    FROM pg_stat_statements
+   WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+     AND query ~* '^\s*(select|with)\s'
+     AND query !~* 'pg_stat_statements'
+   ORDER BY total_exec_time DESC
+   LIMIT ${TOP_QUERIES}"
+
+# パラメータ（\$1 など）を含むままの計画を得るため GENERIC_PLAN を使う（PostgreSQL 16 以降）。
+# 実データの値による計画の違いは、出力されたクエリに値を入れて EXPLAIN ANALYZE で確認する
+psql_db -A -t > "${OUT_DIR}/explain.txt" 2>&1 <<SQL || true
+\\set ON_ERROR_STOP 0
+-- 行ごとに各列を順に実行する（見出し → 実行計画）
+SELECT format('SELECT %L', format('--- total_ms=%s calls=%s mean_ms=%s',
+                round(total_exec_time::numeric, 1), calls, round(mean_exec_time::numeric, 3))),
+       'EXPLAIN (GENERIC_PLAN, VERBOSE, COSTS, SETTINGS) ' || query
+  FROM pg_stat_statements
+ WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+   AND query ~* '^\\s*(select|with)\\s'
+   AND query !~* 'pg_stat_statements'
+ ORDER BY total_exec_time DESC
+ LIMIT ${TOP_QUERIES}
+\\gexec
+SQL
+echo "実行計画: ${OUT_DIR}/explain.txt"
+echo "ログと k6 のサマリー: ${OUT_DIR}"
@@ -0,0 +1,309 @@
+-- 負荷計測用の合成データ生成（PostgreSQL + PostGIS、Flyway でスキーマ構築済みの DB が対象）
+--
+-- 同じ seed・件数・base_date なら同じデータになる（random() は setseed で固定し、並列実行は止める）。
+-- 生成するもの:
+--   users       投稿の多い少数のユーザーに偏らせる。deleted_ratio の割合を退会済みにする
+--   spots       東京（都心・新宿渋谷）を中心にした都市クラスタの正規分布 + 全国に一様な背景
+--   photos      人気スポットに偏らせる。撮影日は最近ほど多く、天気・機材・焦点距離・ISO・縦横比・
+--               公開状態は実データに近い比率で振る
+--   photo_categories / photo_tags / favorites  写真ごとに 1〜3 カテゴリ、0〜4 キーワード、人気写真に偏ったお気に入り
+--
+-- 注意: users / spots / photos を TRUNCATE ... CASCADE してから作り直す。負荷計測専用の DB で実行すること。
+--
+-- 使用方法（変数はすべて省略可）:
+--   psql -v seed=0.42 -v users=50000 -v spots=200000 -v photos=1000000 -v favorites=2000000 \
+--        -v deleted_ratio=0.03 -v base_date=2026-10-01 -f scripts/loadtest/synthetic-data.sql photlas_bench
+
+\set ON_ERROR_STOP on
+\if :{?seed}
+\else
+\set seed 0.42
+\endif
+\if :{?users}
+\else
+\set users 50000
+\endif
+\if :{?spots}
+\else
+\set spots 200000
+\endif
+\if :{?photos}
+\else
+\set photos 1000000
+\endif
+\if :{?favorites}
+\else
+\set favorites 2000000
+\endif
+\if :{?deleted_ratio}
+\else
+\set deleted_ratio 0.03
+\endif
+\if :{?base_date}
+\else
+SELECT CURRENT_DATE AS base_date \gset
+\endif
+
+\timing on
+SET max_parallel_workers_per_gather = 0;
+SELECT setseed(:seed);
+
+BEGIN;
+
+TRUNCATE users, spots, photos RESTART IDENTITY CASCADE;
+
+-- ========== クラスタ（中心・標準偏差(度)・重み。sigma が NULL の行は日本全域に一様） ==========
+CREATE TEMP TABLE bench_clusters (
+    id INTEGER PRIMARY KEY,
+    lat DOUBLE PRECISION,
+    lng DOUBLE PRECISION,
+    sigma DOUBLE PRECISION,
+    weight DOUBLE PRECISION
+) ON COMMIT DROP;
+INSERT INTO bench_clusters VALUES
+    (1, 35.6812, 139.7671, 0.080, 0.30),  -- 東京都心
+    (2, 35.6900, 139.7000, 0.020, 0.15),  -- 新宿・渋谷（高密度）
+    (3, 35.4437, 139.6380, 0.040, 0.05),  -- 横浜
+    (4, 34.6937, 135.5023, 0.060, 0.10),  -- 大阪
+    (5, 35.0116, 135.7681, 0.040, 0.08),  -- 京都
+    (6, 35.1815, 136.9066, 0.050, 0.05),  -- 名古屋
+    (7, 43.0618, 141.3545, 0.050, 0.04),  -- 札幌
+    (8, 33.5904, 130.4017, 0.050, 0.04),  -- 福岡
+    (9, 26.2124, 127.6809, 0.080, 0.03),  -- 那覇
+    (10, NULL, NULL, NULL, 0.16);         -- 背景（北緯 31〜44 度・東経 129〜145 度）
+
+CREATE TEMP TABLE bench_cluster_cdf ON COMMIT DROP AS
+SELECT id, lat, lng, sigma,
+       -- 最後の行は丸め誤差で 1 を下回らないように 1 に固定する
+       CASE WHEN id = MAX(id) OVER () THEN 1.0
+            ELSE SUM(weight) OVER (ORDER BY id) / SUM(weight) OVER () END AS cum
+FROM bench_clusters;
+
+-- ========== users ==========
+INSERT INTO users (id, username, email, password_hash, role, email_verified, language,
+                   created_at, updated_at, deleted_at, original_username,
+                   terms_agreed_at, privacy_policy_agreed_at, age_confirmed_at)
+SELECT g,
+       'bench' || g,
+       'bench-' || g || '@example.com',
+       -- 固定のダミーハッシュ（ログインには使わない）
+       '$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm',
+       101,
+       TRUE,
+       (ARRAY['ja', 'ja', 'ja', 'en', 'zh', 'ko', 'es'])[1 + floor(r_lang * 7)::INTEGER],
+       created_at,
+       created_at,
+       CASE WHEN r_deleted < :deleted_ratio THEN created_at + INTERVAL '30 days' END,
+       CASE WHEN r_deleted < :deleted_ratio THEN 'bench' || g END,
+       created_at,
+       created_at,
+       created_at
+FROM (
+    SELECT g, random() AS r_lang, random() AS r_deleted,
+           :'base_date'::TIMESTAMP - INTERVAL '1 day' * floor(random() * 3650) AS created_at
+    FROM generate_series(1, :users) AS g
+) AS u;
+
+-- ========== spots ==========
+CREATE TEMP TABLE bench_spot_seeds ON COMMIT DROP AS
+SELECT g AS spot_id, random() AS r_cluster, random() AS u1, random() AS u2, random() AS u3, random() AS u4,
+       1 + floor(:users * power(random(), 2))::BIGINT AS user_id
+FROM generate_series(1, :spots) AS g;
+
+INSERT INTO spots (spot_id, latitude, longitude, created_by_user_id, created_at, updated_at)
+SELECT s.spot_id,
+       round(LEAST(GREATEST(
+           CASE WHEN c.sigma IS NULL THEN 31 + 13 * s.u1
+                ELSE c.lat + c.sigma * sqrt(-2 * ln(1 - s.u1)) * cos(2 * pi() * s.u2) END,
+           -89.999999), 89.999999)::NUMERIC, 6),
+       round(LEAST(GREATEST(
+           CASE WHEN c.sigma IS NULL THEN 129 + 16 * s.u3
+                ELSE c.lng + c.sigma / cos(radians(c.lat)) * sqrt(-2 * ln(1 - s.u3)) * sin(2 * pi() * s.u4) END,
+           -179.999999), 179.999999)::NUMERIC, 6),
+       s.user_id,
+       :'base_date'::TIMESTAMP - INTERVAL '1 day' * floor(s.u1 * 3650),
+       :'base_date'::TIMESTAMP - INTERVAL '1 day' * floor(s.u1 * 3650)
+FROM bench_spot_seeds s
+CROSS JOIN LATERAL (
+    SELECT lat, lng, sigma FROM bench_cluster_cdf WHERE cum >= s.r_cluster ORDER BY cum LIMIT 1
+) AS c;
+
+-- ========== photos ==========
+-- 人気スポット・多投稿ユーザーに偏らせる（番号の小さいものほど多い。番号と位置は無関係）
+CREATE TEMP TABLE bench_photo_seeds ON COMMIT DROP AS
+SELECT g AS photo_id,
+       1 + floor(:spots * power(random(), 2))::BIGINT AS spot_id,
+       1 + floor(:users * power(random(), 2.5))::BIGINT AS user_id,
+       random() AS r_age, random() AS r_hour, random() AS r_weather, random() AS r_device,
+       random() AS r_focal, random() AS r_iso, random() AS r_shape, random() AS r_size,
+       random() AS r_status, random() AS r_exif, random() AS r_lat, random() AS r_lng,
+       random() AS r_cat1, random() AS r_cat2, random() AS r_cat3
+FROM generate_series(1, :photos) AS g;
+
+INSERT INTO photos (photo_id, spot_id, user_id, s3_object_key, shot_at, weather, time_of_day,
+                    latitude, longitude, device_type, camera_body, focal_length_35mm, iso,
+                    image_width, image_height, moderation_status, location_from_exif, created_at, updated_at)
+SELECT p.photo_id,
+       p.spot_id,
+       p.user_id,
+       'uploads/' || p.user_id || '/bench-' || p.photo_id || '.jpg',
+       p.shot_at,
+       CASE WHEN p.r_weather < 0.05 THEN NULL
+            WHEN p.r_weather < 0.55 THEN 401
+            WHEN p.r_weather < 0.82 THEN 402
+            WHEN p.r_weather < 0.96 THEN 403
+            ELSE 404 END,
+       CASE WHEN extract(HOUR FROM p.shot_at) BETWEEN 5 AND 9 THEN 301
+            WHEN extract(HOUR FROM p.shot_at) BETWEEN 10 AND 15 THEN 302
+            WHEN extract(HOUR FROM p.shot_at) BETWEEN 16 AND 18 THEN 303
+            ELSE 304 END,
+       round((s.latitude + (p.r_lat - 0.5) * 0.0005)::NUMERIC, 6),
+       round((s.longitude + (p.r_lng - 0.5) * 0.0005)::NUMERIC, 6),
+       p.device_type,
+       CASE p.device_type
+           WHEN 504 THEN (ARRAY['iPhone 15 Pro', 'iPhone 13', 'Pixel 8', 'Galaxy S24'])[1 + floor(p.r_focal * 4)::INTEGER]
+           WHEN 502 THEN (ARRAY['ILCE-7M4', 'Z 6_2', 'EOS R6', 'X-T5'])[1 + floor(p.r_focal * 4)::INTEGER]
+           WHEN 501 THEN (ARRAY['EOS 5D Mark IV', 'D850', 'K-3 Mark III'])[1 + floor(p.r_focal * 3)::INTEGER]
+           ELSE NULL END,
+       CASE WHEN p.device_type = 504 THEN (ARRAY[13, 24, 26, 48, 77])[1 + floor(p.r_focal * 5)::INTEGER]
+            WHEN p.device_type IN (501, 502) THEN
+                (ARRAY[16, 24, 35, 50, 70, 85, 105, 135, 200, 300, 400, 600])[1 + floor(power(p.r_focal, 1.3) * 12)::INTEGER]
+            WHEN p.device_type = 503 THEN (ARRAY[24, 28, 50, 100])[1 + floor(p.r_focal * 4)::INTEGER]
+            ELSE NULL END,
+       CASE WHEN p.device_type IS NULL THEN NULL
+            ELSE (ARRAY[100, 200, 400, 800, 1600, 3200, 6400])[1 + floor(power(p.r_iso, 1.5) * 7)::INTEGER] END,
+       -- 縦横比: 3:2 横 45% / 4:3 横 20% / 2:3 縦 20% / 16:9 横 10% / 1:1 5%
+       CASE WHEN p.r_shape >= 0.65 AND p.r_shape < 0.85 THEN p.long_edge * 2 / 3 ELSE p.long_edge END,
+       CASE WHEN p.r_shape < 0.45 THEN p.long_edge * 2 / 3
+            WHEN p.r_shape < 0.65 THEN p.long_edge * 3 / 4
+            WHEN p.r_shape < 0.85 THEN p.long_edge
+            WHEN p.r_shape < 0.95 THEN p.long_edge * 9 / 16
+            ELSE p.long_edge END,
+       CASE WHEN p.r_status < 0.94 THEN 1002
+            WHEN p.r_status < 0.97 THEN 1001
+            WHEN p.r_status < 0.99 THEN 1003
+            ELSE 1004 END,
+       p.r_exif < 0.6,
+       p.shot_at + INTERVAL '1 hour' * floor(p.r_exif * 72),
+       p.shot_at + INTERVAL '1 hour' * floor(p.r_exif * 72)
+FROM (
+    SELECT ps.*,
+           -- 撮影日は最近ほど多い（最大 10 年前）。時刻は一様
+           :'base_date'::TIMESTAMP - INTERVAL '1 day' * floor(power(ps.r_age, 2) * 3650)
+               - INTERVAL '1 minute' * floor(ps.r_hour * 1440) AS shot_at,
+           CASE WHEN ps.r_device < 0.45 THEN 504
+                WHEN ps.r_device < 0.75 THEN 502
+                WHEN ps.r_device < 0.90 THEN 501
+                WHEN ps.r_device < 0.95 THEN 503
+                WHEN ps.r_device < 0.97 THEN 505
+                WHEN ps.r_device < 0.99 THEN 506
+                ELSE NULL END AS device_type,
+           (ARRAY[1920, 3000, 4000, 6000, 8192])[1 + floor(ps.r_size * 5)::INTEGER] AS long_edge
+    FROM bench_photo_seeds ps
+) AS p
+JOIN spots s ON s.spot_id = p.spot_id;
+
+-- ========== photo_categories（1 件目は必ず、2 件目 40%、3 件目 10%） ==========
+CREATE TEMP TABLE bench_category_cdf ON COMMIT DROP AS
+SELECT w.category_id,
+       CASE WHEN w.category_id = MAX(w.category_id) OVER () THEN 1.0
+            ELSE SUM(w.weight) OVER (ORDER BY w.category_id)::DOUBLE PRECISION / SUM(w.weight) OVER () END AS cum
+FROM (VALUES (201, 20), (202, 15), (203, 10), (204, 8), (205, 10), (206, 10), (207, 5), (208, 4),
+             (209, 3), (210, 2), (211, 4), (212, 2), (213, 2), (214, 3), (215, 2)) AS w(category_id, weight)
+JOIN categories c ON c.category_id = w.category_id;
+
+INSERT INTO photo_categories (photo_id, category_id)
+SELECT p.photo_id,
+       (SELECT category_id FROM bench_category_cdf WHERE cum >= picks.r ORDER BY cum LIMIT 1)
+FROM bench_photo_seeds p
+CROSS JOIN LATERAL (
+    VALUES (p.r_cat1),
+           (CASE WHEN p.r_cat2 < 0.4 THEN p.r_cat2 / 0.4 END),
+           (CASE WHEN p.r_cat3 < 0.1 THEN p.r_cat3 / 0.1 END)
+) AS picks(r)
+WHERE picks.r IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+-- ========== photo_tags（0〜4 件。人気のキーワードに偏らせる。AI 付与 80%） ==========
+CREATE TEMP TABLE bench_tags ON COMMIT DROP AS
+SELECT row_number() OVER (ORDER BY id) AS rank, id FROM tags WHERE is_active;
+
+CREATE TEMP TABLE bench_photo_tag_seeds ON COMMIT DROP AS
+SELECT photo_id, k, random() AS r_keep, random() AS r_tag, random() AS r_conf
+FROM generate_series(1, :photos) AS photo_id
+CROSS JOIN generate_series(1, 4) AS k;
+
+INSERT INTO photo_tags (photo_id, tag_id, assigned_by, ai_confidence, created_at)
+SELECT ts.photo_id,
+       t.id,
+       CASE WHEN ts.r_conf < 0.8 THEN 'AI' ELSE 'USER' END,
+       CASE WHEN ts.r_conf < 0.8 THEN round((80 + ts.r_conf / 0.8 * 19.9)::NUMERIC, 1) END,
+       ph.created_at
+FROM bench_photo_tag_seeds ts
+JOIN photos ph ON ph.photo_id = ts.photo_id
+JOIN bench_tags t ON t.rank = 1 + floor((SELECT count(*) FROM bench_tags) * power(ts.r_tag, 2))
+WHERE ts.r_keep < (ARRAY[0.7, 0.5, 0.3, 0.15])[ts.k]
+ON CONFLICT DO NOTHING;
+
+-- ========== favorites（人気の写真・よく使うユーザーに偏らせる。公開中の写真のみ） ==========
+CREATE TEMP TABLE bench_favorite_seeds ON COMMIT DROP AS
+SELECT 1 + floor(:users * power(random(), 1.5))::BIGINT AS user_id,
+       1 + floor(:photos * power(random(), 3))::BIGINT AS photo_id,
+       random() AS r_at
+FROM generate_series(1, :favorites);
+
+INSERT INTO favorites (user_id, photo_id, created_at)
+SELECT f.user_id, f.photo_id, p.created_at + INTERVAL '1 hour' * floor(f.r_at * 720)
+FROM bench_favorite_seeds f
+JOIN photos p ON p.photo_id = f.photo_id AND p.moderation_status = 1002
+ON CONFLICT DO NOTHING;
+
+-- ========== spot_summaries（TRUNCATE の CASCADE で空になるので V52 と同じ式で作り直す） ==========
+INSERT INTO spot_summaries (spot_id, photo_count, thumbnail_s3_object_key)
+SELECT p.spot_id,
+       COUNT(*),
+       (ARRAY_AGG(p.s3_object_key ORDER BY p.shot_at DESC NULLS LAST, p.photo_id DESC))[1]
+FROM photos p
+JOIN users u ON p.user_id = u.id
+WHERE p.moderation_status = 1002
+  AND u.deleted_at IS NULL
+GROUP BY p.spot_id;
+
+-- ========== spot_photo_histograms（同じく CASCADE で空になるので V53 と同じ式で作り直す） ==========
+INSERT INTO spot_photo_histograms (spot_id, month, time_of_day, weather, photo_count)
+SELECT p.spot_id,
+       CAST(COALESCE(EXTRACT(MONTH FROM p.shot_at), 0) AS SMALLINT),
+       COALESCE(p.time_of_day, 0),
+       COALESCE(p.weather, 0),
+       COUNT(*)
+FROM photos p
+JOIN users u ON p.user_id = u.id
+WHERE p.moderation_status = 1002
+  AND u.deleted_at IS NULL
+GROUP BY 1, 2, 3, 4;
+
+SELECT setval(pg_get_serial_sequence('users', 'id'), :users);
+SELECT setval(pg_get_serial_sequence('spots', 'spot_id'), :spots);
+SELECT setval(pg_get_serial_sequence('photos', 'photo_id'), :photos);
+
+COMMIT;
+
+ANALYZE users;
+ANALYZE spots;
+ANALYZE photos;
+ANALYZE photo_categories;
+ANALYZE photo_tags;
+ANALYZE favorites;
+ANALYZE spot_summaries;
+ANALYZE spot_photo_histograms;
+
+SELECT (SELECT count(*) FROM users) AS users,
+       (SELECT count(*) FROM users WHERE deleted_at IS NOT NULL) AS deleted_users,
+       (SELECT count(*) FROM spots) AS spots,
+       (SELECT count(*) FROM photos) AS photos,
+       (SELECT count(*) FROM photos WHERE moderation_status = 1002) AS published_photos,
+       (SELECT count(*) FROM photo_categories) AS photo_categories,
+       (SELECT count(*) FROM photo_tags) AS photo_tags,
+       (SELECT count(*) FROM favorites) AS favorites,
+       (SELECT count(*) FROM spot_summaries) AS spot_summaries,
+       (SELECT count(*) FROM spot_photo_histograms) AS spot_photo_histograms;
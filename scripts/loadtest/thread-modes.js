@@ -0,0 +1,42 @@
+// 仮想スレッド / プラットフォームスレッドの比較用負荷シナリオ（k6）
+//
+// 地図表示と同じ読み取り（スポット検索・キーワード一覧）を一定到着率で流し、
+// スループットと p95 / p99 レイテンシを比較する。実行は compare-thread-modes.sh から。
+//
+// 環境変数:
+//   BASE_URL  対象の URL（既定 http://localhost:8080）
+//   RATE      1 秒あたりのリクエスト数（既定 200）
+//   DURATION  計測時間（既定 2m）
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+  scenarios: {
+    map_reads: {
+      executor: 'constant-arrival-rate',
+      rate: Number(__ENV.RATE || 200),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '2m',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+// 東京周辺をランダムにずらした表示範囲（キャッシュが効きすぎないようにする）
+function randomBounds() {
+  const lat = 35.5 + Math.random() * 0.4;
+  const lng = 139.5 + Math.random() * 0.4;
+  return `north=${(lat + 0.05).toFixed(5)}&south=${lat.toFixed(5)}`
+      + `&east=${(lng + 0.05).toFixed(5)}&west=${lng.toFixed(5)}`;
+}
+
+export default function () {
+  const res = Math.random() < 0.8
+    ? http.get(`${BASE_URL}/api/v1/spots?${randomBounds()}`, { tags: { name: 'spots' } })
+    : http.get(`${BASE_URL}/api/v1/tags?lang=ja`, { tags: { name: 'tags' } });
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}